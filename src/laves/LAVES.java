@@ -25,18 +25,22 @@ import javax.swing.UnsupportedLookAndFeelException;
 
 import laves.gui.LoadingScreen;
 import laves.gui.MainWindow;
+import laves.management.DiagnosticsRecorder;
 import laves.resources.ResourceManager;
 
 /**
  * The entry point of LAVES.
  * 
  * @author jdornseifer
- * @version 1.0
+ * @version 1.1
  * @since 1.0
  */
 public class LAVES {
 	
 	public static void main(String[] args) {
+		// record diagnostic events from the beginning so that the loading phases are included too
+		DiagnosticsRecorder.getInstance().start();
+		
 		SwingUtilities.invokeLater(new Runnable() {
 			
 			@Override
@@ -24,10 +24,12 @@ import java.io.File;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
+import laves.configuration.ConfigurationStore;
+import laves.logging.AsyncLogFile;
+import laves.management.DiagnosticsEvent;
+import laves.management.DiagnosticsRecorder;
 import laves.utils.Constants;
 import laves.utils.ProgressListener;
 import lavesdk.algorithm.plugin.AlgorithmPlugin;
@@ -36,7 +38,6 @@ import lavesdk.algorithm.plugin.PluginHost;
 import lavesdk.algorithm.plugin.PluginLoader;
 import lavesdk.configuration.Configuration;
 import lavesdk.language.LanguageFile;
-import lavesdk.logging.LogFile;
 import lavesdk.logging.enums.LogType;
 import lavesdk.utils.FileUtils;
 
@@ -49,10 +50,11 @@ import lavesdk.utils.FileUtils;
  * <br><br>
  * <b>Log file</b>:<br>
  * The loader creates a log file using {@link Constants#FILE_LOG}. With {@link #logMessage(String, LogType)} or {@link #logMessage(AlgorithmPlugin, String, Exception, LogType)}
- * you can write a message to the log file.
+ * you can write a message to the log file. The messages are written asynchronously (see {@link AsyncLogFile}) so logging does not block
+ * the calling thread.
  * 
  * @author jdornseifer
- * @version 1.0
+ * @version 1.1
  * @since 1.0
  */
 public class Loader {
@@ -63,14 +65,14 @@ public class Loader {
 	private Configuration mainConfig;
 	/** the plugin bundles that were loaded */
 	private List<PluginBundle> pluginBundles;
-	/** the related configurations of the plugins (key=simple name of bundle, value=configuration data) */
-	private Map<String, Configuration> pluginConfigs;
+	/** the store of the plugin configurations */
+	private ConfigurationStore configStore;
 	/** the language file of LAVES */
 	private LanguageFile langFile;
 	/** the manager of the installed plugins */
 	private PluginManager pluginManager;
 	/** the log file of the loader (can be <code>null</code>) */
-	private final LogFile logFile;
+	private final AsyncLogFile logFile;
 	/** flag that indicates whether the data was loaded with errors */
 	private boolean hasErrors;
 	
@@ -86,15 +88,15 @@ public class Loader {
 		dataLoaded = false;
 		mainConfig = null;
 		pluginBundles = null;
-		pluginConfigs = null;
+		configStore = null;
 		langFile = null;
 		pluginManager = null;
 		hasErrors = false;
 		
 		// create a log file
-		LogFile lf;
+		AsyncLogFile lf;
 		try {
-			lf = new LogFile(Constants.FILE_LOG);
+			lf = new AsyncLogFile(Constants.FILE_LOG, Constants.FILE_LOG_EVENTS);
 		} catch (IOException e) {
 			lf = null;
 		}
@@ -109,10 +111,15 @@ public class Loader {
 	 * @since 1.0
 	 */
 	public void loadData(final ProgressListener listener) {
+		final DiagnosticsRecorder recorder = DiagnosticsRecorder.getInstance();
+		
 		// first delete the plugin files that are deinstalled
+		DiagnosticsEvent event = beginPhase(recorder, "deinstall plugin files");
 		deinstallPluginFiles();
+		event.commit();
 		
 		// load all available plugins
+		event = beginPhase(recorder, "load plugins");
 		pluginBundles = PluginLoader.getInstance().loadPlugins(Constants.PATH_PLUGINS, new lavesdk.utils.ProgressListener() {
 			
 			private int totalPlugins = 0;
@@ -129,21 +136,27 @@ public class Loader {
 			}
 			
 		});
+		event.commit();
 		
 		int current = pluginBundles.size() + 1;
 		
 		// load configuration
 		listener.currentProgress(current++, "Loading main configuration ...");
+		event = beginPhase(recorder, "load main configuration");
 		mainConfig = Configuration.load(Constants.FILE_MAIN_CONFIG);
+		event.commit();
 		
 		// load plugin configurations
 		listener.currentProgress(current++, "Loading plugin configurations ...");
-		pluginConfigs = new HashMap<String, Configuration>();
-		for(PluginBundle bundle : pluginBundles)
-			pluginConfigs.put(bundle.getSimpleName(), Configuration.load(Constants.PATH_PLUGINS_CONFIG + bundle.getSimpleName() + Constants.EXT_CONFIG));
+		event = beginPhase(recorder, "load plugin configurations");
+		// the store is read with one file operation, the configurations are decoded (or migrated from the single files of older versions)
+		// not until the plugins are initialized
+		configStore = ConfigurationStore.open(new File(Constants.FILE_PLUGINS_CONFIG), new File(Constants.PATH_PLUGINS_CONFIG));
+		event.commit();
 		
 		// load language file
 		listener.currentProgress(current++, "Loading languages ...");
+		event = beginPhase(recorder, "load languages");
 		try {
 			langFile = new LanguageFile(Constants.FILE_LANGUAGE);
 		} catch (IOException e) {
@@ -151,6 +164,7 @@ public class Loader {
 			logMessage("Loader: Loading languages failed!", LogType.ERROR);
 			hasErrors = true;
 		}
+		event.commit();
 		
 		dataLoaded = true;
 	}
@@ -184,7 +198,7 @@ public class Loader {
 			return;
 		
 		// create the manager
-		pluginManager = new PluginManager(this, host, pluginBundles, pluginConfigs);
+		pluginManager = new PluginManager(this, host, pluginBundles, configStore);
 		// initialize the plugins
 		if(!pluginManager.initialize())
 			hasErrors = true;
@@ -209,6 +223,16 @@ public class Loader {
 		return mainConfig;
 	}
 	
+	/**
+	 * Gets the store of the plugin configurations.
+	 * 
+	 * @return the store or <code>null</code> if the program data is not loaded yet
+	 * @since 1.1
+	 */
+	public final ConfigurationStore getConfigurationStore() {
+		return configStore;
+	}
+	
 	/**
 	 * Gets the language file of LAVES.
 	 * 
@@ -279,6 +303,20 @@ public class Loader {
 		}
 	}
 	
+	/**
+	 * Begins the diagnostic event of a loading phase.
+	 * 
+	 * @param recorder the recorder of diagnostic events
+	 * @param phase the name of the phase
+	 * @return the event
+	 * @since 1.1
+	 */
+	private DiagnosticsEvent beginPhase(final DiagnosticsRecorder recorder, final String phase) {
+		final DiagnosticsEvent event = recorder.begin(DiagnosticsRecorder.EVENT_LOADER_PHASE, (String)null);
+		event.setDetail(phase);
+		return event;
+	}
+	
 	/**
 	 * Deinstalls all plugin files that are listed in the {@link #DEINSTALL_PLUGINS_FILENAME} file.
 	 * 
@@ -27,8 +27,14 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
+import laves.configuration.ConfigurationStore;
+import laves.management.DiagnosticsEvent;
+import laves.management.DiagnosticsRecorder;
 import laves.utils.Constants;
+import laves.utils.ListenerList;
 import lavesdk.LAVESDKV;
 import lavesdk.algorithm.AlgorithmRTE;
 import lavesdk.algorithm.plugin.AlgorithmPlugin;
@@ -43,10 +49,11 @@ import lavesdk.logging.enums.LogType;
  * Manages the installation or deinstallation of plugins.
  * <br><br>
  * Use {@link #getInstalledPlugins()} to get a (read-only) list of all installed plugins. With {@link #addListener(PluginManagerListener)}
- * you can set a listener to listen for events of the plugin manager.
+ * you can set a listener to listen for events of the plugin manager. Components that can be created several times (like the welcome
+ * screen) should use {@link #addWeakListener(PluginManagerListener)} so that a discarded component does not remain in the list.
  * 
  * @author jdornseifer
- * @version 1.1
+ * @version 1.2
  * @since 1.0
  */
 public class PluginManager {
@@ -55,14 +62,16 @@ public class PluginManager {
 	private final Loader loader;
 	/** the host application */
 	private final PluginHost host;
-	/** the plugin bundles that were loaded */
+	/** the plugin bundles that were loaded (the list can be read from any thread) */
 	private final List<PluginBundle> pluginBundles;
-	/** the related configurations of the plugins (key=simple name of bundle, value=configuration data) */
-	private final Map<String, Configuration> pluginConfigs;
-	/** the unmodifiable list of all installed plugins */
-	private List<AlgorithmPlugin> installedPlugins;
+	/** the store of the configurations of the plugins */
+	private final ConfigurationStore configStore;
+	/** the unmodifiable list of all installed plugins that is replaced if a plugin is installed or deinstalled */
+	private volatile List<AlgorithmPlugin> installedPlugins;
 	/** the list of all listeners */
-	private final List<PluginManagerListener> listeners;
+	private final ListenerList<PluginManagerListener> listeners;
+	/** the initialization times of the plugins in milliseconds (key=simple name of bundle, value=initialization time) that can be read from any thread */
+	private final Map<String, Long> initTimes;
 	
 	/**
 	 * Creates a new plugin manager.
@@ -70,26 +79,27 @@ public class PluginManager {
 	 * @param loader the parent loader
 	 * @param host the host application
 	 * @param bundles the loaded bundles
-	 * @param bundleConfigs the loaded bundle configurations
+	 * @param configStore the store of the bundle configurations (the configuration of a bundle is decoded when its plugin is initialized)
 	 * @throws IllegalArgumentException
 	 * <ul>
 	 * 		<li>if loader is null</li>
 	 * 		<li>if host is null</li>
 	 * 		<li>if bundles is null</li>
-	 * 		<li>if bundleConfigs is null</li>
+	 * 		<li>if configStore is null</li>
 	 * </ul>
 	 * @since 1.0
 	 */
-	public PluginManager(final Loader loader, final PluginHost host, final List<PluginBundle> bundles, final Map<String, Configuration> bundleConfigs) throws IllegalArgumentException {
-		if(loader == null || host == null || bundles == null || bundleConfigs == null)
+	public PluginManager(final Loader loader, final PluginHost host, final List<PluginBundle> bundles, final ConfigurationStore configStore) throws IllegalArgumentException {
+		if(loader == null || host == null || bundles == null || configStore == null)
 			throw new IllegalArgumentException("No valid argument!");
 		
 		this.loader = loader;
 		this.host = host;
-		this.pluginBundles = bundles;
-		this.pluginConfigs = bundleConfigs;
+		this.pluginBundles = new CopyOnWriteArrayList<PluginBundle>(bundles);
+		this.configStore = configStore;
 		this.installedPlugins = null;
-		this.listeners = new ArrayList<PluginManagerListener>(3);
+		this.listeners = new ListenerList<PluginManagerListener>();
+		this.initTimes = new ConcurrentHashMap<String, Long>();
 	}
 	
 	/**
@@ -114,9 +124,12 @@ public class PluginManager {
 				continue;
 			}
 			
+			final DiagnosticsEvent event = DiagnosticsRecorder.getInstance().begin(DiagnosticsRecorder.EVENT_PLUGIN_INITIALIZE, bundle.getSimpleName());
 			try {
+				final long start = System.currentTimeMillis();
 				// initialize the plugin first
-				bundle.getPlugin().initialize(host, bundle.getResourceLoader(), pluginConfigs.get(bundle.getSimpleName()));
+				bundle.getPlugin().initialize(host, bundle.getResourceLoader(), configStore.get(bundle.getSimpleName()));
+				initTimes.put(bundle.getSimpleName(), System.currentTimeMillis() - start);
 				// register the host at the runtime environment of the plugin
 				rte = bundle.getPlugin().getRuntimeEnvironment();
 				if(rte != null)
@@ -129,6 +142,7 @@ public class PluginManager {
 				loader.logMessage(bundle.getPlugin(), "plugin could not be initialized!", e, LogType.ERROR);
 				result = false;
 			}
+			event.commit();
 		}
 		
 		installedPlugins = Collections.unmodifiableList(plugins);
@@ -143,11 +157,22 @@ public class PluginManager {
 	 * @since 1.0
 	 */
 	public void addListener(final PluginManagerListener listener) {
-		if(listener == null || listeners.contains(listener))
-			return;
-		
 		listeners.add(listener);
 	}
+		
+	/**
+	 * Adds a new listener to the list of listeners that is held weakly.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * The listener is removed automatically if it is garbage collected so the caller has to hold a reference to the listener
+	 * as long as it should be notified.
+	 * 
+	 * @param listener the listener
+	 * @since 1.2
+	 */
+	public void addWeakListener(final PluginManagerListener listener) {
+		listeners.addWeak(listener);
+	}
 	
 	/**
 	 * Removes a listener from the list of listeners.
@@ -184,7 +209,26 @@ public class PluginManager {
 		if(bundle == null)
 			throw new IllegalArgumentException("No valid argument!");
 		
-		return (pluginConfigs != null) ? pluginConfigs.get(bundle.getSimpleName()) : null;
+		return pluginBundles.contains(bundle) ? configStore.get(bundle.getSimpleName()) : null;
+	}
+	
+	/**
+	 * Gets the time that was needed to initialize a plugin.
+	 * 
+	 * @param bundle the bundle of the plugin
+	 * @return the initialization time in milliseconds or <code>-1</code> if the plugin was not initialized by the manager
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if bundle is null</li>
+	 * </ul>
+	 * @since 1.2
+	 */
+	public final long getPluginInitTime(final PluginBundle bundle) throws IllegalArgumentException {
+		if(bundle == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		final Long time = initTimes.get(bundle.getSimpleName());
+		return (time != null) ? time.longValue() : -1;
 	}
 	
 	/**
@@ -214,6 +258,24 @@ public class PluginManager {
 		if(bundle == null)
 			throw new IllegalArgumentException("No valid argument!");
 		
+		final DiagnosticsEvent event = DiagnosticsRecorder.getInstance().begin(DiagnosticsRecorder.EVENT_PLUGIN_INSTALL, bundle.getSimpleName());
+		try {
+			return installBundle(bundle);
+		}
+		finally {
+			event.commit();
+		}
+	}
+	
+	/**
+	 * Installs the specified plugin bundle.
+	 * 
+	 * @see #install(PluginBundle)
+	 * @param bundle the bundle of the plugin
+	 * @return the validation report of the installation
+	 * @since 1.2
+	 */
+	private ValidationReport installBundle(final PluginBundle bundle) {
 		int i = 1;
 		int cancelIndex = 1000;
 		String pluginFileName = bundle.getName();
@@ -239,7 +301,9 @@ public class PluginManager {
 			
 			// initialize the plugin
 			try {
+				final long start = System.currentTimeMillis();
 				bundle.getPlugin().initialize(host, bundle.getResourceLoader(), null);
+				initTimes.put(bundle.getSimpleName(), System.currentTimeMillis() - start);
 			}
 			catch(Exception e) {
 				return new ValidationReport(false, "Plugin could not be initialized! " + e.getMessage(), 1, 0);
@@ -281,6 +345,24 @@ public class PluginManager {
 		if(bundle == null)
 			return false;
 		
+		final DiagnosticsEvent event = DiagnosticsRecorder.getInstance().begin(DiagnosticsRecorder.EVENT_PLUGIN_DEINSTALL, plugin);
+		try {
+			return deinstallBundle(bundle);
+		}
+		finally {
+			event.commit();
+		}
+	}
+	
+	/**
+	 * Deinstalls the specified plugin bundle.
+	 * 
+	 * @see #deinstall(AlgorithmPlugin)
+	 * @param bundle the bundle of the plugin
+	 * @return <code>true</code> if the plugin could be deinstalled otherwise <code>false</code>
+	 * @since 1.2
+	 */
+	private boolean deinstallBundle(final PluginBundle bundle) {
 		// remove the plugin from the list of installed plugins
 		final List<AlgorithmPlugin> modifiablePluginsList = new ArrayList<AlgorithmPlugin>(installedPlugins);
 		if(modifiablePluginsList.remove(bundle.getPlugin())) {
@@ -288,13 +370,15 @@ public class PluginManager {
 			final File cfgFile = new File(Constants.PATH_PLUGINS_CONFIG + bundle.getSimpleName() + Constants.EXT_CONFIG);
 			final File pluginFile = new File(bundle.getPath());
 			
-			// if plugin jar could not be deleted then add a deinstallation entry
-			if(!(cfgFile.delete() && pluginFile.delete()))
+			// if plugin jar could not be deleted then add a deinstallation entry (the configuration file only exists if it was not
+			// migrated into the configuration store yet)
+			if(!((!cfgFile.exists() || cfgFile.delete()) && pluginFile.delete()))
 				loader.addDeinstallationEntry(bundle);
+			configStore.remove(bundle.getSimpleName());
 			
 			// remove the corresponding bundle and the configuration of this bundle
 			pluginBundles.remove(bundle);
-			pluginConfigs.remove(bundle.getSimpleName());
+			initTimes.remove(bundle.getSimpleName());
 			
 			// create a new read-only list
 			installedPlugins = Collections.unmodifiableList(modifiablePluginsList);
@@ -328,6 +412,36 @@ public class PluginManager {
 		return null;
 	}
 	
+	/**
+	 * Creates a new instance of an installed plugin that is initialized with a copy of the configuration of the plugin.
+	 * <br><br>
+	 * The instance can be created and closed (e.g. to paint the initial view of the plugin) without side effects on the installed
+	 * plugin because the changes of the configuration are discarded with the copy.
+	 * 
+	 * @param plugin the installed plugin
+	 * @return the new instance
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if plugin is null</li>
+	 * 		<li>if plugin is not installed</li>
+	 * </ul>
+	 * @throws Exception
+	 * <ul>
+	 * 		<li>if the instance could not be created or initialized</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public final AlgorithmPlugin createInstance(final AlgorithmPlugin plugin) throws IllegalArgumentException, Exception {
+		final PluginBundle bundle = findBundle(plugin);
+		if(bundle == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		final AlgorithmPlugin instance = plugin.getClass().newInstance();
+		instance.initialize(host, bundle.getResourceLoader(), configStore.copy(bundle.getSimpleName()));
+		
+		return instance;
+	}
+	
 	/**
 	 * Indicates whether the plugin of a given bundle is installed in the manager.
 	 * 
@@ -353,7 +467,7 @@ public class PluginManager {
 	 * @since 1.0
 	 */
 	private void fireInstalledPluginsChanged(final boolean increase) {
-		for(PluginManagerListener l : listeners)
+		for(PluginManagerListener l : listeners.getListeners())
 			l.onInstalledPluginsChanged(increase);
 	}
 
@@ -0,0 +1,60 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.benchmark;
+
+import lavesdk.algorithm.plugin.AlgorithmPlugin;
+import lavesdk.algorithm.plugin.views.ViewContainer;
+
+/**
+ * The host application in which a {@link RenderingBenchmark} activates the plugins that should be measured.
+ * <br><br>
+ * <b>Notice</b>:<br>
+ * The methods are invoked in the event dispatch thread.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ */
+public interface BenchmarkHost {
+
+	/**
+	 * Activates the specified plugin so that it creates its views in the {@link #getViewContainer()}.
+	 * 
+	 * @param plugin the plugin
+	 * @since 1.0
+	 */
+	public void activatePlugin(final AlgorithmPlugin plugin);
+	
+	/**
+	 * Closes the active plugin.
+	 * 
+	 * @since 1.0
+	 */
+	public void closeActivePlugin();
+	
+	/**
+	 * Gets the container of the views of the active plugin.
+	 * 
+	 * @return the view container
+	 * @since 1.0
+	 */
+	public ViewContainer getViewContainer();
+
+}
@@ -0,0 +1,44 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.benchmark;
+
+import laves.utils.ProgressListener;
+
+/**
+ * Listener to receive the progress and the results of a {@link RenderingBenchmark}.
+ * <br><br>
+ * <b>Notice</b>:<br>
+ * The listener is invoked in the thread that runs the benchmark and not in the event dispatch thread.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ */
+public interface BenchmarkListener extends ProgressListener {
+
+	/**
+	 * Indicates that a new result is available.
+	 * 
+	 * @param result the result
+	 * @since 1.0
+	 */
+	public void resultAvailable(final BenchmarkResult result);
+
+}
@@ -0,0 +1,92 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.benchmark;
+
+/**
+ * The result of a benchmark of one plugin with one generated instance.
+ * <br><br>
+ * The times of the graph views of the plugin are summed up meaning if a plugin has two graph views then the layout time is the time
+ * that was necessary to layout both views. All times are in milliseconds. A time of <code>-1</code> means that it could not be measured.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ */
+public class BenchmarkResult {
+
+	/** the name of the plugin */
+	public final String pluginName;
+	/** the version of the plugin */
+	public final String pluginVersion;
+	/** the SDK version the plugin uses */
+	public final String sdkVersion;
+	/** the number of graph views of the plugin */
+	public final int views;
+	/** the number of vertices of the instance */
+	public final int vertices;
+	/** the number of edges of the instance */
+	public final int edges;
+	/** the density (average degree) of the instance */
+	public final float density;
+	/** the time to load the instance into the views (without the generation of the instance) */
+	public final double loadTime;
+	/** the time to layout the instance */
+	public final double layoutTime;
+	/** the time of the first paint after the instance was loaded */
+	public final double firstPaintTime;
+	/** the average time of a repaint */
+	public final double repaintTime;
+	/** the average time of an algorithm step */
+	public final double stepTime;
+	
+	/**
+	 * Creates a new result.
+	 * 
+	 * @param pluginName the name of the plugin
+	 * @param pluginVersion the version of the plugin
+	 * @param sdkVersion the SDK version the plugin uses
+	 * @param views the number of graph views of the plugin
+	 * @param vertices the number of vertices of the instance
+	 * @param edges the number of edges of the instance
+	 * @param density the density (average degree) of the instance
+	 * @param loadTime the time to load the instance into the views (without the generation of the instance)
+	 * @param layoutTime the time to layout the instance
+	 * @param firstPaintTime the time of the first paint after the instance was loaded
+	 * @param repaintTime the average time of a repaint
+	 * @param stepTime the average time of an algorithm step
+	 * @since 1.0
+	 */
+	public BenchmarkResult(final String pluginName, final String pluginVersion, final String sdkVersion, final int views, final int vertices, final int edges, final float density,
+			final double loadTime, final double layoutTime, final double firstPaintTime, final double repaintTime, final double stepTime) {
+		this.pluginName = pluginName;
+		this.pluginVersion = pluginVersion;
+		this.sdkVersion = sdkVersion;
+		this.views = views;
+		this.vertices = vertices;
+		this.edges = edges;
+		this.density = density;
+		this.loadTime = loadTime;
+		this.layoutTime = layoutTime;
+		this.firstPaintTime = firstPaintTime;
+		this.repaintTime = repaintTime;
+		this.stepTime = stepTime;
+	}
+
+}
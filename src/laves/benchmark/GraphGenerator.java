@@ -0,0 +1,201 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import lavesdk.math.graph.Edge;
+import lavesdk.math.graph.Graph;
+import lavesdk.math.graph.GraphFactory;
+import lavesdk.math.graph.SimpleGraph;
+import lavesdk.math.graph.Vertex;
+import lavesdk.math.graph.network.Arc;
+import lavesdk.math.graph.network.Network;
+import lavesdk.math.graph.network.Node;
+import lavesdk.math.graph.network.enums.FlowType;
+
+/**
+ * Generates large random graphs and networks to stress the views of the plugins.
+ * <br><br>
+ * The generated instances are connected meaning that a random spanning tree is created first and afterwards random edges are
+ * added until the requested density is reached. The density is specified as the average degree of the vertices. The generation
+ * is deterministic for a given seed so that measurements are comparable between different runs.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ */
+public class GraphGenerator {
+
+	/** the minimum weight of a generated edge */
+	private static final int MIN_WEIGHT = 1;
+	/** the maximum weight of a generated edge */
+	private static final int MAX_WEIGHT = 20;
+	
+	/**
+	 * Creates a random simple graph.
+	 * 
+	 * @param factory the factory to create the vertices and edges
+	 * @param directed <code>true</code> if the graph should be directed otherwise <code>false</code>
+	 * @param order the number of vertices
+	 * @param density the average degree of the vertices
+	 * @param seed the seed of the random generator
+	 * @return the graph
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if factory is null</li>
+	 * 		<li>if order is <code>&lt; 2</code></li>
+	 * 		<li>if density is <code>&lt; 0</code></li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public static <V extends Vertex, E extends Edge> Graph<V, E> createGraph(final GraphFactory<V, E> factory, final boolean directed, final int order, final float density, final long seed) throws IllegalArgumentException {
+		if(factory == null || order < 2 || density < 0.0f)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		final Graph<V, E> graph = new SimpleGraph<V, E>(directed);
+		final List<V> vertices = new ArrayList<V>(order);
+		
+		for(int i = 1; i <= order; i++) {
+			final V v = factory.createVertex("v" + i);
+			graph.add(v);
+			vertices.add(v);
+		}
+		
+		addEdges(graph, factory, vertices, density, new Random(seed));
+		
+		return graph;
+	}
+	
+	/**
+	 * Creates a random network.
+	 * <br><br>
+	 * The first vertex is the source and the last vertex is the sink of the network. The arcs are only directed from vertices with a lower
+	 * index to vertices with a higher index so that the network does not contain cycles and each vertex is reachable from the source.
+	 * The weight of an arc is its capacity.
+	 * 
+	 * @param factory the factory to create the nodes and arcs
+	 * @param flowType the flow type of the network
+	 * @param order the number of nodes
+	 * @param density the average degree of the nodes
+	 * @param seed the seed of the random generator
+	 * @return the network
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if factory is null</li>
+	 * 		<li>if flowType is null</li>
+	 * 		<li>if order is <code>&lt; 2</code></li>
+	 * 		<li>if density is <code>&lt; 0</code></li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public static <V extends Node, E extends Arc> Network<V, E> createNetwork(final GraphFactory<V, E> factory, final FlowType flowType, final int order, final float density, final long seed) throws IllegalArgumentException {
+		if(factory == null || flowType == null || order < 2 || density < 0.0f)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		final V source = factory.createVertex("s");
+		final V sink = factory.createVertex("t");
+		final Network<V, E> network = new Network<V, E>(flowType, source, sink);
+		final List<V> nodes = new ArrayList<V>(order);
+		
+		if(!network.contains(source))
+			network.add(source);
+		nodes.add(source);
+		
+		for(int i = 1; i <= order - 2; i++) {
+			final V v = factory.createVertex("v" + i);
+			network.add(v);
+			nodes.add(v);
+		}
+		
+		if(!network.contains(sink))
+			network.add(sink);
+		nodes.add(sink);
+		
+		addEdges(network, factory, nodes, density, new Random(seed));
+		
+		return network;
+	}
+	
+	/**
+	 * Adds random edges to the specified graph.
+	 * <br><br>
+	 * An edge is always created from a vertex with a lower index in the list to a vertex with a higher index. At first each vertex
+	 * is connected to a random predecessor so that the edges form a spanning tree.
+	 * 
+	 * @param graph the graph
+	 * @param factory the factory to create the edges
+	 * @param vertices the vertices of the graph in the order of their creation
+	 * @param density the average degree of the vertices
+	 * @param rand the random generator
+	 * @since 1.0
+	 */
+	private static <V extends Vertex, E extends Edge> void addEdges(final Graph<V, E> graph, final GraphFactory<V, E> factory, final List<V> vertices, final float density, final Random rand) {
+		final int order = vertices.size();
+		final long maxSize = (long)order * (long)(order - 1) / 2L;
+		final long size = Math.min(maxSize, Math.max(order - 1, Math.round(order * density / 2.0)));
+		final Set<Long> existing = new HashSet<Long>();
+		int u;
+		int v;
+		
+		// create a random spanning tree
+		for(v = 1; v < order; v++) {
+			u = rand.nextInt(v);
+			addEdge(graph, factory, vertices, existing, u, v, rand);
+		}
+		
+		// add further edges until the density is reached
+		while(existing.size() < size) {
+			u = rand.nextInt(order);
+			v = rand.nextInt(order);
+			
+			if(u == v)
+				continue;
+			else if(u > v)
+				addEdge(graph, factory, vertices, existing, v, u, rand);
+			else
+				addEdge(graph, factory, vertices, existing, u, v, rand);
+		}
+	}
+	
+	/**
+	 * Adds an edge between the specified vertices if it does not exist already.
+	 * 
+	 * @param graph the graph
+	 * @param factory the factory to create the edge
+	 * @param vertices the vertices of the graph
+	 * @param existing the set of existing edges (key=<code>u * order + v</code>)
+	 * @param u the index of the predecessor
+	 * @param v the index of the successor
+	 * @param rand the random generator
+	 * @since 1.0
+	 */
+	private static <V extends Vertex, E extends Edge> void addEdge(final Graph<V, E> graph, final GraphFactory<V, E> factory, final List<V> vertices, final Set<Long> existing, final int u, final int v, final Random rand) {
+		final Long key = (long)u * (long)vertices.size() + (long)v;
+		
+		if(existing.add(key))
+			graph.add(factory.createEdge(vertices.get(u), vertices.get(v), (float)(MIN_WEIGHT + rand.nextInt(MAX_WEIGHT - MIN_WEIGHT + 1))));
+	}
+
+}
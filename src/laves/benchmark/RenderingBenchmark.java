@@ -0,0 +1,566 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.benchmark;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.SwingUtilities;
+
+import laves.utils.Constants;
+import lavesdk.LAVESDKV;
+import lavesdk.algorithm.AlgorithmRTE;
+import lavesdk.algorithm.RTEListener;
+import lavesdk.algorithm.RTEvent;
+import lavesdk.algorithm.enums.AlgorithmStartOption;
+import lavesdk.algorithm.plugin.AlgorithmPlugin;
+import lavesdk.algorithm.plugin.views.GraphView;
+import lavesdk.algorithm.plugin.views.View;
+import lavesdk.algorithm.text.AlgorithmText;
+import lavesdk.algorithm.text.AlgorithmTextListener;
+import lavesdk.math.graph.Graph;
+import lavesdk.math.graph.GraphFactory;
+import lavesdk.math.graph.enums.Type;
+import lavesdk.math.graph.network.Network;
+
+/**
+ * Benchmark that loads large generated instances into the graph views of the installed plugins and measures the load, layout, first paint,
+ * steady-state repaint and algorithm step cost.
+ * <br><br>
+ * For each plugin and each combination of an order (number of vertices) and a density (average degree) the plugin is activated in the
+ * {@link BenchmarkHost} and a new instance is generated for each {@link GraphView} of the plugin using {@link GraphGenerator}. Plugins that
+ * do not have a graph view are skipped. The results can be written as a table using {@link #writeTable(File, List)} so that they can
+ * be compared across plugin and SDK versions.
+ * <br><br>
+ * <b>Notice</b>:<br>
+ * The benchmark must be run in a background thread using {@link #run(BenchmarkListener)}. The views are accessed in the event dispatch thread.
+ * The step cost is the average wall time of a step when the runtime environment runs with the maximum execution speed and without a
+ * minimum dwell time so it includes the animation delays of the plugin.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ */
+public class RenderingBenchmark {
+
+	/** the orders of the instances that are available in the benchmark */
+	public static final int[] ORDERS = { 1000, 5000, 10000, 50000, 100000 };
+	/** the densities (average degrees) of the instances that are available in the benchmark */
+	public static final float[] DENSITIES = { 2.0f, 4.0f, 8.0f };
+	
+	/** the host in which the plugins are activated */
+	private final BenchmarkHost host;
+	/** the plugins that should be measured */
+	private final List<AlgorithmPlugin> plugins;
+	/** the orders of the instances */
+	private final int[] orders;
+	/** the densities of the instances */
+	private final float[] densities;
+	/** flag that indicates whether the benchmark is cancelled */
+	private volatile boolean cancelled;
+	
+	/** the number of repaints that are used to determine the steady-state repaint time */
+	private static final int REPAINT_SAMPLES = 10;
+	/** the maximum time in milliseconds the runtime environment runs to measure the step cost */
+	private static final long STEP_SAMPLE_TIME = 5000;
+	/** the time in milliseconds to wait for the runtime environment to stop */
+	private static final long STOP_TIMEOUT = 2000;
+	/** the execution speed factor that is used to measure the step cost */
+	private static final float MAX_EXEC_SPEED = 16.0f;
+	/** the seed of the instance generator */
+	private static final long SEED = 1;
+	/** the size of the image the views are painted in if the view has no size */
+	private static final int DEF_PAINT_SIZE = 800;
+	/** the separator of the columns in a table file */
+	private static final String TABLE_SEPARATOR = ";";
+	
+	/**
+	 * Creates a new benchmark.
+	 * 
+	 * @param host the host in which the plugins are activated
+	 * @param plugins the plugins that should be measured
+	 * @param orders the orders (number of vertices) of the instances
+	 * @param densities the densities (average degrees) of the instances
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if host is null</li>
+	 * 		<li>if plugins is null</li>
+	 * 		<li>if orders is null</li>
+	 * 		<li>if densities is null</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public RenderingBenchmark(final BenchmarkHost host, final List<AlgorithmPlugin> plugins, final int[] orders, final float[] densities) throws IllegalArgumentException {
+		if(host == null || plugins == null || orders == null || densities == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		this.host = host;
+		this.plugins = new ArrayList<AlgorithmPlugin>(plugins);
+		this.orders = orders.clone();
+		this.densities = densities.clone();
+		this.cancelled = false;
+	}
+	
+	/**
+	 * Cancels the benchmark. The benchmark stops after the current measurement is finished.
+	 * 
+	 * @since 1.0
+	 */
+	public void cancel() {
+		cancelled = true;
+	}
+	
+	/**
+	 * Indicates whether the benchmark is cancelled.
+	 * 
+	 * @return <code>true</code> if the benchmark is cancelled otherwise <code>false</code>
+	 * @since 1.0
+	 */
+	public boolean isCancelled() {
+		return cancelled;
+	}
+	
+	/**
+	 * Runs the benchmark.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * This method must not be invoked in the event dispatch thread.
+	 * 
+	 * @param listener the listener that receives the progress and the results or <code>null</code>
+	 * @return the results of the benchmark
+	 * @throws IllegalStateException
+	 * <ul>
+	 * 		<li>if the method is invoked in the event dispatch thread</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public List<BenchmarkResult> run(final BenchmarkListener listener) throws IllegalStateException {
+		if(SwingUtilities.isEventDispatchThread())
+			throw new IllegalStateException("The benchmark cannot be run in the event dispatch thread!");
+		
+		final List<BenchmarkResult> results = new ArrayList<BenchmarkResult>();
+		int current = 0;
+		
+		if(listener != null)
+			listener.totalProgress(plugins.size() * orders.length * densities.length);
+		
+		for(AlgorithmPlugin plugin : plugins) {
+			if(cancelled)
+				break;
+			
+			final List<GraphView<?, ?>> views = activate(plugin);
+			
+			for(int order : orders) {
+				for(float density : densities) {
+					if(cancelled)
+						break;
+					
+					if(listener != null)
+						listener.currentProgress(++current, plugin.getName() + ": " + order + " / " + density);
+					
+					// plugins without graph views cannot be measured
+					if(views.isEmpty())
+						continue;
+					
+					final BenchmarkResult result = measure(plugin, views, order, density);
+					results.add(result);
+					if(listener != null)
+						listener.resultAvailable(result);
+				}
+			}
+			
+			onEDT(new Runnable() {
+				
+				@Override
+				public void run() {
+					host.closeActivePlugin();
+				}
+			});
+		}
+		
+		return results;
+	}
+	
+	/**
+	 * Writes the specified results as a table (values separated by semicolons) to a file.
+	 * <br><br>
+	 * Each row contains the version of LAVES, the SDK version LAVES uses and the versions of the plugin so that results of
+	 * different versions can be compared.
+	 * 
+	 * @param file the file
+	 * @param results the results
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if file is null</li>
+	 * 		<li>if results is null</li>
+	 * </ul>
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the file could not be written</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public static void writeTable(final File file, final List<BenchmarkResult> results) throws IllegalArgumentException, IOException {
+		if(file == null || results == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		final BufferedWriter bw = new BufferedWriter(new FileWriter(file));
+		
+		try {
+			bw.write(join("LAVES", "SDK", "Plugin", "Plugin Version", "Plugin SDK", "Views", "Vertices", "Edges", "Density", "Load [ms]", "Layout [ms]", "First Paint [ms]", "Repaint [ms]", "Step [ms]"));
+			bw.newLine();
+			
+			for(BenchmarkResult r : results) {
+				bw.write(join(Constants.VERSION, LAVESDKV.CURRENT.toString(), r.pluginName, r.pluginVersion, r.sdkVersion, "" + r.views, "" + r.vertices, "" + r.edges,
+						format(r.density), format(r.loadTime), format(r.layoutTime), format(r.firstPaintTime), format(r.repaintTime), format(r.stepTime)));
+				bw.newLine();
+			}
+		}
+		finally {
+			bw.close();
+		}
+	}
+	
+	/**
+	 * Activates the specified plugin and collects its graph views.
+	 * 
+	 * @param plugin the plugin
+	 * @return the graph views of the plugin
+	 * @since 1.0
+	 */
+	private List<GraphView<?, ?>> activate(final AlgorithmPlugin plugin) {
+		final List<GraphView<?, ?>> views = new ArrayList<GraphView<?, ?>>();
+		
+		onEDT(new Runnable() {
+			
+			@Override
+			public void run() {
+				host.activatePlugin(plugin);
+				
+				for(View view : host.getViewContainer().queryAllViews())
+					if(view instanceof GraphView)
+						views.add((GraphView<?, ?>)view);
+			}
+		});
+		
+		return views;
+	}
+	
+	/**
+	 * Measures the specified plugin with a new instance.
+	 * 
+	 * @param plugin the plugin
+	 * @param views the graph views of the plugin
+	 * @param order the order of the instance
+	 * @param density the density of the instance
+	 * @return the result
+	 * @since 1.0
+	 */
+	private BenchmarkResult measure(final AlgorithmPlugin plugin, final List<GraphView<?, ?>> views, final int order, final float density) {
+		// [0]=load, [1]=layout, [2]=first paint, [3]=repaint, [4]=edges
+		final double[] times = new double[5];
+		
+		for(final GraphView<?, ?> view : views) {
+			// the instance is generated in the thread of the benchmark so that the event dispatch thread is only blocked by the view
+			final Graph<?, ?> graph = createInstance(view, order, density);
+			times[4] = Math.max(times[4], graph.getSize());
+			
+			onEDT(new Runnable() {
+				
+				@Override
+				public void run() {
+					long start = System.nanoTime();
+					loadInstance(view, graph);
+					times[0] += toMillis(System.nanoTime() - start);
+					
+					start = System.nanoTime();
+					layout(view);
+					times[1] += toMillis(System.nanoTime() - start);
+					
+					final int width = (view.getWidth() > 0) ? view.getWidth() : DEF_PAINT_SIZE;
+					final int height = (view.getHeight() > 0) ? view.getHeight() : DEF_PAINT_SIZE;
+					final BufferedImage img = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+					final Graphics2D g = img.createGraphics();
+					
+					try {
+						start = System.nanoTime();
+						view.paint(g);
+						times[2] += toMillis(System.nanoTime() - start);
+						
+						start = System.nanoTime();
+						for(int i = 0; i < REPAINT_SAMPLES; i++)
+							view.paint(g);
+						times[3] += toMillis(System.nanoTime() - start) / REPAINT_SAMPLES;
+					}
+					finally {
+						g.dispose();
+					}
+				}
+			});
+		}
+		
+		final double stepTime = measureStepCost(plugin);
+		final String sdkVersion = (plugin.getUsedSDKVersion() != null) ? plugin.getUsedSDKVersion().toString() : "";
+		
+		return new BenchmarkResult(plugin.getName(), plugin.getVersion(), sdkVersion, views.size(), order, (int)times[4], density, times[0], times[1], times[2], times[3], stepTime);
+	}
+	
+	/**
+	 * Generates a new instance that fits the specified view.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * The properties of the view are read in the event dispatch thread but the instance is generated in the calling thread.
+	 * 
+	 * @param view the view
+	 * @param order the order of the instance
+	 * @param density the density of the instance
+	 * @return the instance
+	 * @since 1.0
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private Graph<?, ?> createInstance(final GraphView view, final int order, final float density) {
+		final Object[] viewProperties = new Object[2];
+		
+		onEDT(new Runnable() {
+			
+			@Override
+			public void run() {
+				viewProperties[0] = view.getGraph();
+				viewProperties[1] = view.getGraphFactory();
+			}
+		});
+		
+		final Graph current = (Graph)viewProperties[0];
+		final GraphFactory factory = (GraphFactory)viewProperties[1];
+		
+		// the instance is created with the factory of the view so that the plugin gets its own vertex and edge types
+		if(current instanceof Network)
+			return GraphGenerator.createNetwork(factory, ((Network)current).getFlowType(), order, density, SEED);
+		else
+			return GraphGenerator.createGraph(factory, current != null && current.getType() == Type.DIRECTED, order, density, SEED);
+	}
+	
+	/**
+	 * Loads an instance into the specified view.
+	 * 
+	 * @param view the view
+	 * @param instance the instance
+	 * @since 1.0
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private void loadInstance(final GraphView view, final Graph instance) {
+		view.setGraph(instance);
+	}
+	
+	/**
+	 * Layouts the graph of the specified view using a circle layout.
+	 * 
+	 * @param view the view
+	 * @since 1.0
+	 */
+	@SuppressWarnings("rawtypes")
+	private void layout(final GraphView view) {
+		view.layoutGraph(view.createCircleGraphLayout());
+	}
+	
+	/**
+	 * Measures the average time of an algorithm step of the specified plugin.
+	 * <br><br>
+	 * The runtime environment is started with {@link AlgorithmStartOption#START_TO_FINISH} and the steps are counted until the
+	 * algorithm stops or {@link #STEP_SAMPLE_TIME} is exceeded.
+	 * 
+	 * @param plugin the plugin
+	 * @return the average time of a step in milliseconds or <code>-1</code> if the step cost could not be measured
+	 * @since 1.0
+	 */
+	private double measureStepCost(final AlgorithmPlugin plugin) {
+		final AlgorithmRTE rte = plugin.getRuntimeEnvironment();
+		final AlgorithmText text = plugin.getText();
+		
+		if(rte == null || text == null || cancelled)
+			return -1;
+		
+		final AtomicInteger steps = new AtomicInteger(0);
+		final CountDownLatch stopped = new CountDownLatch(1);
+		final AlgorithmTextListener stepCounter = new AlgorithmTextListener() {
+			
+			@Override
+			public void structureChanged() {
+			}
+			
+			@Override
+			public void executingStepChanged() {
+				steps.incrementAndGet();
+			}
+		};
+		final RTEListener stopListener = new RTEListener() {
+			
+			@Override
+			public void beforeStart(RTEvent e) {
+			}
+			
+			@Override
+			public void beforeResume(RTEvent e) {
+			}
+			
+			@Override
+			public void beforePause(RTEvent e) {
+			}
+			
+			@Override
+			public void onStop() {
+				stopped.countDown();
+			}
+			
+			@Override
+			public void onRunning() {
+			}
+			
+			@Override
+			public void onPause() {
+			}
+		};
+		final float execSpeed = rte.getExecSpeedFactor();
+		final long dwellTime = rte.getMinStepDwellTime();
+		final boolean pauseBeforeStop = rte.getPauseBeforeStop();
+		final long[] start = new long[1];
+		
+		onEDT(new Runnable() {
+			
+			@Override
+			public void run() {
+				rte.setExecSpeedFactor(MAX_EXEC_SPEED);
+				rte.setMinStepDwellTime(0);
+				rte.setPauseBeforeTerminate(false);
+				text.addTextListener(stepCounter);
+				rte.addListener(stopListener);
+				start[0] = System.nanoTime();
+				rte.start(AlgorithmStartOption.START_TO_FINISH);
+			}
+		});
+		
+		try {
+			stopped.await(STEP_SAMPLE_TIME, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		
+		final double elapsed = toMillis(System.nanoTime() - start[0]);
+		final int count = steps.get();
+		
+		onEDT(new Runnable() {
+			
+			@Override
+			public void run() {
+				if(rte.isStarted())
+					rte.stop();
+			}
+		});
+		
+		try {
+			stopped.await(STOP_TIMEOUT, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		
+		onEDT(new Runnable() {
+			
+			@Override
+			public void run() {
+				text.removeTextListener(stepCounter);
+				rte.removeListener(stopListener);
+				rte.setExecSpeedFactor(execSpeed);
+				rte.setMinStepDwellTime(dwellTime);
+				rte.setPauseBeforeTerminate(pauseBeforeStop);
+			}
+		});
+		
+		return (count > 0) ? elapsed / count : -1;
+	}
+	
+	/**
+	 * Executes the specified job in the event dispatch thread and waits until it is finished.
+	 * 
+	 * @param job the job
+	 * @since 1.0
+	 */
+	private static void onEDT(final Runnable job) {
+		try {
+			SwingUtilities.invokeAndWait(job);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (InvocationTargetException e) {
+			throw new RuntimeException(e.getCause());
+		}
+	}
+	
+	/**
+	 * Converts nanoseconds to milliseconds.
+	 * 
+	 * @param nanos the nanoseconds
+	 * @return the milliseconds
+	 * @since 1.0
+	 */
+	private static double toMillis(final long nanos) {
+		return nanos / 1000000.0;
+	}
+	
+	/**
+	 * Formats a number for the table.
+	 * 
+	 * @param value the number
+	 * @return the formatted number
+	 * @since 1.0
+	 */
+	private static String format(final double value) {
+		return String.format(Locale.US, "%.2f", value);
+	}
+	
+	/**
+	 * Joins the specified columns to a row of the table.
+	 * 
+	 * @param columns the columns
+	 * @return the row
+	 * @since 1.0
+	 */
+	private static String join(final String... columns) {
+		final StringBuilder row = new StringBuilder();
+		
+		for(int i = 0; i < columns.length; i++) {
+			if(i > 0)
+				row.append(TABLE_SEPARATOR);
+			row.append((columns[i] != null) ? columns[i].replace(TABLE_SEPARATOR, ",") : "");
+		}
+		
+		return row.toString();
+	}
+
+}
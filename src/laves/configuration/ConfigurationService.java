@@ -0,0 +1,355 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.configuration;
+
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+import laves.Loader;
+import lavesdk.configuration.Configuration;
+import lavesdk.logging.enums.LogType;
+
+/**
+ * The write-behind persistence of the configurations of the host application and the plugins.
+ * <br><br>
+ * The service persists single configuration files (see {@link #setConfigurations(Map)}) and a {@link ConfigurationStore} that
+ * contains the configurations of the plugins. The legacy files of the configurations that were migrated into the store are deleted
+ * after the store is written.
+ * <br><br>
+ * The configurations do not notify about changes, therefore the service watches them by comparing their serialized state with the
+ * state that was written last. The configurations are checked if {@link #changed()} is invoked (the checks are debounced so that a
+ * series of changes is written once) and periodically so that changes of the plugins are not lost. Only the configurations that have
+ * changed are written and they are written in the background. A configuration is written to a temporary file first that replaces the
+ * configuration file atomically so that a crash never leaves a corrupt file.
+ * <br><br>
+ * The files have the format of {@link Configuration#save(File, Configuration)}.
+ * <br><br>
+ * <b>Notice</b>:<br>
+ * The methods of the service must be invoked in the event dispatch thread because the configurations are modified in this thread.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ */
+public class ConfigurationService {
+
+	/** the loader that logs the errors */
+	private final Loader loader;
+	/** the job that stores the current data in the configurations before they are checked or <code>null</code> */
+	private final Runnable prepare;
+	/** the configurations with their files */
+	private final Map<File, Configuration> configs;
+	/** the store of the plugin configurations or <code>null</code> */
+	private final ConfigurationStore store;
+	/** the serialized state of each file that was written last or <code>null</code> if the file must be written */
+	private final Map<File, byte[]> written;
+	/** the timer that debounces the changes */
+	private final Timer debounceTimer;
+	/** the timer that checks the configurations periodically */
+	private final Timer watchTimer;
+	/** the executor that writes the configurations */
+	private final ExecutorService executor;
+	
+	/** the time in milliseconds after the last change until the configurations are checked */
+	public static final int DEBOUNCE_DELAY = 1500;
+	/** the time in milliseconds between the periodic checks of the configurations */
+	public static final int WATCH_INTERVAL = 15000;
+	
+	/**
+	 * Creates a new service.
+	 * 
+	 * @param loader the loader that logs the errors
+	 * @param store the store of the plugin configurations or <code>null</code>
+	 * @param prepare the job that stores the current data in the configurations and updates the set of configurations (see {@link #setConfigurations(Map)})
+	 * before they are checked or <code>null</code>
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if loader is null</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public ConfigurationService(final Loader loader, final ConfigurationStore store, final Runnable prepare) throws IllegalArgumentException {
+		if(loader == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		this.loader = loader;
+		this.prepare = prepare;
+		this.configs = new HashMap<File, Configuration>();
+		this.store = store;
+		this.written = new HashMap<File, byte[]>();
+		
+		if(store != null)
+			written.put(store.getFile(), read(store.getFile()));
+		
+		final ActionListener checkListener = new ActionListener() {
+			
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				check();
+			}
+		};
+		this.debounceTimer = new Timer(DEBOUNCE_DELAY, checkListener);
+		this.debounceTimer.setRepeats(false);
+		this.watchTimer = new Timer(WATCH_INTERVAL, checkListener);
+		
+		this.executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+			
+			@Override
+			public Thread newThread(Runnable r) {
+				final Thread t = new Thread(r, "LAVES Configuration Writer");
+				// the thread must not be a daemon so that a pending write is completed when the application exits
+				t.setDaemon(false);
+				return t;
+			}
+		});
+	}
+	
+	/**
+	 * Starts the periodic checks of the configurations.
+	 * 
+	 * @since 1.0
+	 */
+	public void start() {
+		watchTimer.start();
+	}
+	
+	/**
+	 * Sets the configurations that should be persisted.
+	 * <br><br>
+	 * The state of a configuration that was already persisted is retained so that it is only written if it has changed. A new
+	 * configuration is compared with the content of its file so that it is only written if it differs from the file. The configurations that are not in the map are no longer persisted.
+	 * 
+	 * @param configurations the configurations with their files
+	 * @since 1.0
+	 */
+	public void setConfigurations(final Map<File, Configuration> configurations) {
+		if(configurations == null)
+			return;
+		
+		written.keySet().retainAll(configurations.keySet());
+		if(store != null && !written.containsKey(store.getFile()))
+			written.put(store.getFile(), read(store.getFile()));
+		for(Map.Entry<File, Configuration> entry : configurations.entrySet()) {
+			final File file = entry.getKey();
+			final Configuration cfg = entry.getValue();
+			if(file == null || cfg == null)
+				continue;
+			
+			if(configs.get(file) != cfg)
+				written.put(file, read(file));
+		}
+		
+		configs.clear();
+		for(Map.Entry<File, Configuration> entry : configurations.entrySet())
+			if(entry.getKey() != null && entry.getValue() != null)
+				configs.put(entry.getKey(), entry.getValue());
+	}
+	
+	/**
+	 * Notifies the service that a configuration has changed.
+	 * <br><br>
+	 * The configurations are checked if there are no further changes within {@link #DEBOUNCE_DELAY}.
+	 * 
+	 * @since 1.0
+	 */
+	public void changed() {
+		if(!executor.isShutdown())
+			debounceTimer.restart();
+	}
+	
+	/**
+	 * Checks the configurations immediately and writes the changed configurations in the background.
+	 * 
+	 * @since 1.0
+	 */
+	public void flush() {
+		check();
+	}
+	
+	/**
+	 * Writes the changed configurations and shuts the service down.
+	 * <br><br>
+	 * The method waits until all configurations are written (which is cheap because only the changed configurations are written).
+	 * 
+	 * @param timeout the maximum time in milliseconds to wait
+	 * @return <code>true</code> if all configurations are written otherwise <code>false</code>
+	 * @since 1.0
+	 */
+	public boolean shutdown(final long timeout) {
+		debounceTimer.stop();
+		watchTimer.stop();
+		
+		check();
+		executor.shutdown();
+		
+		try {
+			return executor.awaitTermination(timeout, TimeUnit.MILLISECONDS);
+		}
+		catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+	
+	/**
+	 * Checks the configurations and writes the changed configurations in the background.
+	 * 
+	 * @since 1.0
+	 */
+	private void check() {
+		debounceTimer.stop();
+		
+		if(executor.isShutdown())
+			return;
+		
+		if(prepare != null)
+			prepare.run();
+		
+		for(Map.Entry<File, Configuration> entry : configs.entrySet())
+			submit(entry.getKey(), serialize(entry.getValue()), null);
+		
+		if(store != null) {
+			try {
+				submit(store.getFile(), store.toByteArray(), store.getMigratedFiles());
+			}
+			catch(IOException e) {
+				loader.logMessage(null, "The configuration store could not be encoded!", e, LogType.ERROR);
+			}
+		}
+	}
+	
+	/**
+	 * Writes a serialized configuration in the background if it has changed since it was written last.
+	 * 
+	 * @param file the file
+	 * @param data the serialized configuration or <code>null</code> if the configuration could not be serialized
+	 * @param obsoleteFiles the files that should be deleted after the configuration is written or <code>null</code>
+	 * @since 1.0
+	 */
+	private void submit(final File file, final byte[] data, final List<File> obsoleteFiles) {
+		if(data == null || Arrays.equals(data, written.get(file)))
+			return;
+		
+		written.put(file, data);
+		executor.execute(new Runnable() {
+			
+			@Override
+			public void run() {
+				if(write(file, data) && obsoleteFiles != null)
+					for(File f : obsoleteFiles)
+						f.delete();
+			}
+		});
+	}
+	
+	/**
+	 * Reads the content of a configuration file.
+	 * 
+	 * @param file the file
+	 * @return the content or <code>null</code> if the file does not exist or could not be read
+	 * @since 1.0
+	 */
+	private byte[] read(final File file) {
+		try {
+			return file.isFile() ? Files.readAllBytes(file.toPath()) : null;
+		}
+		catch(IOException e) {
+			return null;
+		}
+	}
+	
+	/**
+	 * Serializes a configuration.
+	 * 
+	 * @param cfg the configuration
+	 * @return the serialized configuration or <code>null</code> if the configuration could not be serialized
+	 * @since 1.0
+	 */
+	private byte[] serialize(final Configuration cfg) {
+		try {
+			return ConfigurationStore.encode(cfg);
+		}
+		catch(IOException e) {
+			return null;
+		}
+	}
+	
+	/**
+	 * Writes a serialized configuration atomically to its file.
+	 * <br><br>
+	 * If the file could not be written then the error is logged and the configuration is written again with the next check.
+	 * 
+	 * @param file the file
+	 * @param data the serialized configuration
+	 * @return <code>true</code> if the file is written otherwise <code>false</code>
+	 * @since 1.0
+	 */
+	private boolean write(final File file, final byte[] data) {
+		File tmp = null;
+		
+		try {
+			final File dir = file.getAbsoluteFile().getParentFile();
+			if(dir != null && !dir.isDirectory() && !dir.mkdirs())
+				throw new IOException("The directory " + dir + " could not be created!");
+			
+			tmp = File.createTempFile("laves-", ".tmp", dir);
+			try(final FileOutputStream out = new FileOutputStream(tmp)) {
+				out.write(data);
+				out.getFD().sync();
+			}
+			
+			Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			return true;
+		}
+		catch(final IOException e) {
+			if(tmp != null)
+				tmp.delete();
+			
+			SwingUtilities.invokeLater(new Runnable() {
+				
+				@Override
+				public void run() {
+					// retry with the next check
+					if(written.get(file) == data)
+						written.put(file, null);
+					loader.logMessage(null, "Configuration " + file.getName() + " could not be saved!", e, LogType.ERROR);
+				}
+			});
+			return false;
+		}
+	}
+
+}
@@ -0,0 +1,384 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.configuration;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import laves.utils.Constants;
+import lavesdk.configuration.Configuration;
+
+/**
+ * A single file that stores the configurations of all plugins.
+ * <br><br>
+ * The file consists of a header, an index that contains the name and the length of each section and the sections themselves. A
+ * section is the serialized {@link Configuration} of a plugin (in the format of {@link Configuration#save(File, Configuration)}).
+ * The store reads the file with one operation and decodes a section not until its configuration is requested with {@link #get(String)}.
+ * Sections that are not requested (e.g. the configuration of a plugin that could not be loaded) are written back unchanged.
+ * <br><br>
+ * If the store does not contain the configuration of a plugin then the configuration is loaded from the legacy configuration file of
+ * the plugin (the simple name of the plugin bundle with the extension {@link Constants#EXT_CONFIG} in the legacy directory) so that
+ * the configurations are migrated transparently. The legacy files can be deleted as soon as the store is written (see
+ * {@link #getMigratedFiles()}).
+ * <br><br>
+ * <b>Notice</b>:<br>
+ * The store is not thread-safe. It is accessed by the loader before the host application is shown and by the event dispatch thread
+ * afterwards.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ */
+public class ConfigurationStore {
+
+	/** the file of the store */
+	private final File file;
+	/** the directory of the legacy configuration files or <code>null</code> if the configurations should not be migrated */
+	private final File legacyDir;
+	/** the content of the file or <code>null</code> if the file could not be read */
+	private final byte[] content;
+	/** the offset and the length of each section in the content that is not decoded yet */
+	private final Map<String, int[]> sections;
+	/** the decoded configurations */
+	private final Map<String, Configuration> configs;
+	/** the legacy files of the migrated configurations */
+	private final List<File> migratedFiles;
+	
+	/** the magic number of a store file ("LVCS") */
+	private static final int MAGIC = 0x4C564353;
+	/** the version of the store format */
+	private static final int VERSION = 1;
+	
+	/**
+	 * Creates a new store.
+	 * 
+	 * @param file the file of the store
+	 * @param legacyDir the directory of the legacy configuration files or <code>null</code> if the configurations should not be migrated
+	 * @param content the content of the file or <code>null</code>
+	 * @param sections the sections of the content
+	 * @since 1.0
+	 */
+	private ConfigurationStore(final File file, final File legacyDir, final byte[] content, final Map<String, int[]> sections) {
+		this.file = file;
+		this.legacyDir = legacyDir;
+		this.content = content;
+		this.sections = sections;
+		this.configs = new TreeMap<String, Configuration>();
+		this.migratedFiles = new ArrayList<File>();
+	}
+	
+	/**
+	 * Opens a store.
+	 * <br><br>
+	 * If the file does not exist or is corrupt then the store is empty meaning that all configurations are loaded from the legacy files.
+	 * 
+	 * @param file the file of the store
+	 * @param legacyDir the directory of the legacy configuration files or <code>null</code> if the configurations should not be migrated
+	 * @return the store
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if file is null</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public static ConfigurationStore open(final File file, final File legacyDir) throws IllegalArgumentException {
+		if(file == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		final Map<String, int[]> sections = new TreeMap<String, int[]>();
+		byte[] content = null;
+		
+		if(file.isFile()) {
+			try {
+				content = Files.readAllBytes(file.toPath());
+				readIndex(content, sections);
+			}
+			catch(IOException e) {
+				content = null;
+				sections.clear();
+			}
+		}
+		
+		return new ConfigurationStore(file, legacyDir, content, sections);
+	}
+	
+	/**
+	 * Gets the file of the store.
+	 * 
+	 * @return the file
+	 * @since 1.0
+	 */
+	public File getFile() {
+		return file;
+	}
+	
+	/**
+	 * Gets the configuration of a plugin.
+	 * <br><br>
+	 * The configuration is decoded from its section when it is requested the first time. If the store does not contain the
+	 * configuration then it is migrated from its legacy file or a new configuration is created.
+	 * 
+	 * @param name the simple name of the plugin bundle
+	 * @return the configuration
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if name is null</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public Configuration get(final String name) throws IllegalArgumentException {
+		if(name == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		Configuration cfg = configs.get(name);
+		if(cfg != null)
+			return cfg;
+		
+		final int[] section = sections.remove(name);
+		if(section != null)
+			cfg = decode(section);
+		
+		if(cfg == null && legacyDir != null) {
+			final File legacyFile = new File(legacyDir, name + Constants.EXT_CONFIG);
+			if(legacyFile.isFile()) {
+				cfg = Configuration.load(legacyFile);
+				migratedFiles.add(legacyFile);
+			}
+		}
+		
+		if(cfg == null)
+			cfg = new Configuration();
+		
+		configs.put(name, cfg);
+		return cfg;
+	}
+	
+	/**
+	 * Creates a copy of the configuration of a plugin.
+	 * <br><br>
+	 * The copy is not part of the store meaning changes of the copy are discarded.
+	 * 
+	 * @param name the simple name of the plugin bundle
+	 * @return the copy of the configuration
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if name is null</li>
+	 * </ul>
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the configuration could not be copied</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public Configuration copy(final String name) throws IllegalArgumentException, IOException {
+		final byte[] data = encode(get(name));
+		final Configuration cfg = decode(data, 0, data.length);
+		
+		if(cfg == null)
+			throw new IOException("The configuration could not be copied!");
+		
+		return cfg;
+	}
+	
+	/**
+	 * Sets the configuration of a plugin.
+	 * 
+	 * @param name the simple name of the plugin bundle
+	 * @param cfg the configuration
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if name is null</li>
+	 * 		<li>if cfg is null</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public void put(final String name, final Configuration cfg) throws IllegalArgumentException {
+		if(name == null || cfg == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		sections.remove(name);
+		configs.put(name, cfg);
+	}
+	
+	/**
+	 * Removes the configuration of a plugin.
+	 * 
+	 * @param name the simple name of the plugin bundle
+	 * @since 1.0
+	 */
+	public void remove(final String name) {
+		sections.remove(name);
+		configs.remove(name);
+	}
+	
+	/**
+	 * Gets the legacy files of the configurations that were migrated into the store.
+	 * <br><br>
+	 * The files can be deleted after the store is written.
+	 * 
+	 * @return the legacy files
+	 * @since 1.0
+	 */
+	public List<File> getMigratedFiles() {
+		return new ArrayList<File>(migratedFiles);
+	}
+	
+	/**
+	 * Encodes the store meaning the content of its file.
+	 * <br><br>
+	 * The sections are sorted by their names so that the content of an unchanged store is always the same.
+	 * 
+	 * @return the content
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if a configuration could not be serialized</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public byte[] toByteArray() throws IOException {
+		final Map<String, byte[]> encoded = new TreeMap<String, byte[]>();
+		
+		for(Map.Entry<String, int[]> entry : sections.entrySet()) {
+			final int[] section = entry.getValue();
+			final byte[] data = new byte[section[1]];
+			System.arraycopy(content, section[0], data, 0, data.length);
+			encoded.put(entry.getKey(), data);
+		}
+		for(Map.Entry<String, Configuration> entry : configs.entrySet())
+			encoded.put(entry.getKey(), encode(entry.getValue()));
+		
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		final DataOutputStream out = new DataOutputStream(bytes);
+		
+		out.writeInt(MAGIC);
+		out.writeInt(VERSION);
+		out.writeInt(encoded.size());
+		for(Map.Entry<String, byte[]> entry : encoded.entrySet()) {
+			out.writeUTF(entry.getKey());
+			out.writeInt(entry.getValue().length);
+		}
+		for(byte[] data : encoded.values())
+			out.write(data);
+		out.flush();
+		
+		return bytes.toByteArray();
+	}
+	
+	/**
+	 * Reads the index of the content of a store file.
+	 * 
+	 * @param content the content
+	 * @param sections the map that is filled with the offset and the length of each section
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the content is not a valid store</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	private static void readIndex(final byte[] content, final Map<String, int[]> sections) throws IOException {
+		final ByteArrayInputStream bytes = new ByteArrayInputStream(content);
+		final DataInputStream in = new DataInputStream(bytes);
+		
+		if(in.readInt() != MAGIC || in.readInt() != VERSION)
+			throw new IOException("The file is not a valid configuration store!");
+		
+		final int count = in.readInt();
+		if(count < 0)
+			throw new IOException("The file is not a valid configuration store!");
+		
+		final String[] names = new String[count];
+		final int[] lengths = new int[count];
+		for(int i = 0; i < count; i++) {
+			names[i] = in.readUTF();
+			lengths[i] = in.readInt();
+		}
+		
+		// the sections follow the index
+		long offset = content.length - bytes.available();
+		for(int i = 0; i < count; i++) {
+			if(lengths[i] < 0 || offset + lengths[i] > content.length)
+				throw new IOException("The file is not a valid configuration store!");
+			
+			sections.put(names[i], new int[] { (int)offset, lengths[i] });
+			offset += lengths[i];
+		}
+	}
+	
+	/**
+	 * Decodes a section.
+	 * 
+	 * @param section the offset and the length of the section
+	 * @return the configuration or <code>null</code> if the section could not be decoded
+	 * @since 1.0
+	 */
+	private Configuration decode(final int[] section) {
+		return decode(content, section[0], section[1]);
+	}
+	
+	/**
+	 * Decodes a serialized configuration.
+	 * 
+	 * @param data the data
+	 * @param offset the offset of the configuration in the data
+	 * @param length the length of the configuration
+	 * @return the configuration or <code>null</code> if the configuration could not be decoded
+	 * @since 1.0
+	 */
+	private static Configuration decode(final byte[] data, final int offset, final int length) {
+		try(final ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data, offset, length))) {
+			final Object obj = in.readObject();
+			return (obj instanceof Configuration) ? (Configuration)obj : null;
+		}
+		catch(IOException | ClassNotFoundException e) {
+			return null;
+		}
+	}
+	
+	/**
+	 * Encodes a configuration.
+	 * 
+	 * @param cfg the configuration
+	 * @return the serialized configuration
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the configuration could not be serialized</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	static byte[] encode(final Configuration cfg) throws IOException {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try(final ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(cfg);
+		}
+		return bytes.toByteArray();
+	}
+
+}
@@ -36,7 +36,7 @@ import lavesdk.language.LabelEntry;
  * A wrapper for the main configuration data.
  * 
  * @author jdornseifer
- * @version 1.3
+ * @version 1.4
  * @since 1.0
  */
 public class MainConfiguration {
@@ -826,4 +826,24 @@ public class MainConfiguration {
 		config.addBoolean("toolBarOptSkipBreakpointsSelected", selected);
 	}
 
+	/**
+	 * Gets the interval in which the document of the active plugin is recorded in the autosave journal.
+	 * 
+	 * @return the interval in seconds or <code>0</code> if the autosave is disabled
+	 * @since 1.4
+	 */
+	public int getAutosaveInterval() {
+		return Math.max(config.getInt("autosaveInterval", 60), 0);
+	}
+	
+	/**
+	 * Sets the interval in which the document of the active plugin is recorded in the autosave journal.
+	 * 
+	 * @param interval the interval in seconds or <code>0</code> to disable the autosave
+	 * @since 1.4
+	 */
+	public void setAutosaveInterval(final int interval) {
+		config.addInt("autosaveInterval", interval);
+	}
+
 }
@@ -0,0 +1,446 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.gui;
+
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.FlowLayout;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import javax.swing.BorderFactory;
+import javax.swing.JButton;
+import javax.swing.JCheckBox;
+import javax.swing.JDialog;
+import javax.swing.JFileChooser;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JProgressBar;
+import javax.swing.JScrollPane;
+import javax.swing.JSeparator;
+import javax.swing.JTable;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+import javax.swing.border.EmptyBorder;
+import javax.swing.filechooser.FileNameExtensionFilter;
+import javax.swing.table.DefaultTableModel;
+
+import laves.benchmark.BenchmarkHost;
+import laves.benchmark.BenchmarkListener;
+import laves.benchmark.BenchmarkResult;
+import laves.benchmark.RenderingBenchmark;
+import laves.resources.ResourceManager;
+import lavesdk.algorithm.plugin.AlgorithmPlugin;
+import lavesdk.language.LanguageFile;
+import lavesdk.logging.enums.LogType;
+
+/**
+ * The dialog to run the rendering benchmark of the installed plugins.
+ * <br><br>
+ * The user can choose the orders and densities of the generated instances. The results are displayed in a table and can be
+ * saved as a table file (values separated by semicolons) to compare them across plugin and SDK versions.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ */
+public class BenchmarkDialog extends JDialog {
+
+	private static final long serialVersionUID = 1L;
+	
+	/** the main window */
+	private final MainWindow mainWin;
+	/** the host in which the plugins are activated */
+	private final BenchmarkHost host;
+	/** the options of the orders */
+	private final JCheckBox[] orderOptions;
+	/** the options of the densities */
+	private final JCheckBox[] densityOptions;
+	/** the table model of the results */
+	private final DefaultTableModel tableModel;
+	/** the progress bar */
+	private final JProgressBar progressBar;
+	/** the run button */
+	private final JButton runBtn;
+	/** the cancel button */
+	private final JButton cancelBtn;
+	/** the save button */
+	private final JButton saveBtn;
+	/** the quit button */
+	private final JButton quitBtn;
+	/** the results of the last run */
+	private final List<BenchmarkResult> results;
+	/** the running benchmark or <code>null</code> */
+	private RenderingBenchmark benchmark;
+	
+	/** the orders that are selected by default */
+	private static final int MAX_DEFAULT_ORDER = 10000;
+	
+	/**
+	 * Creates a new benchmark dialog.
+	 * 
+	 * @param mw the main window
+	 * @param host the host in which the plugins are activated
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if mw is null</li>
+	 * 		<li>if host is null</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public BenchmarkDialog(final MainWindow mw, final BenchmarkHost host) throws IllegalArgumentException {
+		if(mw == null || host == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		mainWin = mw;
+		this.host = host;
+		results = new ArrayList<BenchmarkResult>();
+		benchmark = null;
+		
+		setTitle(LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_BENCHMARK_TITLE", mainWin.getLanguageID(), "Rendering Benchmark"));
+		setModal(true);
+		setSize(800, 500);
+		setDefaultCloseOperation(DO_NOTHING_ON_CLOSE);
+		mainWin.adaptDialog(this);
+		
+		getContentPane().setLayout(new BorderLayout());
+		
+		// create a description panel at the top
+		final JPanel descPanel = new JPanel(new BorderLayout(10, 10));
+		descPanel.setBackground(Color.white);
+		descPanel.add(new JLabel(ResourceManager.getInstance().ICON_PLUGIN_BIG), BorderLayout.WEST);
+		descPanel.add(new JLabel("<html>" + LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_BENCHMARK_DESCRIPTION", mainWin.getLanguageID(), "<b>Measure the rendering performance of the installed plugins.</b><br>Large instances are loaded into the graph views of each plugin. Large orders can take several minutes.") + "</html>"), BorderLayout.CENTER);
+		descPanel.add(new JSeparator(), BorderLayout.SOUTH);
+		descPanel.setBorder(BorderFactory.createMatteBorder(5, 0, 0, 0, Color.white));
+		getContentPane().add(descPanel, BorderLayout.NORTH);
+		
+		final JPanel contentPanel = new JPanel(new BorderLayout(5, 5));
+		contentPanel.setBorder(new EmptyBorder(5, 5, 5, 5));
+		getContentPane().add(contentPanel, BorderLayout.CENTER);
+		
+		// create the options of the instances
+		final JPanel optionsPanel = new JPanel(new BorderLayout());
+		final JPanel ordersPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+		final JPanel densitiesPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+		ordersPanel.add(new JLabel(LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_BENCHMARK_ORDERS", mainWin.getLanguageID(), "Vertices:")));
+		densitiesPanel.add(new JLabel(LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_BENCHMARK_DENSITIES", mainWin.getLanguageID(), "Average degree:")));
+		
+		orderOptions = new JCheckBox[RenderingBenchmark.ORDERS.length];
+		for(int i = 0; i < orderOptions.length; i++) {
+			orderOptions[i] = new JCheckBox("" + RenderingBenchmark.ORDERS[i], RenderingBenchmark.ORDERS[i] <= MAX_DEFAULT_ORDER);
+			ordersPanel.add(orderOptions[i]);
+		}
+		densityOptions = new JCheckBox[RenderingBenchmark.DENSITIES.length];
+		for(int i = 0; i < densityOptions.length; i++) {
+			densityOptions[i] = new JCheckBox(format(RenderingBenchmark.DENSITIES[i], 0), true);
+			densitiesPanel.add(densityOptions[i]);
+		}
+		optionsPanel.add(ordersPanel, BorderLayout.NORTH);
+		optionsPanel.add(densitiesPanel, BorderLayout.SOUTH);
+		contentPanel.add(optionsPanel, BorderLayout.NORTH);
+		
+		// create the table of the results
+		tableModel = new DefaultTableModel(new Object[] {
+				LanguageFile.getLabel(mainWin.getLanguageFile(), "COLUMN_ALGONAME", mainWin.getLanguageID(), "Name"),
+				LanguageFile.getLabel(mainWin.getLanguageFile(), "COLUMN_ALGOVERSION", mainWin.getLanguageID(), "Version"),
+				LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_BENCHMARK_COLUMN_VERTICES", mainWin.getLanguageID(), "Vertices"),
+				LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_BENCHMARK_COLUMN_EDGES", mainWin.getLanguageID(), "Edges"),
+				LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_BENCHMARK_COLUMN_LOAD", mainWin.getLanguageID(), "Load [ms]"),
+				LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_BENCHMARK_COLUMN_LAYOUT", mainWin.getLanguageID(), "Layout [ms]"),
+				LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_BENCHMARK_COLUMN_FIRSTPAINT", mainWin.getLanguageID(), "First paint [ms]"),
+				LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_BENCHMARK_COLUMN_REPAINT", mainWin.getLanguageID(), "Repaint [ms]"),
+				LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_BENCHMARK_COLUMN_STEP", mainWin.getLanguageID(), "Step [ms]") }, 0) {
+			
+			private static final long serialVersionUID = 1L;
+			
+			@Override
+			public boolean isCellEditable(int row, int column) {
+				return false;
+			}
+		};
+		final JTable table = new JTable(tableModel);
+		contentPanel.add(new JScrollPane(table), BorderLayout.CENTER);
+		
+		progressBar = new JProgressBar();
+		progressBar.setStringPainted(true);
+		progressBar.setString("");
+		contentPanel.add(progressBar, BorderLayout.SOUTH);
+		
+		JPanel buttonPane = new JPanel();
+		buttonPane.setLayout(new FlowLayout(FlowLayout.RIGHT));
+		getContentPane().add(buttonPane, BorderLayout.SOUTH);
+		
+		runBtn = new JButton(LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_BENCHMARK_BTN_RUN", mainWin.getLanguageID(), "Run"));
+		runBtn.addActionListener(new ActionListener() {
+			
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				BenchmarkDialog.this.doRun();
+			}
+		});
+		buttonPane.add(runBtn);
+		
+		cancelBtn = new JButton(LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_BTN_CANCEL", mainWin.getLanguageID(), "Cancel"));
+		cancelBtn.setEnabled(false);
+		cancelBtn.addActionListener(new ActionListener() {
+			
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				BenchmarkDialog.this.doCancel();
+			}
+		});
+		buttonPane.add(cancelBtn);
+		
+		saveBtn = new JButton(LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_BENCHMARK_BTN_SAVE", mainWin.getLanguageID(), "Save..."));
+		saveBtn.setEnabled(false);
+		saveBtn.addActionListener(new ActionListener() {
+			
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				BenchmarkDialog.this.doSave();
+			}
+		});
+		buttonPane.add(saveBtn);
+		
+		quitBtn = new JButton(LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_BTN_QUIT", mainWin.getLanguageID(), "Quit"));
+		quitBtn.addActionListener(new ActionListener() {
+			
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				BenchmarkDialog.this.dispose();
+			}
+		});
+		buttonPane.add(quitBtn);
+		getRootPane().setDefaultButton(runBtn);
+		
+		addWindowListener(new WindowAdapter() {
+			
+			@Override
+			public void windowClosing(WindowEvent e) {
+				// the dialog cannot be closed while the benchmark activates plugins so cancel the benchmark first
+				if(BenchmarkDialog.this.benchmark != null)
+					BenchmarkDialog.this.doCancel();
+				else
+					BenchmarkDialog.this.dispose();
+			}
+		});
+	}
+	
+	/**
+	 * Runs the benchmark with the selected options in a background thread.
+	 * 
+	 * @since 1.0
+	 */
+	private void doRun() {
+		final int[] orders = getSelectedOrders();
+		final float[] densities = getSelectedDensities();
+		
+		if(orders.length == 0 || densities.length == 0 || benchmark != null)
+			return;
+		
+		final List<AlgorithmPlugin> plugins = mainWin.getLoader().getPluginManager().getInstalledPlugins();
+		
+		results.clear();
+		tableModel.setRowCount(0);
+		runBtn.setEnabled(false);
+		saveBtn.setEnabled(false);
+		quitBtn.setEnabled(false);
+		cancelBtn.setEnabled(true);
+		
+		benchmark = new RenderingBenchmark(host, plugins, orders, densities);
+		
+		final SwingWorker<Void, BenchmarkResult> worker = new SwingWorker<Void, BenchmarkResult>() {
+			
+			private final RenderingBenchmark bm = BenchmarkDialog.this.benchmark;
+			
+			@Override
+			protected Void doInBackground() throws Exception {
+				bm.run(new BenchmarkListener() {
+					
+					@Override
+					public void totalProgress(final int total) {
+						SwingUtilities.invokeLater(new Runnable() {
+							
+							@Override
+							public void run() {
+								progressBar.setMaximum(total);
+							}
+						});
+					}
+					
+					@Override
+					public void currentProgress(final int current, final String text) {
+						SwingUtilities.invokeLater(new Runnable() {
+							
+							@Override
+							public void run() {
+								progressBar.setValue(current);
+								progressBar.setString(text);
+							}
+						});
+					}
+					
+					@Override
+					public void resultAvailable(BenchmarkResult result) {
+						publish(result);
+					}
+				});
+				
+				return null;
+			}
+			
+			@Override
+			protected void process(List<BenchmarkResult> chunks) {
+				for(BenchmarkResult r : chunks)
+					BenchmarkDialog.this.addResult(r);
+			}
+			
+			@Override
+			protected void done() {
+				try {
+					get();
+				} catch (Exception e) {
+					mainWin.getLoader().logMessage(null, "BenchmarkDialog: benchmark failed!", e, LogType.ERROR);
+				}
+				
+				BenchmarkDialog.this.benchmark = null;
+				runBtn.setEnabled(true);
+				quitBtn.setEnabled(true);
+				cancelBtn.setEnabled(false);
+				saveBtn.setEnabled(!results.isEmpty());
+				progressBar.setString("");
+				progressBar.setValue(0);
+			}
+		};
+		worker.execute();
+	}
+	
+	/**
+	 * Cancels the running benchmark.
+	 * 
+	 * @since 1.0
+	 */
+	private void doCancel() {
+		if(benchmark != null)
+			benchmark.cancel();
+		cancelBtn.setEnabled(false);
+	}
+	
+	/**
+	 * Saves the results of the last run to a file the user can choose.
+	 * 
+	 * @since 1.0
+	 */
+	private void doSave() {
+		final JFileChooser fc = new JFileChooser();
+		
+		fc.setAcceptAllFileFilterUsed(false);
+		fc.setMultiSelectionEnabled(false);
+		fc.addChoosableFileFilter(new FileNameExtensionFilter("CSV (*.csv)", "csv"));
+		
+		if(fc.showSaveDialog(this) != JFileChooser.APPROVE_OPTION)
+			return;
+		
+		File file = fc.getSelectedFile();
+		if(!file.getName().toLowerCase().endsWith(".csv"))
+			file = new File(file.getAbsolutePath() + ".csv");
+		
+		try {
+			RenderingBenchmark.writeTable(file, results);
+		} catch (IOException e) {
+			mainWin.getLoader().logMessage(null, "BenchmarkDialog: results could not be saved!", e, LogType.ERROR);
+			JOptionPane.showMessageDialog(this, LanguageFile.getLabel(mainWin.getLanguageFile(), "MSG_ERR_SAVEBENCHMARK", mainWin.getLanguageID(), "The results could not be saved!"), getTitle(), JOptionPane.ERROR_MESSAGE);
+		}
+	}
+	
+	/**
+	 * Adds a result to the table.
+	 * 
+	 * @param r the result
+	 * @since 1.0
+	 */
+	private void addResult(final BenchmarkResult r) {
+		results.add(r);
+		tableModel.addRow(new Object[] { r.pluginName, r.pluginVersion, r.vertices, r.edges, format(r.loadTime, 1), format(r.layoutTime, 1), format(r.firstPaintTime, 1), format(r.repaintTime, 1), format(r.stepTime, 1) });
+	}
+	
+	/**
+	 * Gets the selected orders.
+	 * 
+	 * @return the selected orders
+	 * @since 1.0
+	 */
+	private int[] getSelectedOrders() {
+		int count = 0;
+		for(JCheckBox cb : orderOptions)
+			if(cb.isSelected())
+				count++;
+		
+		final int[] orders = new int[count];
+		count = 0;
+		for(int i = 0; i < orderOptions.length; i++)
+			if(orderOptions[i].isSelected())
+				orders[count++] = RenderingBenchmark.ORDERS[i];
+		
+		return orders;
+	}
+	
+	/**
+	 * Gets the selected densities.
+	 * 
+	 * @return the selected densities
+	 * @since 1.0
+	 */
+	private float[] getSelectedDensities() {
+		int count = 0;
+		for(JCheckBox cb : densityOptions)
+			if(cb.isSelected())
+				count++;
+		
+		final float[] densities = new float[count];
+		count = 0;
+		for(int i = 0; i < densityOptions.length; i++)
+			if(densityOptions[i].isSelected())
+				densities[count++] = RenderingBenchmark.DENSITIES[i];
+		
+		return densities;
+	}
+	
+	/**
+	 * Formats a number for the table.
+	 * 
+	 * @param value the number
+	 * @param decimals the number of decimal places
+	 * @return the formatted number
+	 * @since 1.0
+	 */
+	private static String format(final double value, final int decimals) {
+		return String.format(Locale.US, "%." + decimals + "f", value);
+	}
+
+}
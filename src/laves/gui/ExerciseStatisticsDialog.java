@@ -0,0 +1,443 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.gui;
+
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.FlowLayout;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.BorderFactory;
+import javax.swing.JButton;
+import javax.swing.JComboBox;
+import javax.swing.JDialog;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JProgressBar;
+import javax.swing.JScrollPane;
+import javax.swing.JSeparator;
+import javax.swing.JTable;
+import javax.swing.ListSelectionModel;
+import javax.swing.RowSorter;
+import javax.swing.SortOrder;
+import javax.swing.SwingWorker;
+import javax.swing.border.EmptyBorder;
+import javax.swing.table.AbstractTableModel;
+
+import laves.io.ExerciseAttemptStore;
+import laves.io.ExerciseAttemptStore.ExerciseStatistics;
+import laves.resources.ResourceManager;
+import lavesdk.language.LanguageFile;
+import lavesdk.logging.enums.LogType;
+
+/**
+ * The dialog to view the statistics of the attempts to solve the exercises (the instructor dashboard).
+ * <br><br>
+ * The dialog displays the number of attempts, the failure rate and the median duration of each exercise so that an instructor can
+ * see which exercises are difficult for the students. The attempts can be filtered by their plugin and their time. The statistics
+ * are aggregated from the {@link ExerciseAttemptStore} in a background thread.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ */
+public class ExerciseStatisticsDialog extends JDialog {
+
+	private static final long serialVersionUID = 1L;
+	
+	/** the main window */
+	private final MainWindow mainWin;
+	/** the keys of the plugins of the plugin filter (the first item is all plugins) */
+	private final List<String> pluginKeys;
+	/** the selection of the plugin */
+	private final JComboBox<String> pluginCombo;
+	/** the selection of the time range */
+	private final JComboBox<String> rangeCombo;
+	/** the table model of the statistics */
+	private final StatisticsTableModel tableModel;
+	/** the label of the summary of the statistics */
+	private final JLabel summaryLabel;
+	/** the progress bar */
+	private final JProgressBar progressBar;
+	/** the running worker or <code>null</code> */
+	private SwingWorker<?, ?> worker;
+	
+	/** the time ranges of the time filter in milliseconds (<code>0</code> means all attempts) */
+	private static final long[] TIME_RANGES = { 0L, 24L * 60L * 60L * 1000L, 7L * 24L * 60L * 60L * 1000L, 30L * 24L * 60L * 60L * 1000L };
+	/** the column of the failure rate */
+	private static final int COLUMN_FAILURERATE = 4;
+	
+	/**
+	 * Creates a new exercise statistics dialog.
+	 * 
+	 * @param mw the main window
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if mw is null</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public ExerciseStatisticsDialog(final MainWindow mw) throws IllegalArgumentException {
+		if(mw == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		mainWin = mw;
+		worker = null;
+		
+		setTitle(LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_EXERCISESTATS_TITLE", mainWin.getLanguageID(), "Exercise Statistics"));
+		setModal(true);
+		setSize(900, 600);
+		setDefaultCloseOperation(DO_NOTHING_ON_CLOSE);
+		mainWin.adaptDialog(this);
+		
+		getContentPane().setLayout(new BorderLayout());
+		
+		// create a description panel at the top
+		final JPanel descPanel = new JPanel(new BorderLayout(10, 10));
+		descPanel.setBackground(Color.white);
+		descPanel.add(new JLabel(ResourceManager.getInstance().ICON_PLUGIN_BIG), BorderLayout.WEST);
+		descPanel.add(new JLabel("<html>" + LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_EXERCISESTATS_DESCRIPTION", mainWin.getLanguageID(), "<b>View the statistics of the exercises that were solved on this computer.</b><br>Exercises with a high failure rate or a long median time are difficult for the students.") + "</html>"), BorderLayout.CENTER);
+		descPanel.add(new JSeparator(), BorderLayout.SOUTH);
+		descPanel.setBorder(BorderFactory.createMatteBorder(5, 0, 0, 0, Color.white));
+		getContentPane().add(descPanel, BorderLayout.NORTH);
+		
+		final JPanel contentPanel = new JPanel(new BorderLayout(5, 5));
+		contentPanel.setBorder(new EmptyBorder(5, 5, 5, 5));
+		getContentPane().add(contentPanel, BorderLayout.CENTER);
+		
+		final ActionListener filterListener = new ActionListener() {
+			
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				ExerciseStatisticsDialog.this.doLoad();
+			}
+		};
+		
+		// create the filter
+		final JPanel filterPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+		
+		// the plugins of the store are added when the dialog is opened so that plugins that are uninstalled meanwhile can be selected too
+		pluginKeys = new ArrayList<String>();
+		pluginKeys.add(null);
+		
+		filterPanel.add(new JLabel(LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_EXERCISESTATS_PLUGIN", mainWin.getLanguageID(), "Plugin:")));
+		pluginCombo = new JComboBox<String>(new String[] { LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_EXERCISESTATS_ALLPLUGINS", mainWin.getLanguageID(), "All plugins") });
+		pluginCombo.addActionListener(filterListener);
+		filterPanel.add(pluginCombo);
+		
+		filterPanel.add(new JLabel(LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_EXERCISESTATS_TIME", mainWin.getLanguageID(), "Time:")));
+		rangeCombo = new JComboBox<String>(new String[] {
+				LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_EXERCISESTATS_TIME_ALL", mainWin.getLanguageID(), "All"),
+				LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_EXERCISESTATS_TIME_DAY", mainWin.getLanguageID(), "Last 24 hours"),
+				LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_EXERCISESTATS_TIME_WEEK", mainWin.getLanguageID(), "Last 7 days"),
+				LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_EXERCISESTATS_TIME_MONTH", mainWin.getLanguageID(), "Last 30 days") });
+		rangeCombo.addActionListener(filterListener);
+		filterPanel.add(rangeCombo);
+		contentPanel.add(filterPanel, BorderLayout.NORTH);
+		
+		// create the table of the statistics that is sorted by the failure rate
+		tableModel = new StatisticsTableModel(new String[] {
+				LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_EXERCISESTATS_COLUMN_PLUGIN", mainWin.getLanguageID(), "Plugin"),
+				LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_EXERCISESTATS_COLUMN_EXERCISE", mainWin.getLanguageID(), "Exercise"),
+				LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_EXERCISESTATS_COLUMN_ATTEMPTS", mainWin.getLanguageID(), "Attempts"),
+				LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_EXERCISESTATS_COLUMN_FAILURES", mainWin.getLanguageID(), "Failures"),
+				LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_EXERCISESTATS_COLUMN_FAILURERATE", mainWin.getLanguageID(), "Failure Rate (%)"),
+				LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_EXERCISESTATS_COLUMN_MEDIANTIME", mainWin.getLanguageID(), "Median Time (s)"),
+				LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_EXERCISESTATS_COLUMN_MEANTIME", mainWin.getLanguageID(), "Mean Time (s)") });
+		final JTable table = new JTable(tableModel);
+		table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+		table.setAutoCreateRowSorter(true);
+		final List<RowSorter.SortKey> sortKeys = new ArrayList<RowSorter.SortKey>(1);
+		sortKeys.add(new RowSorter.SortKey(COLUMN_FAILURERATE, SortOrder.DESCENDING));
+		table.getRowSorter().setSortKeys(sortKeys);
+		table.getColumnModel().getColumn(0).setPreferredWidth(150);
+		table.getColumnModel().getColumn(1).setPreferredWidth(330);
+		table.getColumnModel().getColumn(2).setPreferredWidth(70);
+		table.getColumnModel().getColumn(3).setPreferredWidth(70);
+		table.getColumnModel().getColumn(4).setPreferredWidth(90);
+		table.getColumnModel().getColumn(5).setPreferredWidth(90);
+		table.getColumnModel().getColumn(6).setPreferredWidth(90);
+		contentPanel.add(new JScrollPane(table), BorderLayout.CENTER);
+		
+		// create the summary and the progress bar
+		final JPanel statusPanel = new JPanel(new BorderLayout(5, 5));
+		summaryLabel = new JLabel();
+		statusPanel.add(summaryLabel, BorderLayout.WEST);
+		progressBar = new JProgressBar(0, 100);
+		statusPanel.add(progressBar, BorderLayout.CENTER);
+		contentPanel.add(statusPanel, BorderLayout.SOUTH);
+		
+		JPanel buttonPane = new JPanel();
+		buttonPane.setLayout(new FlowLayout(FlowLayout.RIGHT));
+		getContentPane().add(buttonPane, BorderLayout.SOUTH);
+		
+		final JButton refreshBtn = new JButton(LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_EXERCISESTATS_BTN_REFRESH", mainWin.getLanguageID(), "Refresh"));
+		refreshBtn.addActionListener(filterListener);
+		buttonPane.add(refreshBtn);
+		
+		final JButton quitBtn = new JButton(LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_BTN_QUIT", mainWin.getLanguageID(), "Quit"));
+		quitBtn.addActionListener(new ActionListener() {
+			
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				ExerciseStatisticsDialog.this.doClose();
+			}
+		});
+		buttonPane.add(quitBtn);
+		getRootPane().setDefaultButton(quitBtn);
+		
+		addWindowListener(new WindowAdapter() {
+			
+			@Override
+			public void windowOpened(WindowEvent e) {
+				ExerciseStatisticsDialog.this.doLoadPlugins();
+			}
+			
+			@Override
+			public void windowClosing(WindowEvent e) {
+				ExerciseStatisticsDialog.this.doClose();
+			}
+		});
+	}
+	
+	/**
+	 * Reads the plugins that have recorded attempts in a background thread, adds them to the plugin filter and aggregates the
+	 * attempts afterwards.
+	 * 
+	 * @since 1.0
+	 */
+	private void doLoadPlugins() {
+		cancelWorker();
+		
+		final ExerciseAttemptStore store = mainWin.getExerciseAttemptStore();
+		
+		progressBar.setIndeterminate(true);
+		
+		final SwingWorker<String[][], Void> w = new SwingWorker<String[][], Void>() {
+			
+			@Override
+			protected String[][] doInBackground() throws Exception {
+				return store.getPlugins();
+			}
+			
+			@Override
+			protected void done() {
+				if(isCancelled() || ExerciseStatisticsDialog.this.worker != this)
+					return;
+				
+				ExerciseStatisticsDialog.this.worker = null;
+				progressBar.setIndeterminate(false);
+				
+				try {
+					// adding items does not change the selection so the filter listener is not notified
+					for(String[] plugin : get()) {
+						pluginKeys.add(plugin[0]);
+						pluginCombo.addItem(plugin[1]);
+					}
+				} catch (Exception e) {
+					mainWin.getLoader().logMessage(null, "ExerciseStatisticsDialog: plugins of the exercise attempts could not be read!", e, LogType.ERROR);
+				}
+				
+				ExerciseStatisticsDialog.this.doLoad();
+			}
+		};
+		worker = w;
+		w.execute();
+	}
+	
+	/**
+	 * Aggregates the attempts that match the filter in a background thread and displays the statistics.
+	 * 
+	 * @since 1.0
+	 */
+	private void doLoad() {
+		cancelWorker();
+		
+		// get the filter
+		final ExerciseAttemptStore store = mainWin.getExerciseAttemptStore();
+		final String pluginKey = pluginKeys.get(Math.max(0, pluginCombo.getSelectedIndex()));
+		final long range = TIME_RANGES[Math.max(0, rangeCombo.getSelectedIndex())];
+		final long from = (range > 0) ? System.currentTimeMillis() - range : Long.MIN_VALUE;
+		
+		progressBar.setIndeterminate(true);
+		
+		final SwingWorker<ExerciseStatistics[], Void> w = new SwingWorker<ExerciseStatistics[], Void>() {
+			
+			@Override
+			protected ExerciseStatistics[] doInBackground() throws Exception {
+				return store.aggregate(from, pluginKey);
+			}
+			
+			@Override
+			protected void done() {
+				if(isCancelled() || ExerciseStatisticsDialog.this.worker != this)
+					return;
+				
+				ExerciseStatisticsDialog.this.worker = null;
+				progressBar.setIndeterminate(false);
+				
+				try {
+					ExerciseStatisticsDialog.this.setStatistics(get());
+				} catch (Exception e) {
+					mainWin.getLoader().logMessage(null, "ExerciseStatisticsDialog: exercise attempts could not be aggregated!", e, LogType.ERROR);
+					ExerciseStatisticsDialog.this.setStatistics(new ExerciseStatistics[0]);
+				}
+			}
+		};
+		worker = w;
+		w.execute();
+	}
+	
+	/**
+	 * Displays the statistics of the exercises and their summary.
+	 * 
+	 * @param statistics the statistics
+	 * @since 1.0
+	 */
+	private void setStatistics(final ExerciseStatistics[] statistics) {
+		int attempts = 0;
+		for(ExerciseStatistics s : statistics)
+			attempts += s.attempts;
+		
+		tableModel.setStatistics(statistics);
+		summaryLabel.setText(LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_EXERCISESTATS_SUMMARY", mainWin.getLanguageID(), "&attempts& attempts of &exercises& exercises").replace("&attempts&", String.valueOf(attempts)).replace("&exercises&", String.valueOf(statistics.length)));
+	}
+	
+	/**
+	 * Cancels the running worker.
+	 * 
+	 * @since 1.0
+	 */
+	private void cancelWorker() {
+		if(worker != null)
+			worker.cancel(true);
+		worker = null;
+	}
+	
+	/**
+	 * Closes the dialog and cancels the running worker.
+	 * 
+	 * @since 1.0
+	 */
+	private void doClose() {
+		cancelWorker();
+		dispose();
+	}
+	
+	/**
+	 * The table model of the statistics of the exercises.
+	 * 
+	 * @author jdornseifer
+	 * @version 1.0
+	 * @since 1.0
+	 */
+	private class StatisticsTableModel extends AbstractTableModel {
+		
+		private static final long serialVersionUID = 1L;
+		
+		/** the names of the columns */
+		private final String[] columns;
+		/** the statistics */
+		private ExerciseStatistics[] statistics;
+		
+		/**
+		 * Creates a new model.
+		 * 
+		 * @param columns the names of the columns
+		 * @since 1.0
+		 */
+		public StatisticsTableModel(final String[] columns) {
+			this.columns = columns;
+			this.statistics = new ExerciseStatistics[0];
+		}
+		
+		/**
+		 * Sets the statistics.
+		 * 
+		 * @param statistics the statistics
+		 * @since 1.0
+		 */
+		public void setStatistics(final ExerciseStatistics[] statistics) {
+			this.statistics = statistics;
+			fireTableDataChanged();
+		}
+		
+		@Override
+		public int getRowCount() {
+			return statistics.length;
+		}
+		
+		@Override
+		public int getColumnCount() {
+			return columns.length;
+		}
+		
+		@Override
+		public String getColumnName(int column) {
+			return columns[column];
+		}
+		
+		@Override
+		public Class<?> getColumnClass(int columnIndex) {
+			switch(columnIndex) {
+				case 2:
+				case 3:
+					return Integer.class;
+				case 4:
+				case 5:
+				case 6:
+					return Double.class;
+				default:
+					return String.class;
+			}
+		}
+		
+		@Override
+		public Object getValueAt(int rowIndex, int columnIndex) {
+			final ExerciseStatistics s = statistics[rowIndex];
+			
+			switch(columnIndex) {
+				case 0:
+					return s.pluginName;
+				case 1:
+					return s.exerciseText.isEmpty() ? String.valueOf(s.stepID) : s.exerciseText;
+				case 2:
+					return s.attempts;
+				case 3:
+					return s.failures;
+				case 4:
+					return Math.round(s.getFailureRate() * 1000.0) / 10.0;
+				case 5:
+					return Math.round(s.medianDuration / 100.0) / 10.0;
+				case 6:
+					return Math.round(s.meanDuration / 100.0) / 10.0;
+				default:
+					return null;
+			}
+		}
+	
+	}
+
+}
@@ -23,25 +23,30 @@ import java.awt.BorderLayout;
 import java.awt.FlowLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.io.IOException;
-import java.net.URL;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import javax.swing.JButton;
 import javax.swing.JDialog;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
+import javax.swing.SwingWorker;
 import javax.swing.border.EmptyBorder;
+import javax.swing.text.html.HTMLDocument;
 import javax.swing.JEditorPane;
 
-import laves.utils.Utils;
+import laves.utils.HowToCache;
 import lavesdk.language.LanguageFile;
 
 /**
  * Dialog that displays the HowTo of LAVES.
+ * <br><br>
+ * The HowTo is taken from the {@link HowToCache} so that it is parsed only once. If it is not loaded yet the dialog displays
+ * a loading text until the HowTo is available.
  * 
  * @author jdornseifer
- * @version 1.0
+ * @version 1.1
  * @since 1.0
  */
 public class HowToDialog extends JDialog {
@@ -50,6 +55,8 @@ public class HowToDialog extends JDialog {
 	
 	/** the content panel */
 	private final JPanel contentPanel = new JPanel();
+	/** the editor pane that displays the HowTo */
+	private final JEditorPane editorPane;
 
 	/**
 	 * Creates a new HowTo dialog.
@@ -61,8 +68,6 @@ public class HowToDialog extends JDialog {
 		if(mw == null)
 			throw new IllegalArgumentException("No valid argument!");
 		
-		final URL howToURL = Utils.getHowToURL(mw.getLanguageID());
-		
 		setTitle(LanguageFile.getLabel(mw.getLanguageFile(), "DLG_HOWTO_TITLE", mw.getLanguageID(), "HowTo"));
 		setSize(600, 600);
 		setDefaultCloseOperation(DISPOSE_ON_CLOSE);
@@ -73,14 +78,37 @@ public class HowToDialog extends JDialog {
 		getContentPane().add(contentPanel, BorderLayout.CENTER);
 		contentPanel.setLayout(new BorderLayout(0, 0));
 		
-		JEditorPane editorPane;
-		try {
-			editorPane = (howToURL != null) ? new JEditorPane(howToURL) : new JEditorPane("No HowTo file available!");
-			editorPane.setContentType("text/html");
-			editorPane.setEditable(false);
-			contentPanel.add(new JScrollPane(editorPane), BorderLayout.CENTER);
-		} catch (IOException e) {
-			contentPanel.add(new JLabel("<html>HowTo file could not be loaded!<br>" + e.getMessage() + "</html>"), BorderLayout.CENTER);
+		editorPane = new JEditorPane();
+		editorPane.setContentType("text/html");
+		editorPane.setEditable(false);
+		contentPanel.add(new JScrollPane(editorPane), BorderLayout.CENTER);
+		
+		// display the HowTo immediately if it is loaded already otherwise wait for it in the background
+		final Future<HTMLDocument> howTo = HowToCache.getInstance().get(mw.getLanguageID());
+		if(howTo.isDone())
+			showHowTo(howTo);
+		else {
+			editorPane.setText(LanguageFile.getLabel(mw.getLanguageFile(), "DLG_HOWTO_LOADING", mw.getLanguageID(), "Loading..."));
+			
+			final SwingWorker<Void, Void> worker = new SwingWorker<Void, Void>() {
+				
+				@Override
+				protected Void doInBackground() throws Exception {
+					try {
+						howTo.get();
+					}
+					catch(ExecutionException e) {
+						// the error is displayed by the dialog
+					}
+					return null;
+				}
+				
+				@Override
+				protected void done() {
+					HowToDialog.this.showHowTo(howTo);
+				}
+			};
+			worker.execute();
 		}
 		
 		JPanel buttonPane = new JPanel();
@@ -99,4 +127,26 @@ public class HowToDialog extends JDialog {
 		getRootPane().setDefaultButton(quitButton);
 	}
 
+	/**
+	 * Displays the loaded HowTo or the error if it could not be loaded.
+	 * 
+	 * @param howTo the loaded HowTo
+	 * @since 1.1
+	 */
+	private void showHowTo(final Future<HTMLDocument> howTo) {
+		try {
+			editorPane.setDocument(howTo.get());
+			editorPane.setCaretPosition(0);
+		}
+		catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		catch(ExecutionException e) {
+			contentPanel.removeAll();
+			contentPanel.add(new JLabel("<html>HowTo file could not be loaded!<br>" + e.getCause().getMessage() + "</html>"), BorderLayout.CENTER);
+			contentPanel.revalidate();
+			contentPanel.repaint();
+		}
+	}
+
 }
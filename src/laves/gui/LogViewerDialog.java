@@ -0,0 +1,639 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.gui;
+
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.FlowLayout;
+import java.awt.Font;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.File;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+
+import javax.swing.BorderFactory;
+import javax.swing.JButton;
+import javax.swing.JCheckBox;
+import javax.swing.JComboBox;
+import javax.swing.JDialog;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JProgressBar;
+import javax.swing.JScrollPane;
+import javax.swing.JSeparator;
+import javax.swing.JSplitPane;
+import javax.swing.JTable;
+import javax.swing.JTextArea;
+import javax.swing.ListSelectionModel;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+import javax.swing.border.EmptyBorder;
+import javax.swing.event.ListSelectionEvent;
+import javax.swing.event.ListSelectionListener;
+import javax.swing.table.AbstractTableModel;
+
+import laves.logging.AsyncLogFile;
+import laves.logging.LogEntry;
+import laves.logging.LogIndex;
+import laves.resources.ResourceManager;
+import laves.utils.Constants;
+import laves.utils.ProgressListener;
+import lavesdk.algorithm.plugin.AlgorithmPlugin;
+import lavesdk.language.LanguageFile;
+import lavesdk.logging.enums.LogType;
+
+/**
+ * The dialog to view the structured log of LAVES.
+ * <br><br>
+ * The entries can be filtered by their type, their plugin and their time. The log is never loaded into memory, the dialog updates the
+ * on-disk index of the log (see {@link LogIndex}) in a background thread, filters the index and only reads the entries of the displayed
+ * page from the log. So logs with millions of entries can be viewed.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ */
+public class LogViewerDialog extends JDialog {
+
+	private static final long serialVersionUID = 1L;
+	
+	/** the main window */
+	private final MainWindow mainWin;
+	/** the log files (the current log and its rotated logs) */
+	private final File[] logFiles;
+	/** the plugin names of the plugin filter (the first item is all plugins and the second one is LAVES itself) */
+	private final String[] pluginNames;
+	/** the selection of the log file */
+	private final JComboBox<String> fileCombo;
+	/** the options of the message types (indexed by the ordinals of {@link LogType}) */
+	private final JCheckBox[] typeOptions;
+	/** the selection of the plugin */
+	private final JComboBox<String> pluginCombo;
+	/** the selection of the time range */
+	private final JComboBox<String> rangeCombo;
+	/** the table model of the entries of the current page */
+	private final EntryTableModel tableModel;
+	/** the table of the entries of the current page */
+	private final JTable table;
+	/** the details of the selected entry */
+	private final JTextArea detailsArea;
+	/** the button to show the previous page */
+	private final JButton prevBtn;
+	/** the button to show the next page */
+	private final JButton nextBtn;
+	/** the label of the current page */
+	private final JLabel pageLabel;
+	/** the progress bar */
+	private final JProgressBar progressBar;
+	/** the format of the timestamps */
+	private final SimpleDateFormat dateFormat;
+	/** the index of the selected log file or <code>null</code> */
+	private LogIndex index;
+	/** the numbers of the entries that match the filter */
+	private int[] rows;
+	/** the current page */
+	private int page;
+	/** the running worker or <code>null</code> */
+	private SwingWorker<?, ?> worker;
+	
+	/** the number of entries of a page */
+	private static final int PAGE_SIZE = 500;
+	/** the time ranges of the time filter in milliseconds (<code>0</code> means all entries) */
+	private static final long[] TIME_RANGES = { 0L, 60L * 60L * 1000L, 24L * 60L * 60L * 1000L, 7L * 24L * 60L * 60L * 1000L };
+	
+	/**
+	 * Creates a new log viewer dialog.
+	 * 
+	 * @param mw the main window
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if mw is null</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public LogViewerDialog(final MainWindow mw) throws IllegalArgumentException {
+		if(mw == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		mainWin = mw;
+		logFiles = AsyncLogFile.getLogFiles(Constants.FILE_LOG_EVENTS);
+		dateFormat = new SimpleDateFormat("dd.MM.yyyy HH:mm:ss");
+		index = null;
+		rows = new int[0];
+		page = 0;
+		worker = null;
+		
+		setTitle(LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_LOGVIEWER_TITLE", mainWin.getLanguageID(), "Log Viewer"));
+		setModal(true);
+		setSize(900, 600);
+		setDefaultCloseOperation(DO_NOTHING_ON_CLOSE);
+		mainWin.adaptDialog(this);
+		
+		getContentPane().setLayout(new BorderLayout());
+		
+		// create a description panel at the top
+		final JPanel descPanel = new JPanel(new BorderLayout(10, 10));
+		descPanel.setBackground(Color.white);
+		descPanel.add(new JLabel(ResourceManager.getInstance().ICON_PLUGIN_BIG), BorderLayout.WEST);
+		descPanel.add(new JLabel("<html>" + LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_LOGVIEWER_DESCRIPTION", mainWin.getLanguageID(), "<b>View the messages of LAVES and its plugins.</b><br>Filter the messages by their type, their plugin and their time to find the cause of a problem.") + "</html>"), BorderLayout.CENTER);
+		descPanel.add(new JSeparator(), BorderLayout.SOUTH);
+		descPanel.setBorder(BorderFactory.createMatteBorder(5, 0, 0, 0, Color.white));
+		getContentPane().add(descPanel, BorderLayout.NORTH);
+		
+		final JPanel contentPanel = new JPanel(new BorderLayout(5, 5));
+		contentPanel.setBorder(new EmptyBorder(5, 5, 5, 5));
+		getContentPane().add(contentPanel, BorderLayout.CENTER);
+		
+		final ActionListener filterListener = new ActionListener() {
+			
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				LogViewerDialog.this.doLoad(e.getSource() == fileCombo);
+			}
+		};
+		
+		// create the filter
+		final JPanel filterPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+		
+		filterPanel.add(new JLabel(LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_LOGVIEWER_FILE", mainWin.getLanguageID(), "File:")));
+		fileCombo = new JComboBox<String>();
+		for(File f : logFiles)
+			fileCombo.addItem(f.getName());
+		fileCombo.addActionListener(filterListener);
+		filterPanel.add(fileCombo);
+		
+		typeOptions = new JCheckBox[LogType.values().length];
+		for(LogType type : LogType.values()) {
+			final JCheckBox cb = new JCheckBox(getTypeLabel(type), true);
+			cb.addActionListener(filterListener);
+			typeOptions[type.ordinal()] = cb;
+			filterPanel.add(cb);
+		}
+		
+		final List<AlgorithmPlugin> plugins = mainWin.getLoader().getPluginManager().getInstalledPlugins();
+		pluginNames = new String[plugins.size() + 2];
+		pluginNames[0] = LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_LOGVIEWER_ALLPLUGINS", mainWin.getLanguageID(), "All plugins");
+		pluginNames[1] = "LAVES";
+		for(int i = 0; i < plugins.size(); i++)
+			pluginNames[i + 2] = plugins.get(i).getName();
+		
+		filterPanel.add(new JLabel(LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_LOGVIEWER_PLUGIN", mainWin.getLanguageID(), "Plugin:")));
+		pluginCombo = new JComboBox<String>(pluginNames);
+		pluginCombo.addActionListener(filterListener);
+		filterPanel.add(pluginCombo);
+		
+		filterPanel.add(new JLabel(LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_LOGVIEWER_TIME", mainWin.getLanguageID(), "Time:")));
+		rangeCombo = new JComboBox<String>(new String[] {
+				LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_LOGVIEWER_TIME_ALL", mainWin.getLanguageID(), "All"),
+				LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_LOGVIEWER_TIME_HOUR", mainWin.getLanguageID(), "Last hour"),
+				LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_LOGVIEWER_TIME_DAY", mainWin.getLanguageID(), "Last 24 hours"),
+				LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_LOGVIEWER_TIME_WEEK", mainWin.getLanguageID(), "Last 7 days") });
+		rangeCombo.addActionListener(filterListener);
+		filterPanel.add(rangeCombo);
+		contentPanel.add(filterPanel, BorderLayout.NORTH);
+		
+		// create the table of the entries and the details of the selected entry
+		tableModel = new EntryTableModel(new String[] {
+				LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_LOGVIEWER_COLUMN_TIME", mainWin.getLanguageID(), "Time"),
+				LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_LOGVIEWER_COLUMN_TYPE", mainWin.getLanguageID(), "Type"),
+				LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_LOGVIEWER_COLUMN_PLUGIN", mainWin.getLanguageID(), "Plugin"),
+				LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_LOGVIEWER_COLUMN_THREAD", mainWin.getLanguageID(), "Thread"),
+				LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_LOGVIEWER_COLUMN_MESSAGE", mainWin.getLanguageID(), "Message") });
+		table = new JTable(tableModel);
+		table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+		table.getColumnModel().getColumn(0).setPreferredWidth(130);
+		table.getColumnModel().getColumn(1).setPreferredWidth(70);
+		table.getColumnModel().getColumn(2).setPreferredWidth(120);
+		table.getColumnModel().getColumn(3).setPreferredWidth(120);
+		table.getColumnModel().getColumn(4).setPreferredWidth(460);
+		table.getSelectionModel().addListSelectionListener(new ListSelectionListener() {
+			
+			@Override
+			public void valueChanged(ListSelectionEvent e) {
+				if(!e.getValueIsAdjusting())
+					LogViewerDialog.this.showDetails();
+			}
+		});
+		
+		detailsArea = new JTextArea();
+		detailsArea.setEditable(false);
+		detailsArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+		
+		final JSplitPane splitPane = new JSplitPane(JSplitPane.VERTICAL_SPLIT, new JScrollPane(table), new JScrollPane(detailsArea));
+		splitPane.setResizeWeight(0.75);
+		contentPanel.add(splitPane, BorderLayout.CENTER);
+		
+		// create the paging and the progress bar
+		final JPanel pagePanel = new JPanel(new BorderLayout(5, 5));
+		final JPanel pageButtonsPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 0));
+		
+		prevBtn = new JButton("<");
+		prevBtn.setEnabled(false);
+		prevBtn.addActionListener(new ActionListener() {
+			
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				LogViewerDialog.this.showPage(page - 1);
+			}
+		});
+		pageButtonsPanel.add(prevBtn);
+		
+		nextBtn = new JButton(">");
+		nextBtn.setEnabled(false);
+		nextBtn.addActionListener(new ActionListener() {
+			
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				LogViewerDialog.this.showPage(page + 1);
+			}
+		});
+		pageButtonsPanel.add(nextBtn);
+		
+		pageLabel = new JLabel();
+		pageButtonsPanel.add(pageLabel);
+		pagePanel.add(pageButtonsPanel, BorderLayout.WEST);
+		
+		progressBar = new JProgressBar(0, 100);
+		progressBar.setStringPainted(true);
+		progressBar.setString("");
+		pagePanel.add(progressBar, BorderLayout.CENTER);
+		contentPanel.add(pagePanel, BorderLayout.SOUTH);
+		
+		JPanel buttonPane = new JPanel();
+		buttonPane.setLayout(new FlowLayout(FlowLayout.RIGHT));
+		getContentPane().add(buttonPane, BorderLayout.SOUTH);
+		
+		final JButton refreshBtn = new JButton(LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_LOGVIEWER_BTN_REFRESH", mainWin.getLanguageID(), "Refresh"));
+		refreshBtn.addActionListener(filterListener);
+		buttonPane.add(refreshBtn);
+		
+		final JButton quitBtn = new JButton(LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_BTN_QUIT", mainWin.getLanguageID(), "Quit"));
+		quitBtn.addActionListener(new ActionListener() {
+			
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				LogViewerDialog.this.doClose();
+			}
+		});
+		buttonPane.add(quitBtn);
+		getRootPane().setDefaultButton(quitBtn);
+		
+		addWindowListener(new WindowAdapter() {
+			
+			@Override
+			public void windowOpened(WindowEvent e) {
+				LogViewerDialog.this.doLoad(true);
+			}
+			
+			@Override
+			public void windowClosing(WindowEvent e) {
+				LogViewerDialog.this.doClose();
+			}
+		});
+	}
+	
+	/**
+	 * Updates the index of the selected log file and filters the entries in a background thread.
+	 * 
+	 * @param fileChanged <code>true</code> if another log file is selected otherwise <code>false</code>
+	 * @since 1.0
+	 */
+	private void doLoad(final boolean fileChanged) {
+		cancelWorker();
+		
+		final int fileIndex = fileCombo.getSelectedIndex();
+		if(fileIndex < 0) {
+			setRows(new int[0]);
+			return;
+		}
+		
+		if(index == null || fileChanged)
+			index = new LogIndex(logFiles[fileIndex]);
+		
+		// get the filter
+		final LogIndex idx = index;
+		final boolean[] types = new boolean[typeOptions.length];
+		for(int i = 0; i < typeOptions.length; i++)
+			types[i] = typeOptions[i].isSelected();
+		final int pluginIndex = pluginCombo.getSelectedIndex();
+		final String plugin = (pluginIndex > 1) ? pluginNames[pluginIndex] : null;
+		final long range = TIME_RANGES[Math.max(0, rangeCombo.getSelectedIndex())];
+		final long from = (range > 0) ? System.currentTimeMillis() - range : Long.MIN_VALUE;
+		
+		progressBar.setValue(0);
+		progressBar.setString(LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_LOGVIEWER_INDEXING", mainWin.getLanguageID(), "Indexing..."));
+		
+		final SwingWorker<int[], Void> w = new SwingWorker<int[], Void>() {
+			
+			@Override
+			protected int[] doInBackground() throws Exception {
+				idx.update(new ProgressListener() {
+					
+					@Override
+					public void totalProgress(final int total) {
+						SwingUtilities.invokeLater(new Runnable() {
+							
+							@Override
+							public void run() {
+								progressBar.setMaximum(total);
+							}
+						});
+					}
+					
+					@Override
+					public void currentProgress(final int current, final String text) {
+						SwingUtilities.invokeLater(new Runnable() {
+							
+							@Override
+							public void run() {
+								progressBar.setValue(current);
+							}
+						});
+					}
+				});
+				
+				// the keys of the plugins are known after the update
+				final Integer pluginKey = (pluginIndex <= 0) ? null : idx.getPluginKey(plugin);
+				return idx.query(from, Long.MAX_VALUE, pluginKey, types);
+			}
+			
+			@Override
+			protected void done() {
+				if(isCancelled() || LogViewerDialog.this.worker != this)
+					return;
+				
+				LogViewerDialog.this.worker = null;
+				progressBar.setString("");
+				progressBar.setValue(0);
+				
+				try {
+					LogViewerDialog.this.setRows(get());
+				} catch (Exception e) {
+					mainWin.getLoader().logMessage(null, "LogViewerDialog: log could not be indexed!", e, LogType.ERROR);
+					LogViewerDialog.this.setRows(new int[0]);
+				}
+			}
+		};
+		worker = w;
+		w.execute();
+	}
+	
+	/**
+	 * Sets the numbers of the entries that match the filter and shows the newest entries.
+	 * 
+	 * @param rows the numbers of the entries
+	 * @since 1.0
+	 */
+	private void setRows(final int[] rows) {
+		this.rows = rows;
+		showPage(getPageCount() - 1);
+	}
+	
+	/**
+	 * Reads the entries of a page from the log in a background thread and displays them.
+	 * 
+	 * @param p the page
+	 * @since 1.0
+	 */
+	private void showPage(final int p) {
+		cancelWorker();
+		
+		page = Math.max(0, Math.min(p, getPageCount() - 1));
+		updatePaging();
+		
+		if(index == null || rows.length == 0) {
+			tableModel.setEntries(new LogEntry[0]);
+			return;
+		}
+		
+		final LogIndex idx = index;
+		final int[] r = rows;
+		final int offset = page * PAGE_SIZE;
+		
+		final SwingWorker<LogEntry[], Void> w = new SwingWorker<LogEntry[], Void>() {
+			
+			@Override
+			protected LogEntry[] doInBackground() throws Exception {
+				return idx.read(r, offset, PAGE_SIZE);
+			}
+			
+			@Override
+			protected void done() {
+				if(isCancelled() || LogViewerDialog.this.worker != this)
+					return;
+				
+				LogViewerDialog.this.worker = null;
+				
+				try {
+					tableModel.setEntries(get());
+				} catch (Exception e) {
+					mainWin.getLoader().logMessage(null, "LogViewerDialog: log could not be read!", e, LogType.ERROR);
+					tableModel.setEntries(new LogEntry[0]);
+				}
+			}
+		};
+		worker = w;
+		w.execute();
+	}
+	
+	/**
+	 * Updates the paging buttons and the page label.
+	 * 
+	 * @since 1.0
+	 */
+	private void updatePaging() {
+		final int count = getPageCount();
+		
+		prevBtn.setEnabled(page > 0);
+		nextBtn.setEnabled(page < count - 1);
+		
+		String label = LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_LOGVIEWER_PAGE", mainWin.getLanguageID(), "Page &page& of &count& (&entries& messages)");
+		label = label.replace("&page&", "" + (count > 0 ? page + 1 : 0));
+		label = label.replace("&count&", "" + count);
+		label = label.replace("&entries&", "" + rows.length);
+		pageLabel.setText(label);
+	}
+	
+	/**
+	 * Shows the details of the selected entry.
+	 * 
+	 * @since 1.0
+	 */
+	private void showDetails() {
+		final int row = table.getSelectedRow();
+		final LogEntry entry = (row >= 0) ? tableModel.getEntry(row) : null;
+		
+		if(entry == null) {
+			detailsArea.setText("");
+			return;
+		}
+		
+		final StringBuilder sb = new StringBuilder();
+		sb.append(dateFormat.format(new Date(entry.time))).append(" [").append(getTypeLabel(entry.type)).append("] ").append(entry.thread);
+		if(entry.plugin != null)
+			sb.append("\n").append(entry.plugin).append(" ").append(entry.pluginVersion);
+		sb.append("\n\n").append(entry.message);
+		if(entry.exception != null)
+			sb.append("\n\n").append(entry.exception);
+		
+		detailsArea.setText(sb.toString());
+		detailsArea.setCaretPosition(0);
+	}
+	
+	/**
+	 * Cancels the running worker.
+	 * 
+	 * @since 1.0
+	 */
+	private void cancelWorker() {
+		if(worker != null)
+			worker.cancel(true);
+		worker = null;
+	}
+	
+	/**
+	 * Closes the dialog and cancels the running worker.
+	 * 
+	 * @since 1.0
+	 */
+	private void doClose() {
+		cancelWorker();
+		dispose();
+	}
+	
+	/**
+	 * Gets the number of pages.
+	 * 
+	 * @return the number of pages
+	 * @since 1.0
+	 */
+	private int getPageCount() {
+		return (rows.length + PAGE_SIZE - 1) / PAGE_SIZE;
+	}
+	
+	/**
+	 * Gets the label of a message type.
+	 * 
+	 * @param type the type
+	 * @return the label
+	 * @since 1.0
+	 */
+	private String getTypeLabel(final LogType type) {
+		switch(type) {
+			case WARNING:
+				return LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_LOGVIEWER_TYPE_WARNING", mainWin.getLanguageID(), "Warning");
+			case ERROR:
+				return LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_LOGVIEWER_TYPE_ERROR", mainWin.getLanguageID(), "Error");
+			default:
+				return LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_LOGVIEWER_TYPE_INFO", mainWin.getLanguageID(), "Information");
+		}
+	}
+	
+	/**
+	 * The table model of the entries of the current page.
+	 * 
+	 * @author jdornseifer
+	 * @version 1.0
+	 * @since 1.0
+	 */
+	private class EntryTableModel extends AbstractTableModel {
+		
+		private static final long serialVersionUID = 1L;
+		
+		/** the names of the columns */
+		private final String[] columns;
+		/** the entries */
+		private LogEntry[] entries;
+		
+		/**
+		 * Creates a new model.
+		 * 
+		 * @param columns the names of the columns
+		 * @since 1.0
+		 */
+		public EntryTableModel(final String[] columns) {
+			this.columns = columns;
+			this.entries = new LogEntry[0];
+		}
+		
+		/**
+		 * Sets the entries.
+		 * 
+		 * @param entries the entries (an entry may be <code>null</code> if it could not be read)
+		 * @since 1.0
+		 */
+		public void setEntries(final LogEntry[] entries) {
+			this.entries = entries;
+			fireTableDataChanged();
+		}
+		
+		/**
+		 * Gets an entry.
+		 * 
+		 * @param row the row
+		 * @return the entry or <code>null</code> if it could not be read
+		 * @since 1.0
+		 */
+		public LogEntry getEntry(final int row) {
+			return entries[row];
+		}
+		
+		@Override
+		public int getRowCount() {
+			return entries.length;
+		}
+		
+		@Override
+		public int getColumnCount() {
+			return columns.length;
+		}
+		
+		@Override
+		public String getColumnName(int column) {
+			return columns[column];
+		}
+		
+		@Override
+		public Object getValueAt(int rowIndex, int columnIndex) {
+			final LogEntry entry = entries[rowIndex];
+			if(entry == null)
+				return "";
+			
+			switch(columnIndex) {
+				case 0:
+					return dateFormat.format(new Date(entry.time));
+				case 1:
+					return getTypeLabel(entry.type);
+				case 2:
+					return (entry.plugin != null) ? entry.plugin : "LAVES";
+				case 3:
+					return entry.thread;
+				default:
+					return entry.message;
+			}
+		}
+	
+	}
+
+}
@@ -25,15 +25,22 @@ import java.awt.Component;
 import java.awt.Dimension;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.ComponentEvent;
+import java.awt.event.ComponentListener;
 import java.awt.event.KeyEvent;
 import java.awt.event.WindowEvent;
 import java.awt.event.WindowListener;
 import java.io.File;
 import java.io.IOException;
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
 
 import javax.swing.BorderFactory;
 import javax.swing.Box;
@@ -52,6 +59,8 @@ import javax.swing.JSlider;
 import javax.swing.JToggleButton;
 import javax.swing.JToolBar;
 import javax.swing.KeyStroke;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
 import javax.swing.Timer;
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
@@ -62,13 +71,40 @@ import javax.swing.filechooser.FileNameExtensionFilter;
 
 import laves.Loader;
 import laves.PluginManagerListener;
+import laves.benchmark.BenchmarkHost;
+import laves.configuration.ConfigurationService;
 import laves.configuration.MainConfiguration;
+import laves.gui.widgets.ExercisesTableView;
+import laves.gui.widgets.ExercisesTableViewListener;
 import laves.gui.widgets.StatusBar;
 import laves.gui.widgets.WelcomeScreen;
 import laves.gui.widgets.WelcomeScreenListener;
+import laves.io.AutosaveJournal;
+import laves.io.ExerciseAttemptStore;
+import laves.io.FileIOListener;
+import laves.io.FileIOService;
+import laves.io.FileIOTask;
+import laves.io.MatrixImporter;
+import laves.layout.CircleLayout;
+import laves.layout.ForceDirectedLayout;
+import laves.layout.LayoutListener;
+import laves.layout.LayoutService;
+import laves.layout.LayoutTask;
+import laves.management.DiagnosticsEvent;
+import laves.management.DiagnosticsRecorder;
+import laves.management.HostController;
+import laves.management.HostMonitor;
+import laves.management.RTEEventTracker;
+import laves.rendering.FormulaCache;
+import laves.rendering.RenderingLayer;
+import laves.rendering.ThumbnailCache;
 import laves.resources.ResourceManager;
 import laves.utils.Constants;
+import laves.utils.ExerciseModePreloader;
+import laves.utils.HowToCache;
+import laves.utils.PluginSearchIndex;
 import laves.utils.Utils;
+import lavesdk.algorithm.AlgorithmExercise;
 import lavesdk.algorithm.AlgorithmExerciseProvider;
 import lavesdk.algorithm.AlgorithmRTE;
 import lavesdk.algorithm.RTEListener;
@@ -78,19 +114,24 @@ import lavesdk.algorithm.plugin.AlgorithmPlugin;
 import lavesdk.algorithm.plugin.PluginBundle;
 import lavesdk.algorithm.plugin.PluginHost;
 import lavesdk.algorithm.plugin.enums.MessageIcon;
+import lavesdk.algorithm.plugin.extensions.MatrixToGraphToolBarExtension;
 import lavesdk.algorithm.plugin.extensions.ToolBarExtension;
-import lavesdk.algorithm.plugin.views.ExercisesListView;
+import lavesdk.algorithm.plugin.views.GraphView;
 import lavesdk.algorithm.plugin.views.View;
 import lavesdk.algorithm.plugin.views.ViewContainer;
 import lavesdk.algorithm.plugin.views.ViewGroup;
+import lavesdk.algorithm.text.AlgorithmStep;
 import lavesdk.algorithm.text.AlgorithmText;
 import lavesdk.configuration.Configuration;
+import lavesdk.gui.dialogs.enums.AllowedGraphType;
 import lavesdk.gui.widgets.InformationBar;
 import lavesdk.gui.widgets.Option;
 import lavesdk.gui.widgets.OptionComboButton;
 import lavesdk.gui.widgets.PropertiesListModel;
 import lavesdk.language.LanguageFile;
 import lavesdk.logging.enums.LogType;
+import lavesdk.math.graph.Edge;
+import lavesdk.math.graph.Vertex;
 import lavesdk.resources.Resources;
 import lavesdk.utils.FileUtils;
 import lavesdk.utils.MathUtils;
@@ -99,7 +140,7 @@ import lavesdk.utils.MathUtils;
  * The main window of LAVES.
  * 
  * @author jdornseifer
- * @version 1.4
+ * @version 1.5
  * @since 1.0
  */
 public class MainWindow extends JFrame implements PluginHost {
@@ -121,12 +162,34 @@ public class MainWindow extends JFrame implements PluginHost {
     private final int normalExecSpeedKey;
     /** flag that indicates whether the main window is initialized */
     private boolean initialized;
-    /** the active plugin or <code>null</code> if no plugin is active currently */
-    private AlgorithmPlugin activePlugin;
+    /** the active plugin or <code>null</code> if no plugin is active currently (volatile because it is read by the host monitor) */
+    private volatile AlgorithmPlugin activePlugin;
     /** the list of the last opened plugins where the plugin of index <code>0</code> is the last active one and so on */
     private List<AlgorithmPlugin> lastOpenedPlugins;
     /** the count of the last opened plugins history */
     private final int lastOpenedPluginsCount;
+    /** the monitor that publishes the state of the host over JMX */
+    private final HostMonitor hostMonitor;
+    /** the tracker that records the runtime events of the active plugin or <code>null</code> if no plugin is active currently */
+    private RTEEventTracker rteEventTracker;
+    /** the service that computes the layouts of the graph views of the active plugin in worker threads */
+    private final LayoutService layoutService;
+    /** the service that executes the open and save operations of the active plugin in a background thread */
+    private final FileIOService fileService;
+    /** the journal that records the document of the active plugin so that it can be restored after a crash */
+    private final AutosaveJournal autosaveJournal;
+    /** the timer that triggers the snapshots of the autosave journal */
+    private final Timer autosaveTimer;
+    /** the service that persists the configurations of the host application and the plugins in the background */
+    private final ConfigurationService configService;
+    /** the search index of the installed plugins or <code>null</code> if it is not created yet */
+    private PluginSearchIndex pluginSearchIndex;
+    /** the cache of the preview thumbnails of the plugins */
+    private final ThumbnailCache thumbnailCache;
+    /** the store of the attempts to solve the exercises */
+    private final ExerciseAttemptStore exerciseAttemptStore;
+    /** the preloader that prepares the exercise mode of the plugins */
+    private final ExerciseModePreloader exerciseModePreloader;
 	
     // GUI
 	/** the event controller */
@@ -138,7 +201,7 @@ public class MainWindow extends JFrame implements PluginHost {
 	/** the information bar with the assumption and the instructions of the plugin */
 	private final InformationBar infoBar;
 	/** the exercises list as the default {@link AlgorithmExerciseProvider} */
-	private final ExercisesListView exercisesList;
+	private final ExercisesTableView exercisesList;
 	/** the split pane that splits the exercises list from the view container */
 	private final ViewGroup splitPane;
 	/** the view container of the plugin area */
@@ -189,6 +252,8 @@ public class MainWindow extends JFrame implements PluginHost {
 	private static final String ACTION_SAVEAS = "onSaveAs";
 	/** the action for "open" to open data of an algorithm */
 	private static final String ACTION_OPEN = "onOpen";
+	/** the action for "import matrix" to import a graph from a distance or an adjacency matrix */
+	private static final String ACTION_IMPORTMATRIX = "onImportMatrix";
 	/** the action for "change rte mode" to change the mode of an algorithm */
 	private static final String ACTION_CHANGERTEMODE = "onChangeRTEMode";
 	/** the action for "start" to start or resume an algorithm */
@@ -223,6 +288,14 @@ public class MainWindow extends JFrame implements PluginHost {
 	private static final String ACTION_OPENPLUGINSPAGE = "onOpenPlugins";
 	/** the action for "preferences" to open the preferences of the application */
 	private static final String ACTION_PREFERENCES = "onPreferences";
+	/** the action for "record diagnostics" to dump the diagnostics recording of the application */
+	private static final String ACTION_RECORDDIAGNOSTICS = "onRecordDiagnostics";
+	/** the action for "benchmark" to measure the rendering performance of the installed plugins */
+	private static final String ACTION_BENCHMARK = "onBenchmark";
+	/** the action for "log viewer" to view the structured log of the application */
+	private static final String ACTION_LOGVIEWER = "onLogViewer";
+	/** the action for "exercise statistics" to view the statistics of the attempts to solve the exercises */
+	private static final String ACTION_EXERCISESTATISTICS = "onExerciseStatistics";
 	/** the action for "help" to open the help of the application */
 	private static final String ACTION_HELP = "onHelp";
 	/** the action for "how to" to open the HowTo of the application */
@@ -240,9 +313,17 @@ public class MainWindow extends JFrame implements PluginHost {
 	private static final String DYNACTION_OPENRECENT = DYNACTION + "OpenLastAlgo" + DYNACTION_PARAMSEP;
 	/** a dynamic action for functions containing the index of the toolbar extension that should be handled after a "#" */
 	private static final String DYNACTION_SHOWFUNC = DYNACTION + "ShowFunc" + DYNACTION_PARAMSEP;
+	/** a dynamic action for "force-directed layout" containing the index of the graph view that should be arranged after a "#" */
+	private static final String DYNACTION_FORCELAYOUT = DYNACTION + "ForceLayout" + DYNACTION_PARAMSEP;
 	
 	/** the width of the slider in the toolbar */
 	private static final int EXECSPEED_SLIDER_WIDTH = 100;
+	/** the maximum time in milliseconds to wait for a running file operation when the application is closed */
+	private static final long FILEIO_SHUTDOWN_TIMEOUT = 60000;
+	/** the maximum time in milliseconds to wait for the configurations to be written when the application is closed */
+	private static final long CONFIG_SHUTDOWN_TIMEOUT = 10000;
+	/** the delay in milliseconds after the window is opened before the HowTo is loaded in the background */
+	private static final int HOWTO_PRELOAD_DELAY = 3000;
 	
 	/**
 	 * Creates a new main window.
@@ -270,6 +351,50 @@ public class MainWindow extends JFrame implements PluginHost {
 		this.activePlugin = null;
 		this.lastOpenedPluginsCount = config.getLastOpendAlgorithmsCount();
 		this.menuFunctions = null;
+		this.rteEventTracker = null;
+		this.layoutService = new LayoutService();
+		this.fileService = new FileIOService();
+		this.autosaveJournal = new AutosaveJournal(new File(Constants.FILE_AUTOSAVE_JOURNAL), fileService);
+		this.autosaveTimer = new Timer(Math.max(config.getAutosaveInterval(), 1) * 1000, new ActionListener() {
+			
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				MainWindow.this.onAutosave();
+			}
+		});
+		this.configService = new ConfigurationService(loader, loader.getConfigurationStore(), new Runnable() {
+			
+			@Override
+			public void run() {
+				MainWindow.this.storeConfigurationData();
+			}
+		});
+		final HostController hostController = new HostController() {
+			
+			@Override
+			public AlgorithmPlugin getActivePlugin() {
+				return MainWindow.this.activePlugin;
+			}
+			
+			@Override
+			public void stopRTE() {
+				MainWindow.this.onStop();
+			}
+			
+			@Override
+			public boolean reloadActivePlugin() {
+				return MainWindow.this.reloadActivePlugin();
+			}
+			
+			@Override
+			public void flushConfiguration() {
+				MainWindow.this.configService.flush();
+			}
+		};
+		this.hostMonitor = new HostMonitor(loader, hostController);
+		this.thumbnailCache = new ThumbnailCache(loader, hostController, langFile, langID);
+		this.exerciseAttemptStore = new ExerciseAttemptStore(new File(Constants.PATH_ANALYTICS));
+		this.exerciseModePreloader = new ExerciseModePreloader(loader.getPluginManager());
 		
 		// initialize the window
 		setTitle(Constants.LAVES + " - " + Constants.LAVES_FULL);
@@ -286,8 +411,9 @@ public class MainWindow extends JFrame implements PluginHost {
 		contentPanel = new JPanel(new BorderLayout());
 		infoBar = new InformationBar(this, langFile, langID);
 		infoBar.setVisible(false);
-		exercisesList = new ExercisesListView(langFile, langID);
+		exercisesList = new ExercisesTableView(langFile, langID);
 		exercisesList.setVisible(false);
+		exercisesList.setExercisesTableViewListener(eventController);
 		viewContainer = new ViewContainer(0);
 		splitPane = new ViewGroup(ViewGroup.HORIZONTAL, 4);
 		splitPane.add(exercisesList);
@@ -473,6 +599,8 @@ public class MainWindow extends JFrame implements PluginHost {
 		
 		// add the window listener to get notified if the main window is closed
 		addWindowListener(eventController);
+		// add the component listener to persist the window bounds if they are changed
+		addComponentListener(eventController);
 		
 		initialized = true;
 	}
@@ -641,6 +769,66 @@ public class MainWindow extends JFrame implements PluginHost {
 		return Collections.unmodifiableList(lastOpenedPlugins);
 	}
 	
+	/**
+	 * Gets the search index of the installed plugins.
+	 * <br><br>
+	 * The index is created once and is only recreated if the installed plugins have changed so that the plugins are not queried
+	 * each time a search is opened.
+	 * 
+	 * @return the search index whose plugins equal the installed plugins (in the same order)
+	 * @since 1.5
+	 */
+	public PluginSearchIndex getPluginSearchIndex() {
+		final List<AlgorithmPlugin> plugins = loader.getPluginManager().getInstalledPlugins();
+		boolean valid = pluginSearchIndex != null && pluginSearchIndex.getPluginCount() == plugins.size();
+		
+		for(int i = 0; valid && i < plugins.size(); i++)
+			valid = pluginSearchIndex.getPlugin(i) == plugins.get(i);
+		
+		if(!valid)
+			pluginSearchIndex = new PluginSearchIndex(plugins);
+		
+		return pluginSearchIndex;
+	}
+	
+	/**
+	 * Gets the cache of the preview thumbnails of the plugins.
+	 * 
+	 * @return the thumbnail cache
+	 * @since 1.5
+	 */
+	public ThumbnailCache getThumbnailCache() {
+		return thumbnailCache;
+	}
+	
+	/**
+	 * Gets the store of the attempts to solve the exercises.
+	 * 
+	 * @return the exercise attempt store
+	 * @since 1.5
+	 */
+	public ExerciseAttemptStore getExerciseAttemptStore() {
+		return exerciseAttemptStore;
+	}
+	
+	/**
+	 * Prerenders the algorithm text of a plugin in the background so that the text can be painted immediately when the plugin
+	 * is activated. Furthermore the exercise mode of the plugin is prepared (see {@link ExerciseModePreloader}).
+	 * <br><br>
+	 * This should be invoked if it is likely that the user activates the plugin (e.g. if the plugin is selected or hovered). The text
+	 * of the active plugin is not prerendered.
+	 * 
+	 * @param plugin the plugin
+	 * @since 1.5
+	 */
+	public void prerenderPlugin(final AlgorithmPlugin plugin) {
+		if(plugin == null || plugin == activePlugin)
+			return;
+		
+		FormulaCache.getInstance().prerender(plugin.getText());
+		exerciseModePreloader.preload(plugin);
+	}
+	
 	@Override
 	protected void addImpl(Component component, Object constraints, int index) {
 		if(!initialized)
@@ -696,10 +884,20 @@ public class MainWindow extends JFrame implements PluginHost {
 				JMenuItem subItem;
 				
 				for(int i = 0; i < MainWindow.this.lastOpenedPlugins.size(); i++) {
-					subItem = new JMenuItem(MainWindow.this.lastOpenedPlugins.get(i).getName());
+					final AlgorithmPlugin plugin = MainWindow.this.lastOpenedPlugins.get(i);
+					subItem = new JMenuItem(plugin.getName());
 					subItem.setActionCommand(DYNACTION_OPENRECENT + i);
 					subItem.addActionListener(MainWindow.this.eventController);
 					subItem.setEnabled(MainWindow.this.newBtn.isEnabled());
+					subItem.addChangeListener(new ChangeListener() {
+						
+						@Override
+						public void stateChanged(ChangeEvent e) {
+							// prerender the algorithm text as soon as the entry is hovered
+							if(((JMenuItem)e.getSource()).isArmed())
+								MainWindow.this.prerenderPlugin(plugin);
+						}
+					});
 					subMenuOpenRecent.add(subItem);
 				}
 			}
@@ -727,6 +925,10 @@ public class MainWindow extends JFrame implements PluginHost {
 		itemSaveAs.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_S, KeyEvent.CTRL_MASK));
 		itemSaveAs.setIcon(Resources.getInstance().SAVE_ICON);
 		
+		final JMenuItem itemImportMatrix = new JMenuItem(LanguageFile.getLabel(langFile, "MENU_FILE_IMPORTMATRIX", langID, "Import Matrix..."));
+		itemImportMatrix.setActionCommand(ACTION_IMPORTMATRIX);
+		itemImportMatrix.addActionListener(eventController);
+		
 		final JMenuItem itemExit = new JMenuItem(LanguageFile.getLabel(langFile, "MENU_FILE_EXIT", langID, "Exit"));
 		itemExit.setActionCommand(ACTION_EXIT);
 		itemExit.addActionListener(eventController);
@@ -736,6 +938,7 @@ public class MainWindow extends JFrame implements PluginHost {
 		menuFile.addSeparator();
 		menuFile.add(itemOpen);
 		menuFile.add(itemSaveAs);
+		menuFile.add(itemImportMatrix);
 		menuFile.addSeparator();
 		menuFile.add(itemExit);
 		
@@ -749,6 +952,7 @@ public class MainWindow extends JFrame implements PluginHost {
 				subMenuOpenRecent.setEnabled(MainWindow.this.isActionEnabled(MainWindow.ACTION_NEW));
 				itemOpen.setEnabled(MainWindow.this.isActionEnabled(MainWindow.ACTION_OPEN));
 				itemSaveAs.setEnabled(MainWindow.this.isActionEnabled(MainWindow.ACTION_SAVEAS));
+				itemImportMatrix.setEnabled(MainWindow.this.isActionEnabled(MainWindow.ACTION_IMPORTMATRIX));
 			}
 			
 			@Override
@@ -990,6 +1194,27 @@ public class MainWindow extends JFrame implements PluginHost {
 		itemPreferences.addActionListener(eventController);
 		itemPreferences.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_E, KeyEvent.CTRL_MASK));
 		menuTools.add(itemPreferences);
+		menuTools.addSeparator();
+		
+		final JMenuItem itemRecordDiagnostics = new JMenuItem(LanguageFile.getLabel(langFile, "MENU_TOOLS_RECORDDIAGNOSTICS", langID, "Record Diagnostics..."));
+		itemRecordDiagnostics.setActionCommand(ACTION_RECORDDIAGNOSTICS);
+		itemRecordDiagnostics.addActionListener(eventController);
+		menuTools.add(itemRecordDiagnostics);
+		
+		final JMenuItem itemBenchmark = new JMenuItem(LanguageFile.getLabel(langFile, "MENU_TOOLS_BENCHMARK", langID, "Rendering Benchmark..."));
+		itemBenchmark.setActionCommand(ACTION_BENCHMARK);
+		itemBenchmark.addActionListener(eventController);
+		menuTools.add(itemBenchmark);
+		
+		final JMenuItem itemLogViewer = new JMenuItem(LanguageFile.getLabel(langFile, "MENU_TOOLS_LOGVIEWER", langID, "Log Viewer..."));
+		itemLogViewer.setActionCommand(ACTION_LOGVIEWER);
+		itemLogViewer.addActionListener(eventController);
+		menuTools.add(itemLogViewer);
+		
+		final JMenuItem itemExerciseStatistics = new JMenuItem(LanguageFile.getLabel(langFile, "MENU_TOOLS_EXERCISESTATISTICS", langID, "Exercise Statistics..."));
+		itemExerciseStatistics.setActionCommand(ACTION_EXERCISESTATISTICS);
+		itemExerciseStatistics.addActionListener(eventController);
+		menuTools.add(itemExerciseStatistics);
 		
 		// create menu: help
 		final JMenu menuHelp = new JMenu(LanguageFile.getLabel(langFile, "MENU_HELP", langID, "Help"));
@@ -1062,6 +1287,7 @@ public class MainWindow extends JFrame implements PluginHost {
 			case ACTION_NEW:				return MainWindow.this.newBtn.isEnabled();
 			case ACTION_OPEN:				return MainWindow.this.openBtn.isEnabled();
 			case ACTION_SAVEAS:				return MainWindow.this.saveAsBtn.isEnabled();
+			case ACTION_IMPORTMATRIX:		return MainWindow.this.newBtn.isEnabled() && MainWindow.this.getMatrixToGraphExtension() != null;
 			case ACTION_CHANGERTEMODE:		return MainWindow.this.exerciseModeBtn.isEnabled();
 			case ACTION_OPT_START:
 			case ACTION_OPT_STARTTOFINISH:
@@ -1079,12 +1305,17 @@ public class MainWindow extends JFrame implements PluginHost {
 	}
 	
 	/**
-	 * Saves the configuration data of the host application and the plugins.
+	 * Stores the current data of the host application in its configuration and hands the configurations of the host application
+	 * and the plugins over to the {@link ConfigurationService} that persists them.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * The configurations are not written by this method, use {@link ConfigurationService#flush()} to write the changed configurations.
 	 * 
-	 * @since 1.0
+	 * @since 1.5
 	 */
-	private void saveConfigurationData() {
+	private void storeConfigurationData() {
 		final boolean isMaximized = (getExtendedState() & MAXIMIZED_BOTH) != 0;
+		final Map<File, Configuration> configs = new HashMap<File, Configuration>();
 		Configuration cfg;
 		
 		// store the current window data
@@ -1103,23 +1334,15 @@ public class MainWindow extends JFrame implements PluginHost {
 		config.setToolBarOptPauseBeforeStopSelected(pauseBeforeStopBtn.isSelected());
 		config.setToolBarOptSkipBreakpointsSelected(skipBreakpointsBtn.isSelected());
 		
-		// save the configuration data
-		try {
-			Configuration.save(Constants.FILE_MAIN_CONFIG, config.getConfiguration());
-		} catch (IllegalArgumentException | IOException e) {
-			loader.logMessage("Main configuration could not be saved!", LogType.ERROR);
-		}
-		
-		// save the configuration data of each plugin
+		// the configuration data of the host application and of each plugin (the plugins can be installed or removed at runtime)
+		configs.put(new File(Constants.FILE_MAIN_CONFIG), config.getConfiguration());
 		for(PluginBundle bundle : loader.getPluginManager().getPluginBundles()) {
-			try {
-				cfg = bundle.getPlugin().getConfiguration();
-				if(cfg != null)
-					Configuration.save(Constants.PATH_PLUGINS_CONFIG + bundle.getSimpleName() + Constants.EXT_CONFIG, cfg);
-			} catch (IllegalArgumentException | IOException e) {
-				loader.logMessage(bundle.getPlugin(), "Configuration of plugin " + bundle.getName() + " could not be saved!", e, LogType.ERROR);
-			}
+			cfg = bundle.getPlugin().getConfiguration();
+			if(cfg != null && loader.getConfigurationStore() != null)
+				loader.getConfigurationStore().put(bundle.getSimpleName(), cfg);
 		}
+		
+		configService.setConfigurations(configs);
 	}
 	
 	/**
@@ -1137,8 +1360,15 @@ public class MainWindow extends JFrame implements PluginHost {
 		// firstly close the currently active plugin and clear the view container (is done in the method)
 		closeActivePlugin();
 		
+		final DiagnosticsEvent event = DiagnosticsRecorder.getInstance().begin(DiagnosticsRecorder.EVENT_PLUGIN_ACTIVATE, plugin);
+		
 		// set the new active plugin
 		activePlugin = plugin;
+		hostMonitor.pluginActivated(activePlugin);
+		// prepare the exercise mode while the user looks at the plugin so that the first exercise is not delayed
+		exerciseModePreloader.preload(activePlugin);
+		rteEventTracker = new RTEEventTracker(activePlugin);
+		rteEventTracker.attach();
 		// request the plugin's runtime environment
 		final AlgorithmRTE rte = activePlugin.getRuntimeEnvironment();
 		
@@ -1163,6 +1393,8 @@ public class MainWindow extends JFrame implements PluginHost {
 				
 				if(ext != null) {
 					ext.apply(toolBar);
+					// compute the layouts of the layout extensions in the background so that large graphs do not freeze the window
+					layoutService.adopt(ext, eventController);
 					if(ext.getShowInMenu()) {
 						final JMenuItem itemFunc = new JMenuItem(ext.getMenuOptionText());
 						itemFunc.setActionCommand(DYNACTION_SHOWFUNC + i);
@@ -1182,6 +1414,7 @@ public class MainWindow extends JFrame implements PluginHost {
 		else if(lastOpenedPlugins.size() == lastOpenedPluginsCount)
 			lastOpenedPlugins.remove(lastOpenedPluginsCount - 1);
 		lastOpenedPlugins.add(0, activePlugin);
+		configService.changed();
 		
 		// reset the exercises list
 		exercisesList.reset();
@@ -1190,6 +1423,24 @@ public class MainWindow extends JFrame implements PluginHost {
 		
 		// create the plugin
 		activePlugin.onCreate(viewContainer, creatorProperties);
+		// wrap the renderers of the graph views so that only the visible part of a graph is drawn in full detail
+		RenderingLayer.install(viewContainer);
+		// paint the formulas of the algorithm texts from the shared formula cache
+		FormulaCache.getInstance().install(viewContainer);
+		
+		// offer a force-directed layout for each graph view of the plugin
+		final List<GraphView<?, ?>> graphViews = getGraphViews();
+		for(int i = 0; i < graphViews.size(); i++) {
+			if(i == 0 && menuFunctions.getItemCount() > 0)
+				menuFunctions.addSeparator();
+			
+			final String text = LanguageFile.getLabel(langFile, "MENU_FUNCTIONS_FORCELAYOUT", langID, "Force-Directed Layout");
+			final JMenuItem itemLayout = new JMenuItem((graphViews.size() > 1) ? text + " (" + graphViews.get(i).getTitle() + ")" : text);
+			itemLayout.setActionCommand(DYNACTION_FORCELAYOUT + i);
+			itemLayout.addActionListener(MainWindow.this.eventController);
+			menuFunctions.add(itemLayout);
+			menuFunctions.setEnabled(true);
+		}
 		viewContainer.revalidate();
 		
 		// update the information bar
@@ -1205,6 +1456,17 @@ public class MainWindow extends JFrame implements PluginHost {
 		// update the toolbar buttons
 		updateRTECtrlButtonStates();
 		updateNonRTECtrlButtonStates();
+		
+		// the initial view of the plugin is its preview if it does not have one yet
+		thumbnailCache.capture(activePlugin, viewContainer);
+		
+		// record the document of the plugin if it can be saved and opened again
+		final FileNameExtensionFilter[] saveFilters = activePlugin.getSaveFileFilters();
+		final PluginBundle bundle = loader.getPluginManager().findBundle(activePlugin);
+		if(bundle != null && saveFilters != null && saveFilters.length > 0 && saveFilters[0] != null && activePlugin.getOpenFileFilters() != null)
+			autosaveJournal.begin(bundle.getSimpleName(), saveFilters[0].getExtensions()[0]);
+		
+		event.commit();
 	}
 	
 	/**
@@ -1213,7 +1475,15 @@ public class MainWindow extends JFrame implements PluginHost {
 	 * @since 1.0
 	 */
 	private void closeActivePlugin() {
+		DiagnosticsEvent event = null;
+		
 		if(activePlugin != null) {
+			event = DiagnosticsRecorder.getInstance().begin(DiagnosticsRecorder.EVENT_PLUGIN_CLOSE, activePlugin);
+			hostMonitor.pluginClosed(activePlugin);
+			
+			// the plugin is closed properly so its document need not be restored
+			autosaveJournal.discard();
+			
 			// close the plugin
 			activePlugin.onClose();
 			
@@ -1224,6 +1494,11 @@ public class MainWindow extends JFrame implements PluginHost {
 				activePlugin.getRuntimeEnvironment().removeListener(eventController);
 			}
 			
+			if(rteEventTracker != null) {
+				rteEventTracker.detach();
+				rteEventTracker = null;
+			}
+			
 			// remove the toolbar extensions of the plugin
 			if(activePlugin.getToolBarExtensions() != null) {
 				for(ToolBarExtension ext : activePlugin.getToolBarExtensions()) {
@@ -1240,8 +1515,15 @@ public class MainWindow extends JFrame implements PluginHost {
 			menuFunctions = null;
 		}
 		
+		// the layouts of the views of the plugin are no longer needed
+		layoutService.cancelAll();
+		statusBar.hideProgress(StatusBar.PROGRESS_LAYOUT);
+		
 		activePlugin = null;
 		
+		// the plugin may have stored its configuration data when it was closed
+		configService.changed();
+		
 		// delete the statusbar entires
 		statusBar.setText(2, "");
 		statusBar.setText(3, "");
@@ -1255,6 +1537,61 @@ public class MainWindow extends JFrame implements PluginHost {
 		
 		// update the toolbar buttons
 		updateRTECtrlButtonStates();
+		
+		if(event != null)
+			event.commit();
+	}
+	
+	/**
+	 * Gets the graph views of the active plugin.
+	 * 
+	 * @return the list of graph views in the order of the view container
+	 * @since 1.5
+	 */
+	private List<GraphView<?, ?>> getGraphViews() {
+		final List<GraphView<?, ?>> graphViews = new ArrayList<GraphView<?, ?>>();
+		
+		for(View view : viewContainer.queryAllViews())
+			if(view instanceof GraphView)
+				graphViews.add((GraphView<?, ?>)view);
+		
+		return graphViews;
+	}
+	
+	/**
+	 * Arranges the graph of a graph view of the active plugin with a force-directed layout in the background.
+	 * 
+	 * @param index the index of the graph view (see {@link #getGraphViews()})
+	 * @since 1.5
+	 */
+	private void onForceLayout(final int index) {
+		final List<GraphView<?, ?>> graphViews = getGraphViews();
+		
+		// the graph must not be changed while the algorithm is running
+		if(index < 0 || index >= graphViews.size() || (isValidActiveRTE() && activePlugin.getRuntimeEnvironment().isStarted()) || fileService.isBusy())
+			return;
+		
+		layoutService.submit(graphViews.get(index), new ForceDirectedLayout(), eventController);
+		showLayoutProgress();
+	}
+	
+	/**
+	 * Shows the progress of the layout service in the statusbar if it is not already shown.
+	 * 
+	 * @since 1.5
+	 */
+	private void showLayoutProgress() {
+		if(statusBar.isProgressVisible(StatusBar.PROGRESS_LAYOUT))
+			return;
+		
+		statusBar.showProgress(StatusBar.PROGRESS_LAYOUT, LanguageFile.getLabel(langFile, "STATUS_LAYOUT", langID, "Computing the layout of the graph... (click to cancel)"), new ActionListener() {
+			
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				MainWindow.this.layoutService.cancelAll();
+				MainWindow.this.statusBar.hideProgress(StatusBar.PROGRESS_LAYOUT);
+			}
+		});
 	}
 	
 	/**
@@ -1325,6 +1662,29 @@ public class MainWindow extends JFrame implements PluginHost {
 			}
 		});
 		
+		// publish the state of the host so that it can be monitored
+		hostMonitor.start();
+		
+		// load the HowTo after the startup so that it can be displayed immediately when it is opened
+		final Timer howToTimer = new Timer(HOWTO_PRELOAD_DELAY, new ActionListener() {
+			
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				HowToCache.getInstance().preload(MainWindow.this.langID);
+			}
+		});
+		howToTimer.setRepeats(false);
+		howToTimer.start();
+		
+		// restore the document of the last session if LAVES was not closed properly and record the current session
+		recoverSession();
+		if(config.getAutosaveInterval() > 0)
+			autosaveTimer.start();
+		
+		// persist the configurations in the background from now on
+		storeConfigurationData();
+		configService.start();
+		
 		// log that LAVES was started with errors
 		if(loader.hasErrors())
 			writeLogMessage(null, LanguageFile.getLabel(langFile, "MSG_OPENEDWITHERRORS", langID, "Opened with errors (see log/log.txt for further information)!"), LogType.ERROR);
@@ -1336,13 +1696,139 @@ public class MainWindow extends JFrame implements PluginHost {
 	 * @since 1.0
 	 */
 	private void onTerminateApplication() {
+		autosaveTimer.stop();
+		
 		// stop the runtime environment of the active algorithm
 		onStop();
 		
+		// a running save operation has to be finished before the plugin is closed so that the file is complete
+		if(!fileService.shutdown(FILEIO_SHUTDOWN_TIMEOUT))
+			writeLogMessage(null, LanguageFile.getLabel(langFile, "MSG_ERR_FILEIOSHUTDOWN", langID, "The file operation could not be finished before the application was closed!"), LogType.ERROR);
+		
 		// firstly close the active plugin so that configuration data can be stored
 		closeActivePlugin();
-		// afterwards save the entire configuration
-		saveConfigurationData();
+		// afterwards write the configurations that have changed since they were written last
+		if(!configService.shutdown(CONFIG_SHUTDOWN_TIMEOUT))
+			loader.logMessage("The configurations could not be written before the application was closed!", LogType.ERROR);
+		
+		hostMonitor.stop();
+		layoutService.shutdown();
+		thumbnailCache.shutdown();
+		exerciseAttemptStore.shutdown();
+		exerciseModePreloader.shutdown();
+	}
+	
+	/**
+	 * Records a snapshot of the document of the active plugin in the autosave journal.
+	 * <br><br>
+	 * There is no snapshot while the plugin opens or saves a file, while a layout is computed or while the algorithm is running. The
+	 * plugin saves the snapshot in the background and the controls that could change the document are locked meanwhile.
+	 * 
+	 * @since 1.5
+	 */
+	private void onAutosave() {
+		if(activePlugin == null || !autosaveJournal.isActive() || fileService.isBusy() || layoutService.isBusy() || (isValidActiveRTE() && activePlugin.getRuntimeEnvironment().isStarted()))
+			return;
+		
+		final boolean taken = autosaveJournal.append(activePlugin, new FileIOListener() {
+			
+			@Override
+			public void fileTaskProgress(FileIOTask task, int current, int total) {
+			}
+			
+			@Override
+			public void fileTaskFinished(FileIOTask task, int result) {
+				MainWindow.this.updateRTECtrlButtonStates();
+				MainWindow.this.updateNonRTECtrlButtonStates();
+			}
+		});
+		
+		if(taken) {
+			updateRTECtrlButtonStates();
+			updateNonRTECtrlButtonStates();
+		}
+	}
+	
+	/**
+	 * Checks whether there is an autosave journal of a session that was not closed properly and offers to restore the document.
+	 * <br><br>
+	 * The journal is read in the background and the user is asked afterwards.
+	 * 
+	 * @since 1.5
+	 */
+	private void recoverSession() {
+		final File journalFile = autosaveJournal.getFile();
+		if(!journalFile.exists())
+			return;
+		
+		fileService.executeInBackground(new Runnable() {
+			
+			@Override
+			public void run() {
+				AutosaveJournal.Recovery recovery = null;
+				Exception exception = null;
+				
+				try {
+					recovery = AutosaveJournal.read(journalFile, null);
+				}
+				catch(IOException e) {
+					exception = e;
+				}
+				
+				final AutosaveJournal.Recovery r = recovery;
+				final Exception ex = exception;
+				SwingUtilities.invokeLater(new Runnable() {
+					
+					@Override
+					public void run() {
+						MainWindow.this.onRecoverSession(r, ex);
+					}
+				});
+			}
+		});
+	}
+	
+	/**
+	 * Asks the user whether the restored document of the last session should be opened.
+	 * 
+	 * @param recovery the recovery information or <code>null</code> if the journal does not contain a document
+	 * @param e the exception if the journal could not be read otherwise <code>null</code>
+	 * @since 1.5
+	 */
+	private void onRecoverSession(final AutosaveJournal.Recovery recovery, final Exception e) {
+		AlgorithmPlugin plugin = null;
+		
+		if(e != null)
+			writeLogMessage(null, LanguageFile.getLabel(langFile, "MSG_ERR_RECOVERSESSION", langID, "The document of the last session could not be restored!"), e, LogType.ERROR);
+		
+		if(recovery != null) {
+			for(PluginBundle bundle : loader.getPluginManager().getPluginBundles()) {
+				if(bundle.getSimpleName().equals(recovery.getBundleName()) && loader.getPluginManager().isBundleInstalled(bundle)) {
+					plugin = bundle.getPlugin();
+					break;
+				}
+			}
+		}
+		
+		if(plugin != null && !fileService.isBusy() && !(isValidActiveRTE() && activePlugin.getRuntimeEnvironment().isStarted())) {
+			String msg = LanguageFile.getLabel(langFile, "MSG_INFO_RECOVERSESSION", langID, "LAVES was not closed properly.\nDo you want to restore the document of \"&name&\" that was saved automatically at &time&?");
+			msg = msg.replace("&name&", plugin.getName());
+			msg = msg.replace("&time&", DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.MEDIUM).format(new Date(recovery.getTime())));
+			
+			if(JOptionPane.showConfirmDialog(this, msg, LanguageFile.getLabel(langFile, "MSG_INFO_TITLE_RECOVERSESSION", langID, "Restore"), JOptionPane.YES_NO_OPTION, JOptionPane.QUESTION_MESSAGE) == JOptionPane.YES_OPTION) {
+				activatePlugin(plugin, null);
+				// the restored document is a temporary file that is no longer needed when the application is closed
+				recovery.getDocument().deleteOnExit();
+				executeFileOperation(recovery.getDocument(), false);
+				return;
+			}
+		}
+		
+		if(recovery != null)
+			recovery.getDocument().delete();
+		// the journal is replaced when the next plugin is activated but if the user does not activate a plugin it must be discarded
+		if(!autosaveJournal.isActive())
+			autosaveJournal.discard();
 	}
 	
 	/**
@@ -1387,7 +1873,7 @@ public class MainWindow extends JFrame implements PluginHost {
 			
 			// validate the selected file in causa of a valid extension so that several file types
 			// can be handled in the save method of the plugin
-			activePlugin.save(FileUtils.validateFile(fileChooser.getSelectedFile(), fnef.getExtensions()[0]));
+			executeFileOperation(file, true);
 		}
 	}
 	
@@ -1413,10 +1899,154 @@ public class MainWindow extends JFrame implements PluginHost {
 			
 			// validate the selected file in causa of a valid extension so that several file types
 			// can be handled in the open method of the plugin
-			activePlugin.open(FileUtils.validateFile(fileChooser.getSelectedFile(), fnef.getExtensions()[0]));
+			final File file = FileUtils.validateFile(fileChooser.getSelectedFile(), fnef.getExtensions()[0]);
+			executeFileOperation(file, false);
 		}
 	}
 	
+	/**
+	 * Lets the active plugin open or save a file in the background.
+	 * <br><br>
+	 * The controls that could change the active plugin are disabled until the operation is finished and the progress is shown
+	 * in the statusbar so that the user can cancel the operation.
+	 * 
+	 * @param file the file
+	 * @param save <code>true</code> if the file should be saved or <code>false</code> if the file should be opened
+	 * @since 1.5
+	 */
+	private void executeFileOperation(final File file, final boolean save) {
+		if(activePlugin == null || fileService.isBusy())
+			return;
+		
+		// the layouts would be discarded by an open operation and they share the progress in the statusbar
+		layoutService.cancelAll();
+		statusBar.hideProgress(StatusBar.PROGRESS_LAYOUT);
+		
+		final DiagnosticsEvent event = DiagnosticsRecorder.getInstance().begin(save ? DiagnosticsRecorder.EVENT_FILE_SAVE : DiagnosticsRecorder.EVENT_FILE_OPEN, activePlugin);
+		event.setDetail(file.getAbsolutePath());
+		
+		final FileIOListener listener = new FileIOListener() {
+			
+			@Override
+			public void fileTaskProgress(FileIOTask task, int current, int total) {
+				MainWindow.this.eventController.fileTaskProgress(task, current, total);
+			}
+			
+			@Override
+			public void fileTaskFinished(FileIOTask task, int result) {
+				event.commit();
+				MainWindow.this.eventController.fileTaskFinished(task, result);
+			}
+		};
+		
+		if(save)
+			fileService.save(activePlugin, file, listener);
+		else
+			fileService.open(activePlugin, file, listener);
+		
+		final String desc = LanguageFile.getLabel(langFile, save ? "STATUS_SAVE" : "STATUS_OPEN", langID, save ? "Saving \"&name&\"... (click to cancel)" : "Opening \"&name&\"... (click to cancel)");
+		showFileTaskProgress(desc.replace("&name&", file.getName()));
+	}
+	
+	/**
+	 * Does the import matrix action meaning a graph is imported from a file that contains a distance or an adjacency matrix
+	 * into the graph view of the matrix to graph extension of the active plugin.
+	 * 
+	 * @since 1.5
+	 */
+	private void onImportMatrix() {
+		final MatrixToGraphToolBarExtension<?, ?> ext = getMatrixToGraphExtension();
+		final GraphView<?, ?> view = MatrixImporter.getGraphView(ext);
+		if(view == null || fileService.isBusy())
+			return;
+		
+		resetFileChooser();
+		fileChooser.addChoosableFileFilter(new FileNameExtensionFilter(LanguageFile.getLabel(langFile, "FILE_FILTER_MATRIX", langID, "Matrix (*.csv, *.txt)"), "csv", "txt"));
+		
+		if(fileChooser.showOpenDialog(this) == JFileChooser.APPROVE_OPTION)
+			importMatrix(view, ext.getAllowedGraphType(), fileChooser.getSelectedFile());
+	}
+	
+	/**
+	 * Imports a graph from a matrix file in the background and applies it to the specified view afterwards.
+	 * <br><br>
+	 * The vertices of the imported graph are arranged on a circle like the matrix to graph extension does which is also computed
+	 * in the background.
+	 * 
+	 * @param view the graph view
+	 * @param allowedType the allowed type of the graph
+	 * @param file the matrix file
+	 * @since 1.5
+	 */
+	private <V extends Vertex, E extends Edge> void importMatrix(final GraphView<V, E> view, final AllowedGraphType allowedType, final File file) {
+		if(activePlugin == null || fileService.isBusy())
+			return;
+		
+		layoutService.cancelAll();
+		statusBar.hideProgress(StatusBar.PROGRESS_LAYOUT);
+		
+		final MatrixImporter<V, E> importer = new MatrixImporter<V, E>(view.getGraphFactory(), allowedType);
+		fileService.execute(activePlugin, file, importer, new FileIOListener() {
+			
+			@Override
+			public void fileTaskProgress(FileIOTask task, int current, int total) {
+				MainWindow.this.eventController.fileTaskProgress(task, current, total);
+			}
+			
+			@Override
+			public void fileTaskFinished(FileIOTask task, int result) {
+				MainWindow.this.eventController.fileTaskFinished(task, result);
+				
+				if(result == FileIOTask.RESULT_COMPLETED && importer.getGraph() != null && task.getPlugin() == MainWindow.this.activePlugin) {
+					view.setGraph(importer.getGraph());
+					MainWindow.this.layoutService.submit(view, new CircleLayout(), MainWindow.this.eventController);
+					MainWindow.this.showLayoutProgress();
+					view.repaint();
+				}
+			}
+		});
+		
+		final String desc = LanguageFile.getLabel(langFile, "STATUS_IMPORTMATRIX", langID, "Importing \"&name&\"... (click to cancel)");
+		showFileTaskProgress(desc.replace("&name&", file.getName()));
+	}
+	
+	/**
+	 * Shows the progress of the running operation of the file service in the statusbar and disables the controls that could
+	 * change the active plugin.
+	 * 
+	 * @param desc the description of the operation
+	 * @since 1.5
+	 */
+	private void showFileTaskProgress(final String desc) {
+		statusBar.showProgress(StatusBar.PROGRESS_FILEIO, desc, new ActionListener() {
+			
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				MainWindow.this.fileService.cancel();
+			}
+		});
+		
+		updateRTECtrlButtonStates();
+		updateNonRTECtrlButtonStates();
+	}
+	
+	/**
+	 * Gets the matrix to graph extension of the active plugin.
+	 * 
+	 * @return the extension or <code>null</code> if the active plugin does not have such an extension
+	 * @since 1.5
+	 */
+	private MatrixToGraphToolBarExtension<?, ?> getMatrixToGraphExtension() {
+		if(activePlugin == null || activePlugin.getToolBarExtensions() == null)
+			return null;
+		
+		for(ToolBarExtension ext : activePlugin.getToolBarExtensions())
+			if(ext instanceof MatrixToGraphToolBarExtension)
+				return (MatrixToGraphToolBarExtension<?, ?>)ext;
+		
+		return null;
+	}
+	
 	/**
 	 * Does the change rte mode action to change the execution mode of the runtime environment of the active plugin.
 	 * 
@@ -1430,6 +2060,10 @@ public class MainWindow extends JFrame implements PluginHost {
 				return;
 			}
 			
+			// the exercise mode is normally prepared already when the plugin is activated, otherwise the preparation begins now
+			if(!activePlugin.getRuntimeEnvironment().isExerciseModeEnabled())
+				exerciseModePreloader.preload(activePlugin);
+			
 			activePlugin.getRuntimeEnvironment().setExerciseModeEnabled(!activePlugin.getRuntimeEnvironment().isExerciseModeEnabled());
 		}
 	}
@@ -1499,6 +2133,8 @@ public class MainWindow extends JFrame implements PluginHost {
 		}
 		else
 			pauseBeforeStopBtn.setSelected(false);
+		
+		configService.changed();
 	}
 	
 	/**
@@ -1515,6 +2151,8 @@ public class MainWindow extends JFrame implements PluginHost {
 		}
 		else
 			skipBreakpointsBtn.setSelected(false);
+		
+		configService.changed();
 	}
 	
 	/**
@@ -1545,25 +2183,229 @@ public class MainWindow extends JFrame implements PluginHost {
 	private void onPreferences() {
 		final PreferencesDialog prefDlg = new PreferencesDialog(this, config);
 		prefDlg.setVisible(true);
+		
+		configService.changed();
+	}
+	
+	/**
+	 * Dumps the diagnostics recording of LAVES (a Java Flight Recorder file) to the log folder.
+	 * 
+	 * @since 1.5
+	 */
+	private void onRecordDiagnostics() {
+		final String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
+		final File file = new File(Constants.PATH_LOG + "diagnostics_" + timestamp + ".jfr");
+		
+		try {
+			DiagnosticsRecorder.getInstance().dump(file);
+			
+			String msg = LanguageFile.getLabel(langFile, "MSG_INFO_RECORDDIAGNOSTICS", langID, "The diagnostics recording was saved to \"&name&\".");
+			msg = msg.replace("&name&", file.getAbsolutePath());
+			JOptionPane.showMessageDialog(this, msg, LanguageFile.getLabel(langFile, "MSG_INFO_TITLE_RECORDDIAGNOSTICS", langID, "Record Diagnostics"), JOptionPane.INFORMATION_MESSAGE);
+		} catch (IOException e) {
+			loader.logMessage(null, "MainWindow: diagnostics could not be recorded!", e, LogType.WARNING);
+			JOptionPane.showMessageDialog(this, LanguageFile.getLabel(langFile, "MSG_ERR_RECORDDIAGNOSTICS", langID, "The diagnostics could not be recorded!\nThis requires a Java runtime with Java Flight Recorder support."), LanguageFile.getLabel(langFile, "MSG_INFO_TITLE_RECORDDIAGNOSTICS", langID, "Record Diagnostics"), JOptionPane.ERROR_MESSAGE);
+		}
+	}
+	
+	/**
+	 * Opens the benchmark dialog to measure the rendering performance of the installed plugins.
+	 * <br><br>
+	 * The benchmark activates each plugin in the main window, therefore the active plugin, its document and the list of the last opened
+	 * plugins are restored afterwards. The document is saved into a temporary file before the benchmark and opened again afterwards.
+	 * If the plugin cannot save its document then the user is warned that the document is lost.
+	 * 
+	 * @since 1.5
+	 */
+	private void onBenchmark() {
+		// the benchmark closes the active plugin which is not possible while the algorithm is running or a file is opened or saved
+		if(fileService.isBusy() || (isValidActiveRTE() && activePlugin.getRuntimeEnvironment().isStarted()))
+			return;
+		
+		final AlgorithmPlugin prevPlugin = activePlugin;
+		final List<AlgorithmPlugin> prevLastOpenedPlugins = new ArrayList<AlgorithmPlugin>(lastOpenedPlugins);
+		final boolean[] pluginChanged = new boolean[] { false };
+		File prevDocument = null;
+		
+		if(prevPlugin != null) {
+			final FileNameExtensionFilter[] saveFilters = prevPlugin.getSaveFileFilters();
+			final boolean restorable = saveFilters != null && saveFilters.length > 0 && saveFilters[0] != null && prevPlugin.getOpenFileFilters() != null;
+			String msg = restorable ? LanguageFile.getLabel(langFile, "MSG_INFO_BENCHMARKCLOSEPLUGIN", langID, "The benchmark closes \"&name&\", the document is restored after the benchmark.\nDo you want to continue?") :
+				LanguageFile.getLabel(langFile, "MSG_WARN_BENCHMARKCLOSEPLUGIN", langID, "The benchmark closes \"&name&\" and the document cannot be restored.\nDo you want to continue?");
+			msg = msg.replace("&name&", prevPlugin.getName());
+			
+			if(JOptionPane.showConfirmDialog(this, msg, LanguageFile.getLabel(langFile, "MSG_INFO_TITLE_BENCHMARKCLOSEPLUGIN", langID, "Benchmark"), JOptionPane.YES_NO_OPTION, restorable ? JOptionPane.QUESTION_MESSAGE : JOptionPane.WARNING_MESSAGE) != JOptionPane.YES_OPTION)
+				return;
+			
+			if(restorable) {
+				try {
+					prevDocument = File.createTempFile("laves-benchmark-", "." + saveFilters[0].getExtensions()[0]);
+					prevPlugin.save(prevDocument);
+				}
+				catch(Exception e) {
+					writeLogMessage(prevPlugin, LanguageFile.getLabel(langFile, "MSG_ERR_BENCHMARKSAVEDOCUMENT", langID, "The document could not be saved before the benchmark!"), e, LogType.ERROR);
+					if(prevDocument != null)
+						prevDocument.delete();
+					return;
+				}
+			}
+		}
+		
+		final BenchmarkDialog benchmarkDlg = new BenchmarkDialog(this, new BenchmarkHost() {
+			
+			@Override
+			public void activatePlugin(AlgorithmPlugin plugin) {
+				pluginChanged[0] = true;
+				MainWindow.this.activatePlugin(plugin, null);
+			}
+			
+			@Override
+			public void closeActivePlugin() {
+				MainWindow.this.closeActivePlugin();
+			}
+			
+			@Override
+			public ViewContainer getViewContainer() {
+				return MainWindow.this.viewContainer;
+			}
+		});
+		benchmarkDlg.setVisible(true);
+		
+		// restore the state before the benchmark
+		if(pluginChanged[0]) {
+			if(prevPlugin != null) {
+				activatePlugin(prevPlugin, null);
+				if(prevDocument != null) {
+					// the document is a temporary file that is no longer needed when the application is closed
+					prevDocument.deleteOnExit();
+					executeFileOperation(prevDocument, false);
+					prevDocument = null;
+				}
+			}
+			else {
+				closeActivePlugin();
+				loadWelcomeScreen();
+			}
+		}
+		lastOpenedPlugins = prevLastOpenedPlugins;
+		
+		if(prevDocument != null)
+			prevDocument.delete();
+	}
+	
+	/**
+	 * Reloads the active plugin meaning the plugin is closed and created again.
+	 * <br><br>
+	 * The document of the plugin is saved to a temporary file before the plugin is closed and it is opened again afterwards so that
+	 * the changes of the user are not lost. If the plugin cannot save its document then the plugin is not reloaded.
+	 * 
+	 * @return <code>true</code> if the plugin is reloaded otherwise <code>false</code>
+	 * @since 1.5
+	 */
+	private boolean reloadActivePlugin() {
+		// reloading closes the active plugin which is not possible while the algorithm is running or a file is opened or saved
+		if(activePlugin == null || fileService.isBusy() || layoutService.isBusy() || (isValidActiveRTE() && activePlugin.getRuntimeEnvironment().isStarted()))
+			return false;
+		
+		final AlgorithmPlugin plugin = activePlugin;
+		final FileNameExtensionFilter[] saveFilters = plugin.getSaveFileFilters();
+		if(saveFilters == null || saveFilters.length == 0 || saveFilters[0] == null || plugin.getOpenFileFilters() == null)
+			return false;
+		
+		File document = null;
+		try {
+			document = File.createTempFile("laves-reload-", "." + saveFilters[0].getExtensions()[0]);
+			plugin.save(document);
+		}
+		catch(Exception e) {
+			writeLogMessage(plugin, LanguageFile.getLabel(langFile, "MSG_ERR_RELOADSAVEDOCUMENT", langID, "The document could not be saved before the plugin is reloaded!"), e, LogType.ERROR);
+			if(document != null)
+				document.delete();
+			return false;
+		}
+		
+		activatePlugin(plugin, null);
+		// the document is a temporary file that is no longer needed when the application is closed
+		document.deleteOnExit();
+		executeFileOperation(document, false);
+		
+		return true;
+	}
+	
+	/**
+	 * Opens the log viewer dialog to view the structured log of LAVES.
+	 * 
+	 * @since 1.5
+	 */
+	private void onLogViewer() {
+		final LogViewerDialog logViewerDlg = new LogViewerDialog(this);
+		logViewerDlg.setVisible(true);
+	}
+	
+	/**
+	 * Opens the exercise statistics dialog to view the statistics of the attempts to solve the exercises.
+	 * 
+	 * @since 1.5
+	 */
+	private void onExerciseStatistics() {
+		final ExerciseStatisticsDialog statisticsDlg = new ExerciseStatisticsDialog(this);
+		statisticsDlg.setVisible(true);
+	}
+	
+	/**
+	 * Records an attempt to solve an exercise of the active plugin in the exercise attempt store.
+	 * 
+	 * @param exercise the exercise
+	 * @param step the step of the exercise or <code>null</code>
+	 * @param succeeded <code>true</code> if the attempt was correct otherwise <code>false</code>
+	 * @param duration the duration of the attempt in milliseconds
+	 * @since 1.5
+	 */
+	private void onExerciseAttempted(final AlgorithmExercise<?> exercise, final AlgorithmStep step, final boolean succeeded, final long duration) {
+		if(activePlugin == null || step == null)
+			return;
+		
+		exerciseAttemptStore.append(activePlugin.getClass().getName(), activePlugin.getName(), step.getID(), exercise.getText(), succeeded, duration);
 	}
 	
 	/**
 	 * Opens the help (file) of LAVES.
+	 * <br><br>
+	 * The help file is opened by the default application in the background because this can take a while.
 	 * 
 	 * @since 1.0
 	 */
 	private void onHelp() {
 		final String helpFile = Constants.PATH_HELP + langID + FileUtils.FILESEPARATOR + Constants.FILENAME_HELP;
 		
-		final int res = Utils.openFile(helpFile);
-		switch(res) {
-			case -1:
-				JOptionPane.showMessageDialog(this, LanguageFile.getLabel(langFile, "MSG_INFO_CANNOTOPENHELPFILE", langID, "The user guide cannot be opened!\nEnsure that you have installed a suitable PDF-Reader."), LanguageFile.getLabel(langFile, "MSG_INFO_TITLE_CANNOTOPENHELPFILE", langID, "User guide"), JOptionPane.INFORMATION_MESSAGE);
-				break;
-			case 0:
-				JOptionPane.showMessageDialog(this, LanguageFile.getLabel(langFile, "MSG_INFO_NOHELPFILE", langID, "Their is no user guide available for the selected language!"), LanguageFile.getLabel(langFile, "MSG_INFO_TITLE_NOHELPFILE", langID, "No user guide available"), JOptionPane.INFORMATION_MESSAGE);
-				break;
-		}
+		final SwingWorker<Integer, Void> worker = new SwingWorker<Integer, Void>() {
+			
+			@Override
+			protected Integer doInBackground() throws Exception {
+				return Utils.openFile(helpFile);
+			}
+			
+			@Override
+			protected void done() {
+				int res;
+				try {
+					res = get();
+				}
+				catch(InterruptedException | ExecutionException e) {
+					res = -1;
+				}
+				
+				switch(res) {
+					case -1:
+						JOptionPane.showMessageDialog(MainWindow.this, LanguageFile.getLabel(langFile, "MSG_INFO_CANNOTOPENHELPFILE", langID, "The user guide cannot be opened!\nEnsure that you have installed a suitable PDF-Reader."), LanguageFile.getLabel(langFile, "MSG_INFO_TITLE_CANNOTOPENHELPFILE", langID, "User guide"), JOptionPane.INFORMATION_MESSAGE);
+						break;
+					case 0:
+						JOptionPane.showMessageDialog(MainWindow.this, LanguageFile.getLabel(langFile, "MSG_INFO_NOHELPFILE", langID, "Their is no user guide available for the selected language!"), LanguageFile.getLabel(langFile, "MSG_INFO_TITLE_NOHELPFILE", langID, "No user guide available"), JOptionPane.INFORMATION_MESSAGE);
+						break;
+				}
+			}
+		};
+		worker.execute();
 	}
 	
 	/**
@@ -1635,7 +2477,8 @@ public class MainWindow extends JFrame implements PluginHost {
 	 */
 	private void updateRTECtrlButtonStates() {
 		final AlgorithmRTE rte = (activePlugin != null) ? activePlugin.getRuntimeEnvironment() : null;
-		final boolean rteState = (rte != null);
+		// the algorithm cannot be started while the plugin opens or saves a file
+		final boolean rteState = (rte != null && !fileService.isBusy());
 		
 		exerciseModeBtn.setEnabled(rteState && activePlugin.hasExerciseMode());
 		startBtn.setEnabled(rteState && !rte.isRunning());
@@ -1663,15 +2506,26 @@ public class MainWindow extends JFrame implements PluginHost {
 	private void updateNonRTECtrlButtonStates() {
 		final boolean validActivePlugin = (activePlugin != null);
 		final boolean rteIsStarted = (validActivePlugin && activePlugin.getRuntimeEnvironment() != null) ? activePlugin.getRuntimeEnvironment().isStarted() : false;
+		// the active plugin must not be changed while it opens or saves a file
+		final boolean locked = rteIsStarted || fileService.isBusy();
 		
-		newBtn.setEnabled(!rteIsStarted);
-		saveAsBtn.setEnabled(!rteIsStarted && (validActivePlugin && activePlugin.getSaveFileFilters() != null));
-		openBtn.setEnabled(!rteIsStarted && (validActivePlugin && activePlugin.getOpenFileFilters() != null));
+		newBtn.setEnabled(!locked);
+		saveAsBtn.setEnabled(!locked && (validActivePlugin && activePlugin.getSaveFileFilters() != null));
+		openBtn.setEnabled(!locked && (validActivePlugin && activePlugin.getOpenFileFilters() != null));
 		
 		if(activePlugin != null && activePlugin.getToolBarExtensions() != null) {
 			for(ToolBarExtension tbe : activePlugin.getToolBarExtensions()) {
 				if(tbe != null)
-					tbe.setEnabled(!rteIsStarted);
+					tbe.setEnabled(!locked);
+			}
+		}
+		
+		// a layout must not change the graph while the algorithm is running or the plugin opens or saves a file
+		if(menuFunctions != null) {
+			for(int i = 0; i < menuFunctions.getItemCount(); i++) {
+				final JMenuItem item = menuFunctions.getItem(i);
+				if(item != null && item.getActionCommand() != null && item.getActionCommand().startsWith(DYNACTION_FORCELAYOUT))
+					item.setEnabled(!locked);
 			}
 		}
 	}
@@ -1756,7 +2610,7 @@ public class MainWindow extends JFrame implements PluginHost {
 	 * @author jdornseifer
 	 * @version 1.0
 	 */
-	private class EventController implements WindowListener, ActionListener, ChangeListener, RTEListener {
+	private class EventController implements WindowListener, ComponentListener, ActionListener, ChangeListener, RTEListener, LayoutListener, FileIOListener, ExercisesTableViewListener {
 		
 		private boolean closed = false;
 		private boolean opened = false;
@@ -1802,6 +2656,26 @@ public class MainWindow extends JFrame implements PluginHost {
 			opened = true;
 		}
 
+		@Override
+		public void componentResized(ComponentEvent e) {
+			if(opened)
+				MainWindow.this.configService.changed();
+		}
+		
+		@Override
+		public void componentMoved(ComponentEvent e) {
+			if(opened)
+				MainWindow.this.configService.changed();
+		}
+		
+		@Override
+		public void componentShown(ComponentEvent e) {
+		}
+		
+		@Override
+		public void componentHidden(ComponentEvent e) {
+		}
+		
 		@Override
 		public void actionPerformed(ActionEvent e) {
 			final String action = e.getActionCommand();
@@ -1811,6 +2685,9 @@ public class MainWindow extends JFrame implements PluginHost {
 				final String paramVal = getDynamicActionParameter(action);
 				
 				if(action.startsWith(DYNACTION_OPENRECENT)) {
+					if(!isActionEnabled(ACTION_NEW))
+						return;
+					
 					try {
 						final Integer index = new Integer(paramVal);
 						MainWindow.this.activatePlugin(MainWindow.this.lastOpenedPlugins.get(index), null);
@@ -1826,6 +2703,14 @@ public class MainWindow extends JFrame implements PluginHost {
 					catch(NumberFormatException ex) {
 					}
 				}
+				else if(action.startsWith(DYNACTION_FORCELAYOUT)) {
+					try {
+						final Integer index = new Integer(paramVal);
+						MainWindow.this.onForceLayout(index.intValue());
+					}
+					catch(NumberFormatException ex) {
+					}
+				}
 				
 				// the other actions need not to be checked
 				return;
@@ -1842,6 +2727,9 @@ public class MainWindow extends JFrame implements PluginHost {
 				case ACTION_SAVEAS:
 					MainWindow.this.onSaveAs();
 					break;
+				case ACTION_IMPORTMATRIX:
+					MainWindow.this.onImportMatrix();
+					break;
 				case ACTION_OPEN:
 					MainWindow.this.onOpen();
 					break;
@@ -1896,6 +2784,18 @@ public class MainWindow extends JFrame implements PluginHost {
 				case ACTION_PREFERENCES:
 					MainWindow.this.onPreferences();
 					break;
+				case ACTION_RECORDDIAGNOSTICS:
+					MainWindow.this.onRecordDiagnostics();
+					break;
+				case ACTION_BENCHMARK:
+					MainWindow.this.onBenchmark();
+					break;
+				case ACTION_LOGVIEWER:
+					MainWindow.this.onLogViewer();
+					break;
+				case ACTION_EXERCISESTATISTICS:
+					MainWindow.this.onExerciseStatistics();
+					break;
 				case ACTION_HELP:
 					MainWindow.this.onHelp();
 					break;
@@ -1918,6 +2818,9 @@ public class MainWindow extends JFrame implements PluginHost {
 
 		@Override
 		public void beforeStart(RTEvent e) {
+			// layouts must not change the graph while the algorithm is running
+			MainWindow.this.layoutService.cancelAll();
+			MainWindow.this.statusBar.hideProgress(StatusBar.PROGRESS_LAYOUT);
 		}
 
 		@Override
@@ -1945,6 +2848,59 @@ public class MainWindow extends JFrame implements PluginHost {
 			MainWindow.this.updateRTECtrlButtonStates();
 		}
 		
+		@Override
+		public void layoutProgress(LayoutTask task, int current, int total) {
+			MainWindow.this.showLayoutProgress();
+			MainWindow.this.statusBar.setProgress(StatusBar.PROGRESS_LAYOUT, current, total);
+		}
+		
+		@Override
+		public void layoutFinished(LayoutTask task, int result) {
+			if(!MainWindow.this.layoutService.isBusy())
+				MainWindow.this.statusBar.hideProgress(StatusBar.PROGRESS_LAYOUT);
+			
+			switch(result) {
+				case LayoutTask.RESULT_NOTAPPLICABLE:
+					MainWindow.this.writeLogMessage(null, LanguageFile.getLabel(langFile, "MSG_INFO_LAYOUTNOTAPPLICABLE", langID, "The layout is not applicable to the graph!"), LogType.WARNING);
+					break;
+				case LayoutTask.RESULT_DISCARDED:
+					MainWindow.this.writeLogMessage(null, LanguageFile.getLabel(langFile, "MSG_INFO_LAYOUTDISCARDED", langID, "The layout was discarded because the graph has changed during the computation!"), LogType.WARNING);
+					break;
+				case LayoutTask.RESULT_FAILED:
+					MainWindow.this.writeLogMessage(null, LanguageFile.getLabel(langFile, "MSG_ERR_LAYOUT", langID, "The layout could not be computed!"), task.getException(), LogType.ERROR);
+					break;
+			}
+		}
+		
+		@Override
+		public void fileTaskProgress(FileIOTask task, int current, int total) {
+			MainWindow.this.statusBar.setProgress(StatusBar.PROGRESS_FILEIO, current, total);
+		}
+		
+		@Override
+		public void fileTaskFinished(FileIOTask task, int result) {
+			MainWindow.this.statusBar.hideProgress(StatusBar.PROGRESS_FILEIO);
+			MainWindow.this.updateRTECtrlButtonStates();
+			MainWindow.this.updateNonRTECtrlButtonStates();
+			
+			String msg;
+			switch(result) {
+				case FileIOTask.RESULT_CANCELLED:
+					msg = LanguageFile.getLabel(langFile, task.isSave() ? "MSG_INFO_SAVECANCELLED" : "MSG_INFO_OPENCANCELLED", langID, task.isSave() ? "Saving \"&name&\" was cancelled, the file is unchanged!" : "Opening \"&name&\" was cancelled!");
+					MainWindow.this.writeLogMessage(task.getPlugin(), msg.replace("&name&", task.getFile().getName()), LogType.WARNING);
+					break;
+				case FileIOTask.RESULT_FAILED:
+					msg = LanguageFile.getLabel(langFile, task.isSave() ? "MSG_ERR_SAVEFILE" : "MSG_ERR_OPENFILE", langID, task.isSave() ? "The file \"&name&\" could not be saved!" : "The file \"&name&\" could not be opened!");
+					MainWindow.this.writeLogMessage(task.getPlugin(), msg.replace("&name&", task.getFile().getName()), task.getException(), LogType.ERROR);
+					break;
+			}
+		}
+		
+		@Override
+		public void exerciseAttempted(AlgorithmExercise<?> exercise, AlgorithmStep step, boolean succeeded, long duration) {
+			MainWindow.this.onExerciseAttempted(exercise, step, succeeded, duration);
+		}
+	
 	}
 
 }
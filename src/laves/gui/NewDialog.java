@@ -21,6 +21,7 @@ package laves.gui;
 
 import java.awt.BorderLayout;
 import java.awt.Color;
+import java.awt.Dimension;
 import java.awt.FlowLayout;
 import java.awt.Font;
 import java.awt.GridBagConstraints;
@@ -32,9 +33,10 @@ import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
-import java.util.regex.PatternSyntaxException;
+import java.awt.image.BufferedImage;
 
 import javax.swing.BorderFactory;
+import javax.swing.ImageIcon;
 import javax.swing.JButton;
 import javax.swing.JDialog;
 import javax.swing.JLabel;
@@ -44,7 +46,7 @@ import javax.swing.JSeparator;
 import javax.swing.JTable;
 import javax.swing.JTextField;
 import javax.swing.ListSelectionModel;
-import javax.swing.RowFilter;
+import javax.swing.Timer;
 import javax.swing.UIManager;
 import javax.swing.border.EmptyBorder;
 import javax.swing.event.DocumentEvent;
@@ -57,7 +59,10 @@ import javax.swing.SpringLayout;
 import laves.configuration.MainConfiguration;
 import laves.gui.widgets.AlgorithmTableModel;
 import laves.gui.widgets.HintTextFieldUI;
+import laves.rendering.ThumbnailCache;
+import laves.rendering.ThumbnailListener;
 import laves.resources.ResourceManager;
+import laves.utils.PluginSearchIndex;
 import lavesdk.algorithm.plugin.AlgorithmPlugin;
 import lavesdk.algorithm.plugin.views.ViewGroup;
 import lavesdk.gui.widgets.PropertiesList;
@@ -69,9 +74,16 @@ import lavesdk.language.LanguageFile;
  * <br><br>
  * Use {@link #getSelectedPlugin()} to get the plugin that should be created and {@link #getCreatorPreferences()} to get its
  * creator preferences.
- * 
+ * <br><br>
+ * The algorithm table can be searched. The search uses the {@link PluginSearchIndex} of the main window (see
+ * {@link MainWindow#getPluginSearchIndex()}) and displays the matching plugins ranked by their relevance. The search is performed
+ * after the user stops typing (see {@link #SEARCH_DELAY}).
+ * <br><br>
+ * The information area displays a preview of the selected plugin from the {@link ThumbnailCache} of the main window. The preview is
+ * displayed as soon as it is available so the dialog is not delayed if the thumbnail has to be created first.
+ *  
  * @author jdornseifer
- * @version 1.0
+ * @version 1.1
  * @since 1.0
  */
 public class NewDialog extends JDialog {
@@ -98,6 +110,12 @@ public class NewDialog extends JDialog {
 	private final JTable algoTable;
 	/** the sorter of the algorithm table */
 	private final TableRowSorter<AlgorithmTableModel> algoTableSorter;
+	/** the search index of the installed plugins */
+	private final PluginSearchIndex searchIndex;
+	/** the timer that delays the search until the user stops typing */
+	private final Timer searchTimer;
+	/** flag that indicates whether the search result is displayed currently (the selection is restored then) */
+	private boolean updatingSearchResult;
 	/** the info panel that shows information about the selected plugin */
 	private final JPanel infoPanel;
 	/** the preferences group */
@@ -114,6 +132,10 @@ public class NewDialog extends JDialog {
 	private final JLabel lblAlgoType;
 	/** the label of the algorithm assumptions in the information panel */
 	private final JLabel lblAlgoAssumptions;
+	/** the label of the preview thumbnail of the selected plugin */
+	private final JLabel lblAlgoPreview;
+	/** the listener that displays the preview thumbnail of the selected plugin when it is available */
+	private final ThumbnailListener thumbnailListener;
 	/** the label of the algorithm name */
 	private final String algoNameLabel;
 	/** the label of the algorithm description */
@@ -127,6 +149,9 @@ public class NewDialog extends JDialog {
 	/** the label of the algorithm assumptions */
 	private final String algoAssumptionsLabel;
 
+	/** the delay in milliseconds after the last keystroke before the algorithm table is searched */
+	private static final int SEARCH_DELAY = 150;
+
 	/**
 	 * Create the dialog.
 	 * 
@@ -151,6 +176,15 @@ public class NewDialog extends JDialog {
 		this.currSelectedPlugin = null;
 		this.creatorPreferences = null;
 		this.currCreatorPreferences = null;
+		this.updatingSearchResult = false;
+		this.thumbnailListener = new ThumbnailListener() {
+			
+			@Override
+			public void thumbnailAvailable(AlgorithmPlugin plugin, BufferedImage thumbnail) {
+				if(plugin == NewDialog.this.getTableSelection())
+					NewDialog.this.lblAlgoPreview.setIcon(new ImageIcon(thumbnail));
+			}
+		};
 		
 		// load labels of the info panel and algorithm table
 		algoNameLabel = LanguageFile.getLabel(mainWin.getLanguageFile(), "COLUMN_ALGONAME", mainWin.getLanguageID(), "Name");
@@ -201,21 +235,29 @@ public class NewDialog extends JDialog {
 		// create the search text field in the algorithm table area
 		final JTextField searchField = new JTextField();
 		searchField.setUI(new HintTextFieldUI(LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_NEW_SEARCH", mainWin.getLanguageID(), "Search")));
+		searchTimer = new Timer(SEARCH_DELAY, new ActionListener() {
+			
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				filterAlgoTable(searchField);
+			}
+		});
+		searchTimer.setRepeats(false);
 		searchField.getDocument().addDocumentListener(new DocumentListener() {
 			
 			@Override
 			public void removeUpdate(DocumentEvent e) {
-				filterAlgoTable(searchField);
+				searchTimer.restart();
 			}
 			
 			@Override
 			public void insertUpdate(DocumentEvent e) {
-				filterAlgoTable(searchField);
+				searchTimer.restart();
 			}
 			
 			@Override
 			public void changedUpdate(DocumentEvent e) {
-				filterAlgoTable(searchField);
+				searchTimer.restart();
 			}
 		});
 		algoTablePanel.add(searchField, BorderLayout.NORTH);
@@ -223,6 +265,7 @@ public class NewDialog extends JDialog {
 		// create the algorithm table
 		algoTableModel = new AlgorithmTableModel(cfg, mainWin.getLoader(), mainWin.getLanguageFile(), mainWin.getLanguageID());
 		algoTableSorter = new TableRowSorter<AlgorithmTableModel>(algoTableModel);
+		searchIndex = mainWin.getPluginSearchIndex();
 		algoTable = new JTable(algoTableModel);
 		algoTableModel.setTable(algoTable);
 		algoTable.setRowSorter(algoTableSorter);
@@ -233,7 +276,7 @@ public class NewDialog extends JDialog {
 			
 			@Override
 			public void valueChanged(ListSelectionEvent e) {
-				if(NewDialog.this.algoTable.getSelectedRowCount() < 1)
+				if(NewDialog.this.updatingSearchResult || NewDialog.this.algoTable.getSelectedRowCount() < 1)
 					return;
 				
 				NewDialog.this.selectionChanged(NewDialog.this.algoTableModel.getRow(NewDialog.this.algoTable.convertRowIndexToModel(NewDialog.this.algoTable.getSelectedRow())));
@@ -263,6 +306,12 @@ public class NewDialog extends JDialog {
 		infoGroup.setBorder(BorderFactory.createTitledBorder(LanguageFile.getLabel(mainWin.getLanguageFile(), "DLG_NEW_INFORMATIONAREA_TITLE", mainWin.getLanguageID(), "Information")));
 		infoPanel = new JPanel(new GridBagLayout());
 		infoGroup.add(infoPanel, BorderLayout.CENTER);
+		lblAlgoPreview = new JLabel();
+		lblAlgoPreview.setVerticalAlignment(JLabel.TOP);
+		lblAlgoPreview.setPreferredSize(new Dimension(ThumbnailCache.THUMBNAIL_WIDTH + 4, ThumbnailCache.THUMBNAIL_HEIGHT + 4));
+		lblAlgoPreview.setBorder(new EmptyBorder(2, 2, 2, 2));
+		infoGroup.add(lblAlgoPreview, BorderLayout.EAST);
+		mainWin.getThumbnailCache().addListener(thumbnailListener);
 		rightSplitPane.add(infoGroup);
 		{
 			// create labels of information panel
@@ -483,6 +532,8 @@ public class NewDialog extends JDialog {
 				cfg.setNewDialogWidth(NewDialog.this.getWidth());
 				cfg.setNewDialogHeight(NewDialog.this.getHeight());
 				NewDialog.this.algoTableModel.storeColumnWidths();
+				NewDialog.this.searchTimer.stop();
+				NewDialog.this.mainWin.getThumbnailCache().removeListener(NewDialog.this.thumbnailListener);
 				
 				closed = true;
 			}
@@ -556,6 +607,9 @@ public class NewDialog extends JDialog {
 	 * @since 1.0
 	 */
 	private void selectionChanged(final AlgorithmPlugin plugin) {
+		// the selected plugin is likely to be created so its algorithm text is prepared while the dialog is open
+		mainWin.prerenderPlugin(plugin);
+		
 		if(plugin == null) {
 			// clear the info panel labels
 			lblAlgoName.setText("");
@@ -564,6 +618,7 @@ public class NewDialog extends JDialog {
 			lblAlgoProbAffil.setText("");
 			lblAlgoSubject.setText("");
 			lblAlgoAssumptions.setText("");
+			lblAlgoPreview.setIcon(null);
 			// disable the preferences
 			prefsGroup.setVisible(false);
 			return;
@@ -591,33 +646,51 @@ public class NewDialog extends JDialog {
 		lblAlgoProbAffil.setText(plugin.getProblemAffiliation());
 		lblAlgoSubject.setText(plugin.getSubject());
 		lblAlgoAssumptions.setText("<html>" + plugin.getAssumptions() + "</html>");
+		// display the preview if it is available otherwise it is displayed by the thumbnail listener later
+		final BufferedImage thumbnail = mainWin.getThumbnailCache().getThumbnail(plugin);
+		lblAlgoPreview.setIcon((thumbnail != null) ? new ImageIcon(thumbnail) : null);
 		
 		// set the current selected plugin
 		currSelectedPlugin = plugin;
 	}
 	
+	/**
+	 * Gets the plugin that is selected in the algorithm table.
+	 * 
+	 * @return the selected plugin or <code>null</code> if there is no selection
+	 * @since 1.1
+	 */
+	private AlgorithmPlugin getTableSelection() {
+		return (algoTable.getSelectedRowCount() > 0) ? algoTableModel.getRow(algoTable.convertRowIndexToModel(algoTable.getSelectedRow())) : null;
+	}
+	
 	/**
 	 * Filters the algorithm table using the search string entered in the search field.
+	 * <br><br>
+	 * The matching plugins are displayed ranked by their relevance unless the user sorts the table by a column.
 	 * 
 	 * @param searchField the search field
 	 * @since 1.0
 	 */
 	private void filterAlgoTable(final JTextField searchField) {
-		final int[] columns = new int[algoTableModel.getColumnCount()];
-		RowFilter<AlgorithmTableModel, Object> filter = null;
-		
-		for(int i = 0; i < columns.length; i++)
-			columns[i] = i;
+		final AlgorithmPlugin selection = (algoTable.getSelectedRowCount() > 0) ? algoTableModel.getRow(algoTable.convertRowIndexToModel(algoTable.getSelectedRow())) : null;
 		
+		// restore the selection if the selected plugin is still displayed (the creator preferences of the selection are retained)
+		updatingSearchResult = true;
 		try {
-			// use the embedded flag (?i) for case insensitive
-			filter = RowFilter.regexFilter("(?i)" + searchField.getText(), columns);
+			algoTableModel.setRowOrder(searchIndex.search(searchField.getText()));
+		
+			for(int i = 0; selection != null && i < algoTableModel.getRowCount(); i++) {
+				if(algoTableModel.getRow(i) == selection) {
+					final int row = algoTable.convertRowIndexToView(i);
+					algoTable.getSelectionModel().setSelectionInterval(row, row);
+					algoTable.scrollRectToVisible(algoTable.getCellRect(row, 0, true));
+					break;
+				}
+			}
 		}
-		catch(PatternSyntaxException e) {
-			filter = null;
+		finally {
+			updatingSearchResult = false;
 		}
-		
-		if(filter != null)
-			algoTableSorter.setRowFilter(filter);
 	}
 }
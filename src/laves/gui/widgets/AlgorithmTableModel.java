@@ -21,8 +21,10 @@ package laves.gui.widgets;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 
 import javax.swing.JTable;
+import javax.swing.SwingWorker;
 import javax.swing.table.AbstractTableModel;
 import javax.swing.table.TableColumn;
 
@@ -33,9 +35,16 @@ import lavesdk.language.LanguageFile;
 
 /**
  * The table model of the algorithm table.
+ * <br><br>
+ * The values of the plugins are not queried each time a cell is rendered, sorted or filtered. Instead an immutable snapshot of each
+ * plugin is created when the model is created or reloaded (see {@link #reload()}) and the cells are backed by the snapshots. So the
+ * model has to be reloaded if the installed plugins change (the language cannot change while LAVES is running).
+ * <br><br>
+ * The snapshots can be created in a background thread (see {@link #reloadInBackground()}) so that a model can be created in the event
+ * dispatch thread without querying all plugins there. The model is empty until the snapshots are available.
  * 
  * @author jdornseifer
- * @version 1.1
+ * @version 1.2
  * @since 1.0
  */
 public class AlgorithmTableModel extends AbstractTableModel {
@@ -52,8 +61,16 @@ public class AlgorithmTableModel extends AbstractTableModel {
 	private final List<String> columns;
 	/** the real indices of the columns */
 	private final List<Integer> colIndices;
-	/** the rows of the table */
+	/** the installed plugins */
 	private List<AlgorithmPlugin> rows;
+	/** the snapshots of the installed plugins */
+	private RowSnapshot[] snapshots;
+	/** the real indices of the columns (the array of {@link #colIndices} that is accessed for each cell) */
+	private final int[] columnMap;
+	/** the indices of the installed plugins that are displayed in the table or <code>null</code> if all plugins are displayed */
+	private int[] rowOrder;
+	/** the number of started loads of the snapshots so that the result of an outdated background load can be discarded */
+	private int loadCount;
 	
 	/** the index of the name column */
 	private static final int COLUMN_NAME_INDEX = 0;
@@ -71,6 +88,8 @@ public class AlgorithmTableModel extends AbstractTableModel {
 	private static final int COLUMN_VERSION_INDEX = 6;
 	/** the index of the sdk version column */
 	private static final int COLUMN_SDKVERSION_INDEX = 7;
+	/** the number of real columns */
+	private static final int COLUMN_COUNT = 8;
 	
 	/**
 	 * Creates a new table model.
@@ -108,6 +127,27 @@ public class AlgorithmTableModel extends AbstractTableModel {
 	 * @since 1.0
 	 */
 	public AlgorithmTableModel(final MainConfiguration cfg, final Loader loader, final LanguageFile langFile, final String langID, final boolean showAllColumns) throws IllegalArgumentException {
+		this(cfg, loader, langFile, langID, showAllColumns, false);
+	}
+	
+	/**
+	 * Creates a new table model.
+	 * 
+	 * @param cfg the main configuration
+	 * @param loader the loader of the application
+	 * @param langFile the language file
+	 * @param langID the language id
+	 * @param showAllColumns <code>true</code> if all columns should be displayed except what is configured otherwise <code>false</code>
+	 * @param loadInBackground <code>true</code> if the snapshots of the plugins should be created in a background thread (the model is empty until they are available) otherwise <code>false</code>
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if cfg is null</li>
+	 * 		<li>if loader is null</li>
+	 * 		<li>if the plugin manager is not available yet</li>
+	 * </ul>
+	 * @since 1.2
+	 */
+	public AlgorithmTableModel(final MainConfiguration cfg, final Loader loader, final LanguageFile langFile, final String langID, final boolean showAllColumns, final boolean loadInBackground) throws IllegalArgumentException {
 		if(cfg == null || loader == null || loader.getPluginManager() == null)
 			throw new IllegalArgumentException("No valid argument!");
 		
@@ -117,6 +157,8 @@ public class AlgorithmTableModel extends AbstractTableModel {
 		this.columns = new ArrayList<String>();
 		this.colIndices = new ArrayList<Integer>();
 		this.rows = loader.getPluginManager().getInstalledPlugins();
+		this.rowOrder = null;
+		this.loadCount = 0;
 		
 		// create the visible columns
 		columns.add(LanguageFile.getLabel(langFile, "COLUMN_ALGONAME", langID, "Name"));
@@ -149,6 +191,18 @@ public class AlgorithmTableModel extends AbstractTableModel {
 			columns.add(LanguageFile.getLabel(langFile, "COLUMN_ALGOSDKVERSION", langID, "Used SDK Version"));
 			colIndices.add(COLUMN_SDKVERSION_INDEX);
 		}
+		
+		this.columnMap = new int[colIndices.size()];
+		for(int i = 0; i < columnMap.length; i++)
+			columnMap[i] = colIndices.get(i);
+		
+		if(loadInBackground) {
+			this.rows = new ArrayList<AlgorithmPlugin>();
+			this.snapshots = new RowSnapshot[0];
+			reloadInBackground();
+		}
+		else
+			this.snapshots = createSnapshots(rows);
 	}
 	
 	/**
@@ -212,10 +266,73 @@ public class AlgorithmTableModel extends AbstractTableModel {
 	 * @since 1.0 
 	 */
 	public void reload() {
+		loadCount++;
 		rows = loader.getPluginManager().getInstalledPlugins();
+		snapshots = createSnapshots(rows);
+		rowOrder = null;
 		fireTableDataChanged();
 	}
 	
+	/**
+	 * Reloads the data in the algorithm table where the snapshots of the plugins are created in a background thread.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * The table displays the previous data until the snapshots are available. If the model is reloaded again in the meantime
+	 * the result of this load is discarded.
+	 * 
+	 * @since 1.2
+	 */
+	public void reloadInBackground() {
+		final int load = ++loadCount;
+		final List<AlgorithmPlugin> plugins = loader.getPluginManager().getInstalledPlugins();
+		
+		new SwingWorker<RowSnapshot[], Void>() {
+			
+			@Override
+			protected RowSnapshot[] doInBackground() throws Exception {
+				return createSnapshots(plugins);
+			}
+			
+			@Override
+			protected void done() {
+				if(load != loadCount)
+					return;
+				
+				try {
+					rows = plugins;
+					snapshots = get();
+					rowOrder = null;
+					fireTableDataChanged();
+				}
+				catch(InterruptedException | ExecutionException e) {
+					// create the snapshots in the event dispatch thread if the background load failed
+					reload();
+				}
+			}
+		}.execute();
+	}
+	
+	/**
+	 * Sets the rows that are displayed in the table (like the ranked results of a search).
+	 * 
+	 * @param order the indices of the installed plugins in the order in which they should be displayed or <code>null</code> to display all installed plugins
+	 * @since 1.2
+	 */
+	public void setRowOrder(final int[] order) {
+		rowOrder = order;
+		fireTableDataChanged();
+	}
+	
+	/**
+	 * Gets the installed plugins regardless of the rows that are displayed (see {@link #setRowOrder(int[])}).
+	 * 
+	 * @return the installed plugins
+	 * @since 1.2
+	 */
+	public List<AlgorithmPlugin> getInstalledPlugins() {
+		return rows;
+	}
+	
 	/**
 	 * Applies the column widths to the configuration (only possible if a table was previously set using {@link #setTable(JTable)}).
 	 * 
@@ -270,9 +387,15 @@ public class AlgorithmTableModel extends AbstractTableModel {
 		return columns.get(column);
 	}
 
+	@Override
+	public Class<?> getColumnClass(int columnIndex) {
+		// all values are strings so the sorter can compare them directly
+		return String.class;
+	}
+	
 	@Override
 	public int getRowCount() {
-		return rows.size();
+		return (rowOrder != null) ? rowOrder.length : snapshots.length;
 	}
 	
 	/**
@@ -283,26 +406,64 @@ public class AlgorithmTableModel extends AbstractTableModel {
 	 * @since 1.0
 	 */
 	public AlgorithmPlugin getRow(final int row) {
-		return rows.get(row);
+		return snapshots[(rowOrder != null) ? rowOrder[row] : row].plugin;
 	}
 
 	@Override
 	public Object getValueAt(int row, int column) {
-		final AlgorithmPlugin p = rows.get(row);
+		// convert the column index to its real index and get the value of the snapshot
+		return snapshots[(rowOrder != null) ? rowOrder[row] : row].values[columnMap[column]];
+	}
+		
+	/**
+	 * Creates the snapshots of plugins.
+	 * 
+	 * @param plugins the plugins
+	 * @return the snapshots
+	 * @since 1.2
+	 */
+	private static RowSnapshot[] createSnapshots(final List<AlgorithmPlugin> plugins) {
+		final RowSnapshot[] result = new RowSnapshot[plugins.size()];
+		
+		for(int i = 0; i < result.length; i++)
+			result[i] = new RowSnapshot(plugins.get(i));
+		
+		return result;
+	}
+	
+	/**
+	 * An immutable snapshot of the values of a plugin.
+	 * 
+	 * @author jdornseifer
+	 * @version 1.0
+	 * @since 1.2
+	 */
+	private static final class RowSnapshot {
+		
+		/** the plugin */
+		public final AlgorithmPlugin plugin;
+		/** the values of the plugin (indexed by the real column indices) */
+		public final String[] values;
 		
-		// convert the column index to its real index and get the value
-		switch(colIndices.get(column)) {
-			case COLUMN_NAME_INDEX:					return p.getName();
-			case COLUMN_PROBLEMAFFILIATION_INDEX:	return p.getProblemAffiliation();
-			case COLUMN_SUBJECT_INDEX:				return p.getSubject();
-			case COLUMN_TYPE_INDEX:					return p.getType();
-			case COLUMN_AUTHOR_INDEX:				return p.getAuthor();
-			case COLUMN_AUTHORCONTACT_INDEX:		return p.getAuthorContact();
-			case COLUMN_VERSION_INDEX:				return p.getVersion();
-			case COLUMN_SDKVERSION_INDEX:			return p.getUsedSDKVersion().toString();
+		/**
+		 * Creates a new snapshot.
+		 * 
+		 * @param p the plugin
+		 * @since 1.0
+		 */
+		public RowSnapshot(final AlgorithmPlugin p) {
+			plugin = p;
+			values = new String[COLUMN_COUNT];
+			values[COLUMN_NAME_INDEX] = p.getName();
+			values[COLUMN_PROBLEMAFFILIATION_INDEX] = p.getProblemAffiliation();
+			values[COLUMN_SUBJECT_INDEX] = p.getSubject();
+			values[COLUMN_TYPE_INDEX] = p.getType();
+			values[COLUMN_AUTHOR_INDEX] = p.getAuthor();
+			values[COLUMN_AUTHORCONTACT_INDEX] = p.getAuthorContact();
+			values[COLUMN_VERSION_INDEX] = p.getVersion();
+			values[COLUMN_SDKVERSION_INDEX] = p.getUsedSDKVersion().toString();
 		}
 		
-		return null;
 	}
 	
 }
@@ -0,0 +1,1259 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.gui.widgets;
+
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Cursor;
+import java.awt.Dimension;
+import java.awt.FlowLayout;
+import java.awt.Font;
+import java.awt.GridBagConstraints;
+import java.awt.GridBagLayout;
+import java.awt.Insets;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.SystemColor;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.text.NumberFormat;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.swing.BorderFactory;
+import javax.swing.JButton;
+import javax.swing.JComponent;
+import javax.swing.JDialog;
+import javax.swing.JEditorPane;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.JTextArea;
+import javax.swing.SwingConstants;
+import javax.swing.SwingUtilities;
+import javax.swing.UIManager;
+import javax.swing.border.Border;
+import javax.swing.plaf.basic.BasicHTML;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.TableCellRenderer;
+
+import lavesdk.algorithm.AlgorithmExercise;
+import lavesdk.algorithm.AlgorithmExercise.ExamResult;
+import lavesdk.algorithm.AlgorithmExerciseHandler;
+import lavesdk.algorithm.AlgorithmExerciseProvider;
+import lavesdk.algorithm.plugin.views.View;
+import lavesdk.algorithm.text.AlgorithmStep;
+import lavesdk.algorithm.text.Annotation;
+import lavesdk.gui.dialogs.AnnotationDialog;
+import lavesdk.gui.widgets.AnnotationViewKit;
+import lavesdk.language.LanguageFile;
+import lavesdk.resources.Resources;
+import lavesdk.utils.FileUtils;
+import lavesdk.utils.MathUtils;
+
+/**
+ * Displays the exercises of the exercise mode of an algorithm and is the default exercise provider of LAVES.
+ * <br><br>
+ * In contrast to the exercises list of the LAVESDK, the exercises are not displayed by one component per exercise. The state of the exercises
+ * is stored in a compact model (one record per exercise in a set of arrays) and the processed exercises are displayed as rows of a table
+ * that only renders the visible rows with one shared renderer. The exercise that is currently processed is displayed by a separate item
+ * below the table that provides the actions of the exercise. This means that the costs of the view are constant no matter how many exercises
+ * are processed in a session.
+ * <br><br>
+ * The view uses the labels of the exercises list of the LAVESDK.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ */
+public class ExercisesTableView extends View implements AlgorithmExerciseProvider {
+
+	private static final long serialVersionUID = 1L;
+	
+	/** the handler of the exercises or <code>null</code> */
+	private AlgorithmExerciseHandler handler;
+	/** the listener of the attempts or <code>null</code> */
+	private ExercisesTableViewListener listener;
+	/** the time the current attempt to solve the active exercise began */
+	private long attemptStart;
+	/** the records of the exercises */
+	private final ExercisesTableModel model;
+	/** the table that displays the processed exercises */
+	private final JTable table;
+	/** the item that renders the rows of the table */
+	private final Item renderer;
+	/** the item that displays the exercise that is currently processed */
+	private final Item activeItem;
+	/** the panel that displays the evaluation of an exam */
+	private final EvaluationPanel evalPanel;
+	/** the label that is used to measure the height of the exercise texts */
+	private final JLabel measureLabel;
+	/** the heights of the exercise texts for the current width of the table (key=exercise, value=height) */
+	private final Map<AlgorithmExercise<?>, Integer> textHeights;
+	/** the width of the table the row heights are measured for */
+	private int measuredWidth;
+	/** the height of a row without the exercise text or <code>-1</code> if it is not measured yet */
+	private int fixedRowHeight;
+	/** flag that indicates whether an exam is performed */
+	private boolean performingExam;
+	/** the label of an exercise */
+	private final String labelExercise;
+	/** the label of one credit */
+	private final String labelCredit;
+	/** the label of several credits */
+	private final String labelCredits;
+	/** the label of the result */
+	private final String labelResult;
+	/** the label of the attempts */
+	private final String labelAttempts;
+	/** the label of the last solution */
+	private final String labelLastSolution;
+	/** the label of the solve button */
+	private final String labelSolve;
+	/** the label of the give up button */
+	private final String labelGiveUp;
+	/** the label of the input hint button */
+	private final String labelInputHint;
+	/** the label of the annotation button */
+	private final String labelAnnotation;
+	/** the label of a succeeded exercise */
+	private final String labelSucceeded;
+	/** the label of a failed exercise */
+	private final String labelFailed;
+	/** the label of a failed exercise with a hint */
+	private final String labelFailedHint;
+	/** the title of the input hint dialog */
+	private final String inputHintDlgTitle;
+	
+	/** the background of an item */
+	private static final Color ITEM_BACKGROUND = Color.white;
+	/** the color of the separator between two items */
+	private static final Color ITEM_SEPARATOR = new Color(170, 200, 220);
+	/** the background of the active item */
+	private static final Color ACTIVE_ITEM_BACKGROUND = new Color(245, 251, 255);
+	/** the color of the border of the active item */
+	private static final Color ACTIVE_ITEM_BORDER = new Color(230, 236, 240);
+	/** the border of the active item */
+	private static final Border ITEM_BORDER_ACTIVE = BorderFactory.createCompoundBorder(BorderFactory.createMatteBorder(1, 1, 1, 1, ACTIVE_ITEM_BORDER), BorderFactory.createEmptyBorder(4, 1, 1, 1));
+	/** the border of the first item */
+	private static final Border ITEM_BORDER_NORMAL = BorderFactory.createEmptyBorder(5, 2, 2, 2);
+	/** the border of an item that is separated from its predecessor */
+	private static final Border ITEM_BORDER_NORMAL_WITHSEP = BorderFactory.createCompoundBorder(BorderFactory.createMatteBorder(1, 0, 0, 0, ITEM_SEPARATOR), BorderFactory.createEmptyBorder(4, 2, 2, 2));
+	
+	/**
+	 * Creates a new exercises view.
+	 * 
+	 * @param langFile the language file or <code>null</code> if the default labels should be used
+	 * @param langID the language ID
+	 * @since 1.0
+	 */
+	public ExercisesTableView(final LanguageFile langFile, final String langID) {
+		super(LanguageFile.getLabel(langFile, "EXERCISESLIST_TITLE", langID, "Exercises"), true, langFile, langID);
+		
+		handler = null;
+		listener = null;
+		attemptStart = 0;
+		performingExam = false;
+		measuredWidth = -1;
+		fixedRowHeight = -1;
+		textHeights = new HashMap<AlgorithmExercise<?>, Integer>();
+		
+		labelExercise = LanguageFile.getLabel(langFile, "EXERCISESLIST_ITEM_EXERCISE", langID, "Exercise");
+		labelCredit = LanguageFile.getLabel(langFile, "EXERCISESLIST_ITEM_CREDIT", langID, "Credit");
+		labelCredits = LanguageFile.getLabel(langFile, "EXERCISESLIST_ITEM_CREDITS", langID, "Credits");
+		labelResult = LanguageFile.getLabel(langFile, "EXERCISESLIST_ITEM_RESULT", langID, "Result:");
+		labelAttempts = LanguageFile.getLabel(langFile, "EXERCISESLIST_ITEM_ATTEMPTS", langID, "Attempts:");
+		labelLastSolution = LanguageFile.getLabel(langFile, "EXERCISESLIST_ITEM_LAST_SOLUTION", langID, "Last Solution:");
+		labelSolve = LanguageFile.getLabel(langFile, "EXERCISESLIST_ITEM_BTN_SOLVE", langID, "Solve Exercise");
+		labelGiveUp = LanguageFile.getLabel(langFile, "EXERCISESLIST_ITEM_BTN_GIVEUP", langID, "Give Up Exercise");
+		labelInputHint = LanguageFile.getLabel(langFile, "EXERCISESLIST_ITEM_BTN_INPUTHINT", langID, "Show Input Hint");
+		labelAnnotation = LanguageFile.getLabel(langFile, "EXERCISESLIST_ITEM_BTN_ANNOTATION", langID, "Show Annotation");
+		labelSucceeded = LanguageFile.getLabel(langFile, "EXERCISESLIST_ITEM_STATE_SUCCEEDED", langID, "Succeeded");
+		labelFailed = LanguageFile.getLabel(langFile, "EXERCISESLIST_ITEM_STATE_FAILED", langID, "Failed");
+		labelFailedHint = LanguageFile.getLabel(langFile, "EXERCISESLIST_ITEM_STATE_FAILEDHINT", langID, "Failed - Why?");
+		inputHintDlgTitle = LanguageFile.getLabel(langFile, "EXERCISE_INPUTHINT_TITLE", langID, "Input Hint");
+		
+		model = new ExercisesTableModel();
+		renderer = new Item(false);
+		activeItem = new Item(true);
+		activeItem.setVisible(false);
+		evalPanel = new EvaluationPanel();
+		measureLabel = new JLabel();
+		measureLabel.setFont(renderer.lblText.getFont());
+		
+		table = new JTable(model) {
+			
+			private static final long serialVersionUID = 1L;
+			
+			@Override
+			public String getToolTipText(MouseEvent e) {
+				final Component c = getRendererComponentAt(e.getPoint());
+				return (c instanceof JComponent) ? ((JComponent)c).getToolTipText() : null;
+			}
+		};
+		table.setTableHeader(null);
+		table.setShowGrid(false);
+		table.setIntercellSpacing(new Dimension(0, 0));
+		table.setRowSelectionAllowed(false);
+		table.setFocusable(false);
+		table.setFillsViewportHeight(true);
+		table.setBackground(ITEM_BACKGROUND);
+		table.getColumnModel().getColumn(0).setCellRenderer(new TableCellRenderer() {
+			
+			@Override
+			public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected, boolean hasFocus, int row, int column) {
+				renderer.bind(row, row > 0 ? ITEM_BORDER_NORMAL_WITHSEP : ITEM_BORDER_NORMAL);
+				return renderer;
+			}
+		});
+		
+		final MouseAdapter failedHintListener = new MouseAdapter() {
+			
+			@Override
+			public void mouseClicked(MouseEvent e) {
+				final int row = table.rowAtPoint(e.getPoint());
+				if(row >= 0 && getRendererComponentAt(e.getPoint()) == renderer.lblResultValue && model.getFailedHint(row) != null)
+					showHintDialog(model.getFailedHint(row), labelFailedHint);
+			}
+			
+			@Override
+			public void mouseMoved(MouseEvent e) {
+				final int row = table.rowAtPoint(e.getPoint());
+				final boolean showHint = row >= 0 && getRendererComponentAt(e.getPoint()) == renderer.lblResultValue && model.getFailedHint(row) != null;
+				table.setCursor(showHint ? Cursor.getPredefinedCursor(Cursor.HAND_CURSOR) : Cursor.getDefaultCursor());
+			}
+		};
+		table.addMouseListener(failedHintListener);
+		table.addMouseMotionListener(failedHintListener);
+		table.addComponentListener(new ComponentAdapter() {
+			
+			@Override
+			public void componentResized(ComponentEvent e) {
+				// the exercise texts wrap differently so the row heights have to be measured again
+				if(table.getWidth() != measuredWidth)
+					updateRowHeights();
+			}
+		});
+		
+		final JScrollPane scrollPane = new JScrollPane(table);
+		// a permanent scroll bar prevents that the row heights change the width of the table
+		scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_ALWAYS);
+		scrollPane.setBorder(BorderFactory.createEmptyBorder());
+		scrollPane.getViewport().setBackground(ITEM_BACKGROUND);
+		scrollPane.getVerticalScrollBar().setUnitIncrement(16);
+		
+		final JPanel bottomPanel = new JPanel(new BorderLayout());
+		bottomPanel.setBackground(ITEM_BACKGROUND);
+		bottomPanel.add(activeItem, BorderLayout.NORTH);
+		bottomPanel.add(evalPanel, BorderLayout.SOUTH);
+		
+		content.setLayout(new BorderLayout());
+		content.add(scrollPane, BorderLayout.CENTER);
+		content.add(bottomPanel, BorderLayout.SOUTH);
+	}
+	
+	@Override
+	public void setHandler(AlgorithmExerciseHandler handler) {
+		this.handler = handler;
+	}
+	
+	/**
+	 * Sets the listener that is notified about the attempts to solve the exercises.
+	 * 
+	 * @param listener the listener or <code>null</code>
+	 * @since 1.0
+	 */
+	public void setExercisesTableViewListener(final ExercisesTableViewListener listener) {
+		this.listener = listener;
+	}
+	
+	@Override
+	public void beginExam() {
+		reset();
+		performingExam = true;
+	}
+	
+	@Override
+	public void endExam(boolean canceled) {
+		// an exercise that is not processed completely is moved to the table too
+		if(model.hasActiveRecord())
+			commitActive();
+		
+		if(!canceled) {
+			float totalCredits = 0.0f;
+			float achievedCredits = 0.0f;
+			
+			for(int i = 0; i < model.getRecordCount(); i++) {
+				totalCredits += model.getTotalCredits(i);
+				achievedCredits += model.getAchievedCredits(i);
+			}
+			
+			evalPanel.update(totalCredits, achievedCredits);
+		}
+		
+		performingExam = false;
+	}
+	
+	@Override
+	public void beforeProcessingExercise(AlgorithmExercise<?> exercise, AlgorithmStep step) {
+		if(exercise == null)
+			return;
+		
+		if(model.hasActiveRecord())
+			commitActive();
+		
+		model.add(exercise, step);
+		attemptStart = System.currentTimeMillis();
+		activeItem.bind(model.getRecordCount() - 1, ITEM_BORDER_ACTIVE);
+		activeItem.setVisible(true);
+		content.revalidate();
+		scrollToBottom();
+	}
+	
+	@Override
+	public void afterProcessingExercise(AlgorithmExercise<?> exercise, ExamResult result, String lastSolution) {
+		if(!model.hasActiveRecord())
+			return;
+		
+		final int index = model.getRecordCount() - 1;
+		// an exercise without an attempt is solved in an exam or given up
+		if(model.getAttempts(index) == 0)
+			fireExerciseAttempted(index, result == ExamResult.SUCCEEDED);
+		
+		model.update(index, result == ExamResult.SUCCEEDED, lastSolution, false);
+		commitActive();
+	}
+	
+	@Override
+	public void afterSolvingExercise(AlgorithmExercise<?> exercise, boolean succeeded, String lastSolution) {
+		if(!model.hasActiveRecord())
+			return;
+		
+		model.update(model.getRecordCount() - 1, succeeded, lastSolution, true);
+		activeItem.bind(model.getRecordCount() - 1, ITEM_BORDER_ACTIVE);
+		fireExerciseAttempted(model.getRecordCount() - 1, succeeded);
+	}
+	
+	@Override
+	public void reset() {
+		model.clear();
+		textHeights.clear();
+		activeItem.setVisible(false);
+		evalPanel.reset();
+		content.revalidate();
+	}
+	
+	@Override
+	protected void close() {
+		if(performingExam)
+			JOptionPane.showMessageDialog(this, LanguageFile.getLabel(langFile, "MSG_INFO_EXERCISEMODE", langID, "The exercise mode can only be activated/deactivated when the algorithm is stopped!"), LanguageFile.getLabel(langFile, "MSG_INFO_TITLE_EXERCISEMODE", langID, "Exercise Mode"), JOptionPane.INFORMATION_MESSAGE);
+		else if(handler != null)
+			handler.setExerciseModeEnabled(false);
+	}
+	
+	/**
+	 * Locks the record of the exercise that is currently processed and displays it as the last row of the table.
+	 * 
+	 * @since 1.0
+	 */
+	private void commitActive() {
+		final int row = model.commit();
+		if(table.getWidth() != measuredWidth)
+			updateRowHeights();
+		else
+			table.setRowHeight(row, getRowHeight(row));
+		
+		activeItem.setVisible(false);
+		content.revalidate();
+		scrollToBottom();
+	}
+	
+	/**
+	 * Notifies the listener about an attempt to solve the exercise of a record and begins the next attempt.
+	 * 
+	 * @param index the index of the record
+	 * @param succeeded <code>true</code> if the attempt was correct otherwise <code>false</code>
+	 * @since 1.0
+	 */
+	private void fireExerciseAttempted(final int index, final boolean succeeded) {
+		final long now = System.currentTimeMillis();
+		final long duration = Math.max(0, now - attemptStart);
+		attemptStart = now;
+		
+		if(listener != null)
+			listener.exerciseAttempted(model.getExercise(index), model.getStep(index), succeeded, duration);
+	}
+	
+	/**
+	 * Scrolls the table to its last row after the view is laid out.
+	 * 
+	 * @since 1.0
+	 */
+	private void scrollToBottom() {
+		SwingUtilities.invokeLater(new Runnable() {
+			
+			@Override
+			public void run() {
+				if(table.getRowCount() > 0)
+					table.scrollRectToVisible(table.getCellRect(table.getRowCount() - 1, 0, true));
+			}
+		});
+	}
+	
+	/**
+	 * Measures the heights of all rows for the current width of the table.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * The heights of the exercise texts are measured only once for each exercise and not for each row.
+	 * 
+	 * @since 1.0
+	 */
+	private void updateRowHeights() {
+		measuredWidth = table.getWidth();
+		textHeights.clear();
+		
+		for(int i = 0; i < table.getRowCount(); i++)
+			table.setRowHeight(i, getRowHeight(i));
+	}
+	
+	/**
+	 * Gets the height of a row for the current width of the table.
+	 * 
+	 * @param row the row
+	 * @return the height of the row
+	 * @since 1.0
+	 */
+	private int getRowHeight(final int row) {
+		if(fixedRowHeight < 0) {
+			renderer.bind(row, ITEM_BORDER_NORMAL);
+			fixedRowHeight = renderer.getPreferredSize().height - renderer.lblText.getPreferredSize().height;
+		}
+		
+		return fixedRowHeight + getTextHeight(model.getExercise(row), table.getWidth());
+	}
+	
+	/**
+	 * Gets the height of the text of an exercise if it is wrapped to the width of an item.
+	 * 
+	 * @param exercise the exercise
+	 * @param itemWidth the width of the item or <code>0</code> if the width is not known yet
+	 * @return the height of the text
+	 * @since 1.0
+	 */
+	private int getTextHeight(final AlgorithmExercise<?> exercise, final int itemWidth) {
+		final boolean cacheable = itemWidth == measuredWidth;
+		final Integer cachedHeight = cacheable ? textHeights.get(exercise) : null;
+		if(cachedHeight != null)
+			return cachedHeight.intValue();
+		
+		final Insets insets = ITEM_BORDER_NORMAL.getBorderInsets(renderer);
+		final int textWidth = itemWidth - insets.left - insets.right;
+		
+		measureLabel.setText(getExerciseText(exercise));
+		final javax.swing.text.View view = (javax.swing.text.View)measureLabel.getClientProperty(BasicHTML.propertyKey);
+		final int height;
+		
+		if(view != null && textWidth > 0) {
+			view.setSize(textWidth, 0);
+			height = (int)Math.ceil(view.getPreferredSpan(javax.swing.text.View.Y_AXIS));
+		}
+		else
+			height = measureLabel.getPreferredSize().height;
+		
+		if(cacheable)
+			textHeights.put(exercise, height);
+		
+		return height;
+	}
+	
+	/**
+	 * Gets the component of the renderer that is located at the specified point of the table.
+	 * 
+	 * @param p the point in the table
+	 * @return the component of the renderer or <code>null</code> if there is no row at the point
+	 * @since 1.0
+	 */
+	private Component getRendererComponentAt(final Point p) {
+		final int row = table.rowAtPoint(p);
+		if(row < 0)
+			return null;
+		
+		final Rectangle cellRect = table.getCellRect(row, 0, false);
+		renderer.bind(row, row > 0 ? ITEM_BORDER_NORMAL_WITHSEP : ITEM_BORDER_NORMAL);
+		renderer.setBounds(0, 0, cellRect.width, cellRect.height);
+		renderer.doLayout();
+		renderer.buttonsPanel.doLayout();
+		
+		return SwingUtilities.getDeepestComponentAt(renderer, p.x - cellRect.x, p.y - cellRect.y);
+	}
+	
+	/**
+	 * Gets the text of an exercise in HTML format.
+	 * 
+	 * @param exercise the exercise
+	 * @return the text
+	 * @since 1.0
+	 */
+	private static String getExerciseText(final AlgorithmExercise<?> exercise) {
+		return "<html>" + exercise.getText().replaceAll(FileUtils.LINESEPARATOR, "<br>") + "</html>";
+	}
+	
+	/**
+	 * Shows a hint of an exercise in a dialog.
+	 * 
+	 * @param hint the hint
+	 * @param title the title of the dialog
+	 * @since 1.0
+	 */
+	private void showHintDialog(final Annotation hint, final String title) {
+		if(hint == null)
+			return;
+		
+		final JEditorPane editorPane = new JEditorPane();
+		editorPane.setEditorKit(new AnnotationViewKit(hint.getImagesList()));
+		editorPane.setText(hint.getText());
+		editorPane.setEditable(false);
+		
+		final JOptionPane pane = new JOptionPane(editorPane, JOptionPane.INFORMATION_MESSAGE, JOptionPane.DEFAULT_OPTION);
+		final JDialog dlg = pane.createDialog(this, title);
+		if(handler != null)
+			handler.getHost().adaptDialog(dlg);
+		dlg.setVisible(true);
+		dlg.dispose();
+	}
+	
+	/**
+	 * The compact model of the exercises.
+	 * <br><br>
+	 * The state of an exercise is stored as a record in a set of arrays that grow with the number of exercises. The rows of the table are
+	 * the locked records meaning the records of the exercises that are processed. The exercise that is currently processed (the active
+	 * record) is always the last record and it is not part of the table.
+	 * 
+	 * @author jdornseifer
+	 * @version 1.0
+	 * @since 1.0
+	 */
+	private static class ExercisesTableModel extends AbstractTableModel {
+		
+		private static final long serialVersionUID = 1L;
+		
+		/** the exercises of the records */
+		private AlgorithmExercise<?>[] exercises;
+		/** the steps of the exercises */
+		private AlgorithmStep[] steps;
+		/** the attempts to solve the exercises */
+		private int[] attempts;
+		/** the states of the exercises (see {@link #STATE_SUCCEEDED}) */
+		private byte[] states;
+		/** the last solutions of the exercises */
+		private String[] lastSolutions;
+		/** the hints of the last failed solutions or <code>null</code> if there is no hint */
+		private Annotation[] failedHints;
+		/** the number of records */
+		private int recordCount;
+		/** the number of locked records that are the rows of the table */
+		private int rowCount;
+		
+		/** the initial number of records the arrays can store */
+		private static final int INITIAL_CAPACITY = 16;
+		/** the state flag that indicates that the last solution of an exercise succeeded */
+		private static final byte STATE_SUCCEEDED = 0x01;
+		/** the state flag that indicates that at least one solution of an exercise is examined */
+		private static final byte STATE_EXAMINED = 0x02;
+		
+		/**
+		 * Creates a new empty model.
+		 * 
+		 * @since 1.0
+		 */
+		public ExercisesTableModel() {
+			allocate(INITIAL_CAPACITY);
+		}
+		
+		@Override
+		public int getRowCount() {
+			return rowCount;
+		}
+		
+		@Override
+		public int getColumnCount() {
+			return 1;
+		}
+		
+		@Override
+		public Object getValueAt(int rowIndex, int columnIndex) {
+			return exercises[rowIndex];
+		}
+		
+		/**
+		 * Gets the number of records including the active record.
+		 * 
+		 * @return the number of records
+		 * @since 1.0
+		 */
+		public int getRecordCount() {
+			return recordCount;
+		}
+		
+		/**
+		 * Indicates whether there is an active record meaning an exercise that is currently processed.
+		 * 
+		 * @return <code>true</code> if there is an active record otherwise <code>false</code>
+		 * @since 1.0
+		 */
+		public boolean hasActiveRecord() {
+			return recordCount > rowCount;
+		}
+		
+		/**
+		 * Adds a new record that is the active record.
+		 * 
+		 * @param exercise the exercise
+		 * @param step the step of the exercise
+		 * @since 1.0
+		 */
+		public void add(final AlgorithmExercise<?> exercise, final AlgorithmStep step) {
+			if(recordCount == exercises.length)
+				grow();
+			
+			exercises[recordCount] = exercise;
+			steps[recordCount] = step;
+			attempts[recordCount] = 0;
+			states[recordCount] = 0;
+			lastSolutions[recordCount] = null;
+			failedHints[recordCount] = null;
+			recordCount++;
+		}
+		
+		/**
+		 * Updates the result of a record.
+		 * 
+		 * @param index the index of the record
+		 * @param succeeded <code>true</code> if the last solution succeeded otherwise <code>false</code>
+		 * @param lastSolution the last solution
+		 * @param attempt <code>true</code> if the update is an attempt to solve the exercise otherwise <code>false</code>
+		 * @since 1.0
+		 */
+		public void update(final int index, final boolean succeeded, final String lastSolution, final boolean attempt) {
+			if(attempt)
+				attempts[index]++;
+			
+			states[index] = (byte)(STATE_EXAMINED | (succeeded ? STATE_SUCCEEDED : 0));
+			lastSolutions[index] = lastSolution;
+			// the hint is fetched now because the exercise may be processed again later
+			failedHints[index] = (!succeeded && exercises[index].hasLastFailedHint()) ? exercises[index].getLastFailedHintMessage() : null;
+		}
+		
+		/**
+		 * Locks the active record so that it becomes the last row of the table.
+		 * 
+		 * @return the row of the record
+		 * @since 1.0
+		 */
+		public int commit() {
+			final int row = rowCount++;
+			fireTableRowsInserted(row, row);
+			return row;
+		}
+		
+		/**
+		 * Removes all records.
+		 * 
+		 * @since 1.0
+		 */
+		public void clear() {
+			recordCount = 0;
+			rowCount = 0;
+			allocate(INITIAL_CAPACITY);
+			fireTableDataChanged();
+		}
+		
+		/**
+		 * Gets the exercise of a record.
+		 * 
+		 * @param index the index of the record
+		 * @return the exercise
+		 * @since 1.0
+		 */
+		public AlgorithmExercise<?> getExercise(final int index) {
+			return exercises[index];
+		}
+		
+		/**
+		 * Gets the step of the exercise of a record.
+		 * 
+		 * @param index the index of the record
+		 * @return the step
+		 * @since 1.0
+		 */
+		public AlgorithmStep getStep(final int index) {
+			return steps[index];
+		}
+		
+		/**
+		 * Gets the number of attempts of a record.
+		 * 
+		 * @param index the index of the record
+		 * @return the number of attempts
+		 * @since 1.0
+		 */
+		public int getAttempts(final int index) {
+			return attempts[index];
+		}
+		
+		/**
+		 * Indicates whether a solution of a record is examined.
+		 * 
+		 * @param index the index of the record
+		 * @return <code>true</code> if at least one solution is examined otherwise <code>false</code>
+		 * @since 1.0
+		 */
+		public boolean isExamined(final int index) {
+			return (states[index] & STATE_EXAMINED) != 0;
+		}
+		
+		/**
+		 * Indicates whether the last solution of a record succeeded.
+		 * 
+		 * @param index the index of the record
+		 * @return <code>true</code> if the last solution succeeded otherwise <code>false</code>
+		 * @since 1.0
+		 */
+		public boolean isSucceeded(final int index) {
+			return (states[index] & STATE_SUCCEEDED) != 0;
+		}
+		
+		/**
+		 * Gets the last solution of a record.
+		 * 
+		 * @param index the index of the record
+		 * @return the last solution or <code>null</code> if there is no solution
+		 * @since 1.0
+		 */
+		public String getLastSolution(final int index) {
+			return lastSolutions[index];
+		}
+		
+		/**
+		 * Gets the hint of the last failed solution of a record.
+		 * 
+		 * @param index the index of the record
+		 * @return the hint or <code>null</code> if the last solution did not fail or there is no hint
+		 * @since 1.0
+		 */
+		public Annotation getFailedHint(final int index) {
+			return failedHints[index];
+		}
+		
+		/**
+		 * Gets the total credits of a record.
+		 * 
+		 * @param index the index of the record
+		 * @return the total credits
+		 * @since 1.0
+		 */
+		public float getTotalCredits(final int index) {
+			return exercises[index].getCredits();
+		}
+		
+		/**
+		 * Gets the achieved credits of a record meaning the credits divided by the number of attempts if the exercise succeeded.
+		 * 
+		 * @param index the index of the record
+		 * @return the achieved credits
+		 * @since 1.0
+		 */
+		public float getAchievedCredits(final int index) {
+			return (isSucceeded(index) && attempts[index] > 0) ? exercises[index].getCredits() / attempts[index] : 0.0f;
+		}
+		
+		/**
+		 * Allocates new empty arrays.
+		 * 
+		 * @param capacity the capacity of the arrays
+		 * @since 1.0
+		 */
+		private void allocate(final int capacity) {
+			exercises = new AlgorithmExercise<?>[capacity];
+			steps = new AlgorithmStep[capacity];
+			attempts = new int[capacity];
+			states = new byte[capacity];
+			lastSolutions = new String[capacity];
+			failedHints = new Annotation[capacity];
+		}
+		
+		/**
+		 * Doubles the capacity of the arrays.
+		 * 
+		 * @since 1.0
+		 */
+		private void grow() {
+			final int capacity = exercises.length * 2;
+			
+			exercises = Arrays.copyOf(exercises, capacity);
+			steps = Arrays.copyOf(steps, capacity);
+			attempts = Arrays.copyOf(attempts, capacity);
+			states = Arrays.copyOf(states, capacity);
+			lastSolutions = Arrays.copyOf(lastSolutions, capacity);
+			failedHints = Arrays.copyOf(failedHints, capacity);
+		}
+	
+	}
+	
+	/**
+	 * Displays the record of an exercise.
+	 * <br><br>
+	 * An item is either the renderer of the rows of the table (the buttons are disabled) or the item of the active record (the buttons
+	 * perform the actions of the exercise).
+	 * 
+	 * @author jdornseifer
+	 * @version 1.0
+	 * @since 1.0
+	 */
+	private class Item extends JPanel {
+		
+		private static final long serialVersionUID = 1L;
+		
+		/** flag that indicates whether the item displays the active record */
+		private final boolean active;
+		/** the index of the displayed record */
+		private int index;
+		/** the width the item was laid out with */
+		private int layoutWidth;
+		/** the exercise the height of the text is measured for */
+		private AlgorithmExercise<?> measuredExercise;
+		/** the width the height of the text is measured for */
+		private int measuredTextWidth;
+		/** the measured height of the text */
+		private int measuredTextHeight;
+		/** the header label */
+		private final JLabel lblHeader;
+		/** the label of the exercise text */
+		private final JLabel lblText;
+		/** the label of the result value */
+		private final JLabel lblResultValue;
+		/** the label of the attempts value */
+		private final JLabel lblAttemptsValue;
+		/** the label of the last solution value */
+		private final JLabel lblLastSolutionValue;
+		/** the panel of the buttons */
+		private final JPanel buttonsPanel;
+		/** the solve button */
+		private final JButton btnSolve;
+		/** the give up button */
+		private final JButton btnGiveUp;
+		/** the input hint button */
+		private final JButton btnInputHint;
+		/** the annotation button */
+		private final JButton btnAnnotation;
+		
+		/**
+		 * Creates a new item.
+		 * 
+		 * @param active <code>true</code> if the item displays the active record otherwise <code>false</code>
+		 * @since 1.0
+		 */
+		public Item(final boolean active) {
+			this.active = active;
+			this.index = -1;
+			this.layoutWidth = -1;
+			this.measuredExercise = null;
+			this.measuredTextWidth = -1;
+			this.measuredTextHeight = 0;
+			
+			final Font f = UIManager.getFont("Label.font");
+			
+			lblHeader = new JLabel();
+			lblHeader.setFont(f.deriveFont(Font.BOLD));
+			lblText = new JLabel();
+			lblText.setVerticalAlignment(SwingConstants.TOP);
+			final JLabel lblResult = new JLabel(labelResult);
+			lblResult.setForeground(Color.gray);
+			lblResultValue = new JLabel();
+			final JLabel lblAttempts = new JLabel(labelAttempts);
+			lblAttempts.setForeground(Color.gray);
+			lblAttemptsValue = new JLabel();
+			final JLabel lblLastSolution = new JLabel(labelLastSolution);
+			lblLastSolution.setForeground(Color.gray);
+			lblLastSolutionValue = new JLabel();
+			
+			btnSolve = new JButton(Resources.getInstance().EXERCISE_SOLVE_ICON);
+			btnSolve.setToolTipText(labelSolve);
+			btnGiveUp = new JButton(Resources.getInstance().EXERCISE_GIVEUP_ICON);
+			btnGiveUp.setToolTipText(labelGiveUp);
+			btnInputHint = new JButton(Resources.getInstance().EXERCISE_INPUTHINT_ICON);
+			btnInputHint.setToolTipText(labelInputHint);
+			btnAnnotation = new JButton(Resources.getInstance().ANNOTATION_ICON);
+			btnAnnotation.setToolTipText(labelAnnotation);
+			
+			buttonsPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 2, 0));
+			buttonsPanel.setOpaque(false);
+			buttonsPanel.add(btnSolve);
+			buttonsPanel.add(btnGiveUp);
+			buttonsPanel.add(btnInputHint);
+			buttonsPanel.add(btnAnnotation);
+			
+			setLayout(new GridBagLayout());
+			final GridBagConstraints gbc = new GridBagConstraints();
+			gbc.anchor = GridBagConstraints.WEST;
+			gbc.fill = GridBagConstraints.HORIZONTAL;
+			gbc.insets = new Insets(0, 0, 2, 4);
+			
+			gbc.gridx = 0;
+			gbc.gridy = 0;
+			gbc.gridwidth = 4;
+			add(lblHeader, gbc);
+			gbc.gridy = 1;
+			gbc.weightx = 1.0;
+			gbc.weighty = 1.0;
+			gbc.fill = GridBagConstraints.BOTH;
+			gbc.insets = new Insets(0, 0, 4, 0);
+			add(lblText, gbc);
+			
+			gbc.gridy = 2;
+			gbc.gridwidth = 1;
+			gbc.weightx = 0.0;
+			gbc.weighty = 0.0;
+			gbc.fill = GridBagConstraints.HORIZONTAL;
+			gbc.insets = new Insets(0, 0, 2, 4);
+			add(lblResult, gbc);
+			gbc.gridx = 1;
+			add(lblResultValue, gbc);
+			gbc.gridx = 2;
+			add(lblAttempts, gbc);
+			gbc.gridx = 3;
+			gbc.weightx = 1.0;
+			add(lblAttemptsValue, gbc);
+			
+			gbc.gridx = 0;
+			gbc.gridy = 3;
+			gbc.weightx = 0.0;
+			add(lblLastSolution, gbc);
+			gbc.gridx = 1;
+			gbc.gridwidth = 3;
+			gbc.weightx = 1.0;
+			add(lblLastSolutionValue, gbc);
+			
+			gbc.gridx = 0;
+			gbc.gridy = 4;
+			gbc.gridwidth = 4;
+			gbc.insets = new Insets(2, 0, 0, 0);
+			add(buttonsPanel, gbc);
+			
+			if(!active)
+				return;
+			
+			btnSolve.addActionListener(new ActionListener() {
+				
+				@Override
+				public void actionPerformed(ActionEvent e) {
+					final AlgorithmExercise<?> exercise = model.getExercise(index);
+					setButtonsEnabled(false);
+					if(!exercise.solve()) {
+						setButtonsEnabled(true);
+						showHintDialog(exercise.getInputHintMessage(langFile, langID), inputHintDlgTitle);
+					}
+				}
+			});
+			btnGiveUp.addActionListener(new ActionListener() {
+				
+				@Override
+				public void actionPerformed(ActionEvent e) {
+					setButtonsEnabled(false);
+					model.getExercise(index).giveUp();
+				}
+			});
+			btnInputHint.addActionListener(new ActionListener() {
+				
+				@Override
+				public void actionPerformed(ActionEvent e) {
+					showHintDialog(model.getExercise(index).getInputHintMessage(langFile, langID), inputHintDlgTitle);
+				}
+			});
+			btnAnnotation.addActionListener(new ActionListener() {
+				
+				@Override
+				public void actionPerformed(ActionEvent e) {
+					final Annotation annotation = model.getStep(index).getAnnotation();
+					if(annotation != null && handler != null)
+						new AnnotationDialog(handler.getHost(), annotation, langFile, langID).setVisible(true);
+				}
+			});
+			lblResultValue.addMouseListener(new MouseAdapter() {
+				
+				@Override
+				public void mouseClicked(MouseEvent e) {
+					showHintDialog(model.getFailedHint(index), labelFailedHint);
+				}
+			});
+		}
+		
+		/**
+		 * Displays a record.
+		 * 
+		 * @param index the index of the record
+		 * @param border the border of the item
+		 * @since 1.0
+		 */
+		public void bind(final int index, final Border border) {
+			this.index = index;
+			
+			final AlgorithmExercise<?> exercise = model.getExercise(index);
+			final AlgorithmStep step = model.getStep(index);
+			final float credits = exercise.getCredits();
+			
+			lblHeader.setText(labelExercise + " (" + MathUtils.formatFloat(credits) + " " + (credits == 1.0f ? labelCredit : labelCredits) + "):");
+			// parsing the HTML text is the most expensive part of displaying a record so it is only done if the exercise changes
+			final String text = getExerciseText(exercise);
+			if(!text.equals(lblText.getText()))
+				lblText.setText(text);
+			lblAttemptsValue.setText(String.valueOf(model.getAttempts(index)));
+			
+			final String lastSolution = model.getLastSolution(index);
+			lblLastSolutionValue.setText(lastSolution != null ? lastSolution : "");
+			lblLastSolutionValue.setToolTipText(lastSolution);
+			
+			if(!model.isExamined(index)) {
+				lblResultValue.setIcon(null);
+				lblResultValue.setToolTipText(null);
+			}
+			else if(!model.isSucceeded(index)) {
+				final boolean showHint = model.getFailedHint(index) != null;
+				lblResultValue.setIcon(showHint ? Resources.getInstance().FAILED_HINT_ICON : Resources.getInstance().FAILED_ICON);
+				lblResultValue.setToolTipText(showHint ? labelFailedHint : labelFailed);
+			}
+			else {
+				lblResultValue.setIcon(model.getAttempts(index) > 1 ? Resources.getInstance().SUFFICIENT_ICON : Resources.getInstance().SUCCEEDED_ICON);
+				lblResultValue.setToolTipText(labelSucceeded);
+			}
+			
+			if(active)
+				lblResultValue.setCursor((model.getFailedHint(index) != null) ? Cursor.getPredefinedCursor(Cursor.HAND_CURSOR) : Cursor.getDefaultCursor());
+			
+			btnInputHint.setVisible(exercise.hasInputHint());
+			btnAnnotation.setVisible(step != null && step.getAnnotation() != null);
+			setButtonsEnabled(active);
+			
+			setBackground(active ? ACTIVE_ITEM_BACKGROUND : ITEM_BACKGROUND);
+			setBorder(border);
+			
+			if(active) {
+				revalidate();
+				repaint();
+			}
+		}
+		
+		@Override
+		public Dimension getPreferredSize() {
+			final Dimension size = super.getPreferredSize();
+			
+			// the width of the item is given by the view and the exercise text wraps to that width
+			if(active && index >= 0 && getWidth() > 0) {
+				final AlgorithmExercise<?> exercise = model.getExercise(index);
+				if(exercise != measuredExercise || getWidth() != measuredTextWidth) {
+					measuredExercise = exercise;
+					measuredTextWidth = getWidth();
+					measuredTextHeight = getTextHeight(exercise, measuredTextWidth);
+				}
+				size.height = size.height - lblText.getPreferredSize().height + measuredTextHeight;
+			}
+			size.width = 0;
+			
+			return size;
+		}
+		
+		@Override
+		public void doLayout() {
+			super.doLayout();
+			
+			// the preferred height depends on the width so the view has to be laid out again if the width changes
+			if(active && getWidth() != layoutWidth) {
+				layoutWidth = getWidth();
+				revalidate();
+			}
+		}
+		
+		/**
+		 * Sets whether the buttons of the item are enabled.
+		 * 
+		 * @param enabled <code>true</code> if the buttons should be enabled otherwise <code>false</code>
+		 * @since 1.0
+		 */
+		private void setButtonsEnabled(final boolean enabled) {
+			btnSolve.setEnabled(enabled);
+			btnGiveUp.setEnabled(enabled);
+			btnInputHint.setEnabled(enabled);
+			btnAnnotation.setEnabled(enabled);
+		}
+	
+	}
+	
+	/**
+	 * Displays the evaluation of an exam.
+	 * 
+	 * @author jdornseifer
+	 * @version 1.0
+	 * @since 1.0
+	 */
+	private class EvaluationPanel extends JPanel {
+		
+		private static final long serialVersionUID = 1L;
+		
+		/** the label of the achieved credits */
+		private final JLabel lblCreditsValue;
+		/** the label of the achieved credits in percent */
+		private final JLabel lblPercentValue;
+		/** the button that displays the grading and shows the grading scale */
+		private final JButton btnGrading;
+		/** the grading scale (each entry is a pair of the percentage threshold and the grade) */
+		private final float[][] gradingScale;
+		
+		/**
+		 * Creates a new evaluation panel.
+		 * 
+		 * @since 1.0
+		 */
+		public EvaluationPanel() {
+			final JLabel lblEvaluation = new JLabel(LanguageFile.getLabel(langFile, "EXERCISESLIST_EVALUATION", langID, "Evaluation"));
+			final JLabel lblCredits = new JLabel(LanguageFile.getLabel(langFile, "EXERCISESLIST_EVALUATION_CREDITSACHIEVED", langID, "Credits:"));
+			lblCreditsValue = new JLabel("-/-");
+			final JLabel lblPercent = new JLabel(LanguageFile.getLabel(langFile, "EXERCISESLIST_EVALUATION_INPERCENT", langID, "In Percent:"));
+			lblPercentValue = new JLabel("-%");
+			final JLabel lblGrading = new JLabel(LanguageFile.getLabel(langFile, "EXERCISESLIST_EVALUATION_GRADING", langID, "Grading:"));
+			btnGrading = new JButton("-");
+			final String gradingScaleTitle = LanguageFile.getLabel(langFile, "EXERCISESLIST_EVALUATION_GRADING_SCALE", langID, "Grading Scale");
+			btnGrading.setToolTipText(gradingScaleTitle);
+			gradingScale = new float[][] { { 1.0f, 1.0f }, { 0.98f, 1.3f }, { 0.92f, 1.7f }, { 0.86f, 2.0f }, { 0.8f, 2.3f }, { 0.74f, 2.7f }, { 0.68f, 3.0f }, { 0.62f, 3.3f }, { 0.56f, 3.7f }, { 0.52f, 4.0f }, { 0.5f, 5.0f } };
+			
+			lblEvaluation.setFont(UIManager.getFont("Label.font").deriveFont(Font.BOLD));
+			
+			setBackground(SystemColor.control);
+			setBorder(BorderFactory.createEmptyBorder(4, 4, 4, 4));
+			setLayout(new GridBagLayout());
+			final GridBagConstraints gbc = new GridBagConstraints();
+			gbc.fill = GridBagConstraints.HORIZONTAL;
+			gbc.insets = new Insets(0, 0, 2, 4);
+			
+			gbc.gridx = 0;
+			gbc.gridy = 0;
+			gbc.gridwidth = 2;
+			gbc.weightx = 1.0;
+			add(lblEvaluation, gbc);
+			gbc.gridwidth = 1;
+			gbc.gridy = 1;
+			add(lblCredits, gbc);
+			gbc.gridx = 1;
+			add(lblCreditsValue, gbc);
+			gbc.gridx = 0;
+			gbc.gridy = 2;
+			add(lblPercent, gbc);
+			gbc.gridx = 1;
+			add(lblPercentValue, gbc);
+			gbc.gridx = 0;
+			gbc.gridy = 3;
+			add(lblGrading, gbc);
+			gbc.gridx = 1;
+			add(btnGrading, gbc);
+			
+			btnGrading.addActionListener(new ActionListener() {
+				
+				@Override
+				public void actionPerformed(ActionEvent e) {
+					final JTextArea textArea = new JTextArea(getGradingScaleAsTable());
+					textArea.setEditable(false);
+					textArea.setOpaque(false);
+					JOptionPane.showMessageDialog(ExercisesTableView.this, textArea, gradingScaleTitle, JOptionPane.INFORMATION_MESSAGE);
+				}
+			});
+		}
+		
+		/**
+		 * Displays the evaluation of an exam.
+		 * 
+		 * @param totalCredits the total credits of the exam
+		 * @param achievedCredits the achieved credits of the exam
+		 * @since 1.0
+		 */
+		public void update(final float totalCredits, final float achievedCredits) {
+			final float p = (totalCredits > 0.0f) ? achievedCredits / totalCredits : 0.0f;
+			
+			lblCreditsValue.setText(MathUtils.formatFloat(achievedCredits) + "/" + MathUtils.formatFloat(totalCredits));
+			lblPercentValue.setText(NumberFormat.getPercentInstance().format(p));
+			btnGrading.setText(NumberFormat.getInstance().format(getGradingValue(p)));
+			repaint();
+		}
+		
+		/**
+		 * Resets the evaluation.
+		 * 
+		 * @since 1.0
+		 */
+		public void reset() {
+			lblCreditsValue.setText("-/-");
+			lblPercentValue.setText("-%");
+			btnGrading.setText("-");
+			repaint();
+		}
+		
+		/**
+		 * Gets the grading scale as a table with one row for each grade.
+		 * 
+		 * @return the table
+		 * @since 1.0
+		 */
+		private String getGradingScaleAsTable() {
+			final StringBuilder table = new StringBuilder();
+			
+			for(int i = 0; i < gradingScale.length - 1; i++)
+				table.append(MathUtils.formatFloat(gradingScale[i][0] * 100.0f) + "-" + MathUtils.formatFloat(gradingScale[i + 1][0] * 100.0f) + "%\t" + NumberFormat.getInstance().format(gradingScale[i][1]) + "\n");
+			table.append("< 50%\t" + NumberFormat.getNumberInstance().format(5.0));
+			
+			return table.toString();
+		}
+		
+		/**
+		 * Gets the grade of a percentage.
+		 * 
+		 * @param p the achieved credits in percent
+		 * @return the grade
+		 * @since 1.0
+		 */
+		private float getGradingValue(final float p) {
+			for(int i = 0; i < gradingScale.length; i++) {
+				if(i == gradingScale.length - 1)
+					return gradingScale[i][1];
+				else if(p <= gradingScale[i][0] && p > gradingScale[i + 1][0])
+					return gradingScale[i][1];
+			}
+			
+			return 5.0f;
+		}
+	
+	}
+
+}
@@ -0,0 +1,51 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.gui.widgets;
+
+import lavesdk.algorithm.AlgorithmExercise;
+import lavesdk.algorithm.text.AlgorithmStep;
+
+/**
+ * Listener to listen for the attempts to solve the exercises that are displayed in an {@link ExercisesTableView}.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ */
+public interface ExercisesTableViewListener {
+
+	/**
+	 * Indicates that the user attempted to solve an exercise.
+	 * <br><br>
+	 * An exercise that is left without a solution (e.g. because the user gave up) counts as a failed attempt. In an exam each
+	 * exercise has exactly one attempt.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * This is invoked in the event dispatch thread.
+	 * 
+	 * @param exercise the exercise
+	 * @param step the step the exercise belongs to or <code>null</code>
+	 * @param succeeded <code>true</code> if the attempt was correct otherwise <code>false</code>
+	 * @param duration the duration of the attempt in milliseconds meaning the time since the exercise was presented or since the previous attempt
+	 * @since 1.0
+	 */
+	public void exerciseAttempted(final AlgorithmExercise<?> exercise, final AlgorithmStep step, final boolean succeeded, final long duration);
+
+}
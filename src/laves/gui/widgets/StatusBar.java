@@ -20,21 +20,29 @@
 package laves.gui.widgets;
 
 import java.awt.Color;
+import java.awt.Dimension;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.Insets;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
 
 import javax.swing.BorderFactory;
+import javax.swing.JButton;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
+import javax.swing.JProgressBar;
 import javax.swing.JSeparator;
 import javax.swing.border.EtchedBorder;
 
 /**
  * Represents a statusbar with four fields. Use {@link #setText(int, String)} to set a text of a field.
+ * <br><br>
+ * Furthermore the statusbar can display the progress of a file operation ({@link #PROGRESS_FILEIO}) and the progress of a layout
+ * computation ({@link #PROGRESS_LAYOUT}) side by side which can be cancelled by the user (see {@link #showProgress(int, String, ActionListener)}).
  * 
  * @author jdornseifer
- * @version 1.0
+ * @version 1.1
  * @since 1.0
  */
 public class StatusBar extends JPanel {
@@ -49,6 +57,15 @@ public class StatusBar extends JPanel {
 	private final JLabel lblField3;
 	/** the label of field 4 */
 	private final JLabel lblField4;
+	/** the indicators of the progress of the background operations (index=progress - 1) */
+	private final ProgressIndicator[] progressIndicators;
+	
+	/** the progress of a file operation */
+	public static final int PROGRESS_FILEIO = 1;
+	/** the progress of a layout computation */
+	public static final int PROGRESS_LAYOUT = 2;
+	/** the width of the progress bar */
+	private static final int PROGRESSBAR_WIDTH = 120;
 
 	/**
 	 * Creates a new statusbar.
@@ -124,6 +141,86 @@ public class StatusBar extends JPanel {
 		lblField4 = new JLabel();
 		lblField4.setHorizontalTextPosition(JLabel.LEFT);
 		add(lblField4, gbc);
+		
+		progressIndicators = new ProgressIndicator[2];
+		for(int i = 0; i < progressIndicators.length; i++)
+			progressIndicators[i] = new ProgressIndicator(7 + i * 3, gbc);
+	}
+	
+	/**
+	 * Shows the progress of a background operation in the statusbar. The progress is indeterminate until {@link #setProgress(int, int, int)}
+	 * is invoked.
+	 * 
+	 * @param progress the progress ({@link #PROGRESS_FILEIO} or {@link #PROGRESS_LAYOUT})
+	 * @param desc the description of the operation that is displayed as the tooltip of the progress or <code>null</code>
+	 * @param cancelListener the listener that is notified if the user cancels the operation or <code>null</code> if the operation cannot be cancelled
+	 * @since 1.1
+	 */
+	public void showProgress(final int progress, final String desc, final ActionListener cancelListener) {
+		final ProgressIndicator indicator = getProgressIndicator(progress);
+		
+		if(indicator != null) {
+			indicator.cancelListener = cancelListener;
+			indicator.progressBar.setIndeterminate(true);
+			indicator.progressBar.setString("");
+			indicator.progressBar.setToolTipText(desc);
+			indicator.cancelBtn.setToolTipText(desc);
+			indicator.setVisible(true);
+			indicator.cancelBtn.setVisible(cancelListener != null);
+		}
+	}
+	
+	/**
+	 * Sets the progress of a background operation that is displayed in the statusbar.
+	 * 
+	 * @param progress the progress ({@link #PROGRESS_FILEIO} or {@link #PROGRESS_LAYOUT})
+	 * @param current the current progress
+	 * @param total the total progress or <code>0</code> if the progress is indeterminate
+	 * @since 1.1
+	 */
+	public void setProgress(final int progress, final int current, final int total) {
+		final ProgressIndicator indicator = getProgressIndicator(progress);
+		
+		if(indicator == null)
+			return;
+		
+		if(total <= 0) {
+			indicator.progressBar.setIndeterminate(true);
+			indicator.progressBar.setString("");
+		}
+		else {
+			indicator.progressBar.setIndeterminate(false);
+			indicator.progressBar.setMaximum(total);
+			indicator.progressBar.setValue(Math.min(Math.max(current, 0), total));
+			indicator.progressBar.setString(null);
+		}
+	}
+	
+	/**
+	 * Indicates whether the progress of a background operation is displayed.
+	 * 
+	 * @param progress the progress ({@link #PROGRESS_FILEIO} or {@link #PROGRESS_LAYOUT})
+	 * @return <code>true</code> if the progress is visible otherwise <code>false</code>
+	 * @since 1.1
+	 */
+	public boolean isProgressVisible(final int progress) {
+		final ProgressIndicator indicator = getProgressIndicator(progress);
+		return indicator != null && indicator.progressBar.isVisible();
+	}
+	
+	/**
+	 * Hides the progress of a background operation.
+	 * 
+	 * @param progress the progress ({@link #PROGRESS_FILEIO} or {@link #PROGRESS_LAYOUT})
+	 * @since 1.1
+	 */
+	public void hideProgress(final int progress) {
+		final ProgressIndicator indicator = getProgressIndicator(progress);
+		
+		if(indicator != null) {
+			indicator.cancelListener = null;
+			indicator.setVisible(false);
+		}
 	}
 	
 	/**
@@ -195,6 +292,17 @@ public class StatusBar extends JPanel {
 			lblField.setForeground(color);
 	}
 	
+	/**
+	 * Gets the indicator of a progress.
+	 * 
+	 * @param progress the progress
+	 * @return the indicator or <code>null</code> if the progress is invalid
+	 * @since 1.1
+	 */
+	private ProgressIndicator getProgressIndicator(final int progress) {
+		return (progress >= 1 && progress <= progressIndicators.length) ? progressIndicators[progress - 1] : null;
+	}
+	
 	/**
 	 * Gets a field of the statusbar.
 	 * 
@@ -212,4 +320,83 @@ public class StatusBar extends JPanel {
 		
 		return null;
 	}
+	
+	/**
+	 * The indicator of the progress of a background operation that consists of a separator, a progress bar and a cancel button.
+	 * 
+	 * @author jdornseifer
+	 * @version 1.0
+	 * @since 1.1
+	 */
+	private class ProgressIndicator {
+		
+		/** the separator in front of the progress */
+		private final JSeparator progressSeparator;
+		/** the progress bar */
+		private final JProgressBar progressBar;
+		/** the button to cancel the operation */
+		private final JButton cancelBtn;
+		/** the listener that is notified if the operation is cancelled or <code>null</code> */
+		private ActionListener cancelListener;
+		
+		/**
+		 * Creates a new indicator and adds its components to the statusbar.
+		 * 
+		 * @param gridx the first column of the indicator in the statusbar
+		 * @param gbc the constraints of the statusbar
+		 * @since 1.0
+		 */
+		public ProgressIndicator(final int gridx, final GridBagConstraints gbc) {
+			gbc.gridx = gridx;
+			gbc.gridy = 0;
+			gbc.gridwidth = 1;
+			gbc.weightx = 0.0;
+			gbc.fill = GridBagConstraints.BOTH;
+			gbc.insets = new Insets(0, 0, 0, 0);
+			progressSeparator = new JSeparator(JSeparator.VERTICAL);
+			StatusBar.this.add(progressSeparator, gbc);
+			
+			gbc.gridx = gridx + 1;
+			gbc.gridy = 0;
+			gbc.gridwidth = 1;
+			gbc.weightx = 0.0;
+			gbc.fill = GridBagConstraints.NONE;
+			gbc.insets = new Insets(2, 2, 2, 2);
+			progressBar = new JProgressBar();
+			progressBar.setStringPainted(true);
+			progressBar.setPreferredSize(new Dimension(PROGRESSBAR_WIDTH, progressBar.getPreferredSize().height));
+			StatusBar.this.add(progressBar, gbc);
+			
+			gbc.gridx = gridx + 2;
+			cancelBtn = new JButton("\u00D7");
+			cancelBtn.setMargin(new Insets(0, 4, 0, 4));
+			cancelBtn.setFocusable(false);
+			cancelBtn.addActionListener(new ActionListener() {
+				
+				@Override
+				public void actionPerformed(ActionEvent e) {
+					if(cancelListener != null)
+						cancelListener.actionPerformed(e);
+				}
+			});
+			StatusBar.this.add(cancelBtn, gbc);
+			
+			cancelListener = null;
+			setVisible(false);
+		}
+		
+		/**
+		 * Shows or hides the components of the indicator.
+		 * 
+		 * @param visible <code>true</code> if the progress should be visible otherwise <code>false</code>
+		 * @since 1.0
+		 */
+		public void setVisible(final boolean visible) {
+			progressSeparator.setVisible(visible);
+			progressBar.setVisible(visible);
+			cancelBtn.setVisible(visible);
+			StatusBar.this.revalidate();
+		}
+	
+	}
 }
@@ -27,9 +27,14 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 import javax.swing.BorderFactory;
+import javax.swing.Icon;
+import javax.swing.ImageIcon;
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
@@ -47,6 +52,8 @@ import laves.PluginManagerListener;
 import laves.configuration.MainConfiguration;
 import laves.gui.HowToDialog;
 import laves.gui.MainWindow;
+import laves.rendering.ThumbnailCache;
+import laves.rendering.ThumbnailListener;
 import laves.resources.ResourceManager;
 import laves.utils.Constants;
 import laves.utils.Utils;
@@ -58,9 +65,16 @@ import lavesdk.language.LanguageFile;
  * Displays a welcome screen the information about LAVES, the last opened plugins and a quick start panel.
  * <br><br>
  * Use {@link #setWelcomeScreenListener(WelcomeScreenListener)} to add a listener to listen for events of the welcome screen.
+ * <br><br>
+ * The last opened plugins are displayed with their preview thumbnails from the {@link ThumbnailCache} of the main window. A thumbnail
+ * is displayed as soon as it is available.
+ * <br><br>
+ * The welcome screen is assembled incrementally meaning the plugins of the quick start list are queried in a background thread and the
+ * list is filled as soon as they are available. The listeners of the welcome screen are held weakly by the plugin manager and the
+ * thumbnail cache so that a welcome screen that is discarded without being removed properly does not remain registered.
  * 
  * @author jdornseifer
- * @version 1.4
+ * @version 1.5
  * @since 1.0
  */
 public class WelcomeScreen extends View {
@@ -75,6 +89,8 @@ public class WelcomeScreen extends View {
 	private WelcomeScreenListener listener;
 	/** the listener for plugin manager events */
 	private final PluginManagerListener pluginManListener;
+	/** the listener that displays the preview thumbnails when they are available */
+	private final ThumbnailListener thumbnailListener;
 	/** the table model of the open recent list */
 	private final LastAlgorithmsTableModel lastAlgosTableModel;
 	/** the table model of the quick start list */
@@ -114,12 +130,21 @@ public class WelcomeScreen extends View {
 				// update the tables if the installed plugins list changed
 				if(!increase)
 					lastAlgosTableModel.reload();
-				quickStartTableModel.reload();
+				quickStartTableModel.reloadInBackground();
+			}
+		};
+		
+		thumbnailListener = new ThumbnailListener() {
+			
+			@Override
+			public void thumbnailAvailable(AlgorithmPlugin plugin, BufferedImage thumbnail) {
+				lastAlgosTableModel.thumbnailAvailable(plugin);
 			}
 		};
 		
-		// install the listener
-		mainWin.getLoader().getPluginManager().addListener(pluginManListener);
+		// install the listeners (they are held by the fields of the welcome screen so they live as long as the welcome screen)
+		mainWin.getLoader().getPluginManager().addWeakListener(pluginManListener);
+		mainWin.getThumbnailCache().addWeakListener(thumbnailListener);
 		
 		final Font f = UIManager.getFont("Label.font");
 		final Font captionFont = f.deriveFont(Font.BOLD, 12.0f);
@@ -239,6 +264,9 @@ public class WelcomeScreen extends View {
 		lastAlgosTable.setAutoCreateRowSorter(false);
 		lastAlgosTable.getSelectionModel().setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
 		lastAlgosTable.setBackground(content.getBackground());
+		lastAlgosTable.setRowHeight(ThumbnailCache.THUMBNAIL_HEIGHT + 4);
+		lastAlgosTable.getColumnModel().getColumn(1).setMinWidth(ThumbnailCache.THUMBNAIL_WIDTH + 4);
+		lastAlgosTable.getColumnModel().getColumn(1).setMaxWidth(ThumbnailCache.THUMBNAIL_WIDTH + 4);
 		lastAlgosTable.addMouseListener(new MouseAdapter() {
 			@Override
 			public void mouseClicked(MouseEvent e) {
@@ -246,6 +274,19 @@ public class WelcomeScreen extends View {
 					WelcomeScreen.this.listener.activatePlugin(lastAlgosTableModel.getRow(lastAlgosTable.convertRowIndexToModel(lastAlgosTable.getSelectedRow())));
 			}
 		});
+		lastAlgosTable.addMouseMotionListener(new MouseAdapter() {
+			/** the row that is hovered */
+			private int hoveredRow = -1;
+			
+			@Override
+			public void mouseMoved(MouseEvent e) {
+				// prerender the algorithm text as soon as an entry is hovered
+				final int row = lastAlgosTable.rowAtPoint(e.getPoint());
+				if(row != hoveredRow && row >= 0)
+					WelcomeScreen.this.mainWin.prerenderPlugin(lastAlgosTableModel.getRow(lastAlgosTable.convertRowIndexToModel(row)));
+				hoveredRow = row;
+			}
+		});
 		scrollPaneLastAlgos.setViewportView(lastAlgosTable);
 		
 		final JPanel quickStartPanel = new JPanel(new BorderLayout());
@@ -265,7 +306,8 @@ public class WelcomeScreen extends View {
 		scrollPaneQuickStart.getViewport().setBackground(scrollPaneQuickStart.getBackground());
 		quickStartPanel.add(scrollPaneQuickStart);
 		
-		quickStartTableModel = new AlgorithmTableModel(cfg, mainWin.getLoader(), mainWin.getLanguageFile(), mainWin.getLanguageID());
+		// the plugins are queried in the background and the table is filled afterwards
+		quickStartTableModel = new AlgorithmTableModel(cfg, mainWin.getLoader(), mainWin.getLanguageFile(), mainWin.getLanguageID(), false, true);
 		final JTable quickStartTable = new JTable(quickStartTableModel);
 		quickStartTableModel.setTable(quickStartTable);
 		quickStartTable.setAutoCreateRowSorter(true);
@@ -305,13 +347,14 @@ public class WelcomeScreen extends View {
 	@Override
 	protected void beforeRemove() {
 		mainWin.getLoader().getPluginManager().removeListener(pluginManListener);
+		mainWin.getThumbnailCache().removeListener(thumbnailListener);
 	}
 	
 	/**
 	 * Table model of the last algorithms table.
 	 * 
 	 * @author jdornseifer
-	 * @version 1.0
+	 * @version 1.1
 	 */
 	private class LastAlgorithmsTableModel extends AbstractTableModel {
 		
@@ -319,6 +362,8 @@ public class WelcomeScreen extends View {
 		
 		/** the rows of the table */
 		private List<AlgorithmPlugin> rows;
+		/** the icons of the thumbnails that are displayed (key=thumbnail, value=icon) */
+		private final Map<BufferedImage, Icon> icons;
 		
 		/**
 		 * Creates a new open recent table model.
@@ -327,6 +372,7 @@ public class WelcomeScreen extends View {
 		 */
 		public LastAlgorithmsTableModel() {
 			rows = mainWin.getLastOpenedAlgorithms();
+			icons = new WeakHashMap<BufferedImage, Icon>();
 		}
 		
 		/**
@@ -339,14 +385,34 @@ public class WelcomeScreen extends View {
 			fireTableDataChanged();
 		}
 
+		/**
+		 * Updates the rows of a plugin whose thumbnail is available.
+		 * 
+		 * @param plugin the plugin
+		 * @since 1.1
+		 */
+		public void thumbnailAvailable(final AlgorithmPlugin plugin) {
+			for(int i = 0; i < rows.size(); i++)
+				if(rows.get(i) == plugin)
+					fireTableRowsUpdated(i, i);
+		}
+		
 		@Override
 		public int getColumnCount() {
-			return 1;
+			return 2;
 		}
 		
 		@Override
 		public String getColumnName(int column) {
-			return LanguageFile.getLabel(WelcomeScreen.this.mainWin.getLanguageFile(), "COLUMN_ALGONAME", WelcomeScreen.this.mainWin.getLanguageID(), "Name");
+			if(column == 1)
+				return LanguageFile.getLabel(WelcomeScreen.this.mainWin.getLanguageFile(), "COLUMN_ALGOPREVIEW", WelcomeScreen.this.mainWin.getLanguageID(), "Preview");
+			else
+				return LanguageFile.getLabel(WelcomeScreen.this.mainWin.getLanguageFile(), "COLUMN_ALGONAME", WelcomeScreen.this.mainWin.getLanguageID(), "Name");
+		}
+		
+		@Override
+		public Class<?> getColumnClass(int column) {
+			return (column == 1) ? Icon.class : String.class;
 		}
 
 		@Override
@@ -367,7 +433,21 @@ public class WelcomeScreen extends View {
 
 		@Override
 		public Object getValueAt(int row, int column) {
-			return rows.get(row).getName();
+			if(column != 1)
+				return rows.get(row).getName();
+			
+			// the thumbnail is requested if it is not available and the row is updated when it is available
+			final BufferedImage thumbnail = WelcomeScreen.this.mainWin.getThumbnailCache().getThumbnail(rows.get(row));
+			if(thumbnail == null)
+				return null;
+			
+			Icon icon = icons.get(thumbnail);
+			if(icon == null) {
+				icon = new ImageIcon(thumbnail);
+				icons.put(thumbnail, icon);
+			}
+			
+			return icon;
 		}
 		
 	}
@@ -0,0 +1,630 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.io;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import lavesdk.algorithm.plugin.AlgorithmPlugin;
+
+/**
+ * The autosave journal records the document of the active plugin so that it can be restored after LAVES was not closed properly.
+ * <br><br>
+ * The journal is fed with snapshots of the document (see {@link #append(AlgorithmPlugin, FileIOListener)}). A snapshot is saved by
+ * the plugin into a temporary file as an operation of the {@link FileIOService} so that it never overlaps with an open or save operation
+ * and never blocks the event dispatch thread. While the snapshot is saved the service is busy so that the host can lock the controls
+ * that would change the document like it does for a manual save. If a snapshot takes long then the following snapshots are skipped
+ * for a multiple of its duration (see {@link #BACKOFF_FACTOR}) so that the controls are locked only for a small share of the time.
+ * <br><br>
+ * The file is read block by block and only the blocks that have changed since the previous snapshot are appended to the journal as one
+ * compressed record. The records are written in the background thread of the service after the lock is released. If the journal is
+ * rewritten then the new journal is written to a temporary file that replaces the journal afterwards so that there is always a complete
+ * journal on the disk.
+ * <br><br>
+ * The structure of the journal is as follows (all numbers in big-endian byte order):
+ * <ul>
+ * 		<li>header: magic number (int), name of the plugin bundle (UTF), extension of the document (UTF)</li>
+ * 		<li>records: record magic number (int), time of the snapshot (long), length of the document (long), length of the compressed changes (int), compressed changes, CRC-32 of the compressed changes (int)</li>
+ * </ul>
+ * The changes of a record consist of the number of changed blocks (int) and for each block its index (int), its length (int) and its data.
+ * A record that is incomplete because LAVES crashed while writing it is ignored when the journal is read (see {@link #read(File, File)}).
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ */
+public class AutosaveJournal {
+
+	/** the journal file */
+	private final File file;
+	/** the service in which background thread the journal is written */
+	private final FileIOService service;
+	/** flag that indicates whether there is a snapshot that is not written yet */
+	private final AtomicBoolean pending;
+	/** the number of the journal that is incremented if a journal begins or is discarded so that older snapshots are not written (only modified in the event dispatch thread) */
+	private volatile int generation;
+	/** the time in milliseconds before which no snapshot is taken (only modified in the background thread) */
+	private volatile long nextSnapshotTime;
+	/** the name of the plugin bundle of the document or <code>null</code> if the journal is not active (only accessed in the event dispatch thread) */
+	private String bundleName;
+	/** the extension of the document (only accessed in the event dispatch thread) */
+	private String extension;
+	/** the checksums of the blocks of the last snapshot or <code>null</code> if the journal must be rewritten (only accessed in the background thread) */
+	private long[] checksums;
+	/** the length of the last snapshot (only accessed in the background thread) */
+	private long length;
+	/** the number of bytes of the changes that are written since the journal was rewritten (only accessed in the background thread) */
+	private long written;
+	
+	/** the magic number of a journal ("LVJ1") */
+	private static final int MAGIC = 0x4C564A31;
+	/** the magic number of a record */
+	private static final int RECORD_MAGIC = 0x52454331;
+	/** the size of the blocks in bytes that are compared between two snapshots */
+	private static final int BLOCK_SIZE = 64 * 1024;
+	/** the journal is rewritten if the written changes exceed this factor of the document length */
+	private static final int REWRITE_FACTOR = 4;
+	/** no snapshot is taken for this multiple of the duration of the previous snapshot */
+	public static final int BACKOFF_FACTOR = 10;
+	
+	/**
+	 * Creates a new journal.
+	 * 
+	 * @param file the journal file
+	 * @param service the file service in which background thread the journal is written
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if file is null</li>
+	 * 		<li>if service is null</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public AutosaveJournal(final File file, final FileIOService service) throws IllegalArgumentException {
+		if(file == null || service == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		this.file = file;
+		this.service = service;
+		this.pending = new AtomicBoolean(false);
+		this.generation = 0;
+		this.nextSnapshotTime = 0;
+		this.bundleName = null;
+		this.extension = null;
+		this.checksums = null;
+		this.length = 0;
+		this.written = 0;
+	}
+	
+	/**
+	 * Gets the journal file.
+	 * 
+	 * @return the file
+	 * @since 1.0
+	 */
+	public File getFile() {
+		return file;
+	}
+	
+	/**
+	 * Begins a new journal for the document of a plugin. The previous journal is replaced with the first snapshot.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * This method must be invoked in the event dispatch thread.
+	 * 
+	 * @param bundleName the name of the plugin bundle (to find the plugin when the journal is restored)
+	 * @param extension the extension of the document that is used to save a snapshot
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if bundleName is null</li>
+	 * 		<li>if extension is null</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public void begin(final String bundleName, final String extension) throws IllegalArgumentException {
+		if(bundleName == null || extension == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		this.bundleName = bundleName;
+		this.extension = extension;
+		generation++;
+		
+		execute(new Runnable() {
+			
+			@Override
+			public void run() {
+				checksums = null;
+			}
+		});
+	}
+	
+	/**
+	 * Indicates whether the journal records a document.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * This method must be invoked in the event dispatch thread.
+	 * 
+	 * @return <code>true</code> if the journal is active otherwise <code>false</code>
+	 * @since 1.0
+	 */
+	public boolean isActive() {
+		return bundleName != null;
+	}
+	
+	/**
+	 * Appends a snapshot of the document of the specified plugin to the journal.
+	 * <br><br>
+	 * The plugin saves the document into a temporary file as an operation of the file service and the changes are written in the
+	 * background afterwards. The snapshot is skipped if the previous snapshot is not written yet, if the service is busy or if the
+	 * previous snapshot was slow (see {@link #BACKOFF_FACTOR}) so that snapshots never pile up.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * This method must be invoked in the event dispatch thread.
+	 * 
+	 * @param plugin the plugin whose document is recorded
+	 * @param listener the listener that is notified when the plugin has saved the snapshot meaning that the service is no longer busy or <code>null</code>
+	 * @return <code>true</code> if a snapshot is taken meaning that the service is busy otherwise <code>false</code>
+	 * @since 1.0
+	 */
+	public boolean append(final AlgorithmPlugin plugin, final FileIOListener listener) {
+		if(plugin == null || bundleName == null || service.isBusy() || System.currentTimeMillis() < nextSnapshotTime || !pending.compareAndSet(false, true))
+			return false;
+		
+		final File snapshot;
+		try {
+			snapshot = File.createTempFile(".laves-autosave-", "." + extension);
+		}
+		catch(IOException e) {
+			pending.set(false);
+			return false;
+		}
+		
+		final String name = bundleName;
+		final String ext = extension;
+		final int gen = generation;
+		final Runnable writeJob = new Runnable() {
+			
+			@Override
+			public void run() {
+				try {
+					// the document was closed or another document was opened meanwhile
+					if(gen == generation)
+						writeSnapshot(snapshot, name, ext);
+				}
+				catch(Exception e) {
+					// a snapshot that fails is taken again with the next call and the journal is rewritten
+					checksums = null;
+				}
+				finally {
+					snapshot.delete();
+					pending.set(false);
+				}
+			}
+		};
+		
+		try {
+			service.execute(plugin, snapshot, new FileOperation() {
+				
+				@Override
+				public void execute(FileIOTask task) throws Exception {
+					final long start = System.currentTimeMillis();
+					boolean saved = false;
+					
+					try {
+						plugin.save(snapshot);
+						saved = !task.isCancelled();
+					}
+					finally {
+						final long end = System.currentTimeMillis();
+						nextSnapshotTime = end + (end - start) * BACKOFF_FACTOR;
+						
+						// the changes are written after the operation so that the service is not busy meanwhile
+						if(!saved) {
+							snapshot.delete();
+							pending.set(false);
+						}
+						else if(!service.executeInBackground(writeJob))
+							writeJob.run();
+					}
+				}
+			}, listener);
+		}
+		catch(IllegalStateException e) {
+			snapshot.delete();
+			pending.set(false);
+			return false;
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Discards the journal because the document was closed properly.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * This method must be invoked in the event dispatch thread.
+	 * 
+	 * @since 1.0
+	 */
+	public void discard() {
+		bundleName = null;
+		generation++;
+		
+		execute(new Runnable() {
+			
+			@Override
+			public void run() {
+				checksums = null;
+				if(file.exists())
+					file.delete();
+			}
+		});
+	}
+	
+	/**
+	 * Reads a journal and restores the last recorded document into a temporary file (see {@link Recovery#getDocument()}).
+	 * 
+	 * @param file the journal file
+	 * @param dir the directory of the temporary file or <code>null</code> for the default temporary directory
+	 * @return the recovery information or <code>null</code> if the journal does not exist or does not contain a complete snapshot
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if file is null</li>
+	 * </ul>
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the journal or the restored document could not be read or written</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public static Recovery read(final File file, final File dir) throws IllegalArgumentException, IOException {
+		if(file == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		if(!file.isFile())
+			return null;
+		
+		final String bundleName;
+		final String extension;
+		byte[] image = new byte[0];
+		long length = -1;
+		long time = 0;
+		
+		try(final DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			try {
+				if(in.readInt() != MAGIC)
+					return null;
+				bundleName = in.readUTF();
+				extension = in.readUTF();
+			}
+			catch(EOFException e) {
+				return null;
+			}
+			
+			final CRC32 crc = new CRC32();
+			while(true) {
+				final long recordTime;
+				final long recordLength;
+				final byte[] changes;
+				
+				// a record that is incomplete or damaged ends the journal
+				try {
+					if(in.readInt() != RECORD_MAGIC)
+						break;
+					recordTime = in.readLong();
+					recordLength = in.readLong();
+					final int n = in.readInt();
+					if(recordLength < 0 || recordLength > Integer.MAX_VALUE || n < 0)
+						break;
+					changes = new byte[n];
+					in.readFully(changes);
+					crc.reset();
+					crc.update(changes);
+					if(in.readInt() != (int)crc.getValue())
+						break;
+				}
+				catch(EOFException e) {
+					break;
+				}
+				
+				image = applyChanges(image, (int)recordLength, changes);
+				length = recordLength;
+				time = recordTime;
+			}
+		}
+		
+		if(length < 0)
+			return null;
+		
+		// the document must have its extension because the plugins determine the file format by the extension
+		final File document = File.createTempFile("laves-restored-", "." + extension, dir);
+		try(final FileOutputStream out = new FileOutputStream(document)) {
+			out.write(image, 0, (int)length);
+		}
+		
+		return new Recovery(bundleName, extension, time, document);
+	}
+	
+	/**
+	 * Executes a job in the background thread of the file service. If the service is shut down then the job is executed in the
+	 * current thread because there is no background operation any longer.
+	 * 
+	 * @param job the job
+	 * @since 1.0
+	 */
+	private void execute(final Runnable job) {
+		if(!service.executeInBackground(job))
+			job.run();
+	}
+	
+	/**
+	 * Writes the changed blocks of a snapshot of the document to the journal.
+	 * <br><br>
+	 * The snapshot is read block by block so that the document is never loaded completely into the memory.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * This method is invoked in the background thread.
+	 * 
+	 * @param snapshot the file of the snapshot
+	 * @param name the name of the plugin bundle
+	 * @param extension the extension of the document
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the snapshot could not be read or the journal could not be written</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	private void writeSnapshot(final File snapshot, final String name, final String extension) throws IOException {
+		try(final RandomAccessFile in = new RandomAccessFile(snapshot, "r")) {
+			final long dataLength = in.length();
+			if(dataLength > Integer.MAX_VALUE)
+				throw new IOException("The document is too large!");
+			
+			final boolean rewrite = (checksums == null || written > REWRITE_FACTOR * Math.max(length, BLOCK_SIZE));
+			final int blockCount = (int)((dataLength + BLOCK_SIZE - 1) / BLOCK_SIZE);
+			final long[] newChecksums = new long[blockCount];
+			final byte[] block = new byte[BLOCK_SIZE];
+			final CRC32 crc = new CRC32();
+			
+			// determine the changed blocks
+			int changedCount = 0;
+			for(int i = 0; i < blockCount; i++) {
+				final int n = (int)Math.min(BLOCK_SIZE, dataLength - (long)i * BLOCK_SIZE);
+				in.readFully(block, 0, n);
+				crc.reset();
+				crc.update(block, 0, n);
+				newChecksums[i] = crc.getValue();
+				if(rewrite || i >= checksums.length || checksums[i] != newChecksums[i])
+					changedCount++;
+			}
+			
+			if(!rewrite && changedCount == 0 && dataLength == length)
+				return;
+			
+			// read the changed blocks again and compress them
+			final ByteArrayOutputStream changesBuffer = new ByteArrayOutputStream();
+			final DataOutputStream changes = new DataOutputStream(new DeflaterOutputStream(changesBuffer, new Deflater(Deflater.BEST_SPEED)));
+			changes.writeInt(changedCount);
+			for(int i = 0; i < blockCount; i++) {
+				if(rewrite || i >= checksums.length || checksums[i] != newChecksums[i]) {
+					final int n = (int)Math.min(BLOCK_SIZE, dataLength - (long)i * BLOCK_SIZE);
+					in.seek((long)i * BLOCK_SIZE);
+					in.readFully(block, 0, n);
+					changes.writeInt(i);
+					changes.writeInt(n);
+					changes.write(block, 0, n);
+				}
+			}
+			changes.close();
+			
+			// the record is written at once so that it is either complete or ignored when the journal is read
+			final byte[] payload = changesBuffer.toByteArray();
+			final ByteArrayOutputStream recordBuffer = new ByteArrayOutputStream(payload.length + 256);
+			final DataOutputStream record = new DataOutputStream(recordBuffer);
+			if(rewrite) {
+				record.writeInt(MAGIC);
+				record.writeUTF(name);
+				record.writeUTF(extension);
+			}
+			crc.reset();
+			crc.update(payload);
+			record.writeInt(RECORD_MAGIC);
+			record.writeLong(System.currentTimeMillis());
+			record.writeLong(dataLength);
+			record.writeInt(payload.length);
+			record.write(payload);
+			record.writeInt((int)crc.getValue());
+			
+			if(rewrite)
+				replace(recordBuffer.toByteArray());
+			else {
+				try(final FileOutputStream out = new FileOutputStream(file, true)) {
+					out.write(recordBuffer.toByteArray());
+					out.getFD().sync();
+				}
+			}
+			
+			checksums = newChecksums;
+			written = rewrite ? 0 : written + payload.length;
+			length = dataLength;
+		}
+	}
+	
+	/**
+	 * Replaces the journal with a new journal.
+	 * <br><br>
+	 * The new journal is written to a temporary file that replaces the journal afterwards so that the previous journal is kept if
+	 * the new journal cannot be written completely.
+	 * 
+	 * @param data the data of the new journal
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the new journal could not be written</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	private void replace(final byte[] data) throws IOException {
+		final File tmp = new File(file.getAbsolutePath() + ".tmp");
+		
+		try {
+			try(final FileOutputStream out = new FileOutputStream(tmp)) {
+				out.write(data);
+				out.getFD().sync();
+			}
+			
+			try {
+				Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			}
+			catch(AtomicMoveNotSupportedException e) {
+				Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		catch(IOException e) {
+			tmp.delete();
+			throw e;
+		}
+	}
+	
+	/**
+	 * Applies the changes of a record to the image of the document.
+	 * 
+	 * @param image the current image
+	 * @param length the length of the document after the changes
+	 * @param changes the compressed changes
+	 * @return the new image
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the changes are damaged</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	private static byte[] applyChanges(final byte[] image, final int length, final byte[] changes) throws IOException {
+		final byte[] result = (image.length == length) ? image : new byte[length];
+		if(result != image)
+			System.arraycopy(image, 0, result, 0, Math.min(image.length, length));
+		
+		try(final DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(changes)))) {
+			final int count = in.readInt();
+			for(int i = 0; i < count; i++) {
+				final int index = in.readInt();
+				final int n = in.readInt();
+				final long offset = (long)index * BLOCK_SIZE;
+				if(index < 0 || n < 0 || offset + n > length)
+					throw new IOException("The journal is damaged!");
+				in.readFully(result, (int)offset, n);
+			}
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * The information of a journal that can be restored.
+	 * 
+	 * @author jdornseifer
+	 * @version 1.0
+	 * @since 1.0
+	 */
+	public static class Recovery {
+		
+		/** the name of the plugin bundle */
+		private final String bundleName;
+		/** the extension of the document */
+		private final String extension;
+		/** the time of the last snapshot */
+		private final long time;
+		/** the temporary file of the restored document */
+		private final File document;
+		
+		/**
+		 * Creates new recovery information.
+		 * 
+		 * @param bundleName the name of the plugin bundle
+		 * @param extension the extension of the document
+		 * @param time the time of the last snapshot
+		 * @param document the temporary file of the restored document
+		 * @since 1.0
+		 */
+		private Recovery(final String bundleName, final String extension, final long time, final File document) {
+			this.bundleName = bundleName;
+			this.extension = extension;
+			this.time = time;
+			this.document = document;
+		}
+		
+		/**
+		 * Gets the temporary file of the restored document. The file should be deleted if it is no longer needed.
+		 * 
+		 * @return the file
+		 * @since 1.0
+		 */
+		public File getDocument() {
+			return document;
+		}
+		
+		/**
+		 * Gets the name of the plugin bundle of the document.
+		 * 
+		 * @return the name of the bundle
+		 * @since 1.0
+		 */
+		public String getBundleName() {
+			return bundleName;
+		}
+		
+		/**
+		 * Gets the extension of the document.
+		 * 
+		 * @return the extension (without a dot)
+		 * @since 1.0
+		 */
+		public String getExtension() {
+			return extension;
+		}
+		
+		/**
+		 * Gets the time of the last snapshot.
+		 * 
+		 * @return the time in milliseconds since January 1, 1970 UTC
+		 * @since 1.0
+		 */
+		public long getTime() {
+			return time;
+		}
+	
+	}
+
+}
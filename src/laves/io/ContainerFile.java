@@ -0,0 +1,409 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.io;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * The container format of the host for the files of the plugins.
+ * <br><br>
+ * A container stores the file of a plugin in independently compressed blocks and an index of these blocks. The structure of a
+ * container is as follows (all numbers in big-endian byte order):
+ * <ul>
+ * 		<li>header: magic number (int), format version (int), block size (int)</li>
+ * 		<li>blocks: the deflated blocks of the file</li>
+ * 		<li>index: for each block the offset of the compressed data (long), the compressed length (int), the original length (int) and the CRC-32 of the original data (int)</li>
+ * 		<li>trailer: number of blocks (int), offset of the index (long), original length of the file (long), magic number (int)</li>
+ * </ul>
+ * The index is written after the blocks so that a container can be written in one pass. A container is read by reading the index
+ * and inflating the blocks by use of the index. The file is read through a channel and not mapped into memory because a mapped file
+ * cannot be replaced or deleted on Windows until the mapping is garbage collected.
+ * <br><br>
+ * Use {@link #isContainer(File)} to check whether a file is a container. Files that are not containers are the plain files of the
+ * plugins that were saved by former versions of LAVES.
+ * <br><br>
+ * The operations check the interrupt state of the current thread after each block and throw an {@link InterruptedIOException}
+ * if the thread is interrupted.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ */
+public class ContainerFile {
+
+	/** the magic number of a container ("LVZC") */
+	private static final int MAGIC = 0x4C565A43;
+	/** the version of the container format */
+	private static final int FORMAT_VERSION = 1;
+	/** the size of the uncompressed blocks in bytes */
+	private static final int BLOCK_SIZE = 256 * 1024;
+	/** the length of the header in bytes */
+	private static final int HEADER_LENGTH = 12;
+	/** the length of an index entry in bytes */
+	private static final int INDEX_ENTRY_LENGTH = 20;
+	/** the length of the trailer in bytes */
+	private static final int TRAILER_LENGTH = 24;
+	
+	/**
+	 * Indicates whether the specified file is a container.
+	 * 
+	 * @param file the file
+	 * @return <code>true</code> if the file is a container otherwise <code>false</code>
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if file is null</li>
+	 * </ul>
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the file could not be read</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public static boolean isContainer(final File file) throws IllegalArgumentException, IOException {
+		if(file == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		if(!file.isFile() || file.length() < HEADER_LENGTH + TRAILER_LENGTH)
+			return false;
+		
+		try(final DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+			return in.readInt() == MAGIC;
+		}
+	}
+	
+	/**
+	 * Compresses a file into a container.
+	 * 
+	 * @param source the plain file
+	 * @param dest the container file that is created or overwritten
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if source is null</li>
+	 * 		<li>if dest is null</li>
+	 * </ul>
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the file could not be compressed</li>
+	 * 		<li>if the current thread was interrupted ({@link InterruptedIOException})</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public static void compress(final File source, final File dest) throws IllegalArgumentException, IOException {
+		if(source == null || dest == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		final long length = source.length();
+		final int blockCount = (int)((length + BLOCK_SIZE - 1) / BLOCK_SIZE);
+		final long[] offsets = new long[blockCount];
+		final int[] compressedLengths = new int[blockCount];
+		final int[] originalLengths = new int[blockCount];
+		final int[] checksums = new int[blockCount];
+		final byte[] block = new byte[BLOCK_SIZE];
+		// a block that cannot be compressed grows slightly so the buffer has to be larger than a block
+		final byte[] buffer = new byte[BLOCK_SIZE + BLOCK_SIZE / 8 + 64];
+		final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+		final CRC32 crc = new CRC32();
+		
+		try(final InputStream in = new FileInputStream(source);
+			final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(dest), 64 * 1024))) {
+			out.writeInt(MAGIC);
+			out.writeInt(FORMAT_VERSION);
+			out.writeInt(BLOCK_SIZE);
+			
+			long offset = HEADER_LENGTH;
+			for(int i = 0; i < blockCount; i++) {
+				checkInterrupted();
+				
+				final int n = readFully(in, block);
+				crc.reset();
+				crc.update(block, 0, n);
+				
+				deflater.reset();
+				deflater.setInput(block, 0, n);
+				deflater.finish();
+				int compressed = 0;
+				while(!deflater.finished())
+					compressed += deflate(deflater, buffer, compressed, out);
+				
+				offsets[i] = offset;
+				compressedLengths[i] = compressed;
+				originalLengths[i] = n;
+				checksums[i] = (int)crc.getValue();
+				offset += compressed;
+			}
+			
+			for(int i = 0; i < blockCount; i++) {
+				out.writeLong(offsets[i]);
+				out.writeInt(compressedLengths[i]);
+				out.writeInt(originalLengths[i]);
+				out.writeInt(checksums[i]);
+			}
+			
+			out.writeInt(blockCount);
+			out.writeLong(offset);
+			out.writeLong(length);
+			out.writeInt(MAGIC);
+		}
+		finally {
+			deflater.end();
+		}
+	}
+	
+	/**
+	 * Decompresses a container into a plain file.
+	 * 
+	 * @param source the container file
+	 * @param dest the plain file that is created or overwritten
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if source is null</li>
+	 * 		<li>if dest is null</li>
+	 * </ul>
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the source is not a valid container or if it is damaged</li>
+	 * 		<li>if the file could not be decompressed</li>
+	 * 		<li>if the current thread was interrupted ({@link InterruptedIOException})</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public static void decompress(final File source, final File dest) throws IllegalArgumentException, IOException {
+		if(source == null || dest == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		try(final RandomAccessFile raf = new RandomAccessFile(source, "r");
+			final FileChannel channel = raf.getChannel();
+			final OutputStream out = new FileOutputStream(dest)) {
+			final long size = channel.size();
+			if(size < HEADER_LENGTH + TRAILER_LENGTH)
+				throw new IOException("The file " + source.getAbsolutePath() + " is not a valid container!");
+			
+			// read the header and the trailer
+			final ByteBuffer header = read(channel, 0, HEADER_LENGTH);
+			final long trailerOffset = size - TRAILER_LENGTH;
+			final ByteBuffer trailer = read(channel, trailerOffset, TRAILER_LENGTH);
+			if(header.getInt(0) != MAGIC || trailer.getInt(TRAILER_LENGTH - 4) != MAGIC)
+				throw new IOException("The file " + source.getAbsolutePath() + " is not a valid container!");
+			if(header.getInt(4) > FORMAT_VERSION)
+				throw new IOException("The container format of the file " + source.getAbsolutePath() + " is not supported!");
+			
+			final int blockSize = header.getInt(8);
+			final int blockCount = trailer.getInt(0);
+			final long indexOffset = trailer.getLong(4);
+			final long length = trailer.getLong(12);
+			if(blockCount < 0 || blockSize <= 0 || (long)blockCount * INDEX_ENTRY_LENGTH > Integer.MAX_VALUE || indexOffset + (long)blockCount * INDEX_ENTRY_LENGTH != trailerOffset)
+				throw new IOException("The index of the container " + source.getAbsolutePath() + " is damaged!");
+			
+			final ByteBuffer index = read(channel, indexOffset, blockCount * INDEX_ENTRY_LENGTH);
+			
+			final byte[] input = new byte[blockSize + blockSize / 8 + 64];
+			final byte[] block = new byte[blockSize];
+			final Inflater inflater = new Inflater(true);
+			final CRC32 crc = new CRC32();
+			long total = 0;
+			
+			try {
+				for(int i = 0; i < blockCount; i++) {
+					checkInterrupted();
+					
+					final int entry = i * INDEX_ENTRY_LENGTH;
+					final long offset = index.getLong(entry);
+					final int compressed = index.getInt(entry + 8);
+					final int original = index.getInt(entry + 12);
+					final int checksum = index.getInt(entry + 16);
+					if(offset < HEADER_LENGTH || compressed < 0 || compressed > input.length || offset + compressed > indexOffset || original < 0 || original > blockSize)
+						throw new IOException("The index of the container " + source.getAbsolutePath() + " is damaged!");
+					
+					read(channel, offset, ByteBuffer.wrap(input, 0, compressed));
+					
+					inflater.reset();
+					inflater.setInput(input, 0, compressed);
+					final int n = inflate(inflater, block, original);
+					
+					crc.reset();
+					crc.update(block, 0, n);
+					if(n != original || (int)crc.getValue() != checksum)
+						throw new IOException("The block " + i + " of the container " + source.getAbsolutePath() + " is damaged!");
+					
+					out.write(block, 0, n);
+					total += n;
+				}
+			}
+			finally {
+				inflater.end();
+			}
+			
+			if(total != length)
+				throw new IOException("The container " + source.getAbsolutePath() + " is incomplete!");
+		}
+	}
+	
+	/**
+	 * Reads the specified number of bytes from a channel.
+	 * 
+	 * @param channel the channel
+	 * @param position the position of the first byte in the channel
+	 * @param length the number of bytes
+	 * @return the buffer with the bytes (in big-endian byte order)
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the bytes could not be read</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	private static ByteBuffer read(final FileChannel channel, final long position, final int length) throws IOException {
+		final ByteBuffer buffer = ByteBuffer.allocate(length);
+		read(channel, position, buffer);
+		return buffer;
+	}
+	
+	/**
+	 * Fills the remaining bytes of a buffer from a channel.
+	 * 
+	 * @param channel the channel
+	 * @param position the position of the first byte in the channel
+	 * @param buffer the buffer
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the end of the channel is reached before the buffer is filled</li>
+	 * 		<li>if the bytes could not be read</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	private static void read(final FileChannel channel, final long position, final ByteBuffer buffer) throws IOException {
+		long pos = position;
+		
+		while(buffer.hasRemaining()) {
+			final int n = channel.read(buffer, pos);
+			if(n < 0)
+				throw new IOException("Unexpected end of the container!");
+			pos += n;
+		}
+	}
+	
+	/**
+	 * Reads as many bytes as possible into the specified buffer.
+	 * 
+	 * @param in the input stream
+	 * @param b the buffer
+	 * @return the number of bytes read
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the stream could not be read</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	private static int readFully(final InputStream in, final byte[] b) throws IOException {
+		int n = 0;
+		int read;
+		
+		while(n < b.length && (read = in.read(b, n, b.length - n)) >= 0)
+			n += read;
+		
+		return n;
+	}
+	
+	/**
+	 * Compresses the input of the deflater into the buffer and writes the compressed data to the output stream.
+	 * 
+	 * @param deflater the deflater
+	 * @param buffer the buffer
+	 * @param written the number of bytes of the current block that are already written
+	 * @param out the output stream
+	 * @return the number of compressed bytes that are written
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the data could not be written</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	private static int deflate(final Deflater deflater, final byte[] buffer, final int written, final OutputStream out) throws IOException {
+		final int n = deflater.deflate(buffer);
+		
+		// the reader expects a block to fit into its buffer
+		if(written + n > buffer.length)
+			throw new IOException("A block could not be compressed!");
+		
+		out.write(buffer, 0, n);
+		return n;
+	}
+	
+	/**
+	 * Decompresses the input of the inflater into the block.
+	 * 
+	 * @param inflater the inflater
+	 * @param block the block
+	 * @param length the expected length of the decompressed data
+	 * @return the number of decompressed bytes
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the data is damaged</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	private static int inflate(final Inflater inflater, final byte[] block, final int length) throws IOException {
+		int n = 0;
+		
+		try {
+			while(n < length && !inflater.finished()) {
+				final int inflated = inflater.inflate(block, n, length - n);
+				if(inflated == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+					break;
+				n += inflated;
+			}
+		}
+		catch(DataFormatException e) {
+			throw new IOException(e);
+		}
+		
+		return n;
+	}
+	
+	/**
+	 * Checks whether the current thread is interrupted.
+	 * 
+	 * @throws InterruptedIOException
+	 * <ul>
+	 * 		<li>if the current thread is interrupted</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	private static void checkInterrupted() throws InterruptedIOException {
+		if(Thread.currentThread().isInterrupted())
+			throw new InterruptedIOException();
+	}
+
+}
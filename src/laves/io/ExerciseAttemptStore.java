@@ -0,0 +1,713 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.io;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The local store of the attempts of the users to solve the exercises of the algorithms.
+ * <br><br>
+ * Each attempt is recorded with its time, its plugin, its exercise, whether it was correct and how long it took. The store is
+ * append-only and column-oriented meaning that each field is stored in its own file of fixed-size values so that an aggregation
+ * reads only the columns it needs in large chunks and the row of an attempt is its index in the column files. The plugins and the
+ * exercises are stored once in dictionary files and the columns only contain their numbers.
+ * <br><br>
+ * Structure of the store (all numbers are big-endian):
+ * <ul>
+ * 		<li>{@link #FILE_TIME}: the time of the attempt in milliseconds (long), the times are never decreasing</li>
+ * 		<li>{@link #FILE_PLUGIN}: the number of the plugin in the plugin dictionary (int)</li>
+ * 		<li>{@link #FILE_EXERCISE}: the number of the exercise in the exercise dictionary (int)</li>
+ * 		<li>{@link #FILE_CORRECT}: <code>1</code> if the attempt was correct otherwise <code>0</code> (byte)</li>
+ * 		<li>{@link #FILE_DURATION}: the duration of the attempt in milliseconds (int)</li>
+ * 		<li>{@link #FILE_PLUGINS}: a UTF-8 line for each plugin with its key and its name separated by a tab</li>
+ * 		<li>{@link #FILE_EXERCISES}: a UTF-8 line for each exercise with the number of its plugin, the ID of its step and its text separated by tabs</li>
+ * </ul>
+ * The columns of an attempt that was written incompletely (e.g. because LAVES crashed) are truncated when the store is opened.
+ * <br><br>
+ * The attempts are written in a background thread so {@link #append(String, String, int, String, boolean, long)} can be invoked in the
+ * event dispatch thread. Use {@link #shutdown()} to write the pending attempts before the application terminates.
+ * <br><br>
+ * <b>Notice</b>:<br>
+ * The methods that read the store are synchronized but should be invoked in a background thread because they access the file system.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ */
+public class ExerciseAttemptStore {
+
+	/** the directory of the store */
+	private final File directory;
+	/** the executor that writes the attempts */
+	private final ExecutorService executor;
+	/** the numbers of the plugins (key=plugin key) */
+	private final Map<String, Integer> pluginNumbers;
+	/** the plugins of the dictionary (key and name) */
+	private final List<String[]> plugins;
+	/** the numbers of the exercises (key=plugin number and step ID) */
+	private final Map<String, Integer> exerciseNumbers;
+	/** the exercises of the dictionary (plugin number, step ID and text) */
+	private final List<Object[]> exercises;
+	/** the streams of the column files in the order of {@link #COLUMNS} or <code>null</code> if the store is not opened for writing */
+	private OutputStream[] columns;
+	/** the time of the last attempt */
+	private long lastTime;
+	/** the number of attempts */
+	private int count;
+	/** flag that indicates whether the store is opened */
+	private boolean opened;
+	
+	/** the file of the time column */
+	public static final String FILE_TIME = "time.col";
+	/** the file of the plugin column */
+	public static final String FILE_PLUGIN = "plugin.col";
+	/** the file of the exercise column */
+	public static final String FILE_EXERCISE = "exercise.col";
+	/** the file of the correctness column */
+	public static final String FILE_CORRECT = "correct.col";
+	/** the file of the duration column */
+	public static final String FILE_DURATION = "duration.col";
+	/** the file of the plugin dictionary */
+	public static final String FILE_PLUGINS = "plugins.dict";
+	/** the file of the exercise dictionary */
+	public static final String FILE_EXERCISES = "exercises.dict";
+	/** the column files */
+	private static final String[] COLUMNS = { FILE_TIME, FILE_PLUGIN, FILE_EXERCISE, FILE_CORRECT, FILE_DURATION };
+	/** the sizes of the values of the column files */
+	private static final int[] COLUMN_SIZES = { 8, 4, 4, 1, 4 };
+	/** the number of attempts that are read with one file operation */
+	private static final int ROWS_PER_CHUNK = 64 * 1024;
+	/** the number of sub buckets of the duration histograms per power of two (the relative error of a median is below 1 / SUB_BUCKETS) */
+	private static final int SUB_BUCKETS = 64;
+	/** the number of bits of {@link #SUB_BUCKETS} */
+	private static final int SUB_BUCKET_BITS = 6;
+	/** the number of buckets of a duration histogram */
+	private static final int BUCKETS = SUB_BUCKETS + (31 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+	/** the charset of the dictionaries */
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+	
+	/**
+	 * Creates a new store.
+	 * <br><br>
+	 * The store is not read until it is accessed the first time.
+	 * 
+	 * @param directory the directory of the store that is created if it does not exist
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if directory is null</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public ExerciseAttemptStore(final File directory) throws IllegalArgumentException {
+		if(directory == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		this.directory = directory;
+		this.executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+			
+			@Override
+			public Thread newThread(Runnable r) {
+				final Thread t = new Thread(r, "LAVES Exercise Analytics");
+				t.setDaemon(true);
+				t.setPriority(Thread.MIN_PRIORITY);
+				return t;
+			}
+		});
+		this.pluginNumbers = new HashMap<String, Integer>();
+		this.plugins = new ArrayList<String[]>();
+		this.exerciseNumbers = new HashMap<String, Integer>();
+		this.exercises = new ArrayList<Object[]>();
+		this.columns = null;
+		this.lastTime = 0;
+		this.count = 0;
+		this.opened = false;
+	}
+	
+	/**
+	 * Records an attempt to solve an exercise.
+	 * <br><br>
+	 * The attempt is written in the background and the time of the attempt is the current time. An attempt that could not be
+	 * written is discarded.
+	 * 
+	 * @param pluginKey the key that identifies the plugin like its class name
+	 * @param pluginName the name of the plugin
+	 * @param stepID the ID of the step the exercise belongs to
+	 * @param exerciseText the text of the exercise or <code>null</code>
+	 * @param correct <code>true</code> if the attempt was correct otherwise <code>false</code>
+	 * @param duration the duration of the attempt in milliseconds
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if pluginKey is null</li>
+	 * 		<li>if pluginName is null</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public void append(final String pluginKey, final String pluginName, final int stepID, final String exerciseText, final boolean correct, final long duration) throws IllegalArgumentException {
+		if(pluginKey == null || pluginName == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		final long time = System.currentTimeMillis();
+		
+		try {
+			executor.execute(new Runnable() {
+				
+				@Override
+				public void run() {
+					try {
+						write(time, pluginKey, pluginName, stepID, exerciseText, correct, duration);
+					}
+					catch(IOException e) {
+					}
+				}
+			});
+		}
+		catch(RejectedExecutionException e) {
+			// the store is shut down
+		}
+	}
+	
+	/**
+	 * Gets the plugins that have recorded attempts.
+	 * 
+	 * @return the keys (index <code>0</code>) and the names (index <code>1</code>) of the plugins
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the store could not be opened</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public synchronized String[][] getPlugins() throws IOException {
+		open();
+		
+		final String[][] result = new String[plugins.size()][];
+		for(int i = 0; i < result.length; i++)
+			result[i] = plugins.get(i).clone();
+		
+		return result;
+	}
+	
+	/**
+	 * Aggregates the attempts per exercise.
+	 * <br><br>
+	 * The aggregation reads only the attempts since the given time because the times of the attempts are never decreasing. It can be
+	 * canceled by interrupting the thread, the result is incomplete then.
+	 * 
+	 * @param from the minimum time of the attempts in milliseconds (inclusive)
+	 * @param pluginKey the key of the plugin whose attempts should be aggregated or <code>null</code> to aggregate the attempts of all plugins
+	 * @return the statistics of the exercises that have attempts
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the store could not be read</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public synchronized ExerciseStatistics[] aggregate(final long from, final String pluginKey) throws IOException {
+		open();
+		
+		final int pluginFilter;
+		if(pluginKey != null) {
+			final Integer number = pluginNumbers.get(pluginKey);
+			if(number == null)
+				return new ExerciseStatistics[0];
+			pluginFilter = number.intValue();
+		}
+		else
+			pluginFilter = -1;
+		
+		final int exerciseCount = exercises.size();
+		final int[] attempts = new int[exerciseCount];
+		final int[] failures = new int[exerciseCount];
+		final long[] totalDurations = new long[exerciseCount];
+		final int[][] histograms = new int[exerciseCount][];
+		
+		final RandomAccessFile[] files = new RandomAccessFile[COLUMNS.length];
+		try {
+			for(int i = 0; i < files.length; i++)
+				files[i] = new RandomAccessFile(new File(directory, COLUMNS[i]), "r");
+			
+			final ByteBuffer plugin = ByteBuffer.allocate(ROWS_PER_CHUNK * COLUMN_SIZES[1]);
+			final ByteBuffer exercise = ByteBuffer.allocate(ROWS_PER_CHUNK * COLUMN_SIZES[2]);
+			final ByteBuffer correct = ByteBuffer.allocate(ROWS_PER_CHUNK * COLUMN_SIZES[3]);
+			final ByteBuffer duration = ByteBuffer.allocate(ROWS_PER_CHUNK * COLUMN_SIZES[4]);
+			int row = findFirstRow(files[0], from);
+			
+			while(row < count) {
+				if(Thread.currentThread().isInterrupted())
+					break;
+				
+				final int n = Math.min(ROWS_PER_CHUNK, count - row);
+				if(pluginFilter >= 0)
+					readChunk(files[1], plugin, row, n, COLUMN_SIZES[1]);
+				readChunk(files[2], exercise, row, n, COLUMN_SIZES[2]);
+				readChunk(files[3], correct, row, n, COLUMN_SIZES[3]);
+				readChunk(files[4], duration, row, n, COLUMN_SIZES[4]);
+				
+				for(int i = 0; i < n; i++) {
+					final int ex = exercise.getInt();
+					final byte c = correct.get();
+					final int d = duration.getInt();
+					
+					if(pluginFilter >= 0 && plugin.getInt() != pluginFilter)
+						continue;
+					if(ex < 0 || ex >= exerciseCount)
+						continue;
+					
+					attempts[ex]++;
+					if(c == 0)
+						failures[ex]++;
+					totalDurations[ex] += d;
+					if(histograms[ex] == null)
+						histograms[ex] = new int[BUCKETS];
+					histograms[ex][getBucket(d)]++;
+				}
+				
+				row += n;
+			}
+		}
+		finally {
+			for(RandomAccessFile file : files)
+				if(file != null)
+					file.close();
+		}
+		
+		final List<ExerciseStatistics> result = new ArrayList<ExerciseStatistics>();
+		for(int i = 0; i < exerciseCount; i++) {
+			if(attempts[i] == 0)
+				continue;
+			
+			final Object[] ex = exercises.get(i);
+			final String[] p = plugins.get((Integer)ex[0]);
+			result.add(new ExerciseStatistics(p[0], p[1], (Integer)ex[1], (String)ex[2], attempts[i], failures[i], getMedian(histograms[i], attempts[i]), totalDurations[i] / attempts[i]));
+		}
+		
+		return result.toArray(new ExerciseStatistics[result.size()]);
+	}
+	
+	/**
+	 * Shuts the store down meaning that the pending attempts are written and that no further attempts are recorded.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * This waits at most a second for the pending attempts.
+	 * 
+	 * @since 1.0
+	 */
+	public void shutdown() {
+		executor.shutdown();
+		
+		try {
+			executor.awaitTermination(1, TimeUnit.SECONDS);
+		}
+		catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		
+		synchronized(this) {
+			closeColumns();
+		}
+	}
+	
+	/**
+	 * Writes an attempt to the store.
+	 * 
+	 * @param time the time of the attempt
+	 * @param pluginKey the key of the plugin
+	 * @param pluginName the name of the plugin
+	 * @param stepID the ID of the step
+	 * @param exerciseText the text of the exercise or <code>null</code>
+	 * @param correct <code>true</code> if the attempt was correct otherwise <code>false</code>
+	 * @param duration the duration in milliseconds
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the attempt could not be written</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	private synchronized void write(final long time, final String pluginKey, final String pluginName, final int stepID, final String exerciseText, final boolean correct, final long duration) throws IOException {
+		open();
+		
+		if(columns == null) {
+			columns = new OutputStream[COLUMNS.length];
+			for(int i = 0; i < COLUMNS.length; i++)
+				columns[i] = new FileOutputStream(new File(directory, COLUMNS[i]), true);
+		}
+		
+		// the dictionaries are written before the columns that refer to them
+		Integer plugin = pluginNumbers.get(pluginKey);
+		if(plugin == null) {
+			plugin = plugins.size();
+			appendLine(FILE_PLUGINS, sanitize(pluginKey) + "\t" + sanitize(pluginName));
+			pluginNumbers.put(pluginKey, plugin);
+			plugins.add(new String[] { pluginKey, pluginName });
+		}
+		
+		// a step can ask different exercises so the text is part of the key
+		final String text = sanitize((exerciseText != null) ? exerciseText : "");
+		final String exerciseKey = plugin + "\t" + stepID + "\t" + text;
+		Integer exercise = exerciseNumbers.get(exerciseKey);
+		if(exercise == null) {
+			exercise = exercises.size();
+			appendLine(FILE_EXERCISES, exerciseKey);
+			exerciseNumbers.put(exerciseKey, exercise);
+			exercises.add(new Object[] { plugin, stepID, text });
+		}
+		
+		// the times are never decreasing even if the clock is set back so that the time column stays sorted
+		lastTime = Math.max(lastTime, time);
+		
+		final ByteBuffer buffer = ByteBuffer.allocate(8);
+		columns[0].write(buffer.putLong(0, lastTime).array(), 0, 8);
+		columns[1].write(buffer.putInt(0, plugin).array(), 0, 4);
+		columns[2].write(buffer.putInt(0, exercise).array(), 0, 4);
+		columns[3].write(correct ? 1 : 0);
+		columns[4].write(buffer.putInt(0, (int)Math.max(0, Math.min(Integer.MAX_VALUE, duration))).array(), 0, 4);
+		count++;
+	}
+	
+	/**
+	 * Opens the store if it is not opened yet meaning that the dictionaries are read and that the columns are truncated to the
+	 * number of complete attempts.
+	 * 
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the store could not be opened</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	private void open() throws IOException {
+		if(opened)
+			return;
+		
+		if(!directory.exists() && !directory.mkdirs())
+			throw new IOException("Directory " + directory + " could not be created!");
+		
+		for(String line : readLines(FILE_PLUGINS)) {
+			final String[] parts = line.split("\t", -1);
+			if(parts.length != 2)
+				break;
+			
+			pluginNumbers.put(parts[0], plugins.size());
+			plugins.add(parts);
+		}
+		
+		for(String line : readLines(FILE_EXERCISES)) {
+			final String[] parts = line.split("\t", -1);
+			final int plugin;
+			final int stepID;
+			
+			try {
+				plugin = Integer.parseInt(parts[0]);
+				stepID = Integer.parseInt(parts[1]);
+			}
+			catch(NumberFormatException | ArrayIndexOutOfBoundsException e) {
+				break;
+			}
+			if(parts.length != 3 || plugin < 0 || plugin >= plugins.size())
+				break;
+			
+			exerciseNumbers.put(plugin + "\t" + stepID + "\t" + parts[2], exercises.size());
+			exercises.add(new Object[] { plugin, stepID, parts[2] });
+		}
+		
+		// the number of complete attempts is the smallest number of values of the columns
+		long rows = Integer.MAX_VALUE;
+		for(int i = 0; i < COLUMNS.length; i++)
+			rows = Math.min(rows, new File(directory, COLUMNS[i]).length() / COLUMN_SIZES[i]);
+		
+		for(int i = 0; i < COLUMNS.length; i++) {
+			final File file = new File(directory, COLUMNS[i]);
+			if(file.length() > rows * COLUMN_SIZES[i]) {
+				try(final RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+					raf.setLength(rows * COLUMN_SIZES[i]);
+				}
+			}
+		}
+		
+		count = (int)rows;
+		if(count > 0) {
+			try(final RandomAccessFile raf = new RandomAccessFile(new File(directory, FILE_TIME), "r")) {
+				raf.seek((long)(count - 1) * COLUMN_SIZES[0]);
+				lastTime = raf.readLong();
+			}
+		}
+		
+		opened = true;
+	}
+	
+	/**
+	 * Reads the complete lines of a dictionary. An incomplete last line is removed from the file.
+	 * 
+	 * @param name the name of the dictionary file
+	 * @return the lines
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the dictionary could not be read</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	private List<String> readLines(final String name) throws IOException {
+		final File file = new File(directory, name);
+		final List<String> lines = new ArrayList<String>();
+		if(!file.exists())
+			return lines;
+		
+		final byte[] data = Files.readAllBytes(file.toPath());
+		int completeLength = data.length;
+		while(completeLength > 0 && data[completeLength - 1] != '\n')
+			completeLength--;
+		
+		if(completeLength < data.length) {
+			// the last line was written incompletely
+			try(final RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+				raf.setLength(completeLength);
+			}
+		}
+		
+		int start = 0;
+		for(int i = 0; i < completeLength; i++) {
+			if(data[i] == '\n') {
+				lines.add(new String(data, start, i - start, UTF8));
+				start = i + 1;
+			}
+		}
+		
+		return lines;
+	}
+	
+	/**
+	 * Appends a line to a dictionary.
+	 * 
+	 * @param name the name of the dictionary file
+	 * @param line the line
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the line could not be written</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	private void appendLine(final String name, final String line) throws IOException {
+		try(final OutputStream out = new FileOutputStream(new File(directory, name), true)) {
+			out.write((line + "\n").getBytes(UTF8));
+		}
+	}
+	
+	/**
+	 * Closes the streams of the column files.
+	 * 
+	 * @since 1.0
+	 */
+	private void closeColumns() {
+		if(columns == null)
+			return;
+		
+		for(OutputStream out : columns) {
+			try {
+				out.close();
+			}
+			catch(IOException e) {
+			}
+		}
+		columns = null;
+	}
+	
+	/**
+	 * Finds the first attempt whose time is equal or greater than the given time using a binary search in the time column.
+	 * 
+	 * @param times the time column
+	 * @param from the time
+	 * @return the row of the attempt or the number of attempts if there is none
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the column could not be read</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	private int findFirstRow(final RandomAccessFile times, final long from) throws IOException {
+		int low = 0;
+		int high = count;
+		
+		while(low < high) {
+			final int mid = (low + high) >>> 1;
+			times.seek((long)mid * COLUMN_SIZES[0]);
+			if(times.readLong() < from)
+				low = mid + 1;
+			else
+				high = mid;
+		}
+		
+		return low;
+	}
+	
+	/**
+	 * Reads the values of a chunk of attempts from a column.
+	 * 
+	 * @param file the column file
+	 * @param buffer the buffer that is filled with the values
+	 * @param row the first row
+	 * @param n the number of rows
+	 * @param size the size of a value
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the column could not be read</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	private static void readChunk(final RandomAccessFile file, final ByteBuffer buffer, final int row, final int n, final int size) throws IOException {
+		file.seek((long)row * size);
+		file.readFully(buffer.array(), 0, n * size);
+		buffer.clear();
+		buffer.limit(n * size);
+	}
+	
+	/**
+	 * Gets the bucket of a duration histogram that counts a duration.
+	 * <br><br>
+	 * The durations below {@link #SUB_BUCKETS} have their own buckets and each power of two above is divided into {@link #SUB_BUCKETS}
+	 * buckets of equal width.
+	 * 
+	 * @param duration the duration in milliseconds
+	 * @return the bucket
+	 * @since 1.0
+	 */
+	private static int getBucket(final int duration) {
+		if(duration < SUB_BUCKETS)
+			return Math.max(0, duration);
+		
+		final int shift = (31 - Integer.numberOfLeadingZeros(duration)) - SUB_BUCKET_BITS;
+		return SUB_BUCKETS + shift * SUB_BUCKETS + ((duration >>> shift) & (SUB_BUCKETS - 1));
+	}
+	
+	/**
+	 * Gets the median of a duration histogram.
+	 * 
+	 * @param histogram the histogram
+	 * @param total the number of durations in the histogram
+	 * @return the median in milliseconds (the center of the bucket that contains the median)
+	 * @since 1.0
+	 */
+	private static long getMedian(final int[] histogram, final int total) {
+		final int target = (total + 1) / 2;
+		int sum = 0;
+		
+		for(int bucket = 0; bucket < histogram.length; bucket++) {
+			sum += histogram[bucket];
+			if(sum < target)
+				continue;
+			
+			if(bucket < SUB_BUCKETS)
+				return bucket;
+			
+			final int shift = (bucket - SUB_BUCKETS) / SUB_BUCKETS;
+			final long lower = (long)(SUB_BUCKETS + (bucket - SUB_BUCKETS) % SUB_BUCKETS) << shift;
+			return lower + ((1L << shift) >> 1);
+		}
+		
+		return 0;
+	}
+	
+	/**
+	 * Replaces the tabs and line breaks of a dictionary value.
+	 * 
+	 * @param s the value
+	 * @return the sanitized value
+	 * @since 1.0
+	 */
+	private static String sanitize(final String s) {
+		return s.replace('\t', ' ').replace('\r', ' ').replace('\n', ' ');
+	}
+	
+	/**
+	 * The statistics of the attempts of an exercise.
+	 * 
+	 * @author jdornseifer
+	 * @version 1.0
+	 * @since 1.0
+	 */
+	public static class ExerciseStatistics {
+		
+		/** the key of the plugin */
+		public final String pluginKey;
+		/** the name of the plugin */
+		public final String pluginName;
+		/** the ID of the step the exercise belongs to */
+		public final int stepID;
+		/** the text of the exercise */
+		public final String exerciseText;
+		/** the number of attempts */
+		public final int attempts;
+		/** the number of attempts that were not correct */
+		public final int failures;
+		/** the median duration of the attempts in milliseconds */
+		public final long medianDuration;
+		/** the mean duration of the attempts in milliseconds */
+		public final long meanDuration;
+		
+		/**
+		 * Creates new statistics.
+		 * 
+		 * @param pluginKey the key of the plugin
+		 * @param pluginName the name of the plugin
+		 * @param stepID the ID of the step
+		 * @param exerciseText the text of the exercise
+		 * @param attempts the number of attempts
+		 * @param failures the number of attempts that were not correct
+		 * @param medianDuration the median duration in milliseconds
+		 * @param meanDuration the mean duration in milliseconds
+		 * @since 1.0
+		 */
+		private ExerciseStatistics(final String pluginKey, final String pluginName, final int stepID, final String exerciseText, final int attempts, final int failures, final long medianDuration, final long meanDuration) {
+			this.pluginKey = pluginKey;
+			this.pluginName = pluginName;
+			this.stepID = stepID;
+			this.exerciseText = exerciseText;
+			this.attempts = attempts;
+			this.failures = failures;
+			this.medianDuration = medianDuration;
+			this.meanDuration = meanDuration;
+		}
+		
+		/**
+		 * Gets the failure rate of the exercise.
+		 * 
+		 * @return the ratio of the failed attempts to all attempts (between <code>0</code> and <code>1</code>)
+		 * @since 1.0
+		 */
+		public double getFailureRate() {
+			return (attempts > 0) ? (double)failures / attempts : 0.0;
+		}
+	
+	}
+
+}
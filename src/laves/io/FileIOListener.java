@@ -0,0 +1,55 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.io;
+
+/**
+ * Listener to receive the progress and the results of the tasks of a {@link FileIOService}.
+ * <br><br>
+ * <b>Notice</b>:<br>
+ * The listener is invoked in the event dispatch thread.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ */
+public interface FileIOListener {
+
+	/**
+	 * Indicates that a file task has made progress.
+	 * <br><br>
+	 * Only operations that report their progress (see {@link FileIOTask#setProgress(long, long)}) invoke this method.
+	 * 
+	 * @param task the task
+	 * @param current the current progress
+	 * @param total the total progress
+	 * @since 1.0
+	 */
+	public void fileTaskProgress(final FileIOTask task, final int current, final int total);
+
+	/**
+	 * Indicates that a file task is finished.
+	 * 
+	 * @param task the task
+	 * @param result the result of the task meaning {@link FileIOTask#RESULT_COMPLETED}, {@link FileIOTask#RESULT_CANCELLED} or {@link FileIOTask#RESULT_FAILED}
+	 * @since 1.0
+	 */
+	public void fileTaskFinished(final FileIOTask task, final int result);
+
+}
@@ -0,0 +1,458 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.io;
+
+import java.awt.SecondaryLoop;
+import java.awt.Toolkit;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.swing.SwingUtilities;
+
+import lavesdk.algorithm.plugin.AlgorithmPlugin;
+
+/**
+ * The file service of the host executes the open and save operations of the plugins in a background thread so that the user interface
+ * does not freeze while large files are read or written.
+ * <br><br>
+ * Only one operation is executed at a time. A save operation is atomic: the plugin writes to a temporary file in the directory of the
+ * target file and the temporary file replaces the target file only if the plugin has finished without an error and the operation was
+ * not cancelled. Therefore an interrupted or failed save never corrupts a previous version of the file.
+ * <br><br>
+ * Large files are stored in a compressed {@link ContainerFile}. When a container is opened it is decompressed into a temporary file
+ * that is passed to the plugin. Plain files (like files of older versions) are passed to the plugin directly.
+ * <br><br>
+ * <b>Notice</b>:<br>
+ * The plugins access their views from the background thread. The views of the SDK redirect such accesses to the event dispatch thread.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ */
+public class FileIOService {
+
+	/** the executor of the background thread */
+	private final ExecutorService executor;
+	/** the running task or <code>null</code> (only accessed in the event dispatch thread) */
+	private FileIOTask runningTask;
+	
+	/** the prefix of the temporary files of the operations */
+	private static final String TEMPFILE_PREFIX = ".laves-";
+	/** the minimum length of a file in bytes so that it is saved as a compressed container (smaller files remain readable by older versions) */
+	private static final long CONTAINER_THRESHOLD = 64 * 1024;
+	
+	/**
+	 * Creates a new file service.
+	 * 
+	 * @since 1.0
+	 */
+	public FileIOService() {
+		this.runningTask = null;
+		this.executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+			
+			@Override
+			public Thread newThread(Runnable r) {
+				final Thread t = new Thread(r, "LAVES File I/O");
+				// a save operation must not be aborted when the application is closed
+				t.setDaemon(false);
+				return t;
+			}
+		});
+	}
+	
+	/**
+	 * Opens a file in the background.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * This method must be invoked in the event dispatch thread.
+	 * 
+	 * @param plugin the plugin that opens the file
+	 * @param file the file
+	 * @param listener the listener that is notified about the result or <code>null</code>
+	 * @return the task
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if plugin is null</li>
+	 * 		<li>if file is null</li>
+	 * </ul>
+	 * @throws IllegalStateException
+	 * <ul>
+	 * 		<li>if the method is not invoked in the event dispatch thread</li>
+	 * 		<li>if there is a running task (see {@link #isBusy()})</li>
+	 * 		<li>if the service is shut down</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public FileIOTask open(final AlgorithmPlugin plugin, final File file, final FileIOListener listener) throws IllegalArgumentException, IllegalStateException {
+		return submit(new FileIOTask(plugin, file, false, null, listener));
+	}
+	
+	/**
+	 * Saves a file in the background.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * This method must be invoked in the event dispatch thread.
+	 * 
+	 * @param plugin the plugin that saves the file
+	 * @param file the file
+	 * @param listener the listener that is notified about the result or <code>null</code>
+	 * @return the task
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if plugin is null</li>
+	 * 		<li>if file is null</li>
+	 * </ul>
+	 * @throws IllegalStateException
+	 * <ul>
+	 * 		<li>if the method is not invoked in the event dispatch thread</li>
+	 * 		<li>if there is a running task (see {@link #isBusy()})</li>
+	 * 		<li>if the service is shut down</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public FileIOTask save(final AlgorithmPlugin plugin, final File file, final FileIOListener listener) throws IllegalArgumentException, IllegalStateException {
+		return submit(new FileIOTask(plugin, file, true, null, listener));
+	}
+	
+	/**
+	 * Executes an operation on a file in the background.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * This method must be invoked in the event dispatch thread.
+	 * 
+	 * @param plugin the plugin the operation belongs to
+	 * @param file the file
+	 * @param operation the operation
+	 * @param listener the listener that is notified about the progress and the result or <code>null</code>
+	 * @return the task
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if plugin is null</li>
+	 * 		<li>if file is null</li>
+	 * 		<li>if operation is null</li>
+	 * </ul>
+	 * @throws IllegalStateException
+	 * <ul>
+	 * 		<li>if the method is not invoked in the event dispatch thread</li>
+	 * 		<li>if there is a running task (see {@link #isBusy()})</li>
+	 * 		<li>if the service is shut down</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public FileIOTask execute(final AlgorithmPlugin plugin, final File file, final FileOperation operation, final FileIOListener listener) throws IllegalArgumentException, IllegalStateException {
+		if(operation == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		return submit(new FileIOTask(plugin, file, false, operation, listener));
+	}
+	
+	/**
+	 * Indicates whether there is a running task.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * This method must be invoked in the event dispatch thread.
+	 * 
+	 * @return <code>true</code> if an open or save operation is running otherwise <code>false</code>
+	 * @since 1.0
+	 */
+	public boolean isBusy() {
+		return runningTask != null;
+	}
+	
+	/**
+	 * Executes a job in the background thread of the service without making the service busy.
+	 * <br><br>
+	 * The jobs and the open and save operations are executed one after another so that a job never overlaps with an operation.
+	 * 
+	 * @param job the job
+	 * @return <code>true</code> if the job is scheduled or <code>false</code> if the service is shut down
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if job is null</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public boolean executeInBackground(final Runnable job) throws IllegalArgumentException {
+		if(job == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		try {
+			executor.execute(job);
+			return true;
+		}
+		catch(RejectedExecutionException e) {
+			return false;
+		}
+	}
+	
+	/**
+	 * Cancels the running task.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * This method must be invoked in the event dispatch thread.
+	 * 
+	 * @since 1.0
+	 */
+	public void cancel() {
+		if(runningTask != null)
+			runningTask.cancel();
+	}
+	
+	/**
+	 * Stops the service and waits for the running task. A running save operation is finished so that the file is complete but any other
+	 * running task is cancelled.
+	 * <br><br>
+	 * If the method is invoked in the event dispatch thread then the events are dispatched while waiting because the plugins access
+	 * their views in the event dispatch thread.
+	 * 
+	 * @param timeout the maximum time in milliseconds to wait for the running task
+	 * @return <code>true</code> if the running task is finished otherwise <code>false</code>
+	 * @since 1.0
+	 */
+	public boolean shutdown(final long timeout) {
+		final FileIOTask task = runningTask;
+		if(task != null && !task.isSave())
+			task.cancel();
+		
+		executor.shutdown();
+		
+		if(!SwingUtilities.isEventDispatchThread())
+			return awaitTermination(timeout);
+		
+		final AtomicBoolean terminated = new AtomicBoolean(false);
+		final SecondaryLoop loop = Toolkit.getDefaultToolkit().getSystemEventQueue().createSecondaryLoop();
+		final Thread waiter = new Thread(new Runnable() {
+			
+			@Override
+			public void run() {
+				terminated.set(awaitTermination(timeout));
+				loop.exit();
+			}
+		}, "LAVES File I/O Shutdown");
+		waiter.start();
+		loop.enter();
+		
+		return terminated.get();
+	}
+	
+	/**
+	 * Waits until the background thread is terminated.
+	 * 
+	 * @param timeout the maximum time in milliseconds to wait
+	 * @return <code>true</code> if the thread is terminated otherwise <code>false</code>
+	 * @since 1.0
+	 */
+	private boolean awaitTermination(final long timeout) {
+		try {
+			return executor.awaitTermination(timeout, TimeUnit.MILLISECONDS);
+		}
+		catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+	
+	/**
+	 * Submits a task.
+	 * 
+	 * @param task the task
+	 * @return the task
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if the plugin or the file of the task is null</li>
+	 * </ul>
+	 * @throws IllegalStateException
+	 * <ul>
+	 * 		<li>if the method is not invoked in the event dispatch thread</li>
+	 * 		<li>if there is a running task</li>
+	 * 		<li>if the service is shut down</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	private FileIOTask submit(final FileIOTask task) throws IllegalArgumentException, IllegalStateException {
+		if(task.getPlugin() == null || task.getFile() == null)
+			throw new IllegalArgumentException("No valid argument!");
+		if(!SwingUtilities.isEventDispatchThread())
+			throw new IllegalStateException("File operations can only be submitted in the event dispatch thread!");
+		if(runningTask != null)
+			throw new IllegalStateException("There is already a running file operation!");
+		if(executor.isShutdown())
+			throw new IllegalStateException("The file service is shut down!");
+		
+		runningTask = task;
+		executor.execute(new Runnable() {
+			
+			@Override
+			public void run() {
+				executeTask(task);
+			}
+		});
+		
+		return task;
+	}
+	
+	/**
+	 * Executes a task in the background thread and reports the result in the event dispatch thread.
+	 * 
+	 * @param task the task
+	 * @since 1.0
+	 */
+	private void executeTask(final FileIOTask task) {
+		// clear an interrupt of a previous task that was cancelled after it was finished
+		Thread.interrupted();
+		task.setWorker(Thread.currentThread());
+		
+		try {
+			if(!task.isCancelled()) {
+				if(task.getOperation() != null)
+					task.getOperation().execute(task);
+				else if(task.isSave())
+					saveAtomically(task);
+				else
+					open(task);
+			}
+		}
+		catch(Exception e) {
+			task.setException(e);
+		}
+		finally {
+			task.setWorker(null);
+		}
+		
+		final int result = task.isCancelled() ? FileIOTask.RESULT_CANCELLED : ((task.getException() != null) ? FileIOTask.RESULT_FAILED : FileIOTask.RESULT_COMPLETED);
+		SwingUtilities.invokeLater(new Runnable() {
+			
+			@Override
+			public void run() {
+				if(runningTask == task)
+					runningTask = null;
+				
+				task.fireFinished(result);
+			}
+		});
+	}
+	
+	/**
+	 * Lets the plugin open the file of the task. If the file is a container then the plugin opens the decompressed file.
+	 * 
+	 * @param task the task
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the container could not be decompressed</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	private void open(final FileIOTask task) throws IOException {
+		final File file = task.getFile();
+		
+		if(!ContainerFile.isContainer(file)) {
+			task.getPlugin().open(file);
+			return;
+		}
+		
+		final File temp = createTempFile(file, null);
+		try {
+			ContainerFile.decompress(file, temp);
+			if(!task.isCancelled())
+				task.getPlugin().open(temp);
+		}
+		finally {
+			temp.delete();
+		}
+	}
+	
+	/**
+	 * Lets the plugin save a temporary file in the directory of the target file and replaces the target file with the temporary file.
+	 * 
+	 * @param task the task
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the temporary file could not be created or moved</li>
+	 * 		<li>if the plugin did not write the temporary file</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	private void saveAtomically(final FileIOTask task) throws IOException {
+		final File target = task.getFile().getAbsoluteFile();
+		final File temp = createTempFile(target, target.getParentFile());
+		File container = null;
+		
+		try {
+			task.getPlugin().save(temp);
+			
+			if(task.isCancelled())
+				return;
+			// the plugins report errors by themselves so an empty file is the only indication of a failed save
+			if(!temp.exists() || temp.length() == 0)
+				throw new IOException("The plugin did not write the file " + target.getAbsolutePath() + "!");
+			
+			File result = temp;
+			if(temp.length() >= CONTAINER_THRESHOLD) {
+				container = createTempFile(target, target.getParentFile());
+				ContainerFile.compress(temp, container);
+				result = container;
+			}
+			
+			try {
+				Files.move(result.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			}
+			catch(AtomicMoveNotSupportedException e) {
+				Files.move(result.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		finally {
+			if(temp.exists())
+				temp.delete();
+			if(container != null && container.exists())
+				container.delete();
+		}
+	}
+	
+	/**
+	 * Creates a temporary file with the extension of the specified file.
+	 * <br><br>
+	 * The temporary file must have the extension of the file because the plugins determine the file format by the extension.
+	 * 
+	 * @param file the file
+	 * @param dir the directory of the temporary file or <code>null</code> for the default temporary directory
+	 * @return the temporary file
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the file could not be created</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	private static File createTempFile(final File file, final File dir) throws IOException {
+		final String name = file.getName();
+		final int extIndex = name.lastIndexOf('.');
+		
+		return File.createTempFile(TEMPFILE_PREFIX, (extIndex >= 0) ? name.substring(extIndex) : null, dir);
+	}
+
+}
@@ -0,0 +1,225 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.io;
+
+import java.io.File;
+
+import javax.swing.SwingUtilities;
+
+import lavesdk.algorithm.plugin.AlgorithmPlugin;
+
+/**
+ * An open or save operation of a plugin or another {@link FileOperation} that is executed by the {@link FileIOService}.
+ * <br><br>
+ * Use {@link #cancel()} to cancel a task. A cancelled save never replaces the target file. A cancelled open interrupts the worker
+ * thread but the plugin decides whether it stops reading.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ */
+public class FileIOTask {
+
+	/** the plugin that opens or saves the file */
+	private final AlgorithmPlugin plugin;
+	/** the file that is opened or saved */
+	private final File file;
+	/** flag that indicates whether the task saves the file */
+	private final boolean save;
+	/** the operation or <code>null</code> if the plugin opens or saves the file */
+	private final FileOperation operation;
+	/** the listener or <code>null</code> */
+	private final FileIOListener listener;
+	/** flag that indicates whether the task is cancelled */
+	private volatile boolean cancelled;
+	/** the thread that executes the task or <code>null</code> if the task is not running */
+	private volatile Thread worker;
+	/** the exception that occurred during the operation or <code>null</code> */
+	private volatile Exception exception;
+	/** the last progress in percent that was reported to the listener */
+	private int reportedProgress;
+	
+	/** the operation is completed */
+	public static final int RESULT_COMPLETED = 0;
+	/** the operation was cancelled */
+	public static final int RESULT_CANCELLED = 1;
+	/** the operation failed (see {@link #getException()}) */
+	public static final int RESULT_FAILED = 2;
+	
+	/**
+	 * Creates a new task.
+	 * 
+	 * @param plugin the plugin
+	 * @param file the file
+	 * @param save <code>true</code> if the file should be saved or <code>false</code> if the file should be opened
+	 * @param operation the operation or <code>null</code> if the plugin opens or saves the file
+	 * @param listener the listener or <code>null</code>
+	 * @since 1.0
+	 */
+	FileIOTask(final AlgorithmPlugin plugin, final File file, final boolean save, final FileOperation operation, final FileIOListener listener) {
+		this.plugin = plugin;
+		this.file = file;
+		this.save = save;
+		this.operation = operation;
+		this.listener = listener;
+		this.reportedProgress = -1;
+		this.cancelled = false;
+		this.worker = null;
+		this.exception = null;
+	}
+	
+	/**
+	 * Gets the plugin that opens or saves the file.
+	 * 
+	 * @return the plugin
+	 * @since 1.0
+	 */
+	public AlgorithmPlugin getPlugin() {
+		return plugin;
+	}
+	
+	/**
+	 * Gets the file that is opened or saved.
+	 * 
+	 * @return the file
+	 * @since 1.0
+	 */
+	public File getFile() {
+		return file;
+	}
+	
+	/**
+	 * Indicates whether the task saves or opens the file.
+	 * 
+	 * @return <code>true</code> if the file is saved or <code>false</code> if the file is opened
+	 * @since 1.0
+	 */
+	public boolean isSave() {
+		return save;
+	}
+	
+	/**
+	 * Gets the operation of the task.
+	 * 
+	 * @return the operation or <code>null</code> if the plugin opens or saves the file
+	 * @since 1.0
+	 */
+	public FileOperation getOperation() {
+		return operation;
+	}
+	
+	/**
+	 * Cancels the task and interrupts the thread that executes the task.
+	 * 
+	 * @since 1.0
+	 */
+	public void cancel() {
+		cancelled = true;
+		
+		final Thread t = worker;
+		if(t != null)
+			t.interrupt();
+	}
+	
+	/**
+	 * Indicates whether the task is cancelled.
+	 * 
+	 * @return <code>true</code> if the task is cancelled otherwise <code>false</code>
+	 * @since 1.0
+	 */
+	public boolean isCancelled() {
+		return cancelled;
+	}
+	
+	/**
+	 * Gets the exception that occurred during the operation.
+	 * 
+	 * @return the exception or <code>null</code> if the operation did not fail
+	 * @since 1.0
+	 */
+	public Exception getException() {
+		return exception;
+	}
+	
+	/**
+	 * Reports the progress of the operation to the listener.
+	 * <br><br>
+	 * The listener is only notified if the progress in percent has changed so that an operation can call this method frequently.
+	 * 
+	 * @param current the current progress
+	 * @param total the total progress
+	 * @since 1.0
+	 */
+	public void setProgress(final long current, final long total) {
+		if(listener == null || cancelled || total <= 0)
+			return;
+		
+		final int percent = (int)(100L * Math.min(Math.max(current, 0), total) / total);
+		synchronized(this) {
+			if(percent == reportedProgress)
+				return;
+			reportedProgress = percent;
+		}
+		
+		SwingUtilities.invokeLater(new Runnable() {
+			
+			@Override
+			public void run() {
+				if(!cancelled)
+					listener.fileTaskProgress(FileIOTask.this, percent, 100);
+			}
+		});
+	}
+	
+	/**
+	 * Sets the thread that executes the task.
+	 * 
+	 * @param worker the thread or <code>null</code> if the task is no longer running
+	 * @since 1.0
+	 */
+	void setWorker(final Thread worker) {
+		this.worker = worker;
+	}
+	
+	/**
+	 * Sets the exception that occurred during the operation.
+	 * 
+	 * @param e the exception
+	 * @since 1.0
+	 */
+	void setException(final Exception e) {
+		exception = e;
+	}
+	
+	/**
+	 * Notifies the listener that the task is finished.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * This method must be invoked in the event dispatch thread.
+	 * 
+	 * @param result the result of the task
+	 * @since 1.0
+	 */
+	void fireFinished(final int result) {
+		if(listener != null)
+			listener.fileTaskFinished(this, result);
+	}
+
+}
@@ -0,0 +1,49 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.io;
+
+/**
+ * An operation on a file that is executed by the {@link FileIOService} in its background thread (like an import).
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ */
+public interface FileOperation {
+
+	/**
+	 * Executes the operation.
+	 * <br><br>
+	 * The operation should check {@link FileIOTask#isCancelled()} regularly and can report its progress with
+	 * {@link FileIOTask#setProgress(long, long)}.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * This method is invoked in the background thread of the service.
+	 * 
+	 * @param task the task that executes the operation
+	 * @throws Exception
+	 * <ul>
+	 * 		<li>if the operation fails</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public void execute(final FileIOTask task) throws Exception;
+
+}
@@ -0,0 +1,779 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.io;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import lavesdk.algorithm.plugin.extensions.MatrixToGraphToolBarExtension;
+import lavesdk.algorithm.plugin.views.GraphView;
+import lavesdk.gui.dialogs.enums.AllowedGraphType;
+import lavesdk.math.graph.Edge;
+import lavesdk.math.graph.GraphFactory;
+import lavesdk.math.graph.SimpleGraph;
+import lavesdk.math.graph.Vertex;
+
+/**
+ * Imports a graph from a file that contains a distance or an adjacency matrix.
+ * <br><br>
+ * The file is read in chunks and the numbers are parsed directly from the characters. The cells of a row are separated by semicolons, tabs, commas or whitespaces (determined by the first line). If the cells are separated
+ * by semicolons then a comma is the decimal separator. The first row and the first column may contain the captions of the vertices.
+ * <br><br>
+ * A cell that is empty, zero or infinite (<code>inf</code>, <code>infinity</code>, <code>&#8734;</code>, <code>-</code>, <code>x</code>,
+ * <code>nan</code> or <code>na</code>) means that there is no edge like in the matrix dialog of the LAVESDK. The diagonal is ignored.
+ * <br><br>
+ * <b>Notice</b>:<br>
+ * The importer is limited to graphs with at most {@link #MAX_EDGES} edges because the graph and the graph view of the SDK check each new
+ * edge against all existing edges so that the creation and the display of larger graphs would block the application for minutes (a dense
+ * matrix has more edges than that from about 45 vertices on). The edges are counted while the file is read and the import is aborted
+ * as soon as the limit is exceeded.
+ * <br><br>
+ * The importer is a {@link FileOperation} that is executed by the {@link FileIOService}. After the operation is completed the graph can
+ * be retrieved with {@link #getGraph()} and must be handed to the graph view in the event dispatch thread.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ */
+public class MatrixImporter<V extends Vertex, E extends Edge> implements FileOperation {
+
+	/** the factory that creates the vertices and edges */
+	private final GraphFactory<V, E> factory;
+	/** the allowed type of the graph */
+	private final AllowedGraphType allowedType;
+	/** the imported graph or <code>null</code> if the import is not completed */
+	private volatile SimpleGraph<V, E> graph;
+	
+	/** the share of the progress in percent that is used to parse the file (the rest is used to create the graph) */
+	private static final int PARSE_PROGRESS = 80;
+	/** the maximum number of edges of an imported graph (the graph view of the SDK cannot display larger graphs in reasonable time) */
+	public static final int MAX_EDGES = 2000;
+	
+	/**
+	 * Creates a new importer.
+	 * 
+	 * @param factory the graph factory of the graph view the graph is imported to (see {@link GraphView#getGraphFactory()})
+	 * @param allowedType the allowed type of the graph; if both types are allowed then the graph is undirected if the matrix is symmetric
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if factory is null</li>
+	 * 		<li>if allowedType is null</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public MatrixImporter(final GraphFactory<V, E> factory, final AllowedGraphType allowedType) throws IllegalArgumentException {
+		if(factory == null || allowedType == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		this.factory = factory;
+		this.allowedType = allowedType;
+		this.graph = null;
+	}
+	
+	/**
+	 * Gets the imported graph.
+	 * 
+	 * @return the graph or <code>null</code> if the import is not completed
+	 * @since 1.0
+	 */
+	public SimpleGraph<V, E> getGraph() {
+		return graph;
+	}
+	
+	@Override
+	public void execute(FileIOTask task) throws Exception {
+		final MatrixParser parser = new MatrixParser(task, allowedType);
+		
+		if(parser.parse() && !task.isCancelled())
+			graph = createGraph(parser, task);
+	}
+	
+	/**
+	 * Gets the graph view of a matrix to graph extension meaning the view the extension creates its graphs for.
+	 * 
+	 * @param ext the extension
+	 * @return the graph view or <code>null</code> if the view could not be determined
+	 * @since 1.0
+	 */
+	public static GraphView<?, ?> getGraphView(final MatrixToGraphToolBarExtension<?, ?> ext) {
+		if(ext == null)
+			return null;
+		
+		// the extension does not provide its view so it is read by reflection
+		try {
+			final Field field = MatrixToGraphToolBarExtension.class.getDeclaredField("graphView");
+			field.setAccessible(true);
+			return (GraphView<?, ?>)field.get(ext);
+		}
+		catch(Exception e) {
+			return null;
+		}
+	}
+	
+	/**
+	 * Creates the graph of a parsed matrix.
+	 * 
+	 * @param matrix the parser of the matrix
+	 * @param task the task
+	 * @return the graph or <code>null</code> if the task was cancelled
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the graph would have more than {@link #MAX_EDGES} edges</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	private SimpleGraph<V, E> createGraph(final MatrixParser matrix, final FileIOTask task) throws IOException {
+		final int order = matrix.order;
+		final List<String> captions = matrix.getCaptions();
+		final boolean directed;
+		
+		switch(allowedType) {
+			case DIRECTED_ONLY:
+				directed = true;
+				break;
+			case UNDIRECTED_ONLY:
+				directed = false;
+				break;
+			default:
+				directed = !matrix.isSymmetric();
+		}
+		
+		// the parser only knows the direction if the type is given so a nonsymmetric matrix is checked again
+		if((directed ? matrix.directedEdges : matrix.undirectedEdges) > MAX_EDGES)
+			throw createTooManyEdgesException();
+		
+		final SimpleGraph<V, E> g = new SimpleGraph<V, E>(directed);
+		for(int i = 0; i < order; i++)
+			g.add(factory.createVertex((captions != null) ? captions.get(i) : "" + (i + 1)));
+		
+		for(int i = 0; i < order; i++) {
+			if(task.isCancelled())
+				return null;
+			
+			for(int k = matrix.rowStart[i]; k < matrix.rowStart[i + 1]; k++)
+				if(createsEdge(matrix, directed, i, matrix.columns[k], matrix.weights[k]))
+					g.add(factory.createEdge(g.getVertex(i), g.getVertex(matrix.columns[k]), matrix.weights[k]));
+			
+			task.setProgress(PARSE_PROGRESS * (long)order + (100 - PARSE_PROGRESS) * (long)(i + 1), 100L * order);
+		}
+		
+		return g;
+	}
+	
+	/**
+	 * Indicates whether an entry of a matrix creates an edge.
+	 * <br><br>
+	 * An undirected edge is created from the upper triangle or from the lower triangle if the upper cell has no entry.
+	 * 
+	 * @param matrix the parser of the matrix
+	 * @param directed <code>true</code> if the graph is directed otherwise <code>false</code>
+	 * @param i the row of the entry
+	 * @param j the column of the entry
+	 * @param weight the weight of the entry
+	 * @return <code>true</code> if the entry creates an edge otherwise <code>false</code>
+	 * @since 1.0
+	 */
+	private static boolean createsEdge(final MatrixParser matrix, final boolean directed, final int i, final int j, final float weight) {
+		return i != j && isEdge(weight) && (directed || j > i || !isEdge(matrix.get(j, i)));
+	}
+	
+	/**
+	 * Creates the exception of a matrix that exceeds {@link #MAX_EDGES}.
+	 * 
+	 * @return the exception
+	 * @since 1.0
+	 */
+	private static IOException createTooManyEdgesException() {
+		return new IOException("The matrix has more than " + MAX_EDGES + " edges, larger graphs cannot be displayed!");
+	}
+	
+	/**
+	 * Indicates whether a weight means an edge.
+	 * 
+	 * @param weight the weight
+	 * @return <code>true</code> if the weight is finite and not zero otherwise <code>false</code>
+	 * @since 1.0
+	 */
+	private static boolean isEdge(final float weight) {
+		return weight != 0.0f && !Float.isNaN(weight) && !Float.isInfinite(weight);
+	}
+	
+	/**
+	 * The parser of a matrix file that provides the parsed matrix afterwards.
+	 * <br><br>
+	 * The matrix stores only the cells that have an entry (the columns and the weights of the entries of each row).
+	 * 
+	 * @author jdornseifer
+	 * @version 1.0
+	 * @since 1.0
+	 */
+	private static class MatrixParser {
+		
+		/** the task */
+		private final FileIOTask task;
+		/** the allowed type of the graph */
+		private final AllowedGraphType allowedType;
+		/** the separator of the cells or <code>0</code> if the cells are separated by whitespaces */
+		private char separator;
+		/** the decimal separator */
+		private char decimalSeparator;
+		/** the current line (for error messages) */
+		private int line;
+		
+		// the current cell
+		/** the characters of the current cell (reused for all cells) */
+		private final StringBuilder cell;
+		/** flag that indicates whether the current cell is quoted */
+		private boolean quoted;
+		/** flag that indicates whether there are whitespaces after the last character of the current cell */
+		private boolean pendingSpace;
+		/** flag that indicates whether the characters of the current cell are a valid number so far */
+		private boolean numeric;
+		/** flag that indicates whether the number is negative */
+		private boolean negative;
+		/** the significant digits of the number */
+		private long mantissa;
+		/** the number of significant digits */
+		private int mantissaDigits;
+		/** the power of ten of the mantissa */
+		private int scale;
+		/** flag that indicates whether the number has digits */
+		private boolean hasDigits;
+		/** flag that indicates whether the fraction of the number is read */
+		private boolean inFraction;
+		/** flag that indicates whether the exponent of the number is read */
+		private boolean inExponent;
+		/** flag that indicates whether the exponent has digits */
+		private boolean hasExponentDigits;
+		/** flag that indicates whether the exponent is negative */
+		private boolean negativeExponent;
+		/** the exponent */
+		private int exponent;
+		
+		// the current row
+		/** the values of the cells of the current row ({@link Float#NaN} for cells without an entry or with a caption) */
+		private float[] rowValues;
+		/** the number of cells of the current row */
+		private int rowCells;
+		/** the number of cells of the current row up to the last cell that is not empty */
+		private int rowUsedCells;
+		/** the captions of the current row or <code>null</code> if the row has no captions */
+		private List<String> rowCaptions;
+		/** flag that indicates whether the first cell of the current row is a caption */
+		private boolean rowStartsWithCaption;
+		/** the column of the first caption of the current row that is not in the first column or <code>-1</code> */
+		private int rowMisplacedCaption;
+		
+		// the matrix
+		/** the captions of the header row or <code>null</code> */
+		private List<String> header;
+		/** the captions of the first column */
+		private final List<String> rowLabels;
+		/** the number of rows and columns or <code>-1</code> if the first row is not read yet */
+		private int order;
+		/** the number of rows that are read */
+		private int rows;
+		/** the index of the first entry of each row (the entries of row i end at rowStart[i + 1]) */
+		private int[] rowStart;
+		/** the columns of the entries in ascending order per row */
+		private int[] columns;
+		/** the weights of the entries */
+		private float[] weights;
+		/** the number of entries */
+		private int entryCount;
+		/** the number of edges of the rows that are read if the graph is directed */
+		private int directedEdges;
+		/** the number of edges of the rows that are read if the graph is undirected */
+		private int undirectedEdges;
+		
+		/** the size of the chunks in characters in which the file is read */
+		private static final int CHUNK_SIZE = 64 * 1024;
+		/** the powers of ten that can be represented exactly */
+		private static final double[] POW10 = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+		/** the cells that mean that there is no entry (in lower case) */
+		private static final String[] NO_ENTRY = { "-", "x", "inf", "+inf", "infinity", "+infinity", "\u221E", "nan", "na" };
+		
+		/**
+		 * Creates a new parser.
+		 * 
+		 * @param task the task of the import
+		 * @param allowedType the allowed type of the graph
+		 * @since 1.0
+		 */
+		public MatrixParser(final FileIOTask task, final AllowedGraphType allowedType) {
+			this.task = task;
+			this.allowedType = allowedType;
+			this.cell = new StringBuilder();
+			this.rowValues = new float[256];
+			this.rowLabels = new ArrayList<String>();
+			this.header = null;
+			this.order = -1;
+			this.rows = 0;
+			this.line = 1;
+			this.rowStart = new int[257];
+			this.columns = new int[1024];
+			this.weights = new float[1024];
+			this.entryCount = 0;
+			this.directedEdges = 0;
+			this.undirectedEdges = 0;
+			resetCell();
+			resetRow();
+		}
+		
+		/**
+		 * Parses the file of the task.
+		 * 
+		 * @return <code>true</code> if the matrix is parsed or <code>false</code> if the task was cancelled
+		 * @throws IOException
+		 * <ul>
+		 * 		<li>if the file could not be read</li>
+		 * 		<li>if the file does not contain a valid square matrix</li>
+		 * 		<li>if the graph of the matrix would have more than {@link MatrixImporter#MAX_EDGES} edges</li>
+		 * </ul>
+		 * @since 1.0
+		 */
+		public boolean parse() throws IOException {
+			final File file = task.getFile();
+			final long length = Math.max(file.length(), 1);
+			final char[] buffer = new char[CHUNK_SIZE];
+			long read = 0;
+			boolean first = true;
+			
+			try(final Reader in = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+				int n;
+				while((n = in.read(buffer)) >= 0) {
+					if(task.isCancelled())
+						return false;
+					
+					int offset = 0;
+					if(first) {
+						// skip the byte order mark
+						if(n > 0 && buffer[0] == '\uFEFF')
+							offset = 1;
+						detectSeparators(buffer, offset, n);
+						first = false;
+					}
+					
+					for(int i = offset; i < n; i++)
+						process(buffer[i]);
+					
+					// the characters of a file with only a few non-ASCII characters roughly correspond to its bytes
+					read += n;
+					task.setProgress(PARSE_PROGRESS * Math.min(read, length), 100L * length);
+				}
+			}
+			
+			// the last line might not end with a line break
+			process('\n');
+			
+			if(order <= 0)
+				throw new IOException("The file does not contain a matrix!");
+			if(rows != order)
+				throw new IOException("The matrix is not square (" + rows + " rows but " + order + " columns)!");
+			
+			return true;
+		}
+		
+		/**
+		 * Gets the weight of a cell of the matrix.
+		 * 
+		 * @param row the row (the row must be read already)
+		 * @param column the column
+		 * @return the weight or {@link Float#NaN} if the cell has no entry
+		 * @since 1.0
+		 */
+		public float get(final int row, final int column) {
+			final int k = Arrays.binarySearch(columns, rowStart[row], rowStart[row + 1], column);
+			return (k >= 0) ? weights[k] : Float.NaN;
+		}
+		
+		/**
+		 * Indicates whether the matrix is symmetric meaning that each entry has an entry with the same weight in the transposed cell.
+		 * 
+		 * @return <code>true</code> if the matrix is symmetric otherwise <code>false</code>
+		 * @since 1.0
+		 */
+		public boolean isSymmetric() {
+			for(int i = 0; i < order; i++)
+				for(int k = rowStart[i]; k < rowStart[i + 1]; k++)
+					if(get(columns[k], i) != weights[k])
+						return false;
+			
+			return true;
+		}
+		
+		/**
+		 * Gets the captions of the vertices.
+		 * 
+		 * @return the captions of the header row or of the first column or <code>null</code> if there are no unique captions for each vertex
+		 * @since 1.0
+		 */
+		public List<String> getCaptions() {
+			if(header != null && isValidCaptions(header))
+				return header;
+			else if(isValidCaptions(rowLabels))
+				return rowLabels;
+			else
+				return null;
+		}
+		
+		/**
+		 * Indicates whether the specified list contains unique captions for each vertex.
+		 * 
+		 * @param captions the captions
+		 * @return <code>true</code> if the captions are valid otherwise <code>false</code>
+		 * @since 1.0
+		 */
+		private boolean isValidCaptions(final List<String> captions) {
+			if(captions.size() != order)
+				return false;
+			
+			final Set<String> unique = new HashSet<String>(captions);
+			return unique.size() == order && !unique.contains("");
+		}
+		
+		/**
+		 * Determines the separators of the cells based on the first line.
+		 * 
+		 * @param buffer the first chunk of the file
+		 * @param offset the offset of the first character
+		 * @param n the number of characters in the chunk
+		 * @since 1.0
+		 */
+		private void detectSeparators(final char[] buffer, final int offset, final int n) {
+			boolean semicolon = false;
+			boolean tab = false;
+			boolean comma = false;
+			boolean content = false;
+			
+			for(int i = offset; i < n; i++) {
+				final char c = buffer[i];
+				if(c == '\n' && content)
+					break;
+				else if(c == ';')
+					semicolon = true;
+				else if(c == '\t')
+					tab = true;
+				else if(c == ',')
+					comma = true;
+				
+				content |= !Character.isWhitespace(c);
+			}
+			
+			separator = semicolon ? ';' : (tab ? '\t' : (comma ? ',' : 0));
+			decimalSeparator = semicolon ? ',' : '.';
+		}
+		
+		/**
+		 * Processes the next character of the file.
+		 * 
+		 * @param c the character
+		 * @throws IOException
+		 * <ul>
+		 * 		<li>if a row is invalid</li>
+		 * </ul>
+		 * @since 1.0
+		 */
+		private void process(final char c) throws IOException {
+			if(c == '"') {
+				quoted = !quoted;
+				return;
+			}
+			
+			if(!quoted) {
+				if(c == '\n') {
+					if(cell.length() > 0 || separator != 0)
+						endCell();
+					endRow();
+					line++;
+					return;
+				}
+				else if(c == '\r')
+					return;
+				else if(c == separator) {
+					endCell();
+					return;
+				}
+				else if(c == ' ' || c == '\t') {
+					// whitespaces separate the cells if there is no other separator otherwise they are ignored at the beginning and the end of a cell
+					if(separator == 0) {
+						if(cell.length() > 0)
+							endCell();
+					}
+					else if(cell.length() > 0)
+						pendingSpace = true;
+					return;
+				}
+			}
+			
+			if(pendingSpace) {
+				cell.append(' ');
+				numeric = false;
+				pendingSpace = false;
+			}
+			cell.append(c);
+			
+			if(numeric)
+				parseNumberChar(c);
+		}
+		
+		/**
+		 * Parses the next character of a number.
+		 * 
+		 * @param c the character
+		 * @since 1.0
+		 */
+		private void parseNumberChar(final char c) {
+			if(c >= '0' && c <= '9') {
+				final int digit = c - '0';
+				
+				if(inExponent) {
+					exponent = Math.min(exponent * 10 + digit, 10000);
+					hasExponentDigits = true;
+				}
+				else {
+					hasDigits = true;
+					if(mantissaDigits < 18) {
+						mantissa = mantissa * 10 + digit;
+						if(mantissa > 0)
+							mantissaDigits++;
+						if(inFraction)
+							scale--;
+					}
+					else if(!inFraction)
+						scale++;
+				}
+			}
+			else if(c == decimalSeparator && !inFraction && !inExponent)
+				inFraction = true;
+			else if((c == 'e' || c == 'E') && hasDigits && !inExponent)
+				inExponent = true;
+			else if((c == '-' || c == '+') && cell.length() == 1)
+				negative = (c == '-');
+			else if((c == '-' || c == '+') && inExponent && !hasExponentDigits && cell.charAt(cell.length() - 2) != c)
+				negativeExponent = (c == '-');
+			else
+				numeric = false;
+		}
+		
+		/**
+		 * Ends the current cell and adds it to the current row.
+		 * 
+		 * @throws IOException
+		 * <ul>
+		 * 		<li>if the row has too many cells</li>
+		 * </ul>
+		 * @since 1.0
+		 */
+		private void endCell() throws IOException {
+			float value = Float.NaN;
+			
+			if(numeric && hasDigits && (!inExponent || hasExponentDigits)) {
+				final int e = scale + (negativeExponent ? -exponent : exponent);
+				double v = mantissa;
+				if(e >= 0 && e < POW10.length)
+					v *= POW10[e];
+				else if(e < 0 && -e < POW10.length)
+					v /= POW10[-e];
+				else
+					v *= Math.pow(10, e);
+				value = (float)(negative ? -v : v);
+			}
+			else if(cell.length() > 0 && !isNoEntry()) {
+				// the cell is a caption
+				if(rowCaptions == null)
+					rowCaptions = new ArrayList<String>();
+				rowCaptions.add(cell.toString());
+				if(rowCells == 0)
+					rowStartsWithCaption = true;
+				else if(rowMisplacedCaption < 0)
+					rowMisplacedCaption = rowCells;
+			}
+			
+			if(rowCells == rowValues.length)
+				rowValues = Arrays.copyOf(rowValues, rowValues.length * 2);
+			rowValues[rowCells++] = value;
+			if(cell.length() > 0)
+				rowUsedCells = rowCells;
+			
+			resetCell();
+		}
+		
+		/**
+		 * Ends the current row and adds its entries to the matrix.
+		 * 
+		 * @throws IOException
+		 * <ul>
+		 * 		<li>if the row is invalid</li>
+		 * </ul>
+		 * @since 1.0
+		 */
+		private void endRow() throws IOException {
+			// empty lines are ignored
+			if(rowUsedCells == 0) {
+				resetRow();
+				return;
+			}
+			
+			// a first row that consists of captions only (except of the top left cell) is the header
+			if(rows == 0 && header == null && rowCaptions != null && rowCaptions.size() >= rowUsedCells - 1 && rowCaptions.size() > 1) {
+				header = rowCaptions;
+				resetRow();
+				return;
+			}
+			
+			if(rowMisplacedCaption >= 0)
+				throw new IOException("The cell " + (rowMisplacedCaption + 1) + " in line " + line + " is not a number!");
+			
+			final int first = rowStartsWithCaption ? 1 : 0;
+			final int count = rowUsedCells - first;
+			if(order < 0) {
+				order = count;
+				rowStart = new int[order + 1];
+				// the header may have a caption for the first column
+				if(header != null && header.size() == order + 1)
+					header.remove(0);
+			}
+			if(count != order)
+				throw new IOException("The row in line " + line + " has " + count + " cells but " + order + " cells are expected!");
+			if(rows == order)
+				throw new IOException("The matrix is not square (line " + line + " exceeds " + order + " rows)!");
+			
+			if(rowStartsWithCaption)
+				rowLabels.add(rowCaptions.get(0));
+			
+			for(int j = 0; j < order; j++) {
+				final float value = rowValues[first + j];
+				if(Float.isNaN(value))
+					continue;
+				
+				if(entryCount == columns.length) {
+					final int capacity = (int)Math.min((long)columns.length * 2, Integer.MAX_VALUE - 8);
+					columns = Arrays.copyOf(columns, capacity);
+					weights = Arrays.copyOf(weights, capacity);
+				}
+				columns[entryCount] = j;
+				weights[entryCount] = value;
+				entryCount++;
+			}
+			
+			rows++;
+			rowStart[rows] = entryCount;
+			countEdges(rows - 1);
+			resetRow();
+		}
+		
+		/**
+		 * Counts the edges of a row that is read and aborts the import if the graph would have too many edges.
+		 * <br><br>
+		 * An undirected graph has less or equal edges than a directed one so the import is aborted based on the undirected edges if the
+		 * direction depends on the symmetry of the matrix.
+		 * 
+		 * @param i the row
+		 * @throws IOException
+		 * <ul>
+		 * 		<li>if the graph would have more than {@link MatrixImporter#MAX_EDGES} edges</li>
+		 * </ul>
+		 * @since 1.0
+		 */
+		private void countEdges(final int i) throws IOException {
+			for(int k = rowStart[i]; k < rowStart[i + 1]; k++) {
+				final int j = columns[k];
+				if(i == j || !isEdge(weights[k]))
+					continue;
+				
+				directedEdges++;
+				// the transposed cell of the lower triangle is read already
+				if(j > i || !isEdge(get(j, i)))
+					undirectedEdges++;
+			}
+			
+			if((allowedType == AllowedGraphType.DIRECTED_ONLY ? directedEdges : undirectedEdges) > MAX_EDGES)
+				throw createTooManyEdgesException();
+		}
+		
+		/**
+		 * Indicates whether the current cell means that there is no entry.
+		 * 
+		 * @return <code>true</code> if there is no entry otherwise <code>false</code>
+		 * @since 1.0
+		 */
+		private boolean isNoEntry() {
+			for(String s : NO_ENTRY) {
+				if(s.length() != cell.length())
+					continue;
+				
+				int i = 0;
+				while(i < s.length() && Character.toLowerCase(cell.charAt(i)) == s.charAt(i))
+					i++;
+				if(i == s.length())
+					return true;
+			}
+			
+			return false;
+		}
+		
+		/**
+		 * Resets the state of the current cell.
+		 * 
+		 * @since 1.0
+		 */
+		private void resetCell() {
+			cell.setLength(0);
+			pendingSpace = false;
+			numeric = true;
+			negative = false;
+			mantissa = 0;
+			mantissaDigits = 0;
+			scale = 0;
+			hasDigits = false;
+			inFraction = false;
+			inExponent = false;
+			hasExponentDigits = false;
+			negativeExponent = false;
+			exponent = 0;
+		}
+		
+		/**
+		 * Resets the state of the current row.
+		 * 
+		 * @since 1.0
+		 */
+		private void resetRow() {
+			rowCells = 0;
+			rowUsedCells = 0;
+			rowCaptions = null;
+			rowStartsWithCaption = false;
+			rowMisplacedCaption = -1;
+		}
+	
+	}
+
+}
@@ -0,0 +1,156 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.layout;
+
+/**
+ * Arranges the vertices of a bipartite graph in two columns, one column for each subset of the vertices.
+ * <br><br>
+ * The layout corresponds to the <code>BipartiteGraphLayout</code> of the SDK but the subsets are determined with a breadth-first search
+ * on the snapshot of the graph. If the graph is not bipartite then the layout is not applicable.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ */
+public class BipartiteLayout extends LayoutAlgorithm {
+
+	/** flag that indicates whether vertices without incident edges are added to the first subset */
+	private final boolean nonIncidentVerticesToSubset1;
+	
+	/**
+	 * Creates a new bipartite layout.
+	 * 
+	 * @param nonIncidentVerticesToSubset1 <code>true</code> if vertices without incident edges should be added to the first subset otherwise <code>false</code>
+	 * @since 1.0
+	 */
+	public BipartiteLayout(final boolean nonIncidentVerticesToSubset1) {
+		this.nonIncidentVerticesToSubset1 = nonIncidentVerticesToSubset1;
+	}
+	
+	@Override
+	public boolean layout(LayoutSnapshot snapshot, int[] x, int[] y, LayoutTask task) {
+		final int order = snapshot.getOrder();
+		final int[] subsets = computeSubsets(snapshot, task);
+		
+		if(subsets == null)
+			return false;
+		
+		int size1 = 0;
+		for(int i = 0; i < order; i++)
+			if(subsets[i] == 0)
+				size1++;
+		final int size2 = order - size1;
+		
+		final int zoom = snapshot.getZoom();
+		final int maxSize = Math.max(size1, size2);
+		final int vertexPadding = (int)(((order > 5) ? 25 + 5 * (maxSize / 5) : 25) / 100.0f * zoom);
+		final int subsetPadding = (int)(1.5f * zoom);
+		final int offsetLeft = (int)(0.5f * zoom);
+		final int offsetTop = (int)(0.3f * zoom);
+		final int maxRadius = snapshot.getMaxVertexRadius();
+		final int diameter = 2 * maxRadius;
+		final int yCenter = offsetTop + ((size1 >= size2) ? getSubsetCenter(size1, diameter, vertexPadding) : getSubsetCenter(size2, diameter, vertexPadding));
+		
+		// the subsets are arranged from left to right and the vertices of a subset are centered vertically
+		final int[] xSubset = new int[] { offsetLeft + maxRadius, offsetLeft + maxRadius + diameter + subsetPadding };
+		final int[] ySubset = new int[] { yCenter - getSubsetCenter(size1, diameter, vertexPadding) + maxRadius, yCenter - getSubsetCenter(size2, diameter, vertexPadding) + maxRadius };
+		
+		for(int i = 0; i < order; i++) {
+			final int subset = subsets[i];
+			x[i] = xSubset[subset];
+			y[i] = ySubset[subset];
+			ySubset[subset] += diameter + vertexPadding;
+		}
+		task.setProgress(order, order);
+		
+		return true;
+	}
+	
+	/**
+	 * Computes the subsets of the vertices using a breadth-first search that colors the vertices alternately.
+	 * 
+	 * @param snapshot the snapshot of the graph
+	 * @param task the task that executes the algorithm
+	 * @return the subset (<code>0</code> or <code>1</code>) of each vertex or <code>null</code> if the graph is not bipartite or the task is cancelled
+	 * @since 1.0
+	 */
+	private int[] computeSubsets(final LayoutSnapshot snapshot, final LayoutTask task) {
+		final int order = snapshot.getOrder();
+		final int[][] adjacency = snapshot.createAdjacency();
+		final int[] offsets = adjacency[0];
+		final int[] neighbors = adjacency[1];
+		final int[] subsets = new int[order];
+		final int[] queue = new int[order];
+		
+		for(int i = 0; i < order; i++)
+			subsets[i] = -1;
+		
+		task.setProgress(0, order);
+		for(int start = 0; start < order; start++) {
+			if(subsets[start] >= 0)
+				continue;
+			
+			if(offsets[start] == offsets[start + 1]) {
+				subsets[start] = nonIncidentVerticesToSubset1 ? 0 : 1;
+				continue;
+			}
+			
+			int head = 0;
+			int tail = 0;
+			subsets[start] = 0;
+			queue[tail++] = start;
+			
+			while(head < tail) {
+				final int v = queue[head++];
+				
+				for(int j = offsets[v]; j < offsets[v + 1]; j++) {
+					final int u = neighbors[j];
+					
+					if(subsets[u] < 0) {
+						subsets[u] = 1 - subsets[v];
+						queue[tail++] = u;
+					}
+					else if(subsets[u] == subsets[v])
+						return null;
+				}
+			}
+			
+			if(task.isCancelled())
+				return null;
+			task.setProgress(start, order);
+		}
+		
+		return subsets;
+	}
+	
+	/**
+	 * Gets the distance between the first vertex of a subset and the center of the subset.
+	 * 
+	 * @param size the size of the subset
+	 * @param diameter the diameter of a vertex
+	 * @param vertexPadding the padding between two vertices
+	 * @return the distance to the center
+	 * @since 1.0
+	 */
+	private static int getSubsetCenter(final int size, final int diameter, final int vertexPadding) {
+		return (size * diameter + (size - 1) * vertexPadding) / 2;
+	}
+
+}
@@ -0,0 +1,71 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.layout;
+
+/**
+ * Arranges the vertices of a graph on a circle.
+ * <br><br>
+ * The layout corresponds to the circle layout of the graph view (see <code>GraphView.createCircleGraphLayout()</code>) so that
+ * the result is the same as with the circle layout extension of the toolbar.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ */
+public class CircleLayout extends LayoutAlgorithm {
+
+	@Override
+	public boolean layout(LayoutSnapshot snapshot, int[] x, int[] y, LayoutTask task) {
+		final int order = snapshot.getOrder();
+		final int zoom = snapshot.getZoom();
+		final int vertexRadius = snapshot.getVertexRadius();
+		
+		if(order == 0)
+			return true;
+		
+		final int offsetLeft = (int)(0.5f * zoom);
+		final int offsetTop = (int)(0.2f * zoom);
+		int radius = (int)(((order > 2) ? 60 * (order / 2) : 60) / 100.0f * zoom);
+		final double step = Math.toRadians(360.0 / order);
+		final int minDistance = 2 * vertexRadius + 5;
+		
+		// enlarge the circle if the vertices would overlap
+		if(Math.sqrt(2 * radius * radius * (1 - Math.cos(step))) < minDistance)
+			radius = (int)(minDistance / Math.sqrt(2.0 - 2.0 * Math.cos(step)));
+		
+		final int xCenter = offsetLeft + 2 * vertexRadius + radius;
+		final int yCenter = offsetTop + 2 * vertexRadius + radius;
+		double angle = 0.0;
+		
+		task.setProgress(0, order);
+		for(int i = 0; i < order; i++) {
+			x[i] = xCenter - (int)(Math.cos(angle) * radius);
+			y[i] = yCenter - (int)(Math.sin(angle) * radius);
+			angle += step;
+			
+			if(task.isCancelled())
+				return false;
+		}
+		task.setProgress(order, order);
+		
+		return true;
+	}
+
+}
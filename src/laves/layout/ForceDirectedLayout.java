@@ -0,0 +1,258 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.layout;
+
+import java.util.Random;
+
+/**
+ * A force-directed layout (based on the algorithm of Fruchterman and Reingold) that scales to large graphs.
+ * <br><br>
+ * Adjacent vertices attract each other and all vertices repel each other. The repulsive forces are only computed between vertices
+ * that are close to each other. Therefore the vertices are sorted into the cells of a uniform grid (spatial hashing) in each iteration
+ * and a vertex is only compared with the vertices in its own and the neighboring cells. One iteration needs <code>O(n + m)</code>
+ * time for evenly distributed vertices instead of <code>O(n^2)</code>.
+ * <br><br>
+ * The layout starts with the current positions of the vertices (scaled to the area the graph needs) so that it can be used to refine an
+ * existing layout.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ */
+public class ForceDirectedLayout extends LayoutAlgorithm {
+
+	/** the number of iterations */
+	private final int iterations;
+	
+	/** the default number of iterations */
+	public static final int DEF_ITERATIONS = 100;
+	/** the minimum ideal distance between two adjacent vertices (in pixels) */
+	private static final double MIN_DISTANCE = 20.0;
+	/** the seed that is used to separate vertices with identical positions */
+	private static final long SEED = 1;
+	
+	/**
+	 * Creates a new force-directed layout with {@link #DEF_ITERATIONS} iterations.
+	 * 
+	 * @since 1.0
+	 */
+	public ForceDirectedLayout() {
+		this(DEF_ITERATIONS);
+	}
+	
+	/**
+	 * Creates a new force-directed layout.
+	 * 
+	 * @param iterations the number of iterations
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if iterations is <code>< 1</code></li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public ForceDirectedLayout(final int iterations) throws IllegalArgumentException {
+		if(iterations < 1)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		this.iterations = iterations;
+	}
+	
+	@Override
+	public boolean layout(LayoutSnapshot snapshot, int[] x, int[] y, LayoutTask task) {
+		final int order = snapshot.getOrder();
+		final int edges = snapshot.getEdgeCount();
+		
+		if(order == 0)
+			return true;
+		
+		// the ideal distance between two adjacent vertices
+		final double k = Math.max(4.0 * snapshot.getMaxVertexRadius(), MIN_DISTANCE);
+		final double[] px = new double[order];
+		final double[] py = new double[order];
+		final double[] dx = new double[order];
+		final double[] dy = new double[order];
+		final int[] cellOf = new int[order];
+		final int[] sorted = new int[order];
+		final Random random = new Random(SEED);
+		
+		// the area the vertices need if they are evenly distributed with the ideal distance
+		final double side = Math.sqrt(order) * k;
+		
+		// start with the current positions scaled to the needed area and separate vertices that are placed on top of each other
+		int minX = Integer.MAX_VALUE;
+		int minY = Integer.MAX_VALUE;
+		int maxX = Integer.MIN_VALUE;
+		int maxY = Integer.MIN_VALUE;
+		for(int i = 0; i < order; i++) {
+			minX = Math.min(minX, x[i]);
+			minY = Math.min(minY, y[i]);
+			maxX = Math.max(maxX, x[i]);
+			maxY = Math.max(maxY, y[i]);
+		}
+		final double scale = side / Math.max(Math.max(maxX - minX, maxY - minY), 1);
+		for(int i = 0; i < order; i++) {
+			px[i] = (x[i] - minX) * scale + random.nextDouble() * k;
+			py[i] = (y[i] - minY) * scale + random.nextDouble() * k;
+		}
+		
+		double temperature = side / 10.0;
+		final double cooling = temperature / iterations;
+		
+		task.setProgress(0, iterations);
+		for(int iteration = 0; iteration < iterations; iteration++) {
+			for(int i = 0; i < order; i++) {
+				dx[i] = 0.0;
+				dy[i] = 0.0;
+			}
+			
+			applyRepulsiveForces(px, py, dx, dy, cellOf, sorted, k);
+			
+			// attractive forces between adjacent vertices
+			for(int i = 0; i < edges; i++) {
+				final int v = snapshot.getEdgeSource(i);
+				final int u = snapshot.getEdgeTarget(i);
+				final double deltaX = px[v] - px[u];
+				final double deltaY = py[v] - py[u];
+				final double distance = Math.max(Math.sqrt(deltaX * deltaX + deltaY * deltaY), 0.01);
+				final double force = distance / k;
+				
+				dx[v] -= deltaX * force;
+				dy[v] -= deltaY * force;
+				dx[u] += deltaX * force;
+				dy[u] += deltaY * force;
+			}
+			
+			// move the vertices but not further than the current temperature
+			for(int i = 0; i < order; i++) {
+				final double length = Math.sqrt(dx[i] * dx[i] + dy[i] * dy[i]);
+				
+				if(length > 0.0) {
+					final double limit = Math.min(length, temperature) / length;
+					px[i] += dx[i] * limit;
+					py[i] += dy[i] * limit;
+				}
+			}
+			
+			temperature = Math.max(temperature - cooling, 1.0);
+			
+			if(task.isCancelled())
+				return false;
+			task.setProgress(iteration + 1, iterations);
+		}
+		
+		// move the layout to the upper left corner of the view
+		double left = Double.MAX_VALUE;
+		double top = Double.MAX_VALUE;
+		for(int i = 0; i < order; i++) {
+			left = Math.min(left, px[i]);
+			top = Math.min(top, py[i]);
+		}
+		
+		final int offset = (int)(0.5f * snapshot.getZoom()) + 2 * snapshot.getMaxVertexRadius();
+		for(int i = 0; i < order; i++) {
+			x[i] = offset + (int)Math.round(px[i] - left);
+			y[i] = offset + (int)Math.round(py[i] - top);
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Adds the repulsive forces between the vertices to the displacements of the vertices.
+	 * <br><br>
+	 * The vertices are sorted into a uniform grid whose cells have at least the size of the cutoff distance <code>2 * k</code> so that
+	 * a vertex only has to be compared with the vertices of the surrounding <code>3 x 3</code> cells. If the vertices are spread over
+	 * a large area then the cells are enlarged so that the grid never has more cells than vertices.
+	 * 
+	 * @param px the x coordinates of the vertices
+	 * @param py the y coordinates of the vertices
+	 * @param dx the displacements of the vertices in x direction
+	 * @param dy the displacements of the vertices in y direction
+	 * @param cellOf the array that stores the cell of each vertex
+	 * @param sorted the array that stores the vertices sorted by cells
+	 * @param k the ideal distance between two adjacent vertices
+	 * @since 1.0
+	 */
+	private static void applyRepulsiveForces(final double[] px, final double[] py, final double[] dx, final double[] dy, final int[] cellOf, final int[] sorted, final double k) {
+		final int order = px.length;
+		double minX = Double.MAX_VALUE;
+		double minY = Double.MAX_VALUE;
+		double maxX = -Double.MAX_VALUE;
+		double maxY = -Double.MAX_VALUE;
+		
+		for(int i = 0; i < order; i++) {
+			minX = Math.min(minX, px[i]);
+			minY = Math.min(minY, py[i]);
+			maxX = Math.max(maxX, px[i]);
+			maxY = Math.max(maxY, py[i]);
+		}
+		
+		final double cellSize = Math.max(2.0 * k, Math.sqrt((maxX - minX + 1.0) * (maxY - minY + 1.0) / order));
+		final double cutoff = cellSize * cellSize;
+		final double k2 = k * k;
+		final int columns = (int)((maxX - minX) / cellSize) + 1;
+		final int rows = (int)((maxY - minY) / cellSize) + 1;
+		final int[] cellStart = new int[columns * rows + 1];
+		
+		// sort the vertices by their cells (counting sort)
+		for(int i = 0; i < order; i++) {
+			final int column = (int)((px[i] - minX) / cellSize);
+			final int row = (int)((py[i] - minY) / cellSize);
+			cellOf[i] = row * columns + column;
+			cellStart[cellOf[i] + 1]++;
+		}
+		for(int i = 0; i < columns * rows; i++)
+			cellStart[i + 1] += cellStart[i];
+		
+		final int[] next = new int[columns * rows];
+		System.arraycopy(cellStart, 0, next, 0, next.length);
+		for(int i = 0; i < order; i++)
+			sorted[next[cellOf[i]]++] = i;
+		
+		for(int v = 0; v < order; v++) {
+			final int column = cellOf[v] % columns;
+			final int row = cellOf[v] / columns;
+			
+			for(int r = Math.max(row - 1, 0); r <= Math.min(row + 1, rows - 1); r++) {
+				for(int c = Math.max(column - 1, 0); c <= Math.min(column + 1, columns - 1); c++) {
+					final int cell = r * columns + c;
+					
+					for(int j = cellStart[cell]; j < cellStart[cell + 1]; j++) {
+						final int u = sorted[j];
+						if(u == v)
+							continue;
+						
+						final double deltaX = px[v] - px[u];
+						final double deltaY = py[v] - py[u];
+						final double distance2 = Math.max(deltaX * deltaX + deltaY * deltaY, 0.01);
+						
+						if(distance2 < cutoff) {
+							// the force k^2 / d along the normalized direction delta / d
+							final double force = k2 / distance2;
+							dx[v] += deltaX * force;
+							dy[v] += deltaY * force;
+						}
+					}
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,48 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.layout;
+
+/**
+ * A layout algorithm that computes the positions of the vertices of a graph in a worker thread of the {@link LayoutService}.
+ * <br><br>
+ * An algorithm only works with a {@link LayoutSnapshot} of the graph and must not access the graph or the view. It should check
+ * {@link LayoutTask#isCancelled()} regularly and report its progress using {@link LayoutTask#setProgress(int, int)}.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ */
+public abstract class LayoutAlgorithm {
+
+	/**
+	 * Computes the positions of the vertices.
+	 * <br><br>
+	 * The arrays of the coordinates are initialized with the current positions of the vertices.
+	 * 
+	 * @param snapshot the snapshot of the graph
+	 * @param x the x coordinates of the vertices (index of a vertex in the snapshot) that should be computed
+	 * @param y the y coordinates of the vertices (index of a vertex in the snapshot) that should be computed
+	 * @param task the task that executes the algorithm
+	 * @return <code>true</code> if the layout could be computed or <code>false</code> if the layout is not applicable to the graph or the task is cancelled
+	 * @since 1.0
+	 */
+	public abstract boolean layout(final LayoutSnapshot snapshot, final int[] x, final int[] y, final LayoutTask task);
+
+}
@@ -0,0 +1,53 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.layout;
+
+/**
+ * Listener to receive the progress and the results of the tasks of a {@link LayoutService}.
+ * <br><br>
+ * <b>Notice</b>:<br>
+ * The listener is invoked in the event dispatch thread.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ */
+public interface LayoutListener {
+
+	/**
+	 * Indicates that a layout task has made progress.
+	 * 
+	 * @param task the task
+	 * @param current the current progress
+	 * @param total the total progress
+	 * @since 1.0
+	 */
+	public void layoutProgress(final LayoutTask task, final int current, final int total);
+	
+	/**
+	 * Indicates that a layout task is finished.
+	 * 
+	 * @param task the task
+	 * @param result the result of the task meaning {@link LayoutTask#RESULT_APPLIED}, {@link LayoutTask#RESULT_CANCELLED}, {@link LayoutTask#RESULT_NOTAPPLICABLE}, {@link LayoutTask#RESULT_DISCARDED} or {@link LayoutTask#RESULT_FAILED}
+	 * @since 1.0
+	 */
+	public void layoutFinished(final LayoutTask task, final int result);
+
+}
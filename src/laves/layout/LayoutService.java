@@ -0,0 +1,375 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.layout;
+
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import javax.swing.JButton;
+import javax.swing.SwingUtilities;
+
+import lavesdk.algorithm.plugin.extensions.BipartiteLayoutToolBarExtension;
+import lavesdk.algorithm.plugin.extensions.CircleLayoutToolBarExtension;
+import lavesdk.algorithm.plugin.extensions.ToolBarExtension;
+import lavesdk.algorithm.plugin.views.GraphView;
+import lavesdk.math.graph.Edge;
+import lavesdk.math.graph.Vertex;
+
+/**
+ * The layout service of the host computes the layouts of graph views in worker threads.
+ * <br><br>
+ * A layout is computed in three phases:
+ * <ol>
+ * 		<li>a {@link LayoutSnapshot} of the graph is taken in the event dispatch thread when the task is submitted</li>
+ * 		<li>the {@link LayoutAlgorithm} computes the positions of the vertices in a worker thread and reports its progress</li>
+ * 		<li>the positions are applied to the view in one step in the event dispatch thread if the task is not cancelled and the vertices
+ * 		of the graph are unchanged</li>
+ * </ol>
+ * There is at most one task per view. If a new layout is submitted for a view then the running task of the view is cancelled.
+ * <br><br>
+ * The layout extensions of the SDK ({@link CircleLayoutToolBarExtension} and {@link BipartiteLayoutToolBarExtension}) compute their layouts
+ * in the event dispatch thread. Use {@link #adopt(ToolBarExtension, LayoutListener)} to redirect them to the service.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ */
+public class LayoutService {
+
+	/** the executor of the worker threads */
+	private final ExecutorService executor;
+	/** the running tasks of the views (only accessed in the event dispatch thread) */
+	private final Map<GraphView<?, ?>, LayoutTask> tasks;
+	
+	/** the name of the field of the graph view in the layout extensions of the SDK */
+	private static final String FIELD_GRAPHVIEW = "graphView";
+	/** the name of the field of the button in {@link CircleLayoutToolBarExtension} */
+	private static final String FIELD_CIRCLELAYOUTBTN = "circleLayoutBtn";
+	/** the name of the field of the button in {@link BipartiteLayoutToolBarExtension} */
+	private static final String FIELD_BIPARTITELAYOUTBTN = "bipartiteLayoutBtn";
+	/** the name of the field of the listener of the button in {@link BipartiteLayoutToolBarExtension} that stores whether vertices without incident edges are added to the first subset */
+	private static final String FIELD_NONINCIDENTVERTICES = "val$nonIncidentVerticesToSubset1";
+	
+	/**
+	 * Creates a new layout service.
+	 * 
+	 * @since 1.0
+	 */
+	public LayoutService() {
+		this.tasks = new HashMap<GraphView<?, ?>, LayoutTask>();
+		this.executor = Executors.newFixedThreadPool(Math.max(1, Runtime.getRuntime().availableProcessors() / 2), new ThreadFactory() {
+			
+			@Override
+			public Thread newThread(Runnable r) {
+				final Thread t = new Thread(r, "LAVES Layout Worker");
+				t.setDaemon(true);
+				t.setPriority(Thread.NORM_PRIORITY - 1);
+				return t;
+			}
+		});
+	}
+	
+	/**
+	 * Submits a layout for the specified view. If there is a running task for the view then this task is cancelled.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * This method must be invoked in the event dispatch thread.
+	 * 
+	 * @param view the graph view
+	 * @param algorithm the layout algorithm
+	 * @param listener the listener that is notified about the progress and the result of the task or <code>null</code>
+	 * @return the task
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if view is null</li>
+	 * 		<li>if algorithm is null</li>
+	 * </ul>
+	 * @throws IllegalStateException
+	 * <ul>
+	 * 		<li>if the method is not invoked in the event dispatch thread</li>
+	 * 		<li>if the service is shut down</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public <V extends Vertex, E extends Edge> LayoutTask submit(final GraphView<V, E> view, final LayoutAlgorithm algorithm, final LayoutListener listener) throws IllegalArgumentException, IllegalStateException {
+		if(view == null || algorithm == null)
+			throw new IllegalArgumentException("No valid argument!");
+		if(!SwingUtilities.isEventDispatchThread())
+			throw new IllegalStateException("Layouts can only be submitted in the event dispatch thread!");
+		if(executor.isShutdown())
+			throw new IllegalStateException("The layout service is shut down!");
+		
+		cancel(view);
+		
+		final LayoutSnapshot snapshot = LayoutSnapshot.create(view);
+		final LayoutTask task = new LayoutTask(view, algorithm, listener);
+		tasks.put(view, task);
+		
+		executor.execute(new Runnable() {
+			
+			@Override
+			public void run() {
+				compute(view, snapshot, task);
+			}
+		});
+		
+		return task;
+	}
+	
+	/**
+	 * Cancels the running task of the specified view.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * This method must be invoked in the event dispatch thread.
+	 * 
+	 * @param view the graph view
+	 * @since 1.0
+	 */
+	public void cancel(final GraphView<?, ?> view) {
+		final LayoutTask task = tasks.remove(view);
+		if(task != null)
+			task.cancel();
+	}
+	
+	/**
+	 * Cancels all running tasks.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * This method must be invoked in the event dispatch thread.
+	 * 
+	 * @since 1.0
+	 */
+	public void cancelAll() {
+		for(LayoutTask task : new ArrayList<LayoutTask>(tasks.values()))
+			task.cancel();
+		tasks.clear();
+	}
+	
+	/**
+	 * Indicates whether there are running tasks.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * This method must be invoked in the event dispatch thread.
+	 * 
+	 * @return <code>true</code> if at least one task is running otherwise <code>false</code>
+	 * @since 1.0
+	 */
+	public boolean isBusy() {
+		return !tasks.isEmpty();
+	}
+	
+	/**
+	 * Cancels all running tasks and stops the worker threads.
+	 * 
+	 * @since 1.0
+	 */
+	public void shutdown() {
+		cancelAll();
+		executor.shutdownNow();
+	}
+	
+	/**
+	 * Redirects a layout extension of the SDK to the service so that its layout is computed in a worker thread.
+	 * <br><br>
+	 * This is possible for {@link CircleLayoutToolBarExtension} and {@link BipartiteLayoutToolBarExtension}. Other extensions remain
+	 * unchanged.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * The extensions do not provide access to their view and their button, therefore they are read by reflection. If this is not
+	 * possible the extension remains unchanged.
+	 * 
+	 * @param ext the toolbar extension
+	 * @param listener the listener that is notified about the progress and the result of the layouts of the extension or <code>null</code>
+	 * @return <code>true</code> if the extension is redirected to the service otherwise <code>false</code>
+	 * @since 1.0
+	 */
+	public boolean adopt(final ToolBarExtension ext, final LayoutListener listener) {
+		try {
+			// the layouts can only be applied if the positions of the vertices can be changed
+			PrecomputedLayout.getSetPositionMethod();
+			
+			if(ext instanceof CircleLayoutToolBarExtension)
+				return redirect(ext, FIELD_CIRCLELAYOUTBTN, new CircleLayout(), listener);
+			else if(ext instanceof BipartiteLayoutToolBarExtension) {
+				final JButton btn = (JButton)getField(BipartiteLayoutToolBarExtension.class, FIELD_BIPARTITELAYOUTBTN).get(ext);
+				final ActionListener[] listeners = btn.getActionListeners();
+				if(listeners.length != 1)
+					return false;
+				
+				final boolean nonIncidentVerticesToSubset1 = getField(listeners[0].getClass(), FIELD_NONINCIDENTVERTICES).getBoolean(listeners[0]);
+				return redirect(ext, FIELD_BIPARTITELAYOUTBTN, new BipartiteLayout(nonIncidentVerticesToSubset1), listener);
+			}
+		}
+		catch(Exception e) {
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * Computes the layout of a task in the current worker thread and applies it in the event dispatch thread.
+	 * 
+	 * @param view the graph view
+	 * @param snapshot the snapshot of the graph of the view
+	 * @param task the task
+	 * @since 1.0
+	 */
+	private void compute(final GraphView<?, ?> view, final LayoutSnapshot snapshot, final LayoutTask task) {
+		final int order = snapshot.getOrder();
+		final int[] x = new int[order];
+		final int[] y = new int[order];
+		boolean computed = false;
+		
+		for(int i = 0; i < order; i++) {
+			x[i] = snapshot.getX(i);
+			y[i] = snapshot.getY(i);
+		}
+		
+		if(!task.isCancelled()) {
+			try {
+				computed = task.getAlgorithm().layout(snapshot, x, y, task);
+			}
+			catch(Exception e) {
+				task.setException(e);
+			}
+		}
+		
+		final boolean applicable = computed;
+		SwingUtilities.invokeLater(new Runnable() {
+			
+			@Override
+			public void run() {
+				apply(view, snapshot, task, applicable, x, y);
+			}
+		});
+	}
+	
+	/**
+	 * Applies the computed positions of a task to its view.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * This method must be invoked in the event dispatch thread.
+	 * 
+	 * @param view the graph view
+	 * @param snapshot the snapshot of the graph of the view
+	 * @param task the task
+	 * @param computed <code>true</code> if the algorithm has computed the positions otherwise <code>false</code>
+	 * @param x the x coordinates of the vertices
+	 * @param y the y coordinates of the vertices
+	 * @since 1.0
+	 */
+	private void apply(final GraphView<?, ?> view, final LayoutSnapshot snapshot, final LayoutTask task, final boolean computed, final int[] x, final int[] y) {
+		int result;
+		
+		if(tasks.get(view) == task)
+			tasks.remove(view);
+		
+		if(task.isCancelled())
+			result = LayoutTask.RESULT_CANCELLED;
+		else if(task.getException() != null)
+			result = LayoutTask.RESULT_FAILED;
+		else if(!computed)
+			result = LayoutTask.RESULT_NOTAPPLICABLE;
+		else if(!snapshot.matches(view))
+			result = LayoutTask.RESULT_DISCARDED;
+		else {
+			try {
+				view.layoutGraph(new PrecomputedLayout(snapshot, x, y));
+				view.repaint();
+				result = LayoutTask.RESULT_APPLIED;
+			}
+			catch(Exception e) {
+				task.setException(e);
+				result = LayoutTask.RESULT_FAILED;
+			}
+		}
+		
+		task.fireFinished(result);
+	}
+	
+	/**
+	 * Replaces the action listeners of the button of a layout extension with a listener that submits the specified algorithm.
+	 * 
+	 * @param ext the toolbar extension
+	 * @param buttonField the name of the field of the button in the extension
+	 * @param algorithm the algorithm
+	 * @param listener the listener or <code>null</code>
+	 * @return <code>true</code> if the extension is redirected otherwise <code>false</code>
+	 * @throws Exception
+	 * <ul>
+	 * 		<li>if the fields of the extension cannot be accessed</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	private boolean redirect(final ToolBarExtension ext, final String buttonField, final LayoutAlgorithm algorithm, final LayoutListener listener) throws Exception {
+		final GraphView<?, ?> view = (GraphView<?, ?>)getField(ext.getClass(), FIELD_GRAPHVIEW).get(ext);
+		final JButton btn = (JButton)getField(ext.getClass(), buttonField).get(ext);
+		
+		if(view == null || btn == null)
+			return false;
+		
+		for(ActionListener l : btn.getActionListeners())
+			btn.removeActionListener(l);
+		
+		btn.addActionListener(new ActionListener() {
+			
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				submit(view, algorithm, listener);
+			}
+		});
+		
+		return true;
+	}
+	
+	/**
+	 * Gets an accessible field of a class or one of its super classes.
+	 * 
+	 * @param c the class
+	 * @param name the name of the field
+	 * @return the field
+	 * @throws NoSuchFieldException
+	 * <ul>
+	 * 		<li>if the field does not exist</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	private static Field getField(final Class<?> c, final String name) throws NoSuchFieldException {
+		for(Class<?> cls = c; cls != null; cls = cls.getSuperclass()) {
+			try {
+				final Field field = cls.getDeclaredField(name);
+				field.setAccessible(true);
+				return field;
+			}
+			catch(NoSuchFieldException e) {
+			}
+		}
+		
+		throw new NoSuchFieldException(name);
+	}
+
+}
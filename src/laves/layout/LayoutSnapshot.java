@@ -0,0 +1,360 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.layout;
+
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.Map;
+
+import lavesdk.algorithm.plugin.views.GraphView;
+import lavesdk.math.graph.Edge;
+import lavesdk.math.graph.Graph;
+import lavesdk.math.graph.Vertex;
+
+/**
+ * An immutable copy of the structure of a graph and the positions of its vertices in a {@link GraphView}.
+ * <br><br>
+ * A snapshot is taken in the event dispatch thread so that a {@link LayoutAlgorithm} can compute a layout in a worker thread without
+ * accessing the graph or the view. The vertices are identified by their index in the graph and the edges are stored as pairs of
+ * vertex indices.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ */
+public final class LayoutSnapshot {
+
+	/** the ids of the vertices */
+	private final int[] vertexIDs;
+	/** the x coordinates of the vertices */
+	private final int[] x;
+	/** the y coordinates of the vertices */
+	private final int[] y;
+	/** the indices of the first vertices of the edges */
+	private final int[] edgeSources;
+	/** the indices of the second vertices of the edges */
+	private final int[] edgeTargets;
+	/** the zoom of the view in percent */
+	private final int zoom;
+	/** the radius of a vertex in the view */
+	private final int vertexRadius;
+	/** the largest radius of a vertex in the view (with respect to the scale of the vertices) */
+	private final int maxVertexRadius;
+	
+	/**
+	 * Creates a new snapshot.
+	 * 
+	 * @param vertexIDs the ids of the vertices
+	 * @param x the x coordinates of the vertices
+	 * @param y the y coordinates of the vertices
+	 * @param edgeSources the indices of the first vertices of the edges
+	 * @param edgeTargets the indices of the second vertices of the edges
+	 * @param zoom the zoom of the view
+	 * @param vertexRadius the radius of a vertex in the view
+	 * @param maxVertexRadius the largest radius of a vertex in the view
+	 * @since 1.0
+	 */
+	private LayoutSnapshot(final int[] vertexIDs, final int[] x, final int[] y, final int[] edgeSources, final int[] edgeTargets, final int zoom, final int vertexRadius, final int maxVertexRadius) {
+		this.vertexIDs = vertexIDs;
+		this.x = x;
+		this.y = y;
+		this.edgeSources = edgeSources;
+		this.edgeTargets = edgeTargets;
+		this.zoom = zoom;
+		this.vertexRadius = vertexRadius;
+		this.maxVertexRadius = maxVertexRadius;
+	}
+	
+	/**
+	 * Takes a snapshot of the graph of the specified view.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * This method must be invoked in the event dispatch thread.
+	 * 
+	 * @param view the graph view
+	 * @return the snapshot
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if view is null</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public static <V extends Vertex, E extends Edge> LayoutSnapshot create(final GraphView<V, E> view) throws IllegalArgumentException {
+		if(view == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		final Graph<V, E> graph = view.getGraph();
+		final int order = graph.getOrder();
+		final int size = graph.getSize();
+		final int[] vertexIDs = new int[order];
+		final int[] x = new int[order];
+		final int[] y = new int[order];
+		final Map<Integer, Integer> indices = new HashMap<Integer, Integer>(order * 2);
+		int maxRadius = 0;
+		
+		for(int i = 0; i < order; i++) {
+			final V v = graph.getVertex(i);
+			final GraphView<V, E>.VisualVertex vv = view.getVisualVertex(v);
+			
+			vertexIDs[i] = v.getID();
+			indices.put(v.getID(), i);
+			if(vv != null) {
+				x[i] = vv.getX();
+				y[i] = vv.getY();
+				maxRadius = Math.max(maxRadius, view.getScaledVertexRadius(vv));
+			}
+		}
+		
+		int edges = 0;
+		final int[] edgeSources = new int[size];
+		final int[] edgeTargets = new int[size];
+		for(int i = 0; i < size; i++) {
+			final E e = graph.getEdge(i);
+			final Integer source = indices.get(e.getPredecessor().getID());
+			final Integer target = indices.get(e.getSuccessor().getID());
+			
+			// loops have no influence on a layout
+			if(source != null && target != null && source.intValue() != target.intValue()) {
+				edgeSources[edges] = source.intValue();
+				edgeTargets[edges] = target.intValue();
+				edges++;
+			}
+		}
+		
+		return new LayoutSnapshot(vertexIDs, x, y, copyOf(edgeSources, edges), copyOf(edgeTargets, edges), view.getZoom(), getVertexRadius(view, maxRadius), maxRadius);
+	}
+	
+	/**
+	 * Gets the number of vertices.
+	 * 
+	 * @return the order of the graph
+	 * @since 1.0
+	 */
+	public int getOrder() {
+		return vertexIDs.length;
+	}
+	
+	/**
+	 * Gets the number of edges without loops.
+	 * 
+	 * @return the number of edges
+	 * @since 1.0
+	 */
+	public int getEdgeCount() {
+		return edgeSources.length;
+	}
+	
+	/**
+	 * Gets the id of a vertex.
+	 * 
+	 * @param index the index of the vertex
+	 * @return the id of the vertex
+	 * @throws IndexOutOfBoundsException
+	 * <ul>
+	 * 		<li>if the index is out of bounds</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public int getVertexID(final int index) throws IndexOutOfBoundsException {
+		return vertexIDs[index];
+	}
+	
+	/**
+	 * Gets the x coordinate of a vertex at the time the snapshot was taken.
+	 * 
+	 * @param index the index of the vertex
+	 * @return the x coordinate
+	 * @throws IndexOutOfBoundsException
+	 * <ul>
+	 * 		<li>if the index is out of bounds</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public int getX(final int index) throws IndexOutOfBoundsException {
+		return x[index];
+	}
+	
+	/**
+	 * Gets the y coordinate of a vertex at the time the snapshot was taken.
+	 * 
+	 * @param index the index of the vertex
+	 * @return the y coordinate
+	 * @throws IndexOutOfBoundsException
+	 * <ul>
+	 * 		<li>if the index is out of bounds</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public int getY(final int index) throws IndexOutOfBoundsException {
+		return y[index];
+	}
+	
+	/**
+	 * Gets the index of the first vertex of an edge.
+	 * 
+	 * @param index the index of the edge
+	 * @return the index of the vertex
+	 * @throws IndexOutOfBoundsException
+	 * <ul>
+	 * 		<li>if the index is out of bounds</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public int getEdgeSource(final int index) throws IndexOutOfBoundsException {
+		return edgeSources[index];
+	}
+	
+	/**
+	 * Gets the index of the second vertex of an edge.
+	 * 
+	 * @param index the index of the edge
+	 * @return the index of the vertex
+	 * @throws IndexOutOfBoundsException
+	 * <ul>
+	 * 		<li>if the index is out of bounds</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public int getEdgeTarget(final int index) throws IndexOutOfBoundsException {
+		return edgeTargets[index];
+	}
+	
+	/**
+	 * Gets the zoom of the view.
+	 * 
+	 * @return the zoom in percent
+	 * @since 1.0
+	 */
+	public int getZoom() {
+		return zoom;
+	}
+	
+	/**
+	 * Gets the radius of a vertex in the view (already scaled by the zoom of the view).
+	 * 
+	 * @return the vertex radius
+	 * @since 1.0
+	 */
+	public int getVertexRadius() {
+		return vertexRadius;
+	}
+	
+	/**
+	 * Gets the largest radius of a vertex in the view (with respect to the scale of the vertices).
+	 * 
+	 * @return the largest vertex radius
+	 * @since 1.0
+	 */
+	public int getMaxVertexRadius() {
+		return maxVertexRadius;
+	}
+	
+	/**
+	 * Creates the adjacency lists of the vertices in a compressed form.
+	 * <br><br>
+	 * The neighbors of vertex <code>i</code> are stored in <code>adjacency[1][adjacency[0][i]]</code> to
+	 * <code>adjacency[1][adjacency[0][i + 1] - 1]</code>.
+	 * 
+	 * @return the offsets (index <code>0</code>) and the neighbors (index <code>1</code>)
+	 * @since 1.0
+	 */
+	public int[][] createAdjacency() {
+		final int order = vertexIDs.length;
+		final int[] offsets = new int[order + 1];
+		final int[] neighbors = new int[edgeSources.length * 2];
+		
+		for(int i = 0; i < edgeSources.length; i++) {
+			offsets[edgeSources[i] + 1]++;
+			offsets[edgeTargets[i] + 1]++;
+		}
+		for(int i = 0; i < order; i++)
+			offsets[i + 1] += offsets[i];
+		
+		final int[] next = new int[order];
+		System.arraycopy(offsets, 0, next, 0, order);
+		for(int i = 0; i < edgeSources.length; i++) {
+			neighbors[next[edgeSources[i]]++] = edgeTargets[i];
+			neighbors[next[edgeTargets[i]]++] = edgeSources[i];
+		}
+		
+		return new int[][] { offsets, neighbors };
+	}
+	
+	/**
+	 * Indicates whether the specified view still contains the graph of the snapshot meaning the same vertices in the same order.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * This method must be invoked in the event dispatch thread.
+	 * 
+	 * @param view the graph view
+	 * @return <code>true</code> if the vertices of the graph are unchanged otherwise <code>false</code>
+	 * @since 1.0
+	 */
+	public boolean matches(final GraphView<?, ?> view) {
+		final Graph<?, ?> graph = view.getGraph();
+		
+		if(graph.getOrder() != vertexIDs.length)
+			return false;
+		
+		for(int i = 0; i < vertexIDs.length; i++)
+			if(graph.getVertex(i).getID() != vertexIDs[i])
+				return false;
+		
+		return true;
+	}
+	
+	/**
+	 * Gets the radius of a vertex of a view meaning the radius without the scale of a vertex.
+	 * 
+	 * @param view the graph view
+	 * @param def the radius that is used if the radius cannot be determined
+	 * @return the radius of a vertex
+	 * @since 1.0
+	 */
+	private static int getVertexRadius(final GraphView<?, ?> view, final int def) {
+		// the graph view does not provide the vertex radius so it is read by reflection
+		try {
+			final Field field = GraphView.class.getDeclaredField("radiusOfVertex");
+			field.setAccessible(true);
+			return field.getInt(view);
+		}
+		catch(Exception e) {
+			return def;
+		}
+	}
+	
+	/**
+	 * Copies the first elements of an array.
+	 * 
+	 * @param a the array
+	 * @param length the number of elements
+	 * @return the copy of the array or the array itself if it has the specified length
+	 * @since 1.0
+	 */
+	private static int[] copyOf(final int[] a, final int length) {
+		if(a.length == length)
+			return a;
+		
+		final int[] copy = new int[length];
+		System.arraycopy(a, 0, copy, 0, length);
+		return copy;
+	}
+
+}
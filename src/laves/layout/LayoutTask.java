@@ -0,0 +1,181 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.layout;
+
+import javax.swing.SwingUtilities;
+
+import lavesdk.algorithm.plugin.views.GraphView;
+
+/**
+ * A layout computation of the {@link LayoutService} for a specific graph view.
+ * <br><br>
+ * Use {@link #cancel()} to cancel a task. A cancelled task is never applied to its view.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ */
+public class LayoutTask {
+
+	/** the view the layout is computed for */
+	private final GraphView<?, ?> view;
+	/** the algorithm that computes the layout */
+	private final LayoutAlgorithm algorithm;
+	/** the listener or <code>null</code> */
+	private final LayoutListener listener;
+	/** flag that indicates whether the task is cancelled */
+	private volatile boolean cancelled;
+	/** the last progress in percent that was reported to the listener */
+	private int reportedProgress;
+	/** the exception that occurred during the computation or <code>null</code> */
+	private volatile Exception exception;
+	
+	/** the layout is applied to the view */
+	public static final int RESULT_APPLIED = 0;
+	/** the task was cancelled */
+	public static final int RESULT_CANCELLED = 1;
+	/** the layout is not applicable to the graph */
+	public static final int RESULT_NOTAPPLICABLE = 2;
+	/** the layout is discarded because the graph of the view has changed during the computation */
+	public static final int RESULT_DISCARDED = 3;
+	/** the computation of the layout failed (see {@link #getException()}) */
+	public static final int RESULT_FAILED = 4;
+	
+	/**
+	 * Creates a new task.
+	 * 
+	 * @param view the view
+	 * @param algorithm the algorithm
+	 * @param listener the listener or <code>null</code>
+	 * @since 1.0
+	 */
+	LayoutTask(final GraphView<?, ?> view, final LayoutAlgorithm algorithm, final LayoutListener listener) {
+		this.view = view;
+		this.algorithm = algorithm;
+		this.listener = listener;
+		this.cancelled = false;
+		this.reportedProgress = -1;
+		this.exception = null;
+	}
+	
+	/**
+	 * Gets the view the layout is computed for.
+	 * 
+	 * @return the view
+	 * @since 1.0
+	 */
+	public GraphView<?, ?> getView() {
+		return view;
+	}
+	
+	/**
+	 * Gets the algorithm that computes the layout.
+	 * 
+	 * @return the algorithm
+	 * @since 1.0
+	 */
+	public LayoutAlgorithm getAlgorithm() {
+		return algorithm;
+	}
+	
+	/**
+	 * Cancels the task. The computation stops as soon as the algorithm checks {@link #isCancelled()}.
+	 * 
+	 * @since 1.0
+	 */
+	public void cancel() {
+		cancelled = true;
+	}
+	
+	/**
+	 * Indicates whether the task is cancelled.
+	 * 
+	 * @return <code>true</code> if the task is cancelled otherwise <code>false</code>
+	 * @since 1.0
+	 */
+	public boolean isCancelled() {
+		return cancelled;
+	}
+	
+	/**
+	 * Gets the exception that occurred during the computation of the layout.
+	 * 
+	 * @return the exception or <code>null</code> if the computation did not fail
+	 * @since 1.0
+	 */
+	public Exception getException() {
+		return exception;
+	}
+	
+	/**
+	 * Reports the progress of the computation to the listener.
+	 * <br><br>
+	 * The listener is only notified if the progress in percent has changed so that an algorithm can call this method frequently.
+	 * 
+	 * @param current the current progress
+	 * @param total the total progress
+	 * @since 1.0
+	 */
+	public void setProgress(final int current, final int total) {
+		if(listener == null || cancelled || total <= 0)
+			return;
+		
+		final int percent = (int)(100L * Math.min(Math.max(current, 0), total) / total);
+		synchronized(this) {
+			if(percent == reportedProgress)
+				return;
+			reportedProgress = percent;
+		}
+		
+		SwingUtilities.invokeLater(new Runnable() {
+			
+			@Override
+			public void run() {
+				if(!cancelled)
+					listener.layoutProgress(LayoutTask.this, percent, 100);
+			}
+		});
+	}
+	
+	/**
+	 * Sets the exception that occurred during the computation of the layout.
+	 * 
+	 * @param e the exception
+	 * @since 1.0
+	 */
+	void setException(final Exception e) {
+		exception = e;
+	}
+	
+	/**
+	 * Notifies the listener that the task is finished.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * This method must be invoked in the event dispatch thread.
+	 * 
+	 * @param result the result of the task
+	 * @since 1.0
+	 */
+	void fireFinished(final int result) {
+		if(listener != null)
+			listener.layoutFinished(this, result);
+	}
+
+}
@@ -0,0 +1,98 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.layout;
+
+import java.lang.reflect.Method;
+
+import lavesdk.algorithm.plugin.views.GraphLayout;
+import lavesdk.algorithm.plugin.views.GraphView;
+import lavesdk.math.graph.Edge;
+import lavesdk.math.graph.Graph;
+import lavesdk.math.graph.Vertex;
+
+/**
+ * A graph layout that applies positions which were computed by a {@link LayoutAlgorithm} in a worker thread.
+ * <br><br>
+ * The layout is passed to {@link GraphView#layoutGraph(GraphLayout)} so that the view updates the edges, the labels and its drawing
+ * area in one step.
+ * <br><br>
+ * <b>Notice</b>:<br>
+ * The visual vertices do not provide a public method to change their positions, therefore the layout invokes it by reflection.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ */
+class PrecomputedLayout extends GraphLayout {
+
+	/** the snapshot the positions were computed for */
+	private final LayoutSnapshot snapshot;
+	/** the x coordinates of the vertices */
+	private final int[] x;
+	/** the y coordinates of the vertices */
+	private final int[] y;
+	
+	/**
+	 * Creates a new precomputed layout.
+	 * 
+	 * @param snapshot the snapshot the positions were computed for
+	 * @param x the x coordinates of the vertices
+	 * @param y the y coordinates of the vertices
+	 * @since 1.0
+	 */
+	PrecomputedLayout(final LayoutSnapshot snapshot, final int[] x, final int[] y) {
+		this.snapshot = snapshot;
+		this.x = x;
+		this.y = y;
+	}
+	
+	/**
+	 * Gets the method that changes the position of a visual vertex.
+	 * 
+	 * @return the method
+	 * @throws NoSuchMethodException
+	 * <ul>
+	 * 		<li>if the method does not exist</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	static Method getSetPositionMethod() throws NoSuchMethodException {
+		final Method method = GraphView.VisualVertex.class.getDeclaredMethod("setPosition", int.class, int.class);
+		method.setAccessible(true);
+		return method;
+	}
+	
+	@Override
+	public <V extends Vertex, E extends Edge> void layout(Graph<V, E> graph, GraphView<V, E> view) {
+		try {
+			final Method setPosition = getSetPositionMethod();
+			
+			for(int i = 0; i < snapshot.getOrder(); i++) {
+				final GraphView<V, E>.VisualVertex vv = view.getVisualVertexByID(snapshot.getVertexID(i));
+				if(vv != null)
+					setPosition.invoke(vv, x[i], y[i]);
+			}
+		}
+		catch(Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
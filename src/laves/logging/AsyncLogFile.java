@@ -0,0 +1,445 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.logging;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.Charset;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+
+import lavesdk.algorithm.plugin.AlgorithmPlugin;
+import lavesdk.logging.LogFile;
+import lavesdk.logging.enums.LogType;
+import lavesdk.utils.FileUtils;
+
+/**
+ * An asynchronous log file.
+ * <br><br>
+ * The log file has the same format and the same semantics of the message types as the {@link LogFile} of the SDK but the messages
+ * are not written by the thread that logs them. A message is added to a bounded lock-free ring buffer and a background thread writes
+ * the messages to the file. So logging never blocks the event dispatch thread or a plugin thread on a slow disk. If the buffer is full
+ * (meaning that messages are logged faster than they can be written) then the message is dropped and counted, the number of dropped
+ * messages is written to the log as soon as the writer catches up (see {@link #getDroppedCount()}).
+ * <br><br>
+ * <b>Structured log</b>:<br>
+ * Optionally each message is also written to a structured log that contains one JSON object per line with the time, the type, the
+ * plugin, the thread, the message and the exception with its stack trace (see {@link LogEntry}). The structured log can be filtered
+ * with a {@link LogIndex}.
+ * <br><br>
+ * <b>Rotation</b>:<br>
+ * The log file is rotated if it exceeds {@link #MAX_FILE_SIZE} or if a message is logged on another day than the previous one. The
+ * current file is renamed to <code>name.1.ext</code>, the older files are shifted and only {@link #MAX_BACKUP_FILES} of them are kept.
+ * The structured log is rotated in the same way.
+ * <br><br>
+ * The pending messages are written when the log file is closed (see {@link #close(long)}) or when the virtual machine shuts down.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ */
+public class AsyncLogFile {
+
+	/** the stream of the log file (only accessed by the writer) */
+	private final RotatingLogStream textStream;
+	/** the stream of the structured log file or <code>null</code> if there is no structured log (only accessed by the writer) */
+	private final RotatingLogStream jsonStream;
+	/** the buffer of the messages that are not written yet */
+	private final LogBuffer<Entry> buffer;
+	/** the number of dropped messages */
+	private final AtomicLong dropped;
+	/** the thread that writes the messages */
+	private final Thread writer;
+	/** the format of the timestamps (only accessed by the writer) */
+	private final SimpleDateFormat dateFormat;
+	/** the charset of the log file */
+	private final Charset charset;
+	/** the number of dropped messages that are already reported in the log file (only accessed by the writer) */
+	private long reportedDrops;
+	/** flag that indicates whether the writer waits for new messages */
+	private volatile boolean waiting;
+	/** flag that indicates whether the log file is closed */
+	private volatile boolean closed;
+	
+	/** the number of messages that can be buffered */
+	public static final int BUFFER_CAPACITY = 4096;
+	/** the maximum size of a log file in bytes */
+	public static final long MAX_FILE_SIZE = 2 * 1024 * 1024;
+	/** the maximum number of rotated log files */
+	public static final int MAX_BACKUP_FILES = 5;
+	/** the time in milliseconds the pending messages are written when the virtual machine shuts down */
+	private static final long SHUTDOWN_TIMEOUT = 2000;
+	/** the time in nanoseconds the writer waits for new messages before the counters are checked */
+	private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+	/** the charset of the structured log file */
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+	
+	/**
+	 * Creates a new log file without a structured log.
+	 * 
+	 * @param path the path of the log file
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if path is null</li>
+	 * </ul>
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the log file could not be created</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public AsyncLogFile(final String path) throws IllegalArgumentException, IOException {
+		this(path, null);
+	}
+	
+	/**
+	 * Creates a new log file.
+	 * 
+	 * @param path the path of the log file
+	 * @param structuredPath the path of the structured log file or <code>null</code> if there should be no structured log
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if path is null</li>
+	 * </ul>
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the log file could not be created</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public AsyncLogFile(final String path, final String structuredPath) throws IllegalArgumentException, IOException {
+		if(path == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		this.textStream = new RotatingLogStream(FileUtils.createFilePath(path), MAX_FILE_SIZE, MAX_BACKUP_FILES);
+		this.jsonStream = (structuredPath != null) ? new RotatingLogStream(FileUtils.createFilePath(structuredPath), MAX_FILE_SIZE, MAX_BACKUP_FILES) : null;
+		this.buffer = new LogBuffer<Entry>(BUFFER_CAPACITY);
+		this.dropped = new AtomicLong(0);
+		this.dateFormat = new SimpleDateFormat("EEE, dd.MM.yyyy hh:mm:ss");
+		this.charset = Charset.defaultCharset();
+		this.reportedDrops = 0;
+		this.waiting = false;
+		this.closed = false;
+		
+		this.writer = new Thread(new Runnable() {
+			
+			@Override
+			public void run() {
+				AsyncLogFile.this.runWriter();
+			}
+		}, "LAVES Log Writer");
+		this.writer.setDaemon(true);
+		this.writer.start();
+		
+		Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+			
+			@Override
+			public void run() {
+				AsyncLogFile.this.close(SHUTDOWN_TIMEOUT);
+			}
+		}, "LAVES Log Shutdown"));
+	}
+	
+	/**
+	 * Writes a message to the log file.
+	 * 
+	 * @param msg the message
+	 * @param type the message type
+	 * @since 1.0
+	 */
+	public void writeToLog(final String msg, final LogType type) {
+		writeToLog(null, msg, null, type);
+	}
+	
+	/**
+	 * Writes a message to the log file.
+	 * 
+	 * @param plugin the plugin that causes the message or <code>null</code>
+	 * @param msg the message
+	 * @param type the message type
+	 * @since 1.0
+	 */
+	public void writeToLog(final AlgorithmPlugin plugin, final String msg, final LogType type) {
+		writeToLog(plugin, msg, null, type);
+	}
+	
+	/**
+	 * Writes a message to the log file.
+	 * 
+	 * @param msg the message
+	 * @param e the exception that occurred or <code>null</code>
+	 * @param type the message type
+	 * @since 1.0
+	 */
+	public void writeToLog(final String msg, final Exception e, final LogType type) {
+		writeToLog(null, msg, e, type);
+	}
+	
+	/**
+	 * Writes a message to the log file.
+	 * <br><br>
+	 * The message is only added to the buffer so the method returns immediately. If the buffer is full then the message is dropped.
+	 * 
+	 * @param plugin the plugin that causes the message or <code>null</code>
+	 * @param msg the message
+	 * @param e the exception that occurred or <code>null</code>
+	 * @param type the message type
+	 * @since 1.0
+	 */
+	public void writeToLog(final AlgorithmPlugin plugin, final String msg, final Exception e, final LogType type) {
+		if(closed)
+			return;
+		
+		final Entry entry = new Entry(System.currentTimeMillis(), (type != null) ? type : LogType.INFO, (plugin != null) ? plugin.getName() : null,
+				(plugin != null) ? plugin.getVersion() : null, Thread.currentThread().getName(), msg, e);
+		
+		if(!buffer.offer(entry))
+			dropped.incrementAndGet();
+		else if(waiting)
+			LockSupport.unpark(writer);
+	}
+	
+	/**
+	 * Gets the log file and its rotated log files that exist.
+	 * 
+	 * @param path the path of the log file
+	 * @return the existing log files ordered from the newest to the oldest one
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if path is null</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public static File[] getLogFiles(final String path) throws IllegalArgumentException {
+		if(path == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		final File file = new File(path);
+		final File[] files = new File[MAX_BACKUP_FILES + 1];
+		int count = 0;
+		
+		for(int i = 0; i <= MAX_BACKUP_FILES; i++) {
+			final File f = (i > 0) ? RotatingLogStream.getBackupFile(file, i) : file;
+			if(f.isFile())
+				files[count++] = f;
+		}
+		
+		final File[] result = new File[count];
+		System.arraycopy(files, 0, result, 0, count);
+		return result;
+	}
+	
+	/**
+	 * Gets the number of messages that were dropped because the buffer was full.
+	 * 
+	 * @return the number of dropped messages
+	 * @since 1.0
+	 */
+	public long getDroppedCount() {
+		return dropped.get();
+	}
+	
+	/**
+	 * Writes the pending messages and closes the log file.
+	 * <br><br>
+	 * Messages that are logged afterwards are ignored.
+	 * 
+	 * @param timeout the maximum time in milliseconds to wait for the pending messages to be written
+	 * @return <code>true</code> if all messages are written otherwise <code>false</code>
+	 * @since 1.0
+	 */
+	public boolean close(final long timeout) {
+		closed = true;
+		LockSupport.unpark(writer);
+		
+		if(Thread.currentThread() == writer)
+			return false;
+		
+		try {
+			writer.join(Math.max(timeout, 1));
+		}
+		catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		
+		return !writer.isAlive();
+	}
+	
+	/**
+	 * Writes the messages of the buffer until the log file is closed.
+	 * 
+	 * @since 1.0
+	 */
+	private void runWriter() {
+		while(true) {
+			final Entry entry = buffer.poll();
+			if(entry != null) {
+				write(entry);
+				continue;
+			}
+			
+			// a producer has claimed a slot but has not yet published its message
+			if(!buffer.isEmpty()) {
+				Thread.yield();
+				continue;
+			}
+			
+			reportDrops();
+			textStream.flush();
+			if(jsonStream != null)
+				jsonStream.flush();
+			
+			if(closed)
+				break;
+			
+			waiting = true;
+			if(buffer.isEmpty() && !closed)
+				LockSupport.parkNanos(this, IDLE_NANOS);
+			waiting = false;
+		}
+		
+		textStream.close();
+		if(jsonStream != null)
+			jsonStream.close();
+	}
+	
+	/**
+	 * Writes the number of the messages that were dropped since the last report.
+	 * 
+	 * @since 1.0
+	 */
+	private void reportDrops() {
+		final long count = dropped.get();
+		
+		if(count > reportedDrops) {
+			write(new Entry(System.currentTimeMillis(), LogType.WARNING, null, null, writer.getName(), "The log was saturated, " + (count - reportedDrops) + " messages were dropped!", null));
+			reportedDrops = count;
+		}
+	}
+	
+	/**
+	 * Writes a message to the log file and to the structured log file.
+	 * 
+	 * @param entry the message
+	 * @since 1.0
+	 */
+	private void write(final Entry entry) {
+		final String pluginInfo = (entry.plugin != null) ? " (plugin: " + entry.plugin + ", plugin-version: " + entry.pluginVersion + ")" : "";
+		final String exceptionInfo = (entry.exception != null) ? FileUtils.LINESEPARATOR + entry.exception.toString() : "";
+		final String line = dateFormat.format(new Date(entry.millis)) + ": [" + getLogLevel(entry.type).getLocalizedName() + "]" + entry.msg + pluginInfo + exceptionInfo + FileUtils.LINESEPARATOR;
+		
+		textStream.write(line.getBytes(charset), entry.millis);
+		
+		if(jsonStream != null) {
+			final LogEntry logEntry = new LogEntry(entry.millis, entry.type, entry.plugin, entry.pluginVersion, entry.thread, entry.msg, getStackTrace(entry.exception));
+			jsonStream.write((logEntry.toJson() + "\n").getBytes(UTF8), entry.millis);
+		}
+	}
+	
+	/**
+	 * Gets the stack trace of an exception.
+	 * 
+	 * @param e the exception or <code>null</code>
+	 * @return the stack trace or <code>null</code> if there is no exception
+	 * @since 1.0
+	 */
+	private static String getStackTrace(final Exception e) {
+		if(e == null)
+			return null;
+		
+		final StringWriter sw = new StringWriter();
+		final PrintWriter pw = new PrintWriter(sw);
+		e.printStackTrace(pw);
+		pw.flush();
+		
+		return sw.toString().trim();
+	}
+	
+	/**
+	 * Gets the logging level of a message type like the {@link LogFile} of the SDK.
+	 * 
+	 * @param type the message type
+	 * @return the level
+	 * @since 1.0
+	 */
+	private static Level getLogLevel(final LogType type) {
+		if(type == LogType.ERROR)
+			return Level.SEVERE;
+		else if(type == LogType.WARNING)
+			return Level.WARNING;
+		else
+			return Level.INFO;
+	}
+	
+	/**
+	 * A message that is not written yet.
+	 * 
+	 * @author jdornseifer
+	 * @version 1.0
+	 * @since 1.0
+	 */
+	private static class Entry {
+		
+		/** the time of the message */
+		public final long millis;
+		/** the type of the message */
+		public final LogType type;
+		/** the name of the plugin that causes the message or <code>null</code> */
+		public final String plugin;
+		/** the version of the plugin that causes the message or <code>null</code> */
+		public final String pluginVersion;
+		/** the name of the thread that logged the message */
+		public final String thread;
+		/** the message */
+		public final String msg;
+		/** the exception that occurred or <code>null</code> */
+		public final Exception exception;
+		
+		/**
+		 * Creates a new entry.
+		 * 
+		 * @param millis the time of the message
+		 * @param type the type of the message
+		 * @param plugin the name of the plugin that causes the message or <code>null</code>
+		 * @param pluginVersion the version of the plugin that causes the message or <code>null</code>
+		 * @param thread the name of the thread that logged the message
+		 * @param msg the message
+		 * @param exception the exception that occurred or <code>null</code>
+		 * @since 1.0
+		 */
+		public Entry(final long millis, final LogType type, final String plugin, final String pluginVersion, final String thread, final String msg, final Exception exception) {
+			this.millis = millis;
+			this.type = type;
+			this.plugin = plugin;
+			this.pluginVersion = pluginVersion;
+			this.thread = thread;
+			this.msg = msg;
+			this.exception = exception;
+		}
+	
+	}
+
+}
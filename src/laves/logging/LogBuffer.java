@@ -0,0 +1,122 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded lock-free ring buffer with multiple producers and a single consumer.
+ * <br><br>
+ * A producer claims a slot by incrementing the tail and publishes its element into the slot afterwards. The consumer takes the
+ * elements in the order of the claimed slots and releases a slot by incrementing the head. If the buffer is full then
+ * {@link #offer(Object)} fails immediately instead of waiting for the consumer.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ */
+final class LogBuffer<E> {
+
+	/** the slots of the buffer */
+	private final AtomicReferenceArray<E> slots;
+	/** the mask to compute the index of a slot from a sequence number */
+	private final int mask;
+	/** the sequence number of the next slot that is claimed by a producer */
+	private final AtomicLong tail;
+	/** the sequence number of the next slot that is taken by the consumer */
+	private final AtomicLong head;
+	
+	/**
+	 * Creates a new buffer.
+	 * 
+	 * @param capacity the capacity (is rounded up to a power of two)
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if capacity is less than one or greater than 2^30</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	LogBuffer(final int capacity) throws IllegalArgumentException {
+		if(capacity < 1 || capacity > (1 << 30))
+			throw new IllegalArgumentException("No valid argument!");
+		
+		final int size = Integer.highestOneBit(capacity - 1) << 1;
+		
+		this.slots = new AtomicReferenceArray<E>(Math.max(size, 1));
+		this.mask = slots.length() - 1;
+		this.tail = new AtomicLong(0);
+		this.head = new AtomicLong(0);
+	}
+	
+	/**
+	 * Adds an element to the buffer.
+	 * <br><br>
+	 * This method can be invoked by any thread.
+	 * 
+	 * @param e the element
+	 * @return <code>true</code> if the element is added or <code>false</code> if the buffer is full
+	 * @since 1.0
+	 */
+	boolean offer(final E e) {
+		long t;
+		
+		do {
+			t = tail.get();
+			if(t - head.get() > mask)
+				return false;
+		} while(!tail.compareAndSet(t, t + 1));
+		
+		slots.lazySet((int)t & mask, e);
+		return true;
+	}
+	
+	/**
+	 * Takes the next element from the buffer.
+	 * <br><br>
+	 * This method may only be invoked by the consumer thread.
+	 * 
+	 * @return the element or <code>null</code> if the buffer is empty or the next element is not yet published by its producer
+	 * @since 1.0
+	 */
+	E poll() {
+		final long h = head.get();
+		final int index = (int)h & mask;
+		final E e = slots.get(index);
+		
+		if(e == null)
+			return null;
+		
+		slots.lazySet(index, null);
+		head.lazySet(h + 1);
+		return e;
+	}
+	
+	/**
+	 * Indicates whether the buffer is empty meaning that all claimed slots are taken by the consumer.
+	 * 
+	 * @return <code>true</code> if the buffer is empty otherwise <code>false</code>
+	 * @since 1.0
+	 */
+	boolean isEmpty() {
+		return head.get() == tail.get();
+	}
+
+}
@@ -0,0 +1,139 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.logging;
+
+import java.util.Map;
+
+import lavesdk.logging.enums.LogType;
+
+/**
+ * An entry of the structured log.
+ * <br><br>
+ * The structured log (see {@link AsyncLogFile}) contains one entry per line as a JSON object with the keys <code>t</code> (the time
+ * in milliseconds), <code>type</code> (the {@link LogType}), <code>plugin</code>, <code>pluginVersion</code>, <code>thread</code>,
+ * <code>msg</code> and <code>exception</code> (the exception with its stack trace). The values of the plugin and the exception are
+ * <code>null</code> if the message is not caused by a plugin or if there is no exception.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ */
+public class LogEntry {
+
+	/** the time of the message in milliseconds */
+	public final long time;
+	/** the message type */
+	public final LogType type;
+	/** the name of the plugin that causes the message or <code>null</code> */
+	public final String plugin;
+	/** the version of the plugin that causes the message or <code>null</code> */
+	public final String pluginVersion;
+	/** the name of the thread that logged the message */
+	public final String thread;
+	/** the message */
+	public final String message;
+	/** the exception with its stack trace or <code>null</code> */
+	public final String exception;
+	
+	/**
+	 * Creates a new entry.
+	 * 
+	 * @param time the time of the message in milliseconds
+	 * @param type the message type
+	 * @param plugin the name of the plugin that causes the message or <code>null</code>
+	 * @param pluginVersion the version of the plugin that causes the message or <code>null</code>
+	 * @param thread the name of the thread that logged the message
+	 * @param message the message
+	 * @param exception the exception with its stack trace or <code>null</code>
+	 * @since 1.0
+	 */
+	public LogEntry(final long time, final LogType type, final String plugin, final String pluginVersion, final String thread, final String message, final String exception) {
+		this.time = time;
+		this.type = type;
+		this.plugin = plugin;
+		this.pluginVersion = pluginVersion;
+		this.thread = thread;
+		this.message = message;
+		this.exception = exception;
+	}
+	
+	/**
+	 * Encodes the entry as a line of the structured log.
+	 * 
+	 * @return the JSON object (without a line separator)
+	 * @since 1.0
+	 */
+	String toJson() {
+		final StringBuilder sb = new StringBuilder(128);
+		
+		// the time, the type and the plugin are the first keys so that they can be found quickly by the index
+		LogJson.append(sb, LogJson.KEY_TIME, time);
+		LogJson.append(sb, LogJson.KEY_TYPE, type.name());
+		LogJson.append(sb, LogJson.KEY_PLUGIN, plugin);
+		LogJson.append(sb, LogJson.KEY_PLUGIN_VERSION, pluginVersion);
+		LogJson.append(sb, LogJson.KEY_THREAD, thread);
+		LogJson.append(sb, LogJson.KEY_MESSAGE, message);
+		LogJson.append(sb, LogJson.KEY_EXCEPTION, exception);
+		sb.append('}');
+		
+		return sb.toString();
+	}
+	
+	/**
+	 * Decodes a line of the structured log.
+	 * 
+	 * @param line the line
+	 * @return the entry or <code>null</code> if the line is not a valid entry
+	 * @since 1.0
+	 */
+	static LogEntry fromJson(final String line) {
+		final Map<String, String> values = LogJson.parse(line);
+		if(values == null)
+			return null;
+		
+		final String t = values.get(LogJson.KEY_TIME);
+		long time;
+		try {
+			time = (t != null) ? Long.parseLong(t) : 0;
+		}
+		catch(NumberFormatException e) {
+			return null;
+		}
+		
+		return new LogEntry(time, toType(values.get(LogJson.KEY_TYPE)), values.get(LogJson.KEY_PLUGIN), values.get(LogJson.KEY_PLUGIN_VERSION),
+				values.get(LogJson.KEY_THREAD), values.get(LogJson.KEY_MESSAGE), values.get(LogJson.KEY_EXCEPTION));
+	}
+	
+	/**
+	 * Gets the message type of its name.
+	 * 
+	 * @param name the name of the type or <code>null</code>
+	 * @return the type ({@link LogType#INFO} if the name is unknown)
+	 * @since 1.0
+	 */
+	static LogType toType(final String name) {
+		for(LogType type : LogType.values())
+			if(type.name().equals(name))
+				return type;
+		
+		return LogType.INFO;
+	}
+
+}
@@ -0,0 +1,695 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.logging;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import laves.utils.ProgressListener;
+import lavesdk.logging.enums.LogType;
+
+/**
+ * The on-disk index of a structured log file.
+ * <br><br>
+ * The index file (the log file with the extension {@link #INDEX_EXTENSION}) contains a record for each entry of the log with its
+ * position in the log, its time, its type and the key of its plugin (see {@link #getPluginKey(String)}). So the entries can be
+ * filtered by reading the compact records instead of parsing the log and only the entries that are displayed are read from the log
+ * (see {@link #read(int[], int, int)}). Neither the log nor the index are loaded into memory.
+ * <br><br>
+ * The key of a plugin is its number in the plugin dictionary (the index file with the extension {@link #DICTIONARY_EXTENSION}) that
+ * contains a line with the name of each plugin of the log in the order of their first entries. The times of the records are never
+ * decreasing (an entry that is older than its predecessor, e.g. because the clock was set back, gets the time of its predecessor) so that
+ * {@link #query(long, long, Integer, boolean[])} finds the first entry of the time range with a binary search and only reads the records
+ * of the time range.
+ * <br><br>
+ * The index is updated incrementally meaning that only the lines that are appended to the log since the last update are indexed. If
+ * the log was replaced (e.g. because it was rotated) then the index is rebuilt.
+ * <br><br>
+ * <b>Notice</b>:<br>
+ * The methods are synchronized but should be invoked in a background thread because they access the file system.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ */
+public class LogIndex {
+
+	/** the log file */
+	private final File logFile;
+	/** the index file */
+	private final File indexFile;
+	/** the plugin dictionary file */
+	private final File dictionaryFile;
+	/** the names of the plugins in the dictionary (the key of a plugin is its index plus one) */
+	private final List<String> plugins;
+	/** the keys of the plugins in the dictionary (key=name, value=plugin key) */
+	private final Map<String, Integer> pluginKeys;
+	/** the time of the last indexed entry */
+	private long lastTime;
+	/** the number of bytes of the log that are indexed */
+	private long indexedLength;
+	/** the number of indexed entries */
+	private int count;
+	
+	/** the extension of an index file that is appended to the name of the log file */
+	public static final String INDEX_EXTENSION = ".idx";
+	/** the extension of a plugin dictionary file that is appended to the name of the index file */
+	public static final String DICTIONARY_EXTENSION = ".plugins";
+	/** the plugin key of the entries that are not caused by a plugin */
+	public static final int NO_PLUGIN = 0;
+	/** the plugin key of a plugin that has no entries in the log */
+	public static final int UNKNOWN_PLUGIN = -1;
+	/** the magic number of an index file ("LVLI") */
+	private static final int MAGIC = 0x4C564C49;
+	/** the version of the index format */
+	private static final int VERSION = 2;
+	/** the size of the header (magic, version, fingerprint, indexed length, count, number of plugins) */
+	private static final int HEADER_SIZE = 4 + 4 + 8 + 8 + 4 + 4;
+	/** the size of a record (offset, time, length, plugin key, type) */
+	private static final int RECORD_SIZE = 8 + 8 + 4 + 4 + 1;
+	/** the number of records that are read or written with one file operation */
+	private static final int RECORDS_PER_CHUNK = 4096;
+	/** the maximum number of bytes of the first line that are used as the fingerprint of the log */
+	private static final int FINGERPRINT_LENGTH = 256;
+	/** the charset of the log */
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+	
+	/**
+	 * Creates a new index.
+	 * <br><br>
+	 * The index is not read until {@link #update(ProgressListener)} is invoked.
+	 * 
+	 * @param logFile the structured log file
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if logFile is null</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public LogIndex(final File logFile) throws IllegalArgumentException {
+		if(logFile == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		this.logFile = logFile;
+		this.indexFile = getIndexFile(logFile);
+		this.dictionaryFile = getDictionaryFile(logFile);
+		this.plugins = new ArrayList<String>();
+		this.pluginKeys = new HashMap<String, Integer>();
+		this.lastTime = Long.MIN_VALUE;
+		this.indexedLength = 0;
+		this.count = 0;
+	}
+	
+	/**
+	 * Gets the index file of a log file.
+	 * 
+	 * @param logFile the log file
+	 * @return the index file
+	 * @since 1.0
+	 */
+	public static File getIndexFile(final File logFile) {
+		return new File(logFile.getPath() + INDEX_EXTENSION);
+	}
+	
+	/**
+	 * Gets the plugin dictionary file of a log file.
+	 * 
+	 * @param logFile the log file
+	 * @return the dictionary file
+	 * @since 1.0
+	 */
+	public static File getDictionaryFile(final File logFile) {
+		return new File(getIndexFile(logFile).getPath() + DICTIONARY_EXTENSION);
+	}
+	
+	/**
+	 * Renames the index files of a log file so that they belong to another log file.
+	 * 
+	 * @param logFile the log file
+	 * @param newLogFile the new log file
+	 * @since 1.0
+	 */
+	public static void rename(final File logFile, final File newLogFile) {
+		final File index = getIndexFile(logFile);
+		if(index.exists())
+			index.renameTo(getIndexFile(newLogFile));
+		
+		final File dictionary = getDictionaryFile(logFile);
+		if(dictionary.exists())
+			dictionary.renameTo(getDictionaryFile(newLogFile));
+	}
+	
+	/**
+	 * Deletes the index files of a log file.
+	 * 
+	 * @param logFile the log file
+	 * @since 1.0
+	 */
+	public static void delete(final File logFile) {
+		getIndexFile(logFile).delete();
+		getDictionaryFile(logFile).delete();
+	}
+	
+	/**
+	 * Gets the key of a plugin that is stored in the index.
+	 * <br><br>
+	 * The keys are only known after the index is updated (see {@link #update(ProgressListener)}).
+	 * 
+	 * @param plugin the name of the plugin or <code>null</code>
+	 * @return the key, {@link #NO_PLUGIN} if there is no plugin or {@link #UNKNOWN_PLUGIN} if the plugin has no entries in the log
+	 * @since 1.0
+	 */
+	public synchronized int getPluginKey(final String plugin) {
+		if(plugin == null)
+			return NO_PLUGIN;
+		
+		final Integer key = pluginKeys.get(sanitize(plugin));
+		return (key != null) ? key.intValue() : UNKNOWN_PLUGIN;
+	}
+	
+	/**
+	 * Gets the number of indexed entries.
+	 * 
+	 * @return the number of entries
+	 * @since 1.0
+	 */
+	public synchronized int getCount() {
+		return count;
+	}
+	
+	/**
+	 * Updates the index meaning that the lines that were appended to the log are indexed.
+	 * <br><br>
+	 * The update can be canceled by interrupting the thread, the lines that are indexed so far are retained.
+	 * 
+	 * @param listener the listener of the progress in percent or <code>null</code>
+	 * @return the number of indexed entries
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the log could not be read or the index could not be written</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public synchronized int update(final ProgressListener listener) throws IOException {
+		final long fingerprint = getFingerprint();
+		
+		try(final RandomAccessFile idx = new RandomAccessFile(indexFile, "rw")) {
+			if(!readHeader(idx, fingerprint)) {
+				indexedLength = 0;
+				count = 0;
+				lastTime = Long.MIN_VALUE;
+				plugins.clear();
+				pluginKeys.clear();
+				new FileOutputStream(dictionaryFile).close();
+				idx.setLength(HEADER_SIZE);
+				writeHeader(idx, fingerprint);
+			}
+			
+			final long logLength = logFile.length();
+			if(logLength <= indexedLength)
+				return count;
+			
+			if(listener != null)
+				listener.totalProgress(100);
+			
+			try(final FileInputStream in = new FileInputStream(logFile); final OutputStream dictionary = new FileOutputStream(dictionaryFile, true)) {
+				skipFully(in, indexedLength);
+				indexLines(in, idx, dictionary, fingerprint, logLength, listener);
+			}
+		}
+		
+		return count;
+	}
+	
+	/**
+	 * Finds the entries that match a filter.
+	 * <br><br>
+	 * Only the records of the time range are read.
+	 * 
+	 * @param from the minimum time in milliseconds (inclusive)
+	 * @param to the maximum time in milliseconds (inclusive)
+	 * @param pluginKey the key of the plugin (see {@link #getPluginKey(String)}) or <code>null</code> to match the entries of all plugins
+	 * @param types the flags of the types that should be matched (indexed by the ordinals of {@link LogType})
+	 * @return the numbers of the matching entries in ascending order
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the index could not be read</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public synchronized int[] query(final long from, final long to, final Integer pluginKey, final boolean[] types) throws IOException {
+		int[] rows = new int[1024];
+		int size = 0;
+		
+		try(final RandomAccessFile idx = new RandomAccessFile(indexFile, "r")) {
+			final ByteBuffer buffer = ByteBuffer.allocate(RECORDS_PER_CHUNK * RECORD_SIZE);
+			int row = findFirstRow(idx, from);
+			int end = count;
+			
+			while(row < end) {
+				if(Thread.currentThread().isInterrupted())
+					break;
+				
+				final int n = Math.min(RECORDS_PER_CHUNK, end - row);
+				idx.seek(HEADER_SIZE + (long)row * RECORD_SIZE);
+				idx.readFully(buffer.array(), 0, n * RECORD_SIZE);
+				buffer.clear();
+				buffer.limit(n * RECORD_SIZE);
+				
+				for(int i = 0; i < n; i++, row++) {
+					buffer.getLong();
+					final long time = buffer.getLong();
+					buffer.getInt();
+					final int plugin = buffer.getInt();
+					final int type = buffer.get();
+					
+					// the times are never decreasing so the remaining entries are out of the range too
+					if(time > to) {
+						end = row;
+						break;
+					}
+					if(time < from || (pluginKey != null && plugin != pluginKey.intValue()) || type < 0 || type >= types.length || !types[type])
+						continue;
+					
+					if(size == rows.length)
+						rows = Arrays.copyOf(rows, size * 2);
+					rows[size++] = row;
+				}
+			}
+		}
+		
+		return Arrays.copyOf(rows, size);
+	}
+	
+	/**
+	 * Reads entries from the log.
+	 * 
+	 * @param rows the numbers of the entries (see {@link #query(long, long, Integer, boolean[])})
+	 * @param offset the index of the first entry in rows that should be read
+	 * @param length the number of entries that should be read
+	 * @return the entries (an entry is <code>null</code> if it could not be decoded)
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the log or the index could not be read</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public synchronized LogEntry[] read(final int[] rows, final int offset, final int length) throws IOException {
+		final int n = Math.max(0, Math.min(length, rows.length - offset));
+		final LogEntry[] entries = new LogEntry[n];
+		final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+		
+		try(final RandomAccessFile idx = new RandomAccessFile(indexFile, "r"); final RandomAccessFile log = new RandomAccessFile(logFile, "r")) {
+			for(int i = 0; i < n; i++) {
+				final int row = rows[offset + i];
+				if(row < 0 || row >= count)
+					continue;
+				
+				idx.seek(HEADER_SIZE + (long)row * RECORD_SIZE);
+				idx.readFully(record.array());
+				record.clear();
+				final long pos = record.getLong();
+				record.getLong();
+				final int lineLength = record.getInt();
+				
+				final byte[] line = new byte[lineLength];
+				log.seek(pos);
+				log.readFully(line);
+				entries[i] = LogEntry.fromJson(new String(line, UTF8));
+			}
+		}
+		
+		return entries;
+	}
+	
+	/**
+	 * Indexes the lines of the log.
+	 * 
+	 * @param in the stream of the log that is positioned at the first line that is not indexed
+	 * @param idx the index file
+	 * @param dictionary the stream of the plugin dictionary
+	 * @param fingerprint the fingerprint of the log
+	 * @param logLength the length of the log
+	 * @param listener the listener of the progress or <code>null</code>
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the log could not be read or the index could not be written</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	private void indexLines(final InputStream in, final RandomAccessFile idx, final OutputStream dictionary, final long fingerprint, final long logLength, final ProgressListener listener) throws IOException {
+		final ByteBuffer records = ByteBuffer.allocate(RECORDS_PER_CHUNK * RECORD_SIZE);
+		final byte[] chunk = new byte[64 * 1024];
+		byte[] line = new byte[1024];
+		int lineLength = 0;
+		long lineStart = indexedLength;
+		long pos = indexedLength;
+		int newCount = count;
+		int lastPercent = -1;
+		int read;
+		
+		while((read = in.read(chunk)) > 0) {
+			for(int i = 0; i < read; i++, pos++) {
+				final byte b = chunk[i];
+				if(b != '\n') {
+					if(lineLength == line.length)
+						line = Arrays.copyOf(line, lineLength * 2);
+					line[lineLength++] = b;
+					continue;
+				}
+				
+				// a complete line
+				int length = lineLength;
+				if(length > 0 && line[length - 1] == '\r')
+					length--;
+				final LogEntry entry = (length > 0) ? LogEntry.fromJson(new String(line, 0, length, UTF8)) : null;
+				if(entry != null) {
+					lastTime = Math.max(lastTime, entry.time);
+					records.putLong(lineStart);
+					records.putLong(lastTime);
+					records.putInt(length);
+					records.putInt(addPlugin(dictionary, entry.plugin));
+					records.put((byte)entry.type.ordinal());
+					newCount++;
+				}
+				
+				lineLength = 0;
+				lineStart = pos + 1;
+				
+				if(!records.hasRemaining()) {
+					flushRecords(idx, records, newCount);
+					writeProgress(idx, fingerprint, lineStart, newCount);
+				}
+			}
+			
+			if(listener != null && logLength > 0) {
+				final int percent = (int)Math.min(100, (pos * 100) / logLength);
+				if(percent != lastPercent) {
+					listener.currentProgress(percent, null);
+					lastPercent = percent;
+				}
+			}
+			
+			if(Thread.currentThread().isInterrupted())
+				break;
+		}
+		
+		// the last line is indexed with the next update if it is incomplete
+		flushRecords(idx, records, newCount);
+		writeProgress(idx, fingerprint, lineStart, newCount);
+	}
+	
+	/**
+	 * Gets the key of a plugin and adds the plugin to the dictionary if it is not contained yet.
+	 * <br><br>
+	 * The dictionary is written before the records that refer to it.
+	 * 
+	 * @param dictionary the stream of the plugin dictionary
+	 * @param plugin the name of the plugin or <code>null</code>
+	 * @return the key of the plugin
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the dictionary could not be written</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	private int addPlugin(final OutputStream dictionary, final String plugin) throws IOException {
+		if(plugin == null)
+			return NO_PLUGIN;
+		
+		final String name = sanitize(plugin);
+		Integer key = pluginKeys.get(name);
+		if(key == null) {
+			dictionary.write((name + "\n").getBytes(UTF8));
+			plugins.add(name);
+			key = plugins.size();
+			pluginKeys.put(name, key);
+		}
+		
+		return key.intValue();
+	}
+	
+	/**
+	 * Writes the buffered records to the index.
+	 * 
+	 * @param idx the index file
+	 * @param records the buffered records
+	 * @param newCount the number of entries including the buffered records
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the records could not be written</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	private void flushRecords(final RandomAccessFile idx, final ByteBuffer records, final int newCount) throws IOException {
+		final int n = records.position() / RECORD_SIZE;
+		
+		idx.seek(HEADER_SIZE + (long)(newCount - n) * RECORD_SIZE);
+		idx.write(records.array(), 0, records.position());
+		records.clear();
+	}
+	
+	/**
+	 * Commits the progress of the indexing meaning that the header is updated after the records are written.
+	 * 
+	 * @param idx the index file
+	 * @param fingerprint the fingerprint of the log
+	 * @param length the number of bytes of the log that are indexed
+	 * @param newCount the number of indexed entries
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the header could not be written</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	private void writeProgress(final RandomAccessFile idx, final long fingerprint, final long length, final int newCount) throws IOException {
+		indexedLength = length;
+		count = newCount;
+		writeHeader(idx, fingerprint);
+	}
+	
+	/**
+	 * Reads the header of the index and the plugin dictionary and checks whether the index belongs to the log.
+	 *  
+	 * @param idx the index file
+	 * @param fingerprint the fingerprint of the log
+	 * @return <code>true</code> if the index is valid otherwise <code>false</code>
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the index could not be read</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	private boolean readHeader(final RandomAccessFile idx, final long fingerprint) throws IOException {
+		if(idx.length() < HEADER_SIZE)
+			return false;
+		
+		idx.seek(0);
+		if(idx.readInt() != MAGIC || idx.readInt() != VERSION || idx.readLong() != fingerprint)
+			return false;
+		
+		final long length = idx.readLong();
+		final int n = idx.readInt();
+		final int pluginCount = idx.readInt();
+		if(length < 0 || length > logFile.length() || n < 0 || pluginCount < 0 || idx.length() < HEADER_SIZE + (long)n * RECORD_SIZE || !readDictionary(pluginCount))
+			return false;
+		
+		indexedLength = length;
+		count = n;
+		
+		if(n > 0) {
+			idx.seek(HEADER_SIZE + (long)(n - 1) * RECORD_SIZE + 8);
+			lastTime = idx.readLong();
+		}
+		else
+			lastTime = Long.MIN_VALUE;
+		
+		return true;
+	}
+	
+	/**
+	 * Reads the plugin dictionary.
+	 * <br><br>
+	 * Plugins that were added after the last update of the header (e.g. because LAVES crashed) are truncated.
+	 * 
+	 * @param pluginCount the number of plugins in the dictionary
+	 * @return <code>true</code> if the dictionary is valid otherwise <code>false</code>
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the dictionary could not be read</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	private boolean readDictionary(final int pluginCount) throws IOException {
+		plugins.clear();
+		pluginKeys.clear();
+		
+		if(!dictionaryFile.exists())
+			return pluginCount == 0;
+		
+		try(final RandomAccessFile dict = new RandomAccessFile(dictionaryFile, "rw")) {
+			final byte[] data = new byte[(int)Math.min(Integer.MAX_VALUE, dict.length())];
+			dict.readFully(data);
+			
+			int start = 0;
+			for(int i = 0; i < data.length && plugins.size() < pluginCount; i++) {
+				if(data[i] != '\n')
+					continue;
+				
+				final String name = new String(data, start, i - start, UTF8);
+				plugins.add(name);
+				pluginKeys.put(name, plugins.size());
+				start = i + 1;
+			}
+			
+			if(plugins.size() < pluginCount)
+				return false;
+			
+			dict.setLength(start);
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Writes the header of the index.
+	 * 
+	 * @param idx the index file
+	 * @param fingerprint the fingerprint of the log
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the header could not be written</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	private void writeHeader(final RandomAccessFile idx, final long fingerprint) throws IOException {
+		idx.seek(0);
+		idx.writeInt(MAGIC);
+		idx.writeInt(VERSION);
+		idx.writeLong(fingerprint);
+		idx.writeLong(indexedLength);
+		idx.writeInt(count);
+		idx.writeInt(plugins.size());
+	}
+	
+	/**
+	 * Finds the first entry whose time is equal or greater than the given time using a binary search in the records.
+	 * 
+	 * @param idx the index file
+	 * @param from the time
+	 * @return the number of the entry or the number of entries if there is none
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the index could not be read</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	private int findFirstRow(final RandomAccessFile idx, final long from) throws IOException {
+		int low = 0;
+		int high = count;
+		
+		while(low < high) {
+			final int mid = (low + high) >>> 1;
+			idx.seek(HEADER_SIZE + (long)mid * RECORD_SIZE + 8);
+			if(idx.readLong() < from)
+				low = mid + 1;
+			else
+				high = mid;
+		}
+		
+		return low;
+	}
+	
+	/**
+	 * Removes the line breaks of a plugin name so that it can be stored as a line of the dictionary.
+	 * 
+	 * @param plugin the name of the plugin
+	 * @return the name without line breaks
+	 * @since 1.0
+	 */
+	private static String sanitize(final String plugin) {
+		return plugin.replace('\r', ' ').replace('\n', ' ');
+	}
+	
+	/**
+	 * Skips bytes of a stream.
+	 * 
+	 * @param in the stream
+	 * @param n the number of bytes
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the stream could not be read</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	private static void skipFully(final InputStream in, long n) throws IOException {
+		while(n > 0) {
+			final long skipped = in.skip(n);
+			if(skipped <= 0)
+				break;
+			n -= skipped;
+		}
+	}
+	
+	/**
+	 * Gets the fingerprint of the log meaning a hash of its first line so that a replaced log can be detected.
+	 * 
+	 * @return the fingerprint or <code>0</code> if the log does not contain a complete line
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the log could not be read</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	private long getFingerprint() throws IOException {
+		final byte[] head = new byte[FINGERPRINT_LENGTH];
+		int n = 0;
+		
+		try(final FileInputStream in = new FileInputStream(logFile)) {
+			int read;
+			while(n < head.length && (read = in.read(head, n, head.length - n)) > 0)
+				n += read;
+		}
+		
+		// FNV-1a hash of the first line
+		long hash = 0xcbf29ce484222325L;
+		for(int i = 0; i < n; i++) {
+			if(head[i] == '\n')
+				return hash;
+			hash ^= head[i] & 0xFF;
+			hash *= 0x100000001b3L;
+		}
+		
+		return (n == head.length) ? hash : 0;
+	}
+
+}
@@ -0,0 +1,240 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.logging;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Encodes and decodes the lines of the structured log.
+ * <br><br>
+ * A line is a flat JSON object whose values are strings, integers or <code>null</code> (see {@link LogEntry}). The decoder only
+ * supports this subset of JSON.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ */
+final class LogJson {
+
+	/** the key of the time in milliseconds */
+	public static final String KEY_TIME = "t";
+	/** the key of the message type */
+	public static final String KEY_TYPE = "type";
+	/** the key of the plugin name */
+	public static final String KEY_PLUGIN = "plugin";
+	/** the key of the plugin version */
+	public static final String KEY_PLUGIN_VERSION = "pluginVersion";
+	/** the key of the thread name */
+	public static final String KEY_THREAD = "thread";
+	/** the key of the message */
+	public static final String KEY_MESSAGE = "msg";
+	/** the key of the exception */
+	public static final String KEY_EXCEPTION = "exception";
+	
+	/** the hexadecimal digits */
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
+	
+	/**
+	 * Appends a key with a string value to a JSON object.
+	 * 
+	 * @param sb the builder of the object
+	 * @param key the key
+	 * @param value the value or <code>null</code>
+	 * @since 1.0
+	 */
+	public static void append(final StringBuilder sb, final String key, final String value) {
+		appendKey(sb, key);
+		
+		if(value == null) {
+			sb.append("null");
+			return;
+		}
+		
+		sb.append('"');
+		for(int i = 0; i < value.length(); i++) {
+			final char c = value.charAt(i);
+			switch(c) {
+				case '"':	sb.append("\\\""); break;
+				case '\\':	sb.append("\\\\"); break;
+				case '\n':	sb.append("\\n"); break;
+				case '\r':	sb.append("\\r"); break;
+				case '\t':	sb.append("\\t"); break;
+				default:
+					if(c < 0x20)
+						sb.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+					else
+						sb.append(c);
+			}
+		}
+		sb.append('"');
+	}
+	
+	/**
+	 * Appends a key with a number value to a JSON object.
+	 * 
+	 * @param sb the builder of the object
+	 * @param key the key
+	 * @param value the value
+	 * @since 1.0
+	 */
+	public static void append(final StringBuilder sb, final String key, final long value) {
+		appendKey(sb, key);
+		sb.append(value);
+	}
+	
+	/**
+	 * Decodes a line of the structured log.
+	 * 
+	 * @param line the line
+	 * @return the values of the object (a number is returned as string) or <code>null</code> if the line is not a valid object
+	 * @since 1.0
+	 */
+	public static Map<String, String> parse(final String line) {
+		final Map<String, String> values = new HashMap<String, String>();
+		final int[] pos = new int[] { skipWhitespace(line, 0) };
+		
+		if(pos[0] >= line.length() || line.charAt(pos[0]) != '{')
+			return null;
+		pos[0]++;
+		
+		pos[0] = skipWhitespace(line, pos[0]);
+		if(pos[0] < line.length() && line.charAt(pos[0]) == '}')
+			return values;
+		
+		while(pos[0] < line.length()) {
+			final String key = parseString(line, pos);
+			if(key == null)
+				return null;
+			
+			pos[0] = skipWhitespace(line, pos[0]);
+			if(pos[0] >= line.length() || line.charAt(pos[0]) != ':')
+				return null;
+			pos[0] = skipWhitespace(line, pos[0] + 1);
+			if(pos[0] >= line.length())
+				return null;
+			
+			final char c = line.charAt(pos[0]);
+			if(c == '"') {
+				final String value = parseString(line, pos);
+				if(value == null)
+					return null;
+				values.put(key, value);
+			}
+			else {
+				// a number or a literal
+				final int start = pos[0];
+				while(pos[0] < line.length() && ",} \t".indexOf(line.charAt(pos[0])) < 0)
+					pos[0]++;
+				final String value = line.substring(start, pos[0]);
+				values.put(key, value.equals("null") ? null : value);
+			}
+			
+			pos[0] = skipWhitespace(line, pos[0]);
+			if(pos[0] >= line.length())
+				return null;
+			if(line.charAt(pos[0]) == '}')
+				return values;
+			if(line.charAt(pos[0]) != ',')
+				return null;
+			pos[0] = skipWhitespace(line, pos[0] + 1);
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Appends a key to a JSON object.
+	 * 
+	 * @param sb the builder of the object
+	 * @param key the key
+	 * @since 1.0
+	 */
+	private static void appendKey(final StringBuilder sb, final String key) {
+		sb.append((sb.length() == 0) ? '{' : ',');
+		sb.append('"').append(key).append("\":");
+	}
+	
+	/**
+	 * Parses a string.
+	 * 
+	 * @param line the line
+	 * @param pos the position of the opening quote that is set to the position after the closing quote
+	 * @return the string or <code>null</code> if the string is not valid
+	 * @since 1.0
+	 */
+	private static String parseString(final String line, final int[] pos) {
+		if(pos[0] >= line.length() || line.charAt(pos[0]) != '"')
+			return null;
+		
+		final StringBuilder sb = new StringBuilder();
+		int i = pos[0] + 1;
+		
+		while(i < line.length()) {
+			final char c = line.charAt(i++);
+			
+			if(c == '"') {
+				pos[0] = i;
+				return sb.toString();
+			}
+			else if(c != '\\')
+				sb.append(c);
+			else if(i < line.length()) {
+				final char esc = line.charAt(i++);
+				switch(esc) {
+					case 'n':	sb.append('\n'); break;
+					case 'r':	sb.append('\r'); break;
+					case 't':	sb.append('\t'); break;
+					case 'b':	sb.append('\b'); break;
+					case 'f':	sb.append('\f'); break;
+					case 'u':
+						if(i + 4 > line.length())
+							return null;
+						try {
+							sb.append((char)Integer.parseInt(line.substring(i, i + 4), 16));
+						}
+						catch(NumberFormatException e) {
+							return null;
+						}
+						i += 4;
+						break;
+					default:	sb.append(esc);
+				}
+			}
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Skips the whitespaces of a line.
+	 * 
+	 * @param line the line
+	 * @param pos the current position
+	 * @return the position of the next character that is not a whitespace
+	 * @since 1.0
+	 */
+	private static int skipWhitespace(final String line, int pos) {
+		while(pos < line.length() && Character.isWhitespace(line.charAt(pos)))
+			pos++;
+		return pos;
+	}
+
+}
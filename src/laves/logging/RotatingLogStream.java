@@ -0,0 +1,209 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.logging;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.TimeZone;
+
+/**
+ * The stream of a log file that is rotated by size and by day.
+ * <br><br>
+ * The log file is rotated if it exceeds the maximum size or if a line is written on another day than the previous one. The current
+ * file is renamed to <code>name.1.ext</code>, the older files are shifted and only the given number of them are kept. The index of a
+ * log file (see {@link LogIndex#rename(File, File)}) is renamed together with its log file so that it remains valid.
+ * <br><br>
+ * <b>Notice</b>:<br>
+ * The stream is not thread-safe, it is only accessed by the writer of the {@link AsyncLogFile}.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ */
+final class RotatingLogStream {
+
+	/** the log file */
+	private final File file;
+	/** the maximum size of the log file in bytes */
+	private final long maxSize;
+	/** the maximum number of rotated log files */
+	private final int maxBackups;
+	/** the stream of the log file or <code>null</code> if it is not opened */
+	private OutputStream out;
+	/** the size of the log file in bytes */
+	private long size;
+	/** the day of the last line that is written to the log file */
+	private long day;
+	
+	/** the number of milliseconds of a day */
+	private static final long MILLIS_PER_DAY = 24L * 60L * 60L * 1000L;
+	
+	/**
+	 * Creates a new stream.
+	 * <br><br>
+	 * The log file of a previous day or a full log file is rotated immediately.
+	 * 
+	 * @param file the log file
+	 * @param maxSize the maximum size of the log file in bytes
+	 * @param maxBackups the maximum number of rotated log files
+	 * @since 1.0
+	 */
+	RotatingLogStream(final File file, final long maxSize, final int maxBackups) {
+		this.file = file;
+		this.maxSize = maxSize;
+		this.maxBackups = maxBackups;
+		this.out = null;
+		
+		if(file.isFile() && (file.length() >= maxSize || dayOf(file.lastModified()) != dayOf(System.currentTimeMillis())))
+			rotate();
+		open();
+	}
+	
+	/**
+	 * Gets a rotated log file.
+	 * 
+	 * @param file the log file
+	 * @param index the index of the backup (<code>1</code> is the newest backup)
+	 * @return the backup file
+	 * @since 1.0
+	 */
+	static File getBackupFile(final File file, final int index) {
+		final String name = file.getName();
+		final int ext = name.lastIndexOf('.');
+		
+		if(ext > 0)
+			return new File(file.getParentFile(), name.substring(0, ext) + "." + index + name.substring(ext));
+		else
+			return new File(file.getParentFile(), name + "." + index);
+	}
+	
+	/**
+	 * Writes a line to the log file and rotates the log file before if necessary.
+	 * 
+	 * @param line the encoded line including the line separator
+	 * @param millis the time of the line
+	 * @since 1.0
+	 */
+	void write(final byte[] line, final long millis) {
+		if(out != null && (size >= maxSize || (size > 0 && dayOf(millis) != day))) {
+			close();
+			rotate();
+		}
+		
+		if(out == null)
+			open();
+		if(out == null)
+			return;
+		
+		try {
+			out.write(line);
+			size += line.length;
+			day = dayOf(millis);
+		}
+		catch(IOException e) {
+			close();
+		}
+	}
+	
+	/**
+	 * Flushes the stream of the log file.
+	 * 
+	 * @since 1.0
+	 */
+	void flush() {
+		if(out == null)
+			return;
+		
+		try {
+			out.flush();
+		}
+		catch(IOException e) {
+			close();
+		}
+	}
+	
+	/**
+	 * Closes the stream of the log file.
+	 * 
+	 * @since 1.0
+	 */
+	void close() {
+		if(out == null)
+			return;
+		
+		try {
+			out.close();
+		}
+		catch(IOException e) {
+		}
+		out = null;
+	}
+	
+	/**
+	 * Opens the log file in append mode.
+	 * 
+	 * @since 1.0
+	 */
+	private void open() {
+		try {
+			out = new BufferedOutputStream(new FileOutputStream(file, true), 8192);
+			size = file.length();
+			day = dayOf(System.currentTimeMillis());
+		}
+		catch(IOException e) {
+			out = null;
+		}
+	}
+	
+	/**
+	 * Rotates the log file meaning that the log file and its backups are renamed and the oldest backup is deleted.
+	 * 
+	 * @since 1.0
+	 */
+	private void rotate() {
+		final File oldest = getBackupFile(file, maxBackups);
+		oldest.delete();
+		LogIndex.delete(oldest);
+		
+		for(int i = maxBackups - 1; i >= 0; i--) {
+			final File f = (i > 0) ? getBackupFile(file, i) : file;
+			final File next = getBackupFile(file, i + 1);
+			if(f.exists())
+				f.renameTo(next);
+			
+			LogIndex.rename(f, next);
+		}
+	}
+	
+	/**
+	 * Gets the day of a point in time in the default time zone.
+	 * 
+	 * @param millis the point in time
+	 * @return the number of the day
+	 * @since 1.0
+	 */
+	private static long dayOf(final long millis) {
+		return (millis + TimeZone.getDefault().getOffset(millis)) / MILLIS_PER_DAY;
+	}
+
+}
@@ -0,0 +1,74 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.management;
+
+/**
+ * An event of the {@link DiagnosticsRecorder} that is begun using {@link DiagnosticsRecorder#begin(String, String)}.
+ * <br><br>
+ * The duration of the event is the time between its beginning and {@link #commit()}. An event can only be committed once.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ */
+public class DiagnosticsEvent {
+
+	/** the recorder that has created the event */
+	private final DiagnosticsRecorder recorder;
+	/** the underlying JFR event or <code>null</code> if the event is discarded */
+	private Object event;
+	
+	/**
+	 * Creates a new event.
+	 * 
+	 * @param recorder the recorder that has created the event
+	 * @param event the underlying JFR event or <code>null</code> if the event should be discarded
+	 * @since 1.0
+	 */
+	DiagnosticsEvent(final DiagnosticsRecorder recorder, final Object event) {
+		this.recorder = recorder;
+		this.event = event;
+	}
+	
+	/**
+	 * Sets additional information about the event (like the file that is opened or the identifier of an executed step).
+	 * 
+	 * @param detail the detail
+	 * @since 1.0
+	 */
+	public void setDetail(final String detail) {
+		if(event != null)
+			recorder.setDetail(event, detail);
+	}
+	
+	/**
+	 * Ends and commits the event.
+	 * 
+	 * @since 1.0
+	 */
+	public void commit() {
+		if(event == null)
+			return;
+		
+		recorder.commit(event);
+		event = null;
+	}
+
+}
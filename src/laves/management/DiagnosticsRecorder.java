@@ -0,0 +1,388 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.management;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import lavesdk.algorithm.plugin.AlgorithmPlugin;
+
+/**
+ * Records diagnostic events of LAVES using the Java Flight Recorder (JFR) so that a timeline of what the host was doing can be
+ * correlated with the events of the JVM (like garbage collections, thread states, ...).
+ * <br><br>
+ * Each event carries the name of the plugin it belongs to and its duration. Use {@link #begin(String, AlgorithmPlugin)} to begin an event
+ * and {@link DiagnosticsEvent#commit()} to end and commit it. With {@link #start()} a continuous recording is started that can be
+ * dumped to a file using {@link #dump(File)}.
+ * <br><br>
+ * <b>Notice</b>:<br>
+ * LAVES is compiled against Java 8 where the JFR API is not part of the platform. That is why the API is accessed reflectively.
+ * If the running JVM does not provide JFR then {@link #isAvailable()} returns <code>false</code> and all events are discarded.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ */
+public class DiagnosticsRecorder {
+
+	/** event type of a loading phase of the {@link laves.Loader} */
+	public static final String EVENT_LOADER_PHASE = "laves.LoaderPhase";
+	/** event type of the initialization of a plugin by the {@link laves.PluginManager} */
+	public static final String EVENT_PLUGIN_INITIALIZE = "laves.PluginInitialize";
+	/** event type of the installation of a plugin by the {@link laves.PluginManager} */
+	public static final String EVENT_PLUGIN_INSTALL = "laves.PluginInstall";
+	/** event type of the deinstallation of a plugin by the {@link laves.PluginManager} */
+	public static final String EVENT_PLUGIN_DEINSTALL = "laves.PluginDeinstall";
+	/** event type of the activation of a plugin in the host */
+	public static final String EVENT_PLUGIN_ACTIVATE = "laves.PluginActivate";
+	/** event type of the closing of the active plugin in the host */
+	public static final String EVENT_PLUGIN_CLOSE = "laves.PluginClose";
+	/** event type of the start or resumption of a runtime environment */
+	public static final String EVENT_RTE_START = "laves.RTEStart";
+	/** event type of the pausing of a runtime environment */
+	public static final String EVENT_RTE_PAUSE = "laves.RTEPause";
+	/** event type of the stop of a runtime environment (the duration is the time the runtime environment was started) */
+	public static final String EVENT_RTE_STOP = "laves.RTEStop";
+	/** event type of the execution of an algorithm step (the duration is the time the step was the executing one) */
+	public static final String EVENT_STEP = "laves.Step";
+	/** event type of opening a file with the active plugin */
+	public static final String EVENT_FILE_OPEN = "laves.FileOpen";
+	/** event type of saving a file with the active plugin */
+	public static final String EVENT_FILE_SAVE = "laves.FileSave";
+	
+	/** the instance of the recorder */
+	private static DiagnosticsRecorder instance = null;
+	
+	/** the event factories of the event types (key=event type, value=jdk.jfr.EventFactory) */
+	private final Map<String, Object> factories;
+	/** the method <code>EventFactory.newEvent()</code> */
+	private Method newEventMethod;
+	/** the method <code>Event.begin()</code> */
+	private Method beginMethod;
+	/** the method <code>Event.end()</code> */
+	private Method endMethod;
+	/** the method <code>Event.commit()</code> */
+	private Method commitMethod;
+	/** the method <code>Event.set(int, Object)</code> */
+	private Method setMethod;
+	/** the constructor <code>AnnotationElement(Class, Object)</code> */
+	private Constructor<?> annotationCtor;
+	/** the constructor <code>ValueDescriptor(Class, String, List)</code> */
+	private Constructor<?> valueDescriptorCtor;
+	/** the annotation classes <code>Name</code>, <code>Label</code>, <code>Category</code>, <code>Description</code> and <code>StackTrace</code> */
+	private Class<?> nameAnnotation, labelAnnotation, categoryAnnotation, descriptionAnnotation, stackTraceAnnotation;
+	/** the continuous recording (jdk.jfr.Recording) or <code>null</code> if the recording is not started */
+	private Object recording;
+	/** flag that indicates whether JFR is available in the running JVM */
+	private final boolean available;
+	
+	/** the index of the plugin field of an event */
+	private static final int FIELD_PLUGIN = 0;
+	/** the index of the detail field of an event */
+	private static final int FIELD_DETAIL = 1;
+	/** the maximum age of the recorded data in minutes */
+	private static final int MAX_AGE = 15;
+	/** the maximum size of the recorded data in bytes */
+	private static final long MAX_SIZE = 64L * 1024L * 1024L;
+	
+	/**
+	 * Creates the recorder.
+	 * 
+	 * @since 1.0
+	 */
+	private DiagnosticsRecorder() {
+		factories = new HashMap<String, Object>();
+		recording = null;
+		available = init();
+	}
+	
+	/**
+	 * Gets the instance of the recorder.
+	 * 
+	 * @return the recorder
+	 * @since 1.0
+	 */
+	public static synchronized DiagnosticsRecorder getInstance() {
+		if(instance == null)
+			instance = new DiagnosticsRecorder();
+		
+		return instance;
+	}
+	
+	/**
+	 * Indicates whether the Java Flight Recorder is available in the running JVM.
+	 * 
+	 * @return <code>true</code> if events are recorded otherwise <code>false</code>
+	 * @since 1.0
+	 */
+	public boolean isAvailable() {
+		return available;
+	}
+	
+	/**
+	 * Indicates whether the continuous recording is started.
+	 * 
+	 * @return <code>true</code> if the recording is started otherwise <code>false</code>
+	 * @since 1.0
+	 */
+	public synchronized boolean isRecording() {
+		return recording != null;
+	}
+	
+	/**
+	 * Starts the continuous recording of LAVES that records the events of the host and the default events of the JVM.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * The recording keeps the data of the last {@value #MAX_AGE} minutes.
+	 * 
+	 * @return <code>true</code> if the recording could be started otherwise <code>false</code>
+	 * @since 1.0
+	 */
+	public synchronized boolean start() {
+		if(!available)
+			return false;
+		else if(recording != null)
+			return true;
+		
+		try {
+			final Class<?> configurationClass = Class.forName("jdk.jfr.Configuration");
+			final Class<?> recordingClass = Class.forName("jdk.jfr.Recording");
+			final Object config = configurationClass.getMethod("getConfiguration", String.class).invoke(null, "default");
+			final Object r = recordingClass.getConstructor(configurationClass).newInstance(config);
+			
+			recordingClass.getMethod("setName", String.class).invoke(r, "LAVES");
+			recordingClass.getMethod("setToDisk", boolean.class).invoke(r, true);
+			recordingClass.getMethod("setMaxAge", Duration.class).invoke(r, Duration.ofMinutes(MAX_AGE));
+			recordingClass.getMethod("setMaxSize", long.class).invoke(r, MAX_SIZE);
+			for(String type : factories.keySet())
+				recordingClass.getMethod("enable", String.class).invoke(r, type);
+			recordingClass.getMethod("start").invoke(r);
+			
+			recording = r;
+			return true;
+		} catch (Exception e) {
+			return false;
+		}
+	}
+	
+	/**
+	 * Dumps the data of the continuous recording to the specified file.
+	 * 
+	 * @param file the file the recording should be written to (a file with the extension <i>.jfr</i>)
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if file is null</li>
+	 * </ul>
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if JFR is not available or the recording is not started</li>
+	 * 		<li>if the recording could not be written to the file</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public synchronized void dump(final File file) throws IllegalArgumentException, IOException {
+		if(file == null)
+			throw new IllegalArgumentException("No valid argument!");
+		if(recording == null)
+			throw new IOException("Java Flight Recorder is not available or the recording is not started!");
+		
+		if(file.getParentFile() != null)
+			file.getParentFile().mkdirs();
+		
+		try {
+			recording.getClass().getMethod("dump", Path.class).invoke(recording, file.toPath());
+		} catch (InvocationTargetException e) {
+			throw new IOException(e.getCause());
+		} catch (Exception e) {
+			throw new IOException(e);
+		}
+	}
+	
+	/**
+	 * Begins a new event.
+	 * 
+	 * @param type the event type (like {@link #EVENT_PLUGIN_ACTIVATE})
+	 * @param plugin the plugin the event belongs to or <code>null</code> if the event belongs to the host
+	 * @return the event (if JFR is not available the returned event discards its data)
+	 * @since 1.0
+	 */
+	public DiagnosticsEvent begin(final String type, final AlgorithmPlugin plugin) {
+		return begin(type, (plugin != null) ? plugin.getName() : null);
+	}
+	
+	/**
+	 * Begins a new event.
+	 * 
+	 * @param type the event type (like {@link #EVENT_PLUGIN_ACTIVATE})
+	 * @param pluginName the name of the plugin the event belongs to or <code>null</code> if the event belongs to the host
+	 * @return the event (if JFR is not available the returned event discards its data)
+	 * @since 1.0
+	 */
+	public DiagnosticsEvent begin(final String type, final String pluginName) {
+		final Object factory = factories.get(type);
+		Object event = null;
+		
+		if(factory != null) {
+			try {
+				event = newEventMethod.invoke(factory);
+				setMethod.invoke(event, FIELD_PLUGIN, (pluginName != null) ? pluginName : "");
+				beginMethod.invoke(event);
+			} catch (Exception e) {
+				event = null;
+			}
+		}
+		
+		return new DiagnosticsEvent(this, event);
+	}
+	
+	/**
+	 * Sets the detail of the specified event.
+	 * 
+	 * @param event the event (jdk.jfr.Event)
+	 * @param detail the detail
+	 * @since 1.0
+	 */
+	void setDetail(final Object event, final String detail) {
+		try {
+			setMethod.invoke(event, FIELD_DETAIL, (detail != null) ? detail : "");
+		} catch (Exception e) {
+		}
+	}
+	
+	/**
+	 * Ends and commits the specified event.
+	 * 
+	 * @param event the event (jdk.jfr.Event)
+	 * @since 1.0
+	 */
+	void commit(final Object event) {
+		try {
+			endMethod.invoke(event);
+			commitMethod.invoke(event);
+		} catch (Exception e) {
+		}
+	}
+	
+	/**
+	 * Initializes the reflective access to the JFR API and registers the event types of LAVES.
+	 * 
+	 * @return <code>true</code> if JFR is available otherwise <code>false</code>
+	 * @since 1.0
+	 */
+	private boolean init() {
+		try {
+			final Class<?> eventClass = Class.forName("jdk.jfr.Event");
+			final Class<?> eventFactoryClass = Class.forName("jdk.jfr.EventFactory");
+			
+			annotationCtor = Class.forName("jdk.jfr.AnnotationElement").getConstructor(Class.class, Object.class);
+			valueDescriptorCtor = Class.forName("jdk.jfr.ValueDescriptor").getConstructor(Class.class, String.class, List.class);
+			nameAnnotation = Class.forName("jdk.jfr.Name");
+			labelAnnotation = Class.forName("jdk.jfr.Label");
+			categoryAnnotation = Class.forName("jdk.jfr.Category");
+			descriptionAnnotation = Class.forName("jdk.jfr.Description");
+			stackTraceAnnotation = Class.forName("jdk.jfr.StackTrace");
+			newEventMethod = eventFactoryClass.getMethod("newEvent");
+			beginMethod = eventClass.getMethod("begin");
+			endMethod = eventClass.getMethod("end");
+			commitMethod = eventClass.getMethod("commit");
+			setMethod = eventClass.getMethod("set", int.class, Object.class);
+			
+			final Method create = eventFactoryClass.getMethod("create", List.class, List.class);
+			final List<Object> fields = new ArrayList<Object>();
+			fields.add(createField("plugin", "Plugin", "The name of the plugin the event belongs to (or the simple name of its bundle if the plugin is not initialized yet)"));
+			fields.add(createField("detail", "Detail", "Additional information about the event"));
+			
+			registerEventType(create, fields, EVENT_LOADER_PHASE, "Loader Phase", "Loading phase of the program data");
+			registerEventType(create, fields, EVENT_PLUGIN_INITIALIZE, "Plugin Initialize", "Initialization of a plugin");
+			registerEventType(create, fields, EVENT_PLUGIN_INSTALL, "Plugin Install", "Installation of a plugin");
+			registerEventType(create, fields, EVENT_PLUGIN_DEINSTALL, "Plugin Deinstall", "Deinstallation of a plugin");
+			registerEventType(create, fields, EVENT_PLUGIN_ACTIVATE, "Plugin Activate", "Activation of a plugin in the host");
+			registerEventType(create, fields, EVENT_PLUGIN_CLOSE, "Plugin Close", "Closing of the active plugin");
+			registerEventType(create, fields, EVENT_RTE_START, "RTE Start", "Start or resumption of the runtime environment");
+			registerEventType(create, fields, EVENT_RTE_PAUSE, "RTE Pause", "Pausing of the runtime environment");
+			registerEventType(create, fields, EVENT_RTE_STOP, "RTE Stop", "Stop of the runtime environment, the duration is the time it was started");
+			registerEventType(create, fields, EVENT_STEP, "Step", "Execution of an algorithm step");
+			registerEventType(create, fields, EVENT_FILE_OPEN, "File Open", "Opening a file with the active plugin");
+			registerEventType(create, fields, EVENT_FILE_SAVE, "File Save", "Saving a file with the active plugin");
+			
+			return true;
+		} catch (Exception e) {
+			factories.clear();
+			return false;
+		}
+	}
+	
+	/**
+	 * Registers a new event type.
+	 * 
+	 * @param create the method <code>EventFactory.create(List, List)</code>
+	 * @param fields the fields of the event (list of jdk.jfr.ValueDescriptor)
+	 * @param type the name of the event type
+	 * @param label the label of the event type
+	 * @param description the description of the event type
+	 * @throws Exception
+	 * <ul>
+	 * 		<li>if the event type could not be registered</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	private void registerEventType(final Method create, final List<Object> fields, final String type, final String label, final String description) throws Exception {
+		final List<Object> annotations = new ArrayList<Object>();
+		annotations.add(annotationCtor.newInstance(nameAnnotation, type));
+		annotations.add(annotationCtor.newInstance(labelAnnotation, label));
+		annotations.add(annotationCtor.newInstance(descriptionAnnotation, description));
+		annotations.add(annotationCtor.newInstance(categoryAnnotation, new String[] { "LAVES" }));
+		// the stack trace would only show the reflective access to the JFR API
+		annotations.add(annotationCtor.newInstance(stackTraceAnnotation, Boolean.FALSE));
+		
+		factories.put(type, create.invoke(null, annotations, fields));
+	}
+	
+	/**
+	 * Creates a string field of an event.
+	 * 
+	 * @param name the name of the field
+	 * @param label the label of the field
+	 * @param description the description of the field
+	 * @return the field (jdk.jfr.ValueDescriptor)
+	 * @throws Exception
+	 * <ul>
+	 * 		<li>if the field could not be created</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	private Object createField(final String name, final String label, final String description) throws Exception {
+		final List<Object> annotations = new ArrayList<Object>();
+		annotations.add(annotationCtor.newInstance(labelAnnotation, label));
+		annotations.add(annotationCtor.newInstance(descriptionAnnotation, description));
+		
+		return valueDescriptorCtor.newInstance(String.class, name, annotations);
+	}
+
+}
@@ -0,0 +1,400 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.management;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.swing.SwingUtilities;
+
+import laves.Loader;
+import lavesdk.algorithm.plugin.AlgorithmPlugin;
+import lavesdk.logging.enums.LogType;
+import lavesdk.utils.FileUtils;
+
+/**
+ * Detects stalls of the event dispatch thread and records what the thread was doing.
+ * <br><br>
+ * The watchdog posts a heartbeat to the event dispatch thread every {@link #CHECK_INTERVAL} milliseconds. If a heartbeat is not
+ * processed within {@link #STALL_THRESHOLD} milliseconds then the event dispatch thread is stalled and the watchdog samples its
+ * stack until the heartbeat is processed. Afterwards the duration of the stall, the active plugin and the distinct stack samples
+ * (with the number of times they were seen) are written to the log and the stall counters are updated. A stall that lasts longer
+ * than {@link #FREEZE_THRESHOLD} milliseconds is reported immediately so that a deadlock of the event dispatch thread is logged too.
+ * <br><br>
+ * The heartbeat also measures the latency of the event queue (see {@link #getLatency()}) so that there is only one heartbeat in the
+ * event dispatch thread. Other periodic measurements can be attached to the watchdog thread with {@link #setTask(Runnable)}.
+ *  
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ */
+public class EDTWatchdog {
+
+	/** the loader of the program data */
+	private final Loader loader;
+	/** the controller of the host */
+	private final HostController controller;
+	/** the number of stalls */
+	private final AtomicLong stallCount;
+	/** the total duration of the stalls in milliseconds */
+	private final AtomicLong stallTime;
+	/** the number of stalls per plugin (key=plugin name, value=number of stalls) */
+	private final Map<String, Long> stallsPerPlugin;
+	/** the event dispatch thread that processed the last heartbeat or <code>null</code> */
+	private volatile Thread edt;
+	/** the time in nanoseconds the last heartbeat was posted or {@link #NO_HEARTBEAT} if the heartbeat was processed */
+	private volatile long pendingSince;
+	/** the longest stall in milliseconds */
+	private volatile long longestStall;
+	/** the latency of the last processed heartbeat in milliseconds */
+	private volatile long latency;
+	/** the maximum latency of a heartbeat in milliseconds */
+	private volatile long maxLatency;
+	/** the task that is executed after each check or <code>null</code> */
+	private volatile Runnable task;
+	/** the watchdog thread or <code>null</code> if the watchdog is not started */
+	private Thread watchdog;
+	/** flag that indicates whether the watchdog is started */
+	private volatile boolean started;
+	
+	/** the interval in milliseconds in which the heartbeat is posted and the stack is sampled */
+	public static final long CHECK_INTERVAL = 100;
+	/** the time in milliseconds a heartbeat may be pending before the event dispatch thread is considered as stalled */
+	public static final long STALL_THRESHOLD = 1000;
+	/** the time in milliseconds after which a stall is reported although it is not over yet */
+	public static final long FREEZE_THRESHOLD = 10000;
+	/** the maximum number of stack samples of a stall */
+	private static final int MAX_SAMPLES = 200;
+	/** the maximum number of frames of a stack sample */
+	private static final int MAX_FRAMES = 30;
+	/** the maximum number of distinct stack samples that are written to the log */
+	private static final int MAX_REPORTED_SAMPLES = 5;
+	/** the value of {@link #pendingSince} if there is no pending heartbeat */
+	private static final long NO_HEARTBEAT = Long.MIN_VALUE;
+	
+	/**
+	 * Creates a new watchdog.
+	 * 
+	 * @param loader the loader of the program data
+	 * @param controller the controller of the host
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if loader is null</li>
+	 * 		<li>if controller is null</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public EDTWatchdog(final Loader loader, final HostController controller) throws IllegalArgumentException {
+		if(loader == null || controller == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		this.loader = loader;
+		this.controller = controller;
+		this.stallCount = new AtomicLong(0);
+		this.stallTime = new AtomicLong(0);
+		this.stallsPerPlugin = new HashMap<String, Long>();
+		this.edt = null;
+		this.pendingSince = NO_HEARTBEAT;
+		this.longestStall = 0;
+		this.latency = 0;
+		this.maxLatency = 0;
+		this.task = null;
+		this.watchdog = null;
+		this.started = false;
+	}
+	
+	/**
+	 * Starts the watchdog.
+	 * 
+	 * @since 1.0
+	 */
+	public void start() {
+		if(started)
+			return;
+		
+		started = true;
+		pendingSince = NO_HEARTBEAT;
+		watchdog = new Thread(new Runnable() {
+			
+			@Override
+			public void run() {
+				while(started) {
+					check();
+					
+					final Runnable t = task;
+					if(t != null)
+						t.run();
+					
+					try {
+						Thread.sleep(CHECK_INTERVAL);
+					} catch (InterruptedException e) {
+						return;
+					}
+				}
+			}
+		}, "LAVES EDT Watchdog");
+		watchdog.setDaemon(true);
+		watchdog.start();
+	}
+	
+	/**
+	 * Stops the watchdog.
+	 * 
+	 * @since 1.0
+	 */
+	public void stop() {
+		if(!started)
+			return;
+		
+		started = false;
+		watchdog.interrupt();
+		watchdog = null;
+	}
+	
+	/**
+	 * Gets the number of stalls of the event dispatch thread.
+	 * 
+	 * @return the number of stalls since the watchdog was created
+	 * @since 1.0
+	 */
+	public long getStallCount() {
+		return stallCount.get();
+	}
+	
+	/**
+	 * Gets the total duration of the stalls of the event dispatch thread.
+	 * 
+	 * @return the total duration in milliseconds
+	 * @since 1.0
+	 */
+	public long getStallTime() {
+		return stallTime.get();
+	}
+	
+	/**
+	 * Gets the longest stall of the event dispatch thread.
+	 * 
+	 * @return the duration of the longest stall in milliseconds
+	 * @since 1.0
+	 */
+	public long getLongestStall() {
+		return longestStall;
+	}
+	
+	/**
+	 * Gets the latency of the event queue of the event dispatch thread that was measured last.
+	 * 
+	 * @return the latency in milliseconds
+	 * @since 1.0
+	 */
+	public long getLatency() {
+		return latency;
+	}
+	
+	/**
+	 * Gets the maximum latency of the event queue of the event dispatch thread.
+	 * 
+	 * @return the maximum latency in milliseconds since the watchdog was created
+	 * @since 1.0
+	 */
+	public long getMaxLatency() {
+		return maxLatency;
+	}
+	
+	/**
+	 * Sets the task that is executed by the watchdog thread after each check meaning every {@link #CHECK_INTERVAL} milliseconds
+	 * unless the event dispatch thread is stalled.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * The task must return quickly because it delays the detection of stalls.
+	 * 
+	 * @param task the task or <code>null</code>
+	 * @since 1.0
+	 */
+	public void setTask(final Runnable task) {
+		this.task = task;
+	}
+	
+	/**
+	 * Gets the number of stalls per plugin meaning the number of stalls that occurred while the plugin was active.
+	 * 
+	 * @return the number of stalls (key=plugin name, value=number of stalls)
+	 * @since 1.0
+	 */
+	public Map<String, Long> getStallsPerPlugin() {
+		synchronized(stallsPerPlugin) {
+			return new HashMap<String, Long>(stallsPerPlugin);
+		}
+	}
+	
+	/**
+	 * Posts a new heartbeat if the last one was processed otherwise checks whether the event dispatch thread is stalled.
+	 * 
+	 * @since 1.0
+	 */
+	private void check() {
+		final long posted = pendingSince;
+		
+		if(posted == NO_HEARTBEAT) {
+			postHeartbeat();
+			return;
+		}
+		
+		if((System.nanoTime() - posted) / 1000000 >= STALL_THRESHOLD)
+			sampleStall(posted);
+	}
+	
+	/**
+	 * Posts a heartbeat to the event dispatch thread that measures the latency of the event queue.
+	 * 
+	 * @since 1.0
+	 */
+	private void postHeartbeat() {
+		final long posted = System.nanoTime();
+		pendingSince = posted;
+		
+		SwingUtilities.invokeLater(new Runnable() {
+			
+			@Override
+			public void run() {
+				final long l = (System.nanoTime() - posted) / 1000000;
+				
+				latency = l;
+				if(l > maxLatency)
+					maxLatency = l;
+				edt = Thread.currentThread();
+				pendingSince = NO_HEARTBEAT;
+			}
+		});
+	}
+	
+	/**
+	 * Samples the stack of the stalled event dispatch thread until the pending heartbeat is processed and reports the stall.
+	 * 
+	 * @param posted the time in nanoseconds the pending heartbeat was posted
+	 * @since 1.0
+	 */
+	private void sampleStall(final long posted) {
+		final Thread thread = edt;
+		final AlgorithmPlugin plugin = controller.getActivePlugin();
+		final Map<String, Integer> samples = new LinkedHashMap<String, Integer>();
+		int sampleCount = 0;
+		boolean reported = false;
+		
+		while(started && pendingSince == posted) {
+			if(thread != null && sampleCount < MAX_SAMPLES) {
+				final String stack = formatStack(thread.getStackTrace());
+				final Integer count = samples.get(stack);
+				samples.put(stack, (count != null) ? count + 1 : 1);
+				sampleCount++;
+			}
+			
+			final long duration = (System.nanoTime() - posted) / 1000000;
+			if(!reported && duration >= FREEZE_THRESHOLD) {
+				report(plugin, duration, samples, sampleCount, false);
+				reported = true;
+			}
+			
+			try {
+				Thread.sleep(CHECK_INTERVAL);
+			} catch (InterruptedException e) {
+				return;
+			}
+		}
+		
+		final long duration = (System.nanoTime() - posted) / 1000000;
+		
+		stallCount.incrementAndGet();
+		stallTime.addAndGet(duration);
+		if(duration > longestStall)
+			longestStall = duration;
+		if(plugin != null) {
+			synchronized(stallsPerPlugin) {
+				final Long count = stallsPerPlugin.get(plugin.getName());
+				stallsPerPlugin.put(plugin.getName(), (count != null) ? count + 1 : 1L);
+			}
+		}
+		
+		report(plugin, duration, samples, sampleCount, true);
+	}
+	
+	/**
+	 * Writes a stall to the log.
+	 * 
+	 * @param plugin the plugin that was active when the stall was detected or <code>null</code>
+	 * @param duration the duration of the stall in milliseconds
+	 * @param samples the distinct stack samples with the number of times they were seen
+	 * @param sampleCount the total number of stack samples
+	 * @param over <code>true</code> if the stall is over otherwise <code>false</code>
+	 * @since 1.0
+	 */
+	private void report(final AlgorithmPlugin plugin, final long duration, final Map<String, Integer> samples, final int sampleCount, final boolean over) {
+		final List<Map.Entry<String, Integer>> sorted = new ArrayList<Map.Entry<String, Integer>>(samples.entrySet());
+		final StringBuilder sb = new StringBuilder();
+		
+		// the most frequent stacks are the most likely cause of the stall
+		Collections.sort(sorted, new Comparator<Map.Entry<String, Integer>>() {
+			
+			@Override
+			public int compare(Map.Entry<String, Integer> a, Map.Entry<String, Integer> b) {
+				return b.getValue().compareTo(a.getValue());
+			}
+		});
+		
+		if(over)
+			sb.append("EDTWatchdog: the event dispatch thread was blocked for " + duration + " ms!");
+		else
+			sb.append("EDTWatchdog: the event dispatch thread is blocked for more than " + duration + " ms!");
+		sb.append(" (stack samples: " + sampleCount + ")");
+		
+		for(int i = 0; i < sorted.size() && i < MAX_REPORTED_SAMPLES; i++) {
+			final Map.Entry<String, Integer> sample = sorted.get(i);
+			sb.append(FileUtils.LINESEPARATOR).append(sample.getValue()).append(" of ").append(sampleCount).append(" samples:");
+			sb.append(sample.getKey());
+		}
+		
+		loader.logMessage(plugin, sb.toString(), null, LogType.WARNING);
+	}
+	
+	/**
+	 * Formats a stack sample.
+	 * 
+	 * @param stack the stack trace
+	 * @return the formatted stack trace (each frame begins with a line separator)
+	 * @since 1.0
+	 */
+	private static String formatStack(final StackTraceElement[] stack) {
+		final StringBuilder sb = new StringBuilder();
+		
+		for(int i = 0; i < stack.length && i < MAX_FRAMES; i++)
+			sb.append(FileUtils.LINESEPARATOR).append("\tat ").append(stack[i]);
+		if(stack.length > MAX_FRAMES)
+			sb.append(FileUtils.LINESEPARATOR).append("\t... ").append(stack.length - MAX_FRAMES).append(" more");
+		
+		return sb.toString();
+	}
+
+}
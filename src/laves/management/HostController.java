@@ -0,0 +1,71 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.management;
+
+import lavesdk.algorithm.plugin.AlgorithmPlugin;
+
+/**
+ * The controller of a host application that is used by a {@link HostMonitor} to query the state of the host and to perform
+ * management operations.
+ * <br><br>
+ * <b>Notice</b>:<br>
+ * The operations are invoked in the event dispatch thread.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ */
+public interface HostController {
+
+	/**
+	 * Gets the active plugin of the host.
+	 * 
+	 * @return the active plugin or <code>null</code> if no plugin is active currently
+	 * @since 1.0
+	 */
+	public AlgorithmPlugin getActivePlugin();
+	
+	/**
+	 * Stops the runtime environment of the active plugin.
+	 * 
+	 * @since 1.0
+	 */
+	public void stopRTE();
+	
+	/**
+	 * Reloads the active plugin meaning the plugin is closed and created again.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * The host refuses to reload the plugin if this would interrupt a running algorithm or a file operation or if the document of
+	 * the plugin would be lost.
+	 * 
+	 * @return <code>true</code> if the plugin is reloaded otherwise <code>false</code>
+	 * @since 1.0
+	 */
+	public boolean reloadActivePlugin();
+	
+	/**
+	 * Saves the configuration data of the host application and the plugins.
+	 * 
+	 * @since 1.0
+	 */
+	public void flushConfiguration();
+
+}
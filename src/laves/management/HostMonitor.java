@@ -0,0 +1,392 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.management;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.swing.SwingUtilities;
+
+import laves.Loader;
+import laves.PluginManager;
+import lavesdk.algorithm.AlgorithmRTE;
+import lavesdk.algorithm.plugin.AlgorithmPlugin;
+import lavesdk.algorithm.plugin.PluginBundle;
+import lavesdk.algorithm.text.AlgorithmText;
+import lavesdk.algorithm.text.AlgorithmTextListener;
+import lavesdk.logging.enums.LogType;
+
+/**
+ * Monitors a running LAVES instance and publishes its state as a {@link HostMonitorMXBean} at the platform MBean server.
+ * <br><br>
+ * Use {@link #start()} to register the bean and to start the {@link EDTWatchdog} that measures the latency of the event dispatch
+ * thread and {@link #stop()} to unregister it. The host has to notify the monitor about plugin changes using {@link #pluginActivated(AlgorithmPlugin)}
+ * and {@link #pluginClosed(AlgorithmPlugin)}.
+ * <br><br>
+ * Stalls of the event dispatch thread are detected by the watchdog that writes the stack samples of each stall to the log. The heap
+ * usage of the active plugin is sampled by the watchdog thread too so that the monitor does not need a thread of its own.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ */
+public class HostMonitor implements HostMonitorMXBean {
+
+	/** the object name under which the monitor is registered at the platform MBean server */
+	public static final String OBJECT_NAME = "laves:type=HostMonitor";
+	
+	/** the loader of the program data */
+	private final Loader loader;
+	/** the controller of the host */
+	private final HostController controller;
+	/** the memory bean of the JVM */
+	private final MemoryMXBean memoryBean;
+	/** the listener that counts the executed steps of the active plugin */
+	private final AlgorithmTextListener stepCounter;
+	/** the number of executed steps */
+	private final AtomicLong stepsExecuted;
+	/** the peak heap growth of the plugins (key=plugin name, value=heap growth in bytes) */
+	private final Map<String, Long> heapUsage;
+	/** the plugin that is monitored currently or <code>null</code> */
+	private volatile AlgorithmPlugin monitoredPlugin;
+	/** the algorithm text of the monitored plugin or <code>null</code> */
+	private AlgorithmText monitoredText;
+	/** the used heap memory before the monitored plugin was activated */
+	private volatile long heapBaseline;
+	/** the watchdog that detects stalls of the event dispatch thread */
+	private final EDTWatchdog watchdog;
+	/** flag that indicates whether the monitor is started */
+	private volatile boolean started;
+	
+	/**
+	 * Creates a new host monitor.
+	 * 
+	 * @param loader the loader of the program data
+	 * @param controller the controller of the host
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if loader is null</li>
+	 * 		<li>if controller is null</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public HostMonitor(final Loader loader, final HostController controller) throws IllegalArgumentException {
+		if(loader == null || controller == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		this.loader = loader;
+		this.controller = controller;
+		this.memoryBean = ManagementFactory.getMemoryMXBean();
+		this.stepsExecuted = new AtomicLong(0);
+		this.heapUsage = new HashMap<String, Long>();
+		this.monitoredPlugin = null;
+		this.monitoredText = null;
+		this.heapBaseline = 0;
+		this.watchdog = new EDTWatchdog(loader, controller);
+		this.started = false;
+		this.stepCounter = new AlgorithmTextListener() {
+			
+			@Override
+			public void structureChanged() {
+			}
+			
+			@Override
+			public void executingStepChanged() {
+				stepsExecuted.incrementAndGet();
+			}
+		};
+		
+		this.watchdog.setTask(new Runnable() {
+			
+			@Override
+			public void run() {
+				HostMonitor.this.sampleHeap();
+			}
+		});
+	}
+	
+	/**
+	 * Registers the monitor at the platform MBean server and starts the watchdog.
+	 * 
+	 * @since 1.0
+	 */
+	public void start() {
+		if(started)
+			return;
+		
+		final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		try {
+			final ObjectName name = new ObjectName(OBJECT_NAME);
+			if(!server.isRegistered(name))
+				server.registerMBean(this, name);
+		} catch (JMException e) {
+			loader.logMessage(null, "HostMonitor: MBean could not be registered!", e, LogType.WARNING);
+		}
+		
+		started = true;
+		watchdog.start();
+	}
+	
+	/**
+	 * Stops the watchdog and unregisters the monitor from the platform MBean server.
+	 * 
+	 * @since 1.0
+	 */
+	public void stop() {
+		if(!started)
+			return;
+		
+		started = false;
+		watchdog.stop();
+		
+		final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		try {
+			final ObjectName name = new ObjectName(OBJECT_NAME);
+			if(server.isRegistered(name))
+				server.unregisterMBean(name);
+		} catch (JMException e) {
+			loader.logMessage(null, "HostMonitor: MBean could not be unregistered!", e, LogType.WARNING);
+		}
+	}
+	
+	/**
+	 * Indicates that a plugin was activated by the host.
+	 * 
+	 * @param plugin the activated plugin
+	 * @since 1.0
+	 */
+	public void pluginActivated(final AlgorithmPlugin plugin) {
+		if(plugin == null)
+			return;
+		
+		heapBaseline = memoryBean.getHeapMemoryUsage().getUsed();
+		monitoredPlugin = plugin;
+		monitoredText = plugin.getText();
+		if(monitoredText != null)
+			monitoredText.addTextListener(stepCounter);
+	}
+	
+	/**
+	 * Indicates that a plugin was closed by the host.
+	 * 
+	 * @param plugin the closed plugin
+	 * @since 1.0
+	 */
+	public void pluginClosed(final AlgorithmPlugin plugin) {
+		if(plugin == null || plugin != monitoredPlugin)
+			return;
+		
+		sampleHeap();
+		
+		if(monitoredText != null)
+			monitoredText.removeTextListener(stepCounter);
+		monitoredText = null;
+		monitoredPlugin = null;
+	}
+	
+	@Override
+	public String[] getInstalledPlugins() {
+		final List<AlgorithmPlugin> plugins = getPlugins();
+		final String[] names = new String[plugins.size()];
+		
+		for(int i = 0; i < names.length; i++)
+			names[i] = plugins.get(i).getName();
+		
+		return names;
+	}
+	
+	@Override
+	public Map<String, Long> getPluginInitTimes() {
+		final PluginManager manager = loader.getPluginManager();
+		final Map<String, Long> times = new HashMap<String, Long>();
+		
+		if(manager == null)
+			return times;
+		
+		// the bundles and the initialization times can be read from any thread
+		for(PluginBundle bundle : manager.getPluginBundles()) {
+			final long time = manager.getPluginInitTime(bundle);
+			if(time >= 0)
+				times.put(bundle.getPlugin().getName(), time);
+		}
+		
+		return times;
+	}
+	
+	@Override
+	public String getActivePlugin() {
+		final AlgorithmPlugin plugin = controller.getActivePlugin();
+		return (plugin != null) ? plugin.getName() : "";
+	}
+	
+	@Override
+	public String getRTEState() {
+		final AlgorithmPlugin plugin = controller.getActivePlugin();
+		final AlgorithmRTE rte = (plugin != null) ? plugin.getRuntimeEnvironment() : null;
+		
+		if(rte == null)
+			return "NONE";
+		else if(rte.isRunning())
+			return "RUNNING";
+		else if(rte.isStarted())
+			return "PAUSED";
+		else
+			return "STOPPED";
+	}
+	
+	@Override
+	public float getExecSpeedFactor() {
+		final AlgorithmPlugin plugin = controller.getActivePlugin();
+		final AlgorithmRTE rte = (plugin != null) ? plugin.getRuntimeEnvironment() : null;
+		
+		return (rte != null) ? rte.getExecSpeedFactor() : 0.0f;
+	}
+	
+	@Override
+	public long getStepsExecuted() {
+		return stepsExecuted.get();
+	}
+	
+	@Override
+	public long getEDTQueueLatency() {
+		return watchdog.getLatency();
+	}
+	
+	@Override
+	public long getMaxEDTQueueLatency() {
+		return watchdog.getMaxLatency();
+	}
+	
+	@Override
+	public long getEDTStalls() {
+		return watchdog.getStallCount();
+	}
+	
+	@Override
+	public long getEDTStallTime() {
+		return watchdog.getStallTime();
+	}
+	
+	@Override
+	public long getLongestEDTStall() {
+		return watchdog.getLongestStall();
+	}
+	
+	@Override
+	public Map<String, Long> getEDTStallsPerPlugin() {
+		return watchdog.getStallsPerPlugin();
+	}
+	
+	@Override
+	public Map<String, Long> getHeapUsagePerPlugin() {
+		synchronized(heapUsage) {
+			return new HashMap<String, Long>(heapUsage);
+		}
+	}
+	
+	@Override
+	public void stopRTE() {
+		SwingUtilities.invokeLater(new Runnable() {
+			
+			@Override
+			public void run() {
+				controller.stopRTE();
+			}
+		});
+	}
+	
+	@Override
+	public boolean reloadPlugin() {
+		final boolean[] reloaded = new boolean[] { false };
+		
+		// the caller must know whether the host refused to reload the plugin so the operation is awaited
+		try {
+			SwingUtilities.invokeAndWait(new Runnable() {
+				
+				@Override
+				public void run() {
+					reloaded[0] = controller.reloadActivePlugin();
+				}
+			});
+		}
+		catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		catch(InvocationTargetException e) {
+			loader.logMessage(null, "HostMonitor: plugin could not be reloaded!", e, LogType.ERROR);
+		}
+		
+		return reloaded[0];
+	}
+	
+	@Override
+	public void flushConfiguration() {
+		SwingUtilities.invokeLater(new Runnable() {
+			
+			@Override
+			public void run() {
+				controller.flushConfiguration();
+			}
+		});
+	}
+	
+	/**
+	 * Samples the heap usage of the monitored plugin.
+	 * 
+	 * @since 1.0
+	 */
+	private void sampleHeap() {
+		final AlgorithmPlugin plugin = monitoredPlugin;
+		if(plugin == null)
+			return;
+		
+		final long growth = Math.max(0, memoryBean.getHeapMemoryUsage().getUsed() - heapBaseline);
+		final String name = plugin.getName();
+		
+		synchronized(heapUsage) {
+			final Long peak = heapUsage.get(name);
+			if(peak == null || peak.longValue() < growth)
+				heapUsage.put(name, growth);
+		}
+	}
+	
+	/**
+	 * Gets the installed plugins.
+	 * 
+	 * @return the list of installed plugins or an empty list if the plugins are not initialized yet
+	 * @since 1.0
+	 */
+	private List<AlgorithmPlugin> getPlugins() {
+		final PluginManager manager = loader.getPluginManager();
+		final List<AlgorithmPlugin> plugins = (manager != null) ? manager.getInstalledPlugins() : null;
+		
+		return (plugins != null) ? plugins : new ArrayList<AlgorithmPlugin>(0);
+	}
+
+}
@@ -0,0 +1,173 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.management;
+
+import java.util.Map;
+
+/**
+ * The management interface of a running LAVES instance.
+ * <br><br>
+ * The bean is registered at the platform MBean server under {@link HostMonitor#OBJECT_NAME} so that it can be accessed
+ * over a local JMX connector (like JConsole).
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ */
+public interface HostMonitorMXBean {
+
+	/**
+	 * Gets the names of the installed plugins.
+	 * 
+	 * @return the names of all installed plugins
+	 * @since 1.0
+	 */
+	public String[] getInstalledPlugins();
+	
+	/**
+	 * Gets the initialization times of the installed plugins.
+	 * 
+	 * @return the initialization times in milliseconds (key=plugin name, value=initialization time)
+	 * @since 1.0
+	 */
+	public Map<String, Long> getPluginInitTimes();
+	
+	/**
+	 * Gets the name of the active plugin.
+	 * 
+	 * @return the name of the active plugin or an empty string if no plugin is active currently
+	 * @since 1.0
+	 */
+	public String getActivePlugin();
+	
+	/**
+	 * Gets the state of the runtime environment of the active plugin.
+	 * 
+	 * @return <code>NONE</code>, <code>STOPPED</code>, <code>RUNNING</code> or <code>PAUSED</code>
+	 * @since 1.0
+	 */
+	public String getRTEState();
+	
+	/**
+	 * Gets the execution speed factor of the runtime environment of the active plugin.
+	 * 
+	 * @return the execution speed factor or <code>0.0</code> if their is no runtime environment
+	 * @since 1.0
+	 */
+	public float getExecSpeedFactor();
+	
+	/**
+	 * Gets the number of algorithm steps that were executed since the host was started.
+	 * 
+	 * @return the number of executed steps
+	 * @since 1.0
+	 */
+	public long getStepsExecuted();
+	
+	/**
+	 * Gets the latency of the event queue of the event dispatch thread that was measured last.
+	 * 
+	 * @return the latency in milliseconds
+	 * @since 1.0
+	 */
+	public long getEDTQueueLatency();
+	
+	/**
+	 * Gets the maximum latency of the event queue of the event dispatch thread since the host was started.
+	 * 
+	 * @return the maximum latency in milliseconds
+	 * @since 1.0
+	 */
+	public long getMaxEDTQueueLatency();
+	
+	/**
+	 * Gets the number of stalls of the event dispatch thread since the host was started.
+	 * <br><br>
+	 * The event dispatch thread is stalled if it does not process events for at least {@link EDTWatchdog#STALL_THRESHOLD} milliseconds.
+	 * The stack samples of each stall are written to the log.
+	 * 
+	 * @return the number of stalls
+	 * @since 1.0
+	 */
+	public long getEDTStalls();
+	
+	/**
+	 * Gets the total duration of the stalls of the event dispatch thread since the host was started.
+	 * 
+	 * @return the total duration in milliseconds
+	 * @since 1.0
+	 */
+	public long getEDTStallTime();
+	
+	/**
+	 * Gets the longest stall of the event dispatch thread since the host was started.
+	 * 
+	 * @return the duration of the longest stall in milliseconds
+	 * @since 1.0
+	 */
+	public long getLongestEDTStall();
+	
+	/**
+	 * Gets the number of stalls of the event dispatch thread per plugin meaning the stalls that occurred while the plugin was active.
+	 * 
+	 * @return the number of stalls (key=plugin name, value=number of stalls)
+	 * @since 1.0
+	 */
+	public Map<String, Long> getEDTStallsPerPlugin();
+	
+	/**
+	 * Gets the peak heap growth of each plugin meaning the maximum difference between the used heap memory while the plugin
+	 * was active and the used heap memory before it was activated.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * All plugins share the heap of the JVM so this is only an approximation.
+	 * 
+	 * @return the heap growth in bytes (key=plugin name, value=heap growth)
+	 * @since 1.0
+	 */
+	public Map<String, Long> getHeapUsagePerPlugin();
+	
+	/**
+	 * Stops the runtime environment of the active plugin.
+	 * 
+	 * @since 1.0
+	 */
+	public void stopRTE();
+	
+	/**
+	 * Reloads the active plugin meaning the plugin is closed and created again.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * The plugin is not reloaded if no plugin is active, if the algorithm is running, if a file is opened or saved, if the layout
+	 * of a graph is computed or if the document of the plugin cannot be saved so that it can be restored after the reload.
+	 * 
+	 * @return <code>true</code> if the plugin is reloaded otherwise <code>false</code>
+	 * @since 1.0
+	 */
+	public boolean reloadPlugin();
+	
+	/**
+	 * Saves the configuration data of the host application and the plugins.
+	 * 
+	 * @since 1.0
+	 */
+	public void flushConfiguration();
+
+}
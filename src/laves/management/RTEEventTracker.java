@@ -0,0 +1,196 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.management;
+
+import lavesdk.algorithm.AlgorithmRTE;
+import lavesdk.algorithm.RTEListener;
+import lavesdk.algorithm.RTEvent;
+import lavesdk.algorithm.plugin.AlgorithmPlugin;
+import lavesdk.algorithm.text.AlgorithmText;
+import lavesdk.algorithm.text.AlgorithmTextListener;
+
+/**
+ * Tracks the runtime environment and the algorithm text of a plugin and records the start, pause and stop of the runtime environment
+ * as well as each executed step as events of the {@link DiagnosticsRecorder}.
+ * <br><br>
+ * Use {@link #attach()} to begin the tracking and {@link #detach()} to end it.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ */
+public class RTEEventTracker implements RTEListener, AlgorithmTextListener {
+
+	/** the recorder of the events */
+	private final DiagnosticsRecorder recorder;
+	/** the tracked plugin */
+	private final AlgorithmPlugin plugin;
+	/** the runtime environment of the plugin or <code>null</code> */
+	private final AlgorithmRTE rte;
+	/** the algorithm text of the plugin or <code>null</code> */
+	private final AlgorithmText text;
+	/** the pending start event or <code>null</code> */
+	private DiagnosticsEvent startEvent;
+	/** the pending pause event or <code>null</code> */
+	private DiagnosticsEvent pauseEvent;
+	/** the pending stop event (the event lasts as long as the runtime environment is started) or <code>null</code> */
+	private DiagnosticsEvent stopEvent;
+	/** the pending event of the executing step or <code>null</code> */
+	private DiagnosticsEvent stepEvent;
+	
+	/**
+	 * Creates a new tracker.
+	 * 
+	 * @param plugin the plugin that should be tracked
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if plugin is null</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public RTEEventTracker(final AlgorithmPlugin plugin) throws IllegalArgumentException {
+		if(plugin == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		this.recorder = DiagnosticsRecorder.getInstance();
+		this.plugin = plugin;
+		this.rte = plugin.getRuntimeEnvironment();
+		this.text = plugin.getText();
+		this.startEvent = null;
+		this.pauseEvent = null;
+		this.stopEvent = null;
+		this.stepEvent = null;
+	}
+	
+	/**
+	 * Begins the tracking meaning the tracker is registered at the runtime environment and the algorithm text of the plugin.
+	 * 
+	 * @since 1.0
+	 */
+	public void attach() {
+		if(!recorder.isAvailable())
+			return;
+		
+		if(rte != null)
+			rte.addListener(this);
+		if(text != null)
+			text.addTextListener(this);
+	}
+	
+	/**
+	 * Ends the tracking meaning the tracker is removed from the runtime environment and the algorithm text of the plugin.
+	 * 
+	 * @since 1.0
+	 */
+	public void detach() {
+		if(rte != null)
+			rte.removeListener(this);
+		if(text != null)
+			text.removeTextListener(this);
+		
+		synchronized(this) {
+			commitStep();
+			commitStop();
+		}
+	}
+	
+	@Override
+	public synchronized void beforeStart(RTEvent e) {
+		stopEvent = recorder.begin(DiagnosticsRecorder.EVENT_RTE_STOP, plugin);
+		startEvent = recorder.begin(DiagnosticsRecorder.EVENT_RTE_START, plugin);
+		startEvent.setDetail("start");
+	}
+	
+	@Override
+	public synchronized void beforeResume(RTEvent e) {
+		startEvent = recorder.begin(DiagnosticsRecorder.EVENT_RTE_START, plugin);
+		startEvent.setDetail("resume");
+	}
+	
+	@Override
+	public synchronized void beforePause(RTEvent e) {
+		pauseEvent = recorder.begin(DiagnosticsRecorder.EVENT_RTE_PAUSE, plugin);
+		pauseEvent.setDetail("step " + e.executingStepID);
+	}
+	
+	@Override
+	public synchronized void onStop() {
+		commitStep();
+		commitStop();
+	}
+	
+	@Override
+	public synchronized void onRunning() {
+		if(startEvent != null) {
+			startEvent.commit();
+			startEvent = null;
+		}
+	}
+	
+	@Override
+	public synchronized void onPause() {
+		if(pauseEvent != null) {
+			pauseEvent.commit();
+			pauseEvent = null;
+		}
+	}
+	
+	@Override
+	public void structureChanged() {
+	}
+	
+	@Override
+	public synchronized void executingStepChanged() {
+		commitStep();
+		
+		final int stepID = text.getExecutingStepID();
+		if(text.getStepByID(stepID) != null) {
+			stepEvent = recorder.begin(DiagnosticsRecorder.EVENT_STEP, plugin);
+			stepEvent.setDetail("step " + stepID);
+		}
+	}
+	
+	/**
+	 * Commits the pending event of the executing step.
+	 * 
+	 * @since 1.0
+	 */
+	private void commitStep() {
+		if(stepEvent != null) {
+			stepEvent.commit();
+			stepEvent = null;
+		}
+	}
+	
+	/**
+	 * Commits the pending stop event.
+	 * 
+	 * @since 1.0
+	 */
+	private void commitStop() {
+		if(stopEvent != null) {
+			stopEvent.commit();
+			stopEvent = null;
+		}
+		startEvent = null;
+		pauseEvent = null;
+	}
+
+}
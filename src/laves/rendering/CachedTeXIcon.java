@@ -0,0 +1,204 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.rendering;
+
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Insets;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+
+import org.scilab.forge.jlatexmath.Box;
+import org.scilab.forge.jlatexmath.TeXIcon;
+
+/**
+ * A {@link TeXIcon} of a LaTeX formula that is painted from the {@link FormulaCache}.
+ * <br><br>
+ * The icon wraps the icon that is created by the SDK. The size of the icon is taken from the wrapped icon but the formula is not
+ * painted glyph by glyph, instead the cached image of the formula is drawn. If the formula cannot be cached (e.g. if the graphics
+ * context is rotated) then the wrapped icon paints the formula.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ */
+final class CachedTeXIcon extends TeXIcon {
+
+	/** the cache */
+	private final FormulaCache cache;
+	/** the wrapped icon */
+	private final TeXIcon icon;
+	/** the key of the formula without the scale (see {@link FormulaCache#createKey(String, float, boolean)}) */
+	private final String key;
+	/** the font size of the formula */
+	private final float fontSize;
+	/** the foreground color or <code>null</code> if the foreground of the component should be used */
+	private Color foreground;
+	
+	/**
+	 * Creates a new icon.
+	 * 
+	 * @param cache the cache
+	 * @param icon the icon that is created by the SDK
+	 * @param key the key of the formula (see {@link FormulaCache#createKey(String, float, boolean)})
+	 * @param fontSize the font size of the formula
+	 * @since 1.0
+	 */
+	CachedTeXIcon(final FormulaCache cache, final TeXIcon icon, final String key, final float fontSize) {
+		super(icon.getBox(), fontSize);
+		
+		this.cache = cache;
+		this.icon = icon;
+		this.key = key;
+		this.fontSize = fontSize;
+		this.foreground = null;
+	}
+	
+	/**
+	 * Gets the wrapped icon.
+	 * 
+	 * @return the icon that is created by the SDK
+	 * @since 1.0
+	 */
+	TeXIcon getIcon() {
+		return icon;
+	}
+	
+	/**
+	 * Gets the key of the formula.
+	 * 
+	 * @return the key without the scale
+	 * @since 1.0
+	 */
+	String getKey() {
+		return key;
+	}
+	
+	/**
+	 * Gets the font size of the formula.
+	 * 
+	 * @return the font size
+	 * @since 1.0
+	 */
+	float getFontSize() {
+		return fontSize;
+	}
+	
+	@Override
+	public void setForeground(Color fg) {
+		foreground = fg;
+		icon.setForeground(fg);
+	}
+	
+	@Override
+	public Insets getInsets() {
+		return icon.getInsets();
+	}
+	
+	@Override
+	public void setInsets(Insets insets) {
+		icon.setInsets(insets);
+	}
+	
+	@Override
+	public void setInsets(Insets insets, boolean trueInsets) {
+		icon.setInsets(insets, trueInsets);
+	}
+	
+	@Override
+	public void setIconWidth(int width, int alignment) {
+		icon.setIconWidth(width, alignment);
+	}
+	
+	@Override
+	public void setIconHeight(int height, int alignment) {
+		icon.setIconHeight(height, alignment);
+	}
+	
+	@Override
+	public int getIconWidth() {
+		return icon.getIconWidth();
+	}
+	
+	@Override
+	public int getIconHeight() {
+		return icon.getIconHeight();
+	}
+	
+	@Override
+	public int getIconDepth() {
+		return icon.getIconDepth();
+	}
+	
+	@Override
+	public float getTrueIconWidth() {
+		return icon.getTrueIconWidth();
+	}
+	
+	@Override
+	public float getTrueIconHeight() {
+		return icon.getTrueIconHeight();
+	}
+	
+	@Override
+	public float getTrueIconDepth() {
+		return icon.getTrueIconDepth();
+	}
+	
+	@Override
+	public float getBaseLine() {
+		return icon.getBaseLine();
+	}
+	
+	@Override
+	public Box getBox() {
+		return icon.getBox();
+	}
+	
+	@Override
+	public void paintIcon(Component c, Graphics g, int x, int y) {
+		final Graphics2D g2 = (Graphics2D)g;
+		final AffineTransform transform = g2.getTransform();
+		
+		// the cached images are only valid for uniformly scaled graphics contexts
+		if(transform.getShearX() != 0.0 || transform.getShearY() != 0.0 || transform.getScaleX() != transform.getScaleY() || transform.getScaleX() <= 0.0) {
+			icon.paintIcon(c, g, x, y);
+			return;
+		}
+		
+		final float scale = (float)transform.getScaleX();
+		final Color fg = (foreground != null) ? foreground : ((c != null) ? c.getForeground() : Color.black);
+		final BufferedImage image = cache.getImage(this, fg, scale);
+		
+		if(image == null) {
+			icon.paintIcon(c, g, x, y);
+			return;
+		}
+		
+		// draw the image with its device resolution
+		g2.translate(x, y);
+		g2.scale(1.0 / scale, 1.0 / scale);
+		g2.drawImage(image, 0, 0, null);
+		g2.setTransform(transform);
+	}
+
+}
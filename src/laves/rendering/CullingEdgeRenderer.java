@@ -0,0 +1,285 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.rendering;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.Stroke;
+
+import lavesdk.algorithm.plugin.views.renderers.DefaultEdgeRenderer;
+import lavesdk.algorithm.plugin.views.renderers.EdgeRenderer;
+import lavesdk.graphics.CatmullRomSpline;
+import lavesdk.math.graph.Edge;
+
+/**
+ * An edge renderer that skips edges outside of the clip area and hides labels or draws simplified glyphs if the view is zoomed out.
+ * <br><br>
+ * The renderer wraps the renderer a plugin has set for its view and uses it for all edges that are visible and large enough.
+ * Depending on the font size of the view (that is already scaled by the zoom of the view) the following levels of detail are used:
+ * <ul>
+ * 		<li>font size &lt; {@link RenderingLayer#GLYPH_MAX_FONTSIZE}: the edge is drawn as a thin straight line</li>
+ * 		<li>font size &lt; {@link RenderingLayer#LABEL_MIN_FONTSIZE}: the edge is drawn without its label (only possible if the wrapped
+ * 		renderer is a {@link DefaultEdgeRenderer} otherwise the edge is drawn as a straight line)</li>
+ * 		<li>otherwise the wrapped renderer draws the edge</li>
+ * </ul>
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ */
+public class CullingEdgeRenderer<T extends Edge> implements EdgeRenderer<T> {
+
+	/** the wrapped renderer */
+	private final EdgeRenderer<T> delegate;
+	/** the renderer that draws the edges without labels or <code>null</code> if the wrapped renderer is a custom renderer */
+	private final EdgeRenderer<T> unlabeledDelegate;
+	/** the clip bounds (reused for each edge to avoid allocations) */
+	private final Rectangle clip;
+	/** the foreground color of the current edge */
+	private Color foreground;
+	/** the font of the view */
+	private Font font;
+	/** the font size of the view */
+	private float fontSize;
+	/** the x coordinate of the first position of the current edge */
+	private int x1;
+	/** the y coordinate of the first position of the current edge */
+	private int y1;
+	/** the x coordinate of the second position of the current edge */
+	private int x2;
+	/** the y coordinate of the second position of the current edge */
+	private int y2;
+	/** the x coordinate of the control position of the current edge */
+	private int xCtrl;
+	/** the y coordinate of the control position of the current edge */
+	private int yCtrl;
+	/** the x coordinate of the label position of the current edge */
+	private int xLabel;
+	/** the y coordinate of the label position of the current edge */
+	private int yLabel;
+	/** the spline of the current edge or <code>null</code> */
+	private CatmullRomSpline spline;
+	/** the bounds of the current edge (minX, minY, maxX, maxY) */
+	private final int[] bounds;
+	/** the length of an arrow */
+	private int arrowLength;
+	/** the render cache of the view or <code>null</code> */
+	private TiledRenderCache<?, T> cache;
+	
+	/** the stroke of the simplified glyph of an edge */
+	private static final Stroke GLYPH_STROKE = new BasicStroke(1);
+	
+	/**
+	 * Creates a new culling edge renderer.
+	 * 
+	 * @param delegate the renderer that draws the edges in full detail
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if delegate is null</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public CullingEdgeRenderer(final EdgeRenderer<T> delegate) throws IllegalArgumentException {
+		if(delegate == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		this.delegate = delegate;
+		// only the default renderer is known to draw nothing else than the edge and the label
+		this.unlabeledDelegate = (delegate.getClass() == DefaultEdgeRenderer.class) ? new DefaultEdgeRenderer<T>(false) : null;
+		this.clip = new Rectangle();
+		this.spline = null;
+		this.bounds = new int[4];
+		this.foreground = Color.black;
+		this.fontSize = 0.0f;
+		this.arrowLength = 0;
+		this.font = null;
+		this.cache = null;
+	}
+	
+	/**
+	 * Gets the wrapped renderer.
+	 * 
+	 * @return the renderer that draws the edges in full detail
+	 * @since 1.0
+	 */
+	public EdgeRenderer<T> getDelegate() {
+		return delegate;
+	}
+	
+	@Override
+	public void setBackground(Color c) {
+		delegate.setBackground(c);
+		if(unlabeledDelegate != null)
+			unlabeledDelegate.setBackground(c);
+	}
+	
+	@Override
+	public void setForeground(Color c) {
+		foreground = c;
+		delegate.setForeground(c);
+		if(unlabeledDelegate != null)
+			unlabeledDelegate.setForeground(c);
+	}
+	
+	@Override
+	public void setFont(Font font) {
+		this.font = font;
+		fontSize = (font != null) ? font.getSize2D() : 0.0f;
+		delegate.setFont(font);
+		if(unlabeledDelegate != null)
+			unlabeledDelegate.setFont(font);
+	}
+	
+	@Override
+	public void setFirstPosition(int x, int y) {
+		x1 = x;
+		y1 = y;
+		delegate.setFirstPosition(x, y);
+		if(unlabeledDelegate != null)
+			unlabeledDelegate.setFirstPosition(x, y);
+	}
+	
+	@Override
+	public void setSecondPosition(int x, int y) {
+		x2 = x;
+		y2 = y;
+		delegate.setSecondPosition(x, y);
+		if(unlabeledDelegate != null)
+			unlabeledDelegate.setSecondPosition(x, y);
+	}
+	
+	@Override
+	public void setControlPosition(int x, int y) {
+		xCtrl = x;
+		yCtrl = y;
+		delegate.setControlPosition(x, y);
+		if(unlabeledDelegate != null)
+			unlabeledDelegate.setControlPosition(x, y);
+	}
+	
+	@Override
+	public void setDrawArrow(boolean drawArrow) {
+		delegate.setDrawArrow(drawArrow);
+		if(unlabeledDelegate != null)
+			unlabeledDelegate.setDrawArrow(drawArrow);
+	}
+	
+	@Override
+	public void setLineWidth(int width) {
+		delegate.setLineWidth(width);
+		if(unlabeledDelegate != null)
+			unlabeledDelegate.setLineWidth(width);
+	}
+	
+	@Override
+	public void setSpline(CatmullRomSpline spline) {
+		this.spline = spline;
+		delegate.setSpline(spline);
+		if(unlabeledDelegate != null)
+			unlabeledDelegate.setSpline(spline);
+	}
+	
+	@Override
+	public void setArrowLength(int length) {
+		arrowLength = length;
+		delegate.setArrowLength(length);
+		if(unlabeledDelegate != null)
+			unlabeledDelegate.setArrowLength(length);
+	}
+	
+	@Override
+	public void setLabelPosition(int x, int y) {
+		xLabel = x;
+		yLabel = y;
+		delegate.setLabelPosition(x, y);
+		if(unlabeledDelegate != null)
+			unlabeledDelegate.setLabelPosition(x, y);
+	}
+	
+	@Override
+	public void draw(Graphics2D g, T o) {
+		// edges that are covered by the tiles of the render cache must not be drawn again
+		if(cache != null && cache.covers(g, o))
+			return;
+		
+		drawDetail(g, o);
+	}
+	
+	/**
+	 * Gets the font of the view.
+	 * 
+	 * @return the font of the view or <code>null</code> if the view has not been painted yet
+	 * @since 1.0
+	 */
+	Font getFont() {
+		return font;
+	}
+	
+	/**
+	 * Gets the length of an arrow.
+	 * 
+	 * @return the arrow length
+	 * @since 1.0
+	 */
+	int getArrowLength() {
+		return arrowLength;
+	}
+	
+	/**
+	 * Sets the render cache of the view.
+	 * 
+	 * @param cache the render cache or <code>null</code> if the edges should always be drawn directly
+	 * @since 1.0
+	 */
+	void setCache(final TiledRenderCache<?, T> cache) {
+		this.cache = cache;
+	}
+	
+	/**
+	 * Draws the current edge in the level of detail that fits the font size of the view if it intersects the clip area.
+	 * 
+	 * @param g the graphics context
+	 * @param o the edge
+	 * @since 1.0
+	 */
+	void drawDetail(Graphics2D g, T o) {
+		final int margin = arrowLength + (int)(fontSize * RenderingLayer.LABEL_EXTENT);
+		RenderingLayer.computeEdgeBounds(bounds, 0, x1, y1, x2, y2, xCtrl, yCtrl, xLabel, yLabel, spline, margin);
+		
+		if(!RenderingLayer.intersectsClip(g, clip, bounds[0], bounds[1], bounds[2], bounds[3]))
+			return;
+		
+		if(fontSize < RenderingLayer.GLYPH_MAX_FONTSIZE || (fontSize < RenderingLayer.LABEL_MIN_FONTSIZE && unlabeledDelegate == null)) {
+			final Stroke stroke = g.getStroke();
+			g.setColor(foreground);
+			g.setStroke(GLYPH_STROKE);
+			g.drawLine(x1, y1, x2, y2);
+			g.setStroke(stroke);
+		}
+		else if(fontSize < RenderingLayer.LABEL_MIN_FONTSIZE)
+			unlabeledDelegate.draw(g, o);
+		else
+			delegate.draw(g, o);
+	}
+
+}
@@ -0,0 +1,228 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.rendering;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.Stroke;
+
+import lavesdk.algorithm.plugin.views.renderers.VertexRenderer;
+import lavesdk.math.graph.Vertex;
+
+/**
+ * A vertex renderer that skips vertices outside of the clip area and draws simplified glyphs if the vertices are small.
+ * <br><br>
+ * The renderer wraps the renderer a plugin has set for its view and uses it for all vertices that are visible and large enough.
+ * Depending on the diameter of a vertex (that is already scaled by the zoom of the view) the following levels of detail are used:
+ * <ul>
+ * 		<li>diameter &lt; {@link RenderingLayer#GLYPH_MAX_DIAMETER}: the vertex is drawn as a small square</li>
+ * 		<li>diameter &lt; {@link RenderingLayer#LABEL_MIN_DIAMETER}: the vertex is drawn as a circle without its caption</li>
+ * 		<li>otherwise the wrapped renderer draws the vertex</li>
+ * </ul>
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ */
+public class CullingVertexRenderer<T extends Vertex> implements VertexRenderer<T> {
+
+	/** the wrapped renderer */
+	private final VertexRenderer<T> delegate;
+	/** the clip bounds (reused for each vertex to avoid allocations) */
+	private final Rectangle clip;
+	/** the background color of the current vertex */
+	private Color background;
+	/** the foreground color of the current vertex */
+	private Color foreground;
+	/** the x coordinate of the center of the current vertex */
+	private int xCenter;
+	/** the y coordinate of the center of the current vertex */
+	private int yCenter;
+	/** the diameter of the current vertex */
+	private int diameter;
+	/** the edge width of the current vertex */
+	private int edgeWidth;
+	/** the stroke of the edge of a vertex */
+	private Stroke edgeStroke;
+	/** the font of the view */
+	private Font font;
+	/** the render cache of the view or <code>null</code> */
+	private TiledRenderCache<T, ?> cache;
+	
+	/** the stroke of the simplified glyph of a vertex */
+	private static final Stroke GLYPH_STROKE = new BasicStroke(1);
+	
+	/**
+	 * Creates a new culling vertex renderer.
+	 * 
+	 * @param delegate the renderer that draws the vertices in full detail
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if delegate is null</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public CullingVertexRenderer(final VertexRenderer<T> delegate) throws IllegalArgumentException {
+		if(delegate == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		this.delegate = delegate;
+		this.clip = new Rectangle();
+		this.background = Color.white;
+		this.foreground = Color.black;
+		this.xCenter = 0;
+		this.yCenter = 0;
+		this.diameter = 0;
+		this.edgeWidth = 1;
+		this.edgeStroke = new BasicStroke(edgeWidth);
+		this.font = null;
+		this.cache = null;
+	}
+	
+	/**
+	 * Gets the wrapped renderer.
+	 * 
+	 * @return the renderer that draws the vertices in full detail
+	 * @since 1.0
+	 */
+	public VertexRenderer<T> getDelegate() {
+		return delegate;
+	}
+	
+	@Override
+	public void setBackground(Color c) {
+		background = c;
+		delegate.setBackground(c);
+	}
+	
+	@Override
+	public void setForeground(Color c) {
+		foreground = c;
+		delegate.setForeground(c);
+	}
+	
+	@Override
+	public void setFont(Font font) {
+		this.font = font;
+		delegate.setFont(font);
+	}
+	
+	@Override
+	public void setPositionLeftTop(int x, int y) {
+		delegate.setPositionLeftTop(x, y);
+	}
+	
+	@Override
+	public void setPositionCenter(int x, int y) {
+		xCenter = x;
+		yCenter = y;
+		delegate.setPositionCenter(x, y);
+	}
+	
+	@Override
+	public void setDiameter(int d) {
+		diameter = d;
+		delegate.setDiameter(d);
+	}
+	
+	@Override
+	public void setEdgeWidth(int width) {
+		if(width != edgeWidth) {
+			edgeWidth = width;
+			edgeStroke = new BasicStroke(width);
+		}
+		delegate.setEdgeWidth(width);
+	}
+	
+	@Override
+	public void setAttachmentPoint(int x, int y) {
+		delegate.setAttachmentPoint(x, y);
+	}
+	
+	@Override
+	public void draw(Graphics2D g, T o) {
+		// vertices that are covered by the tiles of the render cache must not be drawn again
+		if(cache != null && cache.covers(g, o))
+			return;
+		
+		drawDetail(g, o);
+	}
+	
+	/**
+	 * Gets the font of the view.
+	 * 
+	 * @return the font of the view or <code>null</code> if the view has not been painted yet
+	 * @since 1.0
+	 */
+	Font getFont() {
+		return font;
+	}
+	
+	/**
+	 * Sets the render cache of the view.
+	 * 
+	 * @param cache the render cache or <code>null</code> if the vertices should always be drawn directly
+	 * @since 1.0
+	 */
+	void setCache(final TiledRenderCache<T, ?> cache) {
+		this.cache = cache;
+	}
+	
+	/**
+	 * Draws the current vertex in the level of detail that fits its diameter if it intersects the clip area.
+	 * 
+	 * @param g the graphics context
+	 * @param o the vertex
+	 * @since 1.0
+	 */
+	void drawDetail(Graphics2D g, T o) {
+		// the extent of a vertex includes a margin for additional information a plugin might draw next to the vertex
+		final int extent = diameter + edgeWidth;
+		
+		if(!RenderingLayer.intersectsClip(g, clip, xCenter - extent, yCenter - extent, xCenter + extent, yCenter + extent))
+			return;
+		
+		if(diameter < RenderingLayer.GLYPH_MAX_DIAMETER) {
+			final Stroke stroke = g.getStroke();
+			final int size = Math.max(diameter, 2);
+			g.setColor(background);
+			g.fillRect(xCenter - size / 2, yCenter - size / 2, size, size);
+			g.setColor(foreground);
+			g.setStroke(GLYPH_STROKE);
+			g.drawRect(xCenter - size / 2, yCenter - size / 2, size, size);
+			g.setStroke(stroke);
+		}
+		else if(diameter < RenderingLayer.LABEL_MIN_DIAMETER) {
+			final Stroke stroke = g.getStroke();
+			g.setColor(background);
+			g.fillOval(xCenter - diameter / 2, yCenter - diameter / 2, diameter, diameter);
+			g.setColor(foreground);
+			g.setStroke(edgeStroke);
+			g.drawOval(xCenter - diameter / 2, yCenter - diameter / 2, diameter, diameter);
+			g.setStroke(stroke);
+		}
+		else
+			delegate.draw(g, o);
+	}
+
+}
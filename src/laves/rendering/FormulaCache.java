@@ -0,0 +1,888 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.rendering;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Insets;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import javax.swing.SwingUtilities;
+
+import org.scilab.forge.jlatexmath.TeXConstants;
+import org.scilab.forge.jlatexmath.TeXFormula;
+import org.scilab.forge.jlatexmath.TeXIcon;
+
+import laves.utils.Constants;
+import lavesdk.algorithm.plugin.views.AlgorithmTextView;
+import lavesdk.algorithm.plugin.views.View;
+import lavesdk.algorithm.plugin.views.ViewContainer;
+import lavesdk.algorithm.text.AlgorithmParagraph;
+import lavesdk.algorithm.text.AlgorithmStep;
+import lavesdk.algorithm.text.AlgorithmText;
+import lavesdk.algorithm.text.LaTeXFormula;
+
+/**
+ * The cache of the rendered LaTeX formulas of the algorithm texts that is shared by all plugins.
+ * <br><br>
+ * The formulas of an {@link AlgorithmTextView} are wrapped so that they are painted as images instead of glyph by glyph. The cache has two levels:
+ * <ul>
+ * 		<li>the memory that holds the recently used images up to a budget of pixels (least recently used images are evicted first)</li>
+ * 		<li>the disk (see {@link Constants#PATH_FORMULA_CACHE}) that holds the coverage masks of the formulas so that they survive a restart</li>
+ * </ul>
+ * An image is identified by the source of the formula, the font size, the highlighting, the color and the scale of the display. The masks on
+ * the disk do not depend on the color, they are colored when they are loaded into the memory. The masks of a text are loaded in the background
+ * when the text is installed and new masks are written in the background.
+ * <br><br>
+ * <b>Notice</b>:<br>
+ * The formulas do not provide access to their icons, therefore the cache replaces them by reflection. If this is not possible the formulas
+ * remain unchanged.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ */
+public class FormulaCache {
+
+	/** the instance of the cache */
+	private static FormulaCache instance = null;
+	
+	/** the images of the formulas in the order of their last usage */
+	private final Pool<BufferedImage> images;
+	/** the coverage masks of the formulas in the order of their last usage */
+	private final Pool<Mask> masks;
+	/** the directory of the masks on the disk or <code>null</code> if the disk is not used */
+	private final File directory;
+	/** the executor that reads and writes the masks on the disk */
+	private final ExecutorService executor;
+	
+	/** the maximum number of pixels of all images in the memory */
+	public static final long MEMORY_PIXEL_BUDGET = 4L * 1024L * 1024L;
+	/** the maximum number of pixels of all masks in the memory */
+	public static final long MASK_PIXEL_BUDGET = 8L * 1024L * 1024L;
+	/** the maximum number of pixels of a single formula (larger formulas are not cached) */
+	public static final int MAX_FORMULA_PIXELS = 1024 * 1024;
+	/** the maximum number of masks on the disk */
+	public static final int MAX_DISK_ENTRIES = 4096;
+	
+	/** the name of the field of the normal icon in {@link LaTeXFormula} */
+	private static final String FIELD_NORMAL = "normal";
+	/** the name of the field of the highlighted icon in {@link LaTeXFormula} */
+	private static final String FIELD_HIGHLIGHTED = "highlighted";
+	/** the client property of a view that indicates whether the cache is installed */
+	private static final String PROPERTY_INSTALLED = "laves.FormulaCache";
+	/** the magic number of a mask file */
+	private static final int MAGIC = 0x4C56464D;
+	/** the version of the file format of a mask */
+	private static final int VERSION = 1;
+	/** the extension of a mask file */
+	private static final String EXT_MASK = ".mask";
+	
+	/**
+	 * Creates a new cache.
+	 * 
+	 * @since 1.0
+	 */
+	private FormulaCache() {
+		images = new Pool<BufferedImage>(MEMORY_PIXEL_BUDGET);
+		masks = new Pool<Mask>(MASK_PIXEL_BUDGET);
+		
+		final File dir = new File(Constants.PATH_FORMULA_CACHE);
+		directory = (dir.isDirectory() || dir.mkdirs()) ? dir : null;
+		
+		executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+			
+			@Override
+			public Thread newThread(Runnable r) {
+				final Thread t = new Thread(r, "LAVES Formula Cache");
+				t.setDaemon(true);
+				t.setPriority(Thread.MIN_PRIORITY);
+				return t;
+			}
+		});
+		
+		// remove the masks that are not used for the longest time if there are too many
+		execute(new Runnable() {
+			
+			@Override
+			public void run() {
+				trimDisk();
+			}
+		});
+	}
+	
+	/**
+	 * Gets the instance of the cache.
+	 * 
+	 * @return the cache
+	 * @since 1.0
+	 */
+	public static synchronized FormulaCache getInstance() {
+		if(instance == null)
+			instance = new FormulaCache();
+		
+		return instance;
+	}
+	
+	/**
+	 * Installs the cache in all algorithm text views of the specified container.
+	 * 
+	 * @param container the view container
+	 * @since 1.0
+	 */
+	public void install(final ViewContainer container) {
+		if(container == null)
+			return;
+		
+		for(View view : container.queryAllViews())
+			if(view instanceof AlgorithmTextView)
+				install((AlgorithmTextView)view);
+	}
+	
+	/**
+	 * Installs the cache in the specified algorithm text view.
+	 * <br><br>
+	 * If the font of the view changes then the formulas are recreated by the SDK, therefore they are wrapped again afterwards.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * This method must be invoked in the event dispatch thread.
+	 * 
+	 * @param view the view
+	 * @return <code>true</code> if the cache could be installed otherwise <code>false</code>
+	 * @since 1.0
+	 */
+	public boolean install(final AlgorithmTextView view) {
+		if(view == null || view.getText() == null)
+			return false;
+		
+		if(!wrap(view))
+			return false;
+		
+		if(view.getClientProperty(PROPERTY_INSTALLED) == null) {
+			view.putClientProperty(PROPERTY_INSTALLED, Boolean.TRUE);
+			view.addPropertyChangeListener("font", new PropertyChangeListener() {
+				
+				@Override
+				public void propertyChange(PropertyChangeEvent evt) {
+					// the font size of the text is changed after the font of the view
+					SwingUtilities.invokeLater(new Runnable() {
+						
+						@Override
+						public void run() {
+							wrap(view);
+						}
+					});
+				}
+			});
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Renders the formulas of an algorithm text in the background so that the text can be painted immediately when it is shown.
+	 * <br><br>
+	 * The masks of the formulas are loaded from the disk or rendered if they do not exist. The text must not be shown while it is
+	 * prerendered meaning it must not be the text of the active plugin.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * This method must be invoked in the event dispatch thread.
+	 * 
+	 * @param text the algorithm text
+	 * @since 1.0
+	 */
+	public void prerender(final AlgorithmText text) {
+		if(text == null)
+			return;
+		
+		final List<String> keys = new ArrayList<String>();
+		final List<FormulaSource> sources = new ArrayList<FormulaSource>();
+		
+		try {
+			final Field normalField = getField(FIELD_NORMAL);
+			final Field highlightedField = getField(FIELD_HIGHLIGHTED);
+			
+			for(int i = 0; i < text.getParagraphCount(); i++) {
+				final AlgorithmParagraph paragraph = text.getParagraph(i);
+				for(int j = 0; j < paragraph.getStepCount(); j++) {
+					final AlgorithmStep step = paragraph.getStep(j);
+					for(int k = 0; k < step.getFormulaCount(); k++) {
+						final LaTeXFormula formula = step.getFormula(k);
+						collect(formula, (TeXIcon)normalField.get(formula), text.getFontSize(), false, keys, sources);
+						collect(formula, (TeXIcon)highlightedField.get(formula), text.getFontSize(), true, keys, sources);
+					}
+				}
+			}
+		}
+		catch(Exception e) {
+			return;
+		}
+		
+		if(keys.isEmpty())
+			return;
+		
+		final float scale = getDefaultScale();
+		execute(new Runnable() {
+			
+			@Override
+			public void run() {
+				for(int i = 0; i < keys.size(); i++) {
+					final String key = keys.get(i) + "\u0000" + scale;
+					load(key);
+					if(masks.contains(key))
+						continue;
+					
+					// the icons of the formulas are used by the event dispatch thread so the formulas are parsed again
+					final TeXIcon icon = sources.get(i).createIcon();
+					final Mask mask = (icon != null) ? render(icon, scale) : null;
+					if(mask != null) {
+						masks.put(key, mask, mask.width * mask.height);
+						write(key, mask);
+					}
+				}
+			}
+		});
+	}
+	
+	/**
+	 * Removes all images from the memory.
+	 * 
+	 * @since 1.0
+	 */
+	public void clearMemory() {
+		images.clear();
+		masks.clear();
+	}
+	
+	/**
+	 * Creates the key of a formula.
+	 * 
+	 * @param expression the source of the formula
+	 * @param fontSize the font size
+	 * @param highlighted <code>true</code> if the formula is highlighted otherwise <code>false</code>
+	 * @return the key
+	 * @since 1.0
+	 */
+	static String createKey(final String expression, final float fontSize, final boolean highlighted) {
+		return expression + "\u0000" + fontSize + "\u0000" + (highlighted ? "h" : "n");
+	}
+	
+	/**
+	 * Gets the image of a formula.
+	 * <br><br>
+	 * If the image is not in the memory then it is created from the mask of the formula. If the mask is not in the memory either then
+	 * the formula is rendered and its mask is written to the disk in the background.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * This method must be invoked in the event dispatch thread.
+	 * 
+	 * @param icon the icon of the formula
+	 * @param fg the color of the formula
+	 * @param scale the scale of the graphics context
+	 * @return the image with a resolution of the icon size multiplied with the scale or <code>null</code> if the formula cannot be cached
+	 * @since 1.0
+	 */
+	BufferedImage getImage(final CachedTeXIcon icon, final Color fg, final float scale) {
+		final String maskKey = icon.getKey() + "\u0000" + scale;
+		final String imageKey = maskKey + "\u0000" + Integer.toHexString(fg.getRGB());
+		
+		BufferedImage image = images.get(imageKey);
+		if(image != null)
+			return image;
+		
+		Mask mask = masks.get(maskKey);
+		if(mask == null) {
+			mask = render(new DetachedTeXIcon(icon.getIcon(), icon.getFontSize()), scale);
+			if(mask == null)
+				return null;
+			
+			masks.put(maskKey, mask, mask.width * mask.height);
+			write(maskKey, mask);
+		}
+		
+		image = mask.createImage(fg);
+		images.put(imageKey, image, mask.width * mask.height);
+		
+		return image;
+	}
+	
+	/**
+	 * Wraps the formulas of the text of a view that are not already wrapped and loads their masks from the disk in the background.
+	 * 
+	 * @param view the view
+	 * @return <code>true</code> if the formulas could be wrapped otherwise <code>false</code>
+	 * @since 1.0
+	 */
+	private boolean wrap(final AlgorithmTextView view) {
+		final AlgorithmText text = view.getText();
+		final List<String> keys = new ArrayList<String>();
+		
+		try {
+			final Field normalField = getField(FIELD_NORMAL);
+			final Field highlightedField = getField(FIELD_HIGHLIGHTED);
+			
+			for(int i = 0; i < text.getParagraphCount(); i++) {
+				final AlgorithmParagraph paragraph = text.getParagraph(i);
+				for(int j = 0; j < paragraph.getStepCount(); j++) {
+					final AlgorithmStep step = paragraph.getStep(j);
+					for(int k = 0; k < step.getFormulaCount(); k++) {
+						final LaTeXFormula formula = step.getFormula(k);
+						wrap(formula, normalField, text.getFontSize(), false, keys);
+						wrap(formula, highlightedField, text.getFontSize(), true, keys);
+					}
+				}
+			}
+		}
+		catch(Exception e) {
+			return false;
+		}
+		
+		if(!keys.isEmpty()) {
+			final GraphicsConfiguration gc = view.getGraphicsConfiguration();
+			final float scale = (gc != null) ? (float)gc.getDefaultTransform().getScaleX() : getDefaultScale();
+			execute(new Runnable() {
+				
+				@Override
+				public void run() {
+					for(String key : keys)
+						load(key + "\u0000" + scale);
+				}
+			});
+		}
+		
+		view.repaint();
+		return true;
+	}
+	
+	/**
+	 * Wraps an icon of a formula if it is not already wrapped.
+	 * 
+	 * @param formula the formula
+	 * @param field the field of the icon
+	 * @param fontSize the font size of the text
+	 * @param highlighted <code>true</code> if the icon is the highlighted icon otherwise <code>false</code>
+	 * @param keys the list to which the key of the icon is added if it is wrapped
+	 * @throws IllegalAccessException
+	 * <ul>
+	 * 		<li>if the field cannot be accessed</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	private void wrap(final LaTeXFormula formula, final Field field, final float fontSize, final boolean highlighted, final List<String> keys) throws IllegalAccessException {
+		final TeXIcon icon = (TeXIcon)field.get(formula);
+		if(icon == null || icon instanceof CachedTeXIcon)
+			return;
+		
+		final String key = createKey(formula.getExpression(), fontSize, highlighted);
+		field.set(formula, new CachedTeXIcon(this, icon, key, fontSize));
+		keys.add(key);
+	}
+	
+	/**
+	 * Adds an icon of a formula to the lists of icons that should be prerendered.
+	 * 
+	 * @param formula the formula
+	 * @param icon the icon
+	 * @param fontSize the font size of the text
+	 * @param highlighted <code>true</code> if the icon is the highlighted icon otherwise <code>false</code>
+	 * @param keys the keys of the icons
+	 * @param sources the sources from which the icons can be created again
+	 * @since 1.0
+	 */
+	private static void collect(final LaTeXFormula formula, final TeXIcon icon, final float fontSize, final boolean highlighted, final List<String> keys, final List<FormulaSource> sources) {
+		if(icon instanceof CachedTeXIcon) {
+			final CachedTeXIcon cachedIcon = (CachedTeXIcon)icon;
+			keys.add(cachedIcon.getKey());
+			sources.add(new FormulaSource(formula.getExpression(), cachedIcon.getFontSize(), highlighted, cachedIcon.getIcon().getInsets()));
+		}
+		else if(icon != null) {
+			keys.add(createKey(formula.getExpression(), fontSize, highlighted));
+			sources.add(new FormulaSource(formula.getExpression(), fontSize, highlighted, icon.getInsets()));
+		}
+	}
+	
+	/**
+	 * Renders the coverage mask of a formula.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * The icon is modified (its foreground) and drawing an icon modifies its layout so the icon must not be used by another thread. In the
+	 * event dispatch thread a {@link DetachedTeXIcon} of the icon that is displayed can be rendered, in other threads a new icon of a
+	 * {@link FormulaSource} must be rendered.
+	 * 
+	 * @param detachedIcon the icon of the formula that is not displayed
+	 * @param scale the scale
+	 * @return the mask or <code>null</code> if the formula is too large
+	 * @since 1.0
+	 */
+	private static Mask render(final TeXIcon detachedIcon, final float scale) {
+		final int width = Math.max(1, (int)Math.ceil(detachedIcon.getIconWidth() * scale));
+		final int height = Math.max(1, (int)Math.ceil(detachedIcon.getIconHeight() * scale));
+		if((long)width * height > MAX_FORMULA_PIXELS)
+			return null;
+		
+		final BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		final Graphics2D g = image.createGraphics();
+		g.scale(scale, scale);
+		detachedIcon.setForeground(Color.black);
+		detachedIcon.paintIcon(null, g, 0, 0);
+		g.dispose();
+		
+		final int[] pixels = ((DataBufferInt)image.getRaster().getDataBuffer()).getData();
+		final byte[] alpha = new byte[pixels.length];
+		for(int i = 0; i < pixels.length; i++)
+			alpha[i] = (byte)(pixels[i] >>> 24);
+		
+		return new Mask(width, height, alpha);
+	}
+	
+	/**
+	 * Loads the mask of a formula from the disk into the memory if it is not already in the memory.
+	 * 
+	 * @param key the key of the mask
+	 * @since 1.0
+	 */
+	private void load(final String key) {
+		if(directory == null || masks.contains(key))
+			return;
+		
+		final File file = getFile(key);
+		if(!file.isFile())
+			return;
+		
+		try(final DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if(in.readInt() != MAGIC || in.readInt() != VERSION || !in.readUTF().equals(key))
+				return;
+			
+			final int width = in.readInt();
+			final int height = in.readInt();
+			if(width <= 0 || height <= 0 || (long)width * height > MAX_FORMULA_PIXELS)
+				return;
+			
+			final byte[] alpha = new byte[width * height];
+			new DataInputStream(new InflaterInputStream(in)).readFully(alpha);
+			masks.put(key, new Mask(width, height, alpha), width * height);
+		}
+		catch(IOException e) {
+			// an invalid mask is replaced by the next write
+			return;
+		}
+		
+		// the last modification is the last usage so that the least recently used masks are removed first
+		file.setLastModified(System.currentTimeMillis());
+	}
+	
+	/**
+	 * Writes the mask of a formula to the disk in the background.
+	 * 
+	 * @param key the key of the mask
+	 * @param mask the mask
+	 * @since 1.0
+	 */
+	private void write(final String key, final Mask mask) {
+		if(directory == null)
+			return;
+		
+		execute(new Runnable() {
+			
+			@Override
+			public void run() {
+				final File file = getFile(key);
+				File tmp = null;
+				
+				try {
+					// write the mask to a temporary file first so that a mask is never read partially
+					tmp = File.createTempFile("laves-", EXT_MASK, directory);
+					try(final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+						out.writeInt(MAGIC);
+						out.writeInt(VERSION);
+						out.writeUTF(key);
+						out.writeInt(mask.width);
+						out.writeInt(mask.height);
+						
+						final DeflaterOutputStream deflater = new DeflaterOutputStream(out);
+						deflater.write(mask.alpha);
+						deflater.finish();
+					}
+					
+					Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+				}
+				catch(IOException e) {
+					if(tmp != null)
+						tmp.delete();
+				}
+			}
+		});
+	}
+	
+	/**
+	 * Removes the masks from the disk that are not used for the longest time if there are more than {@link #MAX_DISK_ENTRIES}.
+	 * 
+	 * @since 1.0
+	 */
+	private void trimDisk() {
+		if(directory == null)
+			return;
+		
+		final File[] files = directory.listFiles();
+		if(files == null || files.length <= MAX_DISK_ENTRIES)
+			return;
+		
+		final long[] lastModified = new long[files.length];
+		final Integer[] order = new Integer[files.length];
+		for(int i = 0; i < files.length; i++) {
+			lastModified[i] = files[i].lastModified();
+			order[i] = i;
+		}
+		
+		Arrays.sort(order, new Comparator<Integer>() {
+			
+			@Override
+			public int compare(Integer a, Integer b) {
+				return Long.compare(lastModified[a], lastModified[b]);
+			}
+		});
+		
+		for(int i = 0; i < files.length - MAX_DISK_ENTRIES; i++)
+			files[order[i]].delete();
+	}
+	
+	/**
+	 * Gets the file of a mask.
+	 * 
+	 * @param key the key of the mask
+	 * @return the file
+	 * @since 1.0
+	 */
+	private File getFile(final String key) {
+		// 64-bit FNV-1a hash of the key (collisions are detected by the key in the file)
+		long hash = 0xcbf29ce484222325L;
+		for(int i = 0; i < key.length(); i++) {
+			hash ^= key.charAt(i);
+			hash *= 0x100000001b3L;
+		}
+		
+		return new File(directory, String.format("%016x", hash) + EXT_MASK);
+	}
+	
+	/**
+	 * Gets the scale of the default screen.
+	 * 
+	 * @return the scale of the default screen or <code>1</code> if there is no screen
+	 * @since 1.0
+	 */
+	private static float getDefaultScale() {
+		if(GraphicsEnvironment.isHeadless())
+			return 1.0f;
+		
+		return (float)GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration().getDefaultTransform().getScaleX();
+	}
+	
+	/**
+	 * Executes a job in the background.
+	 * 
+	 * @param job the job
+	 * @since 1.0
+	 */
+	private void execute(final Runnable job) {
+		try {
+			executor.execute(job);
+		}
+		catch(RejectedExecutionException e) {
+		}
+	}
+	
+	/**
+	 * Gets an accessible field of {@link LaTeXFormula}.
+	 * 
+	 * @param name the name of the field
+	 * @return the field
+	 * @throws NoSuchFieldException
+	 * <ul>
+	 * 		<li>if the field does not exist</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	private static Field getField(final String name) throws NoSuchFieldException {
+		final Field field = LaTeXFormula.class.getDeclaredField(name);
+		field.setAccessible(true);
+		return field;
+	}
+	
+	/**
+	 * The source of a formula from which a new icon with its own layout can be created in any thread.
+	 * 
+	 * @author jdornseifer
+	 * @version 1.0
+	 * @since 1.0
+	 */
+	private static class FormulaSource {
+		
+		/** the LaTeX expression */
+		private final String expression;
+		/** the font size */
+		private final float fontSize;
+		/** flag that indicates whether the formula is highlighted */
+		private final boolean highlighted;
+		/** the insets of the icon that is created by the SDK */
+		private final Insets insets;
+		
+		/**
+		 * Creates a new source.
+		 * 
+		 * @param expression the LaTeX expression
+		 * @param fontSize the font size
+		 * @param highlighted <code>true</code> if the formula is highlighted otherwise <code>false</code>
+		 * @param insets the insets of the icon that is created by the SDK
+		 * @since 1.0
+		 */
+		public FormulaSource(final String expression, final float fontSize, final boolean highlighted, final Insets insets) {
+			this.expression = expression;
+			this.fontSize = fontSize;
+			this.highlighted = highlighted;
+			this.insets = (Insets)insets.clone();
+		}
+		
+		/**
+		 * Creates a new icon of the formula like {@link LaTeXFormula} does.
+		 * 
+		 * @return the icon or <code>null</code> if the expression could not be parsed
+		 * @since 1.0
+		 */
+		public TeXIcon createIcon() {
+			try {
+				final TeXFormula.TeXIconBuilder builder = new TeXFormula(expression).new TeXIconBuilder();
+				builder.setStyle(TeXConstants.STYLE_DISPLAY).setSize(fontSize);
+				if(highlighted)
+					builder.setType(TeXConstants.TYPE_BINARY_OPERATOR);
+				
+				final TeXIcon icon = builder.build();
+				// the insets of the icon are already adjusted to the font size
+				icon.setInsets((Insets)insets.clone(), true);
+				return icon;
+			}
+			catch(RuntimeException e) {
+				return null;
+			}
+		}
+	
+	}
+	
+	/**
+	 * An icon that shares the layout of another icon but has its own state.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * Drawing an icon modifies its layout so the icon must only be used in the thread of the other icon (the event dispatch thread).
+	 * 
+	 * @author jdornseifer
+	 * @version 1.0
+	 * @since 1.0
+	 */
+	private static class DetachedTeXIcon extends TeXIcon {
+		
+		/**
+		 * Creates a new icon.
+		 * 
+		 * @param icon the icon whose layout should be used
+		 * @param fontSize the font size of the icon
+		 * @since 1.0
+		 */
+		public DetachedTeXIcon(final TeXIcon icon, final float fontSize) {
+			super(icon.getBox(), fontSize);
+			// the insets of the icon are already adjusted to the font size
+			setInsets((Insets)icon.getInsets().clone(), true);
+		}
+	
+	}
+	
+	/**
+	 * The coverage mask of a formula meaning the alpha value of each pixel.
+	 * 
+	 * @author jdornseifer
+	 * @version 1.0
+	 * @since 1.0
+	 */
+	private static class Mask {
+		
+		/** the width in pixels */
+		public final int width;
+		/** the height in pixels */
+		public final int height;
+		/** the alpha values in row-major order */
+		public final byte[] alpha;
+		
+		/**
+		 * Creates a new mask.
+		 * 
+		 * @param width the width
+		 * @param height the height
+		 * @param alpha the alpha values
+		 * @since 1.0
+		 */
+		public Mask(final int width, final int height, final byte[] alpha) {
+			this.width = width;
+			this.height = height;
+			this.alpha = alpha;
+		}
+		
+		/**
+		 * Creates an image of the mask with the specified color.
+		 * 
+		 * @param fg the color
+		 * @return the image
+		 * @since 1.0
+		 */
+		public BufferedImage createImage(final Color fg) {
+			final BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+			final int[] pixels = ((DataBufferInt)image.getRaster().getDataBuffer()).getData();
+			final int rgb = fg.getRGB() & 0xFFFFFF;
+			final int fgAlpha = fg.getAlpha();
+			
+			for(int i = 0; i < pixels.length; i++) {
+				final int a = (alpha[i] & 0xFF) * fgAlpha / 255;
+				pixels[i] = (a << 24) | rgb;
+			}
+			
+			return image;
+		}
+	
+	}
+	
+	/**
+	 * A thread-safe pool of objects with a pixel budget that evicts the least recently used objects.
+	 * 
+	 * @author jdornseifer
+	 * @version 1.0
+	 * @since 1.0
+	 */
+	private static class Pool<T> {
+		
+		/** the objects in the order of their last usage */
+		private final LinkedHashMap<String, T> objects;
+		/** the number of pixels of each object */
+		private final Map<String, Integer> pixels;
+		/** the maximum number of pixels of all objects */
+		private final long budget;
+		/** the number of pixels of all objects */
+		private long size;
+		
+		/**
+		 * Creates a new pool.
+		 * 
+		 * @param budget the maximum number of pixels of all objects
+		 * @since 1.0
+		 */
+		public Pool(final long budget) {
+			this.objects = new LinkedHashMap<String, T>(64, 0.75f, true);
+			this.pixels = new HashMap<String, Integer>();
+			this.budget = budget;
+			this.size = 0;
+		}
+		
+		/**
+		 * Gets an object and marks it as recently used.
+		 * 
+		 * @param key the key
+		 * @return the object or <code>null</code> if the pool does not contain the object
+		 * @since 1.0
+		 */
+		public synchronized T get(final String key) {
+			return objects.get(key);
+		}
+		
+		/**
+		 * Indicates whether the pool contains an object.
+		 * 
+		 * @param key the key
+		 * @return <code>true</code> if the object is in the pool otherwise <code>false</code>
+		 * @since 1.0
+		 */
+		public synchronized boolean contains(final String key) {
+			return objects.containsKey(key);
+		}
+		
+		/**
+		 * Adds an object and evicts the least recently used objects if the budget is exceeded.
+		 * 
+		 * @param key the key
+		 * @param object the object
+		 * @param count the number of pixels of the object
+		 * @since 1.0
+		 */
+		public synchronized void put(final String key, final T object, final int count) {
+			if(objects.put(key, object) != null)
+				size -= pixels.get(key);
+			pixels.put(key, count);
+			size += count;
+			
+			final Iterator<Map.Entry<String, T>> it = objects.entrySet().iterator();
+			while(size > budget && it.hasNext()) {
+				final String eldest = it.next().getKey();
+				if(eldest.equals(key))
+					continue;
+				
+				size -= pixels.remove(eldest);
+				it.remove();
+			}
+		}
+		
+		/**
+		 * Removes all objects.
+		 * 
+		 * @since 1.0
+		 */
+		public synchronized void clear() {
+			objects.clear();
+			pixels.clear();
+			size = 0;
+		}
+	
+	}
+
+}
@@ -0,0 +1,263 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.rendering;
+
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.geom.Point2D;
+import java.lang.reflect.Field;
+
+import javax.swing.JComponent;
+import javax.swing.JScrollPane;
+
+import lavesdk.algorithm.plugin.views.GraphView;
+import lavesdk.algorithm.plugin.views.View;
+import lavesdk.algorithm.plugin.views.ViewContainer;
+import lavesdk.algorithm.plugin.views.renderers.DefaultEdgeRenderer;
+import lavesdk.algorithm.plugin.views.renderers.DefaultNodeRenderer;
+import lavesdk.algorithm.plugin.views.renderers.DefaultVertexRenderer;
+import lavesdk.algorithm.plugin.views.renderers.EdgeRenderer;
+import lavesdk.algorithm.plugin.views.renderers.VertexRenderer;
+import lavesdk.graphics.CatmullRomSpline;
+import lavesdk.math.graph.Edge;
+import lavesdk.math.graph.Vertex;
+
+/**
+ * The rendering layer of the host that is installed in the graph views of the active plugin.
+ * <br><br>
+ * The layer wraps the vertex and edge renderers of a {@link GraphView} with a {@link CullingVertexRenderer} and a {@link CullingEdgeRenderer}.
+ * The graph view still enumerates all of its vertices and edges but the culling renderers reject objects outside of the clip area (meaning
+ * the visible region of the view or the region that has to be repainted) with a simple bounds test so that the costs of drawing shapes, arrows
+ * and labels only scale with the visible part of the graph. Furthermore the level of detail is reduced if the view is zoomed out.
+ * <br><br>
+ * If a view uses the default renderers of the SDK then a {@link TiledRenderCache} is attached to the renderers so that only the tiles
+ * of the view that contain changed objects are re-rendered. This requires that the view does not override {@link GraphView#beforePaint(Graphics2D)}
+ * because the tiles cover everything that is painted beneath the objects.
+ * <br><br>
+ * <b>Notice</b>:<br>
+ * The graph view does not provide access to its renderers, therefore the layer reads them by reflection. If this is not possible the
+ * view remains unchanged.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ */
+public class RenderingLayer {
+
+	/** the diameter of a vertex (in pixels) below which a vertex is drawn as a simplified glyph */
+	public static final int GLYPH_MAX_DIAMETER = 8;
+	/** the diameter of a vertex (in pixels) below which the caption of a vertex is hidden */
+	public static final int LABEL_MIN_DIAMETER = 16;
+	/** the font size of a view (in points) below which the edges are drawn as simplified glyphs */
+	public static final float GLYPH_MAX_FONTSIZE = 4.0f;
+	/** the font size of a view (in points) below which the labels of the edges are hidden */
+	public static final float LABEL_MIN_FONTSIZE = 7.0f;
+	/** the assumed extent of a label as a multiple of the font size */
+	public static final float LABEL_EXTENT = 4.0f;
+	
+	/** the name of the field of the vertex renderer in {@link GraphView} */
+	private static final String FIELD_VERTEXRENDERER = "vertexRenderer";
+	/** the name of the field of the edge renderer in {@link GraphView} */
+	private static final String FIELD_EDGERENDERER = "edgeRenderer";
+	/** the name of the field of the selection color in {@link GraphView} */
+	private static final String FIELD_SELECTIONCOLOR = "selectionColor";
+	
+	/**
+	 * Installs the rendering layer in all graph views of the specified container.
+	 * 
+	 * @param container the view container
+	 * @since 1.0
+	 */
+	public static void install(final ViewContainer container) {
+		if(container == null)
+			return;
+		
+		for(View view : container.queryAllViews())
+			if(view instanceof GraphView)
+				install((GraphView<?, ?>)view);
+	}
+	
+	/**
+	 * Installs the rendering layer in the specified graph view.
+	 * <br><br>
+	 * If the layer is already installed then nothing happens.
+	 * 
+	 * @param view the graph view
+	 * @return <code>true</code> if the layer could be installed otherwise <code>false</code>
+	 * @since 1.0
+	 */
+	@SuppressWarnings("unchecked")
+	public static <V extends Vertex, E extends Edge> boolean install(final GraphView<V, E> view) {
+		if(view == null)
+			return false;
+		
+		try {
+			final VertexRenderer<V> vertexRenderer = (VertexRenderer<V>)getField(FIELD_VERTEXRENDERER).get(view);
+			final EdgeRenderer<E> edgeRenderer = (EdgeRenderer<E>)getField(FIELD_EDGERENDERER).get(view);
+			
+			if(vertexRenderer == null || edgeRenderer == null || vertexRenderer instanceof CullingVertexRenderer || edgeRenderer instanceof CullingEdgeRenderer)
+				return true;
+			
+			final CullingVertexRenderer<V> cullingVertexRenderer = new CullingVertexRenderer<V>(vertexRenderer);
+			final CullingEdgeRenderer<E> cullingEdgeRenderer = new CullingEdgeRenderer<E>(edgeRenderer);
+			view.setVertexRenderer(cullingVertexRenderer);
+			view.setEdgeRenderer(cullingEdgeRenderer);
+			
+			// the render cache can only be used with the default renderers because it knows what they draw and only if the view
+			// paints nothing beneath its objects because the tiles are opaque
+			final JComponent panel = findDrawingPanel(view);
+			final Class<?> vertexRendererClass = vertexRenderer.getClass();
+			if(panel != null && !overridesBeforePaint(view.getClass()) && edgeRenderer.getClass() == DefaultEdgeRenderer.class && (vertexRendererClass == DefaultVertexRenderer.class || vertexRendererClass == DefaultNodeRenderer.class))
+				new TiledRenderCache<V, E>(view, panel, cullingVertexRenderer, cullingEdgeRenderer, (Color)getField(FIELD_SELECTIONCOLOR).get(view));
+			
+			return true;
+		}
+		catch(Exception e) {
+			return false;
+		}
+	}
+	
+	/**
+	 * Indicates whether the specified bounds intersect the clip area of a graphics context.
+	 * 
+	 * @param g the graphics context
+	 * @param clip a rectangle that can be used to store the clip bounds (to avoid allocations)
+	 * @param minX the minimum x coordinate of the bounds
+	 * @param minY the minimum y coordinate of the bounds
+	 * @param maxX the maximum x coordinate of the bounds
+	 * @param maxY the maximum y coordinate of the bounds
+	 * @return <code>true</code> if the bounds intersect the clip area or if there is no clip area otherwise <code>false</code>
+	 * @since 1.0
+	 */
+	static boolean intersectsClip(final Graphics2D g, final Rectangle clip, final int minX, final int minY, final int maxX, final int maxY) {
+		// if the graphics context has no clip then getClipBounds(...) leaves the rectangle unchanged so it has to cover everything
+		clip.setBounds(Integer.MIN_VALUE / 2, Integer.MIN_VALUE / 2, Integer.MAX_VALUE, Integer.MAX_VALUE);
+		g.getClipBounds(clip);
+		
+		return maxX >= clip.x && maxY >= clip.y && minX <= clip.x + clip.width && minY <= clip.y + clip.height;
+	}
+	
+	/**
+	 * Computes the bounds of an edge meaning the bounds of its positions, the points of its spline and its label with a margin for the
+	 * arrow and the label text.
+	 * 
+	 * @param bounds the array in which the bounds are stored (minX, minY, maxX, maxY)
+	 * @param offset the index of minX in the array
+	 * @param x1 the x coordinate of the first position
+	 * @param y1 the y coordinate of the first position
+	 * @param x2 the x coordinate of the second position
+	 * @param y2 the y coordinate of the second position
+	 * @param xCtrl the x coordinate of the control position
+	 * @param yCtrl the y coordinate of the control position
+	 * @param xLabel the x coordinate of the label position
+	 * @param yLabel the y coordinate of the label position
+	 * @param spline the spline of the edge or <code>null</code> if the edge is not drawn as a spline
+	 * @param margin the margin
+	 * @since 1.0
+	 */
+	static void computeEdgeBounds(final int[] bounds, final int offset, final int x1, final int y1, final int x2, final int y2, final int xCtrl,
+			final int yCtrl, final int xLabel, final int yLabel, final CatmullRomSpline spline, final int margin) {
+		int minX = Math.min(Math.min(x1, x2), Math.min(xCtrl, xLabel));
+		int minY = Math.min(Math.min(y1, y2), Math.min(yCtrl, yLabel));
+		int maxX = Math.max(Math.max(x1, x2), Math.max(xCtrl, xLabel));
+		int maxY = Math.max(Math.max(y1, y2), Math.max(yCtrl, yLabel));
+		
+		// a spline can run far outside of the positions of the edge
+		if(spline != null) {
+			for(Point2D.Float p : spline.getPoints()) {
+				minX = Math.min(minX, (int)Math.floor(p.x));
+				minY = Math.min(minY, (int)Math.floor(p.y));
+				maxX = Math.max(maxX, (int)Math.ceil(p.x));
+				maxY = Math.max(maxY, (int)Math.ceil(p.y));
+			}
+		}
+		
+		bounds[offset] = minX - margin;
+		bounds[offset + 1] = minY - margin;
+		bounds[offset + 2] = maxX + margin;
+		bounds[offset + 3] = maxY + margin;
+	}
+	
+	/**
+	 * Finds the drawing panel of the specified graph view meaning the component in the scroll pane of the view.
+	 * 
+	 * @param c the view or a child component of the view
+	 * @return the drawing panel or <code>null</code> if the panel could not be found
+	 * @since 1.0
+	 */
+	private static JComponent findDrawingPanel(final Component c) {
+		if(c instanceof JScrollPane) {
+			final Component panel = ((JScrollPane)c).getViewport().getView();
+			return (panel instanceof JComponent && panel.getClass().getEnclosingClass() == GraphView.class) ? (JComponent)panel : null;
+		}
+		else if(c instanceof Container) {
+			for(Component child : ((Container)c).getComponents()) {
+				final JComponent panel = findDrawingPanel(child);
+				if(panel != null)
+					return panel;
+			}
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Indicates whether the specified class of a graph view overrides {@link GraphView#beforePaint(Graphics2D)} meaning that the view
+	 * paints something beneath its objects.
+	 * 
+	 * @param c the class of the view
+	 * @return <code>true</code> if the method is overridden otherwise <code>false</code>
+	 * @since 1.0
+	 */
+	private static boolean overridesBeforePaint(Class<?> c) {
+		while(c != null && c != GraphView.class) {
+			try {
+				c.getDeclaredMethod("beforePaint", Graphics2D.class);
+				return true;
+			}
+			catch(NoSuchMethodException e) {
+				c = c.getSuperclass();
+			}
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * Gets an accessible field of {@link GraphView}.
+	 * 
+	 * @param name the name of the field
+	 * @return the field
+	 * @throws NoSuchFieldException
+	 * <ul>
+	 * 		<li>if the field does not exist</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	private static Field getField(final String name) throws NoSuchFieldException {
+		final Field field = GraphView.class.getDeclaredField(name);
+		field.setAccessible(true);
+		return field;
+	}
+
+}
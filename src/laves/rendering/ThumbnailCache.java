@@ -0,0 +1,720 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.rendering;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Toolkit;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+
+import javax.imageio.ImageIO;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+import laves.Loader;
+import laves.PluginManager;
+import laves.management.HostController;
+import laves.utils.Constants;
+import laves.utils.ListenerList;
+import lavesdk.algorithm.plugin.AlgorithmPlugin;
+import lavesdk.algorithm.plugin.views.ViewContainer;
+import lavesdk.gui.widgets.PropertiesListModel;
+import lavesdk.language.LanguageFile;
+import lavesdk.logging.enums.LogType;
+
+/**
+ * The cache of the preview thumbnails of the plugins.
+ * <br><br>
+ * The thumbnail of a plugin shows the initial view of the plugin meaning the views directly after the plugin is activated. A thumbnail
+ * is requested with {@link #getThumbnail(AlgorithmPlugin)} that returns immediately. If the thumbnail is not in the memory it is
+ * loaded from the disk (see {@link Constants#PATH_THUMBNAIL_CACHE}) in the background and the listeners (see {@link #addListener(ThumbnailListener)})
+ * are notified when it becomes available so that the thumbnails stream in without delaying the dialogs that display them. Thumbnails
+ * are only loaded when they are displayed, there is no prefetching.
+ * <br><br>
+ * If there is no thumbnail of a plugin on the disk then it is captured from the views of the plugin when the plugin is active (see
+ * {@link #capture(AlgorithmPlugin, ViewContainer)}) or otherwise it is rendered offscreen meaning a new instance of the plugin
+ * is created in an offscreen view container and closed again. The instance is initialized with a copy of the configuration of the plugin
+ * (see {@link PluginManager#createInstance(AlgorithmPlugin)}) so that its changes are discarded. A plugin that cannot be created offscreen
+ * has a thumbnail once it was activated.
+ * <br><br>
+ * A thumbnail is identified by the class of the plugin, its version and the language so that it is captured again if the plugin is
+ * updated. The thumbnails of older versions are removed from the disk when a new thumbnail is written.
+ * <br><br>
+ * <b>Notice</b>:<br>
+ * The views of a plugin are Swing components that can only be created and painted in the event dispatch thread. Therefore the views are
+ * painted in the event dispatch thread when it is idle, one plugin at a time. Scaling, encoding and writing the thumbnail are done in the
+ * background.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ */
+public class ThumbnailCache {
+
+	/** the loader of the program data */
+	private final Loader loader;
+	/** the controller of the host */
+	private final HostController controller;
+	/** the language file */
+	private final LanguageFile langFile;
+	/** the language ID */
+	private final String langID;
+	/** the thumbnails in the memory in the order of their last usage (key=thumbnail key, value=thumbnail) */
+	private final Map<String, BufferedImage> thumbnails;
+	/** the keys of the thumbnails that are loaded, captured or rendered currently */
+	private final Set<String> pending;
+	/** the keys of the thumbnails that could not be rendered offscreen */
+	private final Set<String> failed;
+	/** the plugins whose thumbnails have to be rendered offscreen where the first plugin is rendered next */
+	private final LinkedList<AlgorithmPlugin> renderQueue;
+	/** the timer that captures or renders the thumbnails when the event dispatch thread is idle */
+	private final Timer idleTimer;
+	/** the listeners of the cache */
+	private final ListenerList<ThumbnailListener> listeners;
+	/** the directory of the thumbnails on the disk or <code>null</code> if the disk is not used */
+	private final File directory;
+	/** the executor that loads, scales and writes the thumbnails */
+	private final ExecutorService executor;
+	/** the plugin whose thumbnail should be captured or <code>null</code> */
+	private AlgorithmPlugin capturePlugin;
+	/** the view container of the plugin whose thumbnail should be captured or <code>null</code> */
+	private ViewContainer captureContainer;
+	
+	/** the width of a thumbnail */
+	public static final int THUMBNAIL_WIDTH = 192;
+	/** the height of a thumbnail */
+	public static final int THUMBNAIL_HEIGHT = 120;
+	/** the width of the offscreen view container in which a plugin is rendered */
+	private static final int RENDER_WIDTH = 1024;
+	/** the height of the offscreen view container in which a plugin is rendered */
+	private static final int RENDER_HEIGHT = 640;
+	/** the interval in milliseconds in which the event dispatch thread is checked whether it is idle to capture or render a thumbnail */
+	private static final int IDLE_INTERVAL = 200;
+	/** the maximum number of thumbnails in the memory */
+	private static final int MAX_MEMORY_ENTRIES = 64;
+	/** the separator of the parts of a thumbnail key */
+	private static final char KEY_SEPARATOR = '@';
+	/** the extension of a thumbnail file */
+	private static final String EXT_THUMBNAIL = ".png";
+	
+	/**
+	 * Creates a new cache.
+	 * 
+	 * @param loader the loader of the program data
+	 * @param controller the controller of the host
+	 * @param langFile the language file
+	 * @param langID the language ID
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if loader is null</li>
+	 * 		<li>if controller is null</li>
+	 * 		<li>if langID is null</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public ThumbnailCache(final Loader loader, final HostController controller, final LanguageFile langFile, final String langID) throws IllegalArgumentException {
+		if(loader == null || controller == null || langID == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		this.loader = loader;
+		this.controller = controller;
+		this.langFile = langFile;
+		this.langID = langID;
+		this.thumbnails = new LinkedHashMap<String, BufferedImage>(16, 0.75f, true) {
+			
+			private static final long serialVersionUID = 1L;
+			
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, BufferedImage> eldest) {
+				return size() > MAX_MEMORY_ENTRIES;
+			}
+		};
+		this.pending = new HashSet<String>();
+		this.failed = new HashSet<String>();
+		this.renderQueue = new LinkedList<AlgorithmPlugin>();
+		this.listeners = new ListenerList<ThumbnailListener>();
+		this.idleTimer = new Timer(IDLE_INTERVAL, new ActionListener() {
+			
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				ThumbnailCache.this.processNext();
+			}
+		});
+		this.capturePlugin = null;
+		this.captureContainer = null;
+		
+		final File dir = new File(Constants.PATH_THUMBNAIL_CACHE);
+		this.directory = (dir.isDirectory() || dir.mkdirs()) ? dir : null;
+		
+		this.executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+			
+			@Override
+			public Thread newThread(Runnable r) {
+				final Thread t = new Thread(r, "LAVES Thumbnail Cache");
+				t.setDaemon(true);
+				t.setPriority(Thread.MIN_PRIORITY);
+				return t;
+			}
+		});
+	}
+	
+	/**
+	 * Adds a listener that is notified when a thumbnail becomes available.
+	 * 
+	 * @param listener the listener
+	 * @since 1.0
+	 */
+	public void addListener(final ThumbnailListener listener) {
+		listeners.add(listener);
+	}
+	
+	/**
+	 * Adds a listener that is notified when a thumbnail becomes available and that is held weakly.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * The listener is removed automatically if it is garbage collected so the caller has to hold a reference to the listener
+	 * as long as it should be notified.
+	 * 
+	 * @param listener the listener
+	 * @since 1.0
+	 */
+	public void addWeakListener(final ThumbnailListener listener) {
+		listeners.addWeak(listener);
+	}
+	
+	/**
+	 * Removes a listener.
+	 * 
+	 * @param listener the listener
+	 * @since 1.0
+	 */
+	public void removeListener(final ThumbnailListener listener) {
+		listeners.remove(listener);
+	}
+	
+	/**
+	 * Gets the thumbnail of a plugin.
+	 * <br><br>
+	 * If the thumbnail is not in the memory it is loaded from the disk in the background or it is rendered offscreen if there is no
+	 * thumbnail on the disk meaning the listeners are notified when it is available. The thumbnail that is requested last is rendered
+	 * first.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * This has to be invoked in the event dispatch thread.
+	 * 
+	 * @param plugin the plugin
+	 * @return the thumbnail or <code>null</code> if the thumbnail is not available yet or if it cannot be rendered
+	 * @since 1.0
+	 */
+	public BufferedImage getThumbnail(final AlgorithmPlugin plugin) {
+		if(plugin == null)
+			return null;
+		
+		final String key = getKey(plugin);
+		final BufferedImage thumbnail = thumbnails.get(key);
+		
+		if(thumbnail == null)
+			request(plugin, key, null);
+		
+		return thumbnail;
+	}
+	
+	/**
+	 * Captures the thumbnail of the active plugin from its views if the plugin does not have a thumbnail yet.
+	 * <br><br>
+	 * The views are painted when the event dispatch thread is idle and only if the plugin is still active and its algorithm is not
+	 * started so that the thumbnail shows the initial view of the plugin.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * This has to be invoked in the event dispatch thread directly after the plugin is activated.
+	 * 
+	 * @param plugin the active plugin
+	 * @param container the view container of the plugin
+	 * @since 1.0
+	 */
+	public void capture(final AlgorithmPlugin plugin, final ViewContainer container) {
+		if(plugin == null || container == null)
+			return;
+		
+		final String key = getKey(plugin);
+		if(thumbnails.containsKey(key))
+			return;
+		
+		// the views of the active plugin are painted in any case because a plugin that cannot be rendered offscreen has no other thumbnail
+		renderQueue.remove(plugin);
+		failed.remove(key);
+		pending.remove(key);
+		request(plugin, key, container);
+	}
+	
+	/**
+	 * Shuts the cache down meaning that no more thumbnails are captured or rendered.
+	 * 
+	 * @since 1.0
+	 */
+	public void shutdown() {
+		idleTimer.stop();
+		renderQueue.clear();
+		capturePlugin = null;
+		captureContainer = null;
+		executor.shutdown();
+	}
+	
+	/**
+	 * Requests the thumbnail of a plugin that is not in the memory.
+	 * 
+	 * @param plugin the plugin
+	 * @param key the key of the thumbnail
+	 * @param container the view container of the plugin if the thumbnail should be captured if it does not exist on the disk or <code>null</code> if it should be rendered offscreen
+	 * @since 1.0
+	 */
+	private void request(final AlgorithmPlugin plugin, final String key, final ViewContainer container) {
+		if(failed.contains(key))
+			return;
+		
+		if(pending.contains(key)) {
+			// the thumbnail that is displayed currently is rendered next
+			if(renderQueue.remove(plugin))
+				renderQueue.addFirst(plugin);
+			return;
+		}
+		
+		pending.add(key);
+		execute(new Runnable() {
+			
+			@Override
+			public void run() {
+				final BufferedImage thumbnail = ThumbnailCache.this.readThumbnail(key);
+				
+				SwingUtilities.invokeLater(new Runnable() {
+					
+					@Override
+					public void run() {
+						if(thumbnail != null)
+							ThumbnailCache.this.thumbnailAvailable(plugin, key, thumbnail);
+						else if(container != null)
+							ThumbnailCache.this.scheduleCapture(plugin, container);
+						else
+							ThumbnailCache.this.enqueue(plugin);
+					}
+				});
+			}
+		});
+	}
+	
+	/**
+	 * Schedules the capture of the thumbnail of a plugin. A previously scheduled capture is replaced.
+	 * 
+	 * @param plugin the plugin
+	 * @param container the view container of the plugin
+	 * @since 1.0
+	 */
+	private void scheduleCapture(final AlgorithmPlugin plugin, final ViewContainer container) {
+		if(capturePlugin != null)
+			pending.remove(getKey(capturePlugin));
+		
+		capturePlugin = plugin;
+		captureContainer = container;
+		
+		if(!idleTimer.isRunning())
+			idleTimer.start();
+	}
+	
+	/**
+	 * Adds a plugin to the front of the render queue.
+	 * 
+	 * @param plugin the plugin
+	 * @since 1.0
+	 */
+	private void enqueue(final AlgorithmPlugin plugin) {
+		renderQueue.remove(plugin);
+		renderQueue.addFirst(plugin);
+		
+		if(!idleTimer.isRunning())
+			idleTimer.start();
+	}
+	
+	/**
+	 * Captures the thumbnail of the scheduled plugin or renders the thumbnail of the next plugin in the render queue if the event
+	 * dispatch thread is idle.
+	 * 
+	 * @since 1.0
+	 */
+	private void processNext() {
+		if(capturePlugin == null && renderQueue.isEmpty()) {
+			idleTimer.stop();
+			return;
+		}
+		
+		// the user interaction has priority so the views are only painted if there are no other events to process
+		if(Toolkit.getDefaultToolkit().getSystemEventQueue().peekEvent() != null)
+			return;
+		
+		if(capturePlugin != null)
+			captureNext();
+		else
+			renderNext();
+	}
+	
+	/**
+	 * Captures the thumbnail of the scheduled plugin.
+	 * 
+	 * @since 1.0
+	 */
+	private void captureNext() {
+		final AlgorithmPlugin plugin = capturePlugin;
+		final ViewContainer container = captureContainer;
+		final String key = getKey(plugin);
+		capturePlugin = null;
+		captureContainer = null;
+		
+		// the views only show the initial view if the plugin is still active and its algorithm is not started, otherwise the thumbnail
+		// is captured the next time the plugin is activated
+		if(plugin != controller.getActivePlugin() || (plugin.getRuntimeEnvironment() != null && plugin.getRuntimeEnvironment().isStarted()) ||
+				!container.isShowing() || container.getWidth() <= 0 || container.getHeight() <= 0) {
+			pending.remove(key);
+			return;
+		}
+		
+		final BufferedImage image;
+		
+		try {
+			image = paint(container);
+		}
+		catch(Exception e) {
+			pending.remove(key);
+			loader.logMessage(plugin, "ThumbnailCache: the preview of the plugin could not be created!", e, LogType.WARNING);
+			return;
+		}
+		
+		publish(plugin, key, image);
+	}
+	
+	/**
+	 * Renders the thumbnail of the next plugin in the render queue.
+	 * 
+	 * @since 1.0
+	 */
+	private void renderNext() {
+		final AlgorithmPlugin plugin = renderQueue.removeFirst();
+		final String key = getKey(plugin);
+		final BufferedImage image;
+		
+		try {
+			image = render(plugin);
+		}
+		catch(Exception e) {
+			// the plugin cannot be created offscreen so its thumbnail is captured the next time it is activated
+			pending.remove(key);
+			failed.add(key);
+			loader.logMessage(plugin, "ThumbnailCache: the preview of the plugin could not be created!", e, LogType.WARNING);
+			return;
+		}
+		
+		publish(plugin, key, image);
+	}
+	
+	/**
+	 * Scales the image of the views of a plugin to a thumbnail in the background, notifies the listeners and writes the thumbnail to
+	 * the disk.
+	 * 
+	 * @param plugin the plugin
+	 * @param key the key of the thumbnail
+	 * @param image the image of the views
+	 * @since 1.0
+	 */
+	private void publish(final AlgorithmPlugin plugin, final String key, final BufferedImage image) {
+		execute(new Runnable() {
+			
+			@Override
+			public void run() {
+				final BufferedImage thumbnail = scale(image, THUMBNAIL_WIDTH, THUMBNAIL_HEIGHT);
+				
+				SwingUtilities.invokeLater(new Runnable() {
+					
+					@Override
+					public void run() {
+						ThumbnailCache.this.thumbnailAvailable(plugin, key, thumbnail);
+					}
+				});
+				
+				ThumbnailCache.this.writeThumbnail(key, thumbnail);
+			}
+		});
+	}
+	
+	/**
+	 * Adds an available thumbnail to the memory and notifies the listeners.
+	 * 
+	 * @param plugin the plugin
+	 * @param key the key of the thumbnail
+	 * @param thumbnail the thumbnail
+	 * @since 1.0
+	 */
+	private void thumbnailAvailable(final AlgorithmPlugin plugin, final String key, final BufferedImage thumbnail) {
+		pending.remove(key);
+		thumbnails.put(key, thumbnail);
+		
+		// the listeners are a copy so that a listener can remove itself
+		for(ThumbnailListener l : listeners.getListeners())
+			l.thumbnailAvailable(plugin, thumbnail);
+	}
+	
+	/**
+	 * Creates a new instance of a plugin in an offscreen view container, paints its initial view and closes the instance again.
+	 * 
+	 * @param plugin the plugin
+	 * @return the image of the initial view in the size of the offscreen view container
+	 * @throws Exception
+	 * <ul>
+	 * 		<li>if the instance could not be created</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	private BufferedImage render(final AlgorithmPlugin plugin) throws Exception {
+		final AlgorithmPlugin instance = loader.getPluginManager().createInstance(plugin);
+		final ViewContainer container = new ViewContainer();
+		PropertiesListModel creatorProperties = null;
+		
+		// the initial view is the view with the default creator preferences
+		if(instance.hasCreatorPreferences()) {
+			creatorProperties = new PropertiesListModel(langFile, langID);
+			instance.loadCreatorPreferences(creatorProperties);
+		}
+		
+		container.setSize(RENDER_WIDTH, RENDER_HEIGHT);
+		instance.onCreate(container, creatorProperties);
+		
+		try {
+			// the container is not displayable so the layout is not done by Swing
+			layout(container);
+			return paint(container);
+		}
+		finally {
+			instance.onClose();
+		}
+	}
+	
+	/**
+	 * Lays out a component and all of its children.
+	 * 
+	 * @param c the component
+	 * @since 1.0
+	 */
+	private static void layout(final Component c) {
+		if(!(c instanceof Container))
+			return;
+		
+		final Container container = (Container)c;
+		container.doLayout();
+		for(Component child : container.getComponents())
+			layout(child);
+	}
+	
+	/**
+	 * Paints the views of a view container into an image.
+	 * 
+	 * @param container the view container
+	 * @return the image in the size of the view container
+	 * @since 1.0
+	 */
+	private static BufferedImage paint(final ViewContainer container) {
+		final BufferedImage image = new BufferedImage(container.getWidth(), container.getHeight(), BufferedImage.TYPE_INT_RGB);
+		final Graphics2D g = image.createGraphics();
+		
+		try {
+			g.setColor(container.getBackground());
+			g.fillRect(0, 0, image.getWidth(), image.getHeight());
+			container.paint(g);
+		}
+		finally {
+			g.dispose();
+		}
+		
+		return image;
+	}
+	
+	/**
+	 * Scales an image down to the specified size by halving it step by step so that the thumbnail remains legible.
+	 * 
+	 * @param image the image
+	 * @param width the width of the scaled image
+	 * @param height the height of the scaled image
+	 * @return the scaled image
+	 * @since 1.0
+	 */
+	private static BufferedImage scale(final BufferedImage image, final int width, final int height) {
+		BufferedImage scaled = image;
+		int w = image.getWidth();
+		int h = image.getHeight();
+		
+		do {
+			w = Math.max(width, w / 2);
+			h = Math.max(height, h / 2);
+			
+			final BufferedImage step = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+			final Graphics2D g = step.createGraphics();
+			try {
+				g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+				g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+				g.drawImage(scaled, 0, 0, w, h, null);
+			}
+			finally {
+				g.dispose();
+			}
+			scaled = step;
+		} while(w != width || h != height);
+		
+		return scaled;
+	}
+	
+	/**
+	 * Reads a thumbnail from the disk.
+	 * 
+	 * @param key the key of the thumbnail
+	 * @return the thumbnail or <code>null</code> if there is no (valid) thumbnail on the disk
+	 * @since 1.0
+	 */
+	private BufferedImage readThumbnail(final String key) {
+		if(directory == null)
+			return null;
+		
+		final File file = new File(directory, key + EXT_THUMBNAIL);
+		if(!file.isFile())
+			return null;
+		
+		try {
+			final BufferedImage thumbnail = ImageIO.read(file);
+			if(thumbnail != null && thumbnail.getWidth() == THUMBNAIL_WIDTH && thumbnail.getHeight() == THUMBNAIL_HEIGHT)
+				return thumbnail;
+		}
+		catch(IOException e) {
+		}
+		
+		// the file is damaged or has an outdated size so the thumbnail is created again
+		file.delete();
+		return null;
+	}
+	
+	/**
+	 * Writes a thumbnail to the disk and removes the thumbnails of older versions of the plugin.
+	 * 
+	 * @param key the key of the thumbnail
+	 * @param thumbnail the thumbnail
+	 * @since 1.0
+	 */
+	private void writeThumbnail(final String key, final BufferedImage thumbnail) {
+		if(directory == null)
+			return;
+		
+		final File file = new File(directory, key + EXT_THUMBNAIL);
+		File tmp = null;
+		
+		try {
+			// write the thumbnail to a temporary file first so that a thumbnail is never read partially
+			tmp = File.createTempFile("laves-", EXT_THUMBNAIL, directory);
+			if(!ImageIO.write(thumbnail, "png", tmp))
+				throw new IOException("No PNG writer available!");
+			
+			Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch(IOException e) {
+			if(tmp != null)
+				tmp.delete();
+			return;
+		}
+		
+		// the key consists of the plugin class, the version and the language
+		final String pluginPrefix = key.substring(0, key.indexOf(KEY_SEPARATOR) + 1);
+		final String langSuffix = key.substring(key.lastIndexOf(KEY_SEPARATOR)) + EXT_THUMBNAIL;
+		final File[] files = directory.listFiles();
+		if(files == null)
+			return;
+		
+		for(File f : files) {
+			final String name = f.getName();
+			if(name.startsWith(pluginPrefix) && name.endsWith(langSuffix) && !f.equals(file))
+				f.delete();
+		}
+	}
+	
+	/**
+	 * Gets the key of the thumbnail of a plugin.
+	 * 
+	 * @param plugin the plugin
+	 * @return the key that is also the name of the file on the disk (without the extension)
+	 * @since 1.0
+	 */
+	private String getKey(final AlgorithmPlugin plugin) {
+		return sanitize(plugin.getClass().getName()) + KEY_SEPARATOR + sanitize(plugin.getVersion()) + KEY_SEPARATOR + sanitize(langID);
+	}
+	
+	/**
+	 * Replaces all characters of a string that are not allowed in a file name or that are reserved for the key.
+	 * 
+	 * @param s the string
+	 * @return the sanitized string
+	 * @since 1.0
+	 */
+	private static String sanitize(final String s) {
+		if(s == null)
+			return "";
+		
+		final StringBuilder sb = new StringBuilder(s.length());
+		for(int i = 0; i < s.length(); i++) {
+			final char c = s.charAt(i);
+			sb.append((Character.isLetterOrDigit(c) || c == '.' || c == '-') ? c : '_');
+		}
+		
+		return sb.toString();
+	}
+	
+	/**
+	 * Executes a job in the background.
+	 * 
+	 * @param job the job
+	 * @since 1.0
+	 */
+	private void execute(final Runnable job) {
+		try {
+			executor.execute(job);
+		}
+		catch(RejectedExecutionException e) {
+		}
+	}
+
+}
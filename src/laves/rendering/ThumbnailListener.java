@@ -0,0 +1,47 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.rendering;
+
+import java.awt.image.BufferedImage;
+
+import lavesdk.algorithm.plugin.AlgorithmPlugin;
+
+/**
+ * Listener to listen for the thumbnails of a {@link ThumbnailCache} that become available.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ */
+public interface ThumbnailListener {
+
+	/**
+	 * Indicates that the thumbnail of a plugin is available meaning that it is loaded from the disk or that it is created.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * This is invoked in the event dispatch thread.
+	 * 
+	 * @param plugin the plugin
+	 * @param thumbnail the thumbnail of the plugin
+	 * @since 1.0
+	 */
+	public void thumbnailAvailable(final AlgorithmPlugin plugin, final BufferedImage thumbnail);
+
+}
@@ -0,0 +1,613 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.rendering;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import javax.swing.JComponent;
+
+import lavesdk.algorithm.plugin.views.GraphView;
+import lavesdk.math.graph.Edge;
+import lavesdk.math.graph.Vertex;
+import lavesdk.math.graph.network.Arc;
+import lavesdk.math.graph.network.Node;
+
+/**
+ * A tiled offscreen cache of the vertices and edges of a graph view.
+ * <br><br>
+ * The visible region of the drawing panel of a view is divided into tiles of {@link #TILE_SIZE} pixels. At the beginning of each paint
+ * pass the cache compares the visual state (position, colors, captions, labels, ...) of the objects in the visible region with the state
+ * of the previous pass and re-renders only the tiles that intersect changed objects. Afterwards the tiles are drawn as images and the culling
+ * renderers skip the objects of the view. During the execution of an algorithm usually only a few objects change per step so that most of
+ * the tiles can be reused.
+ * <br><br>
+ * The tiles are kept in a LRU cache that is limited by {@link #MEMORY_BUDGET}. Tiles outside of the visible region are discarded and
+ * all tiles are invalidated if the zoom, the font, the arrow length, the background or the number of objects of the view changes. A layout
+ * change marks the tiles of all moved objects as dirty.
+ * <br><br>
+ * The tiles are opaque and filled with the background of the drawing panel before the objects are rendered so that anti-aliased pixels
+ * are blended with the same colors as in the paint loop of the view and the output equals the uncached output. Therefore the cache is
+ * only used if the panel is opaque.
+ * <br><br>
+ * <b>Notice</b>:<br>
+ * The cache reproduces the paint loop of {@link GraphView} and is only used if the view has the default renderers of the SDK because
+ * custom renderers might draw information that is not part of the visual state. Furthermore the view must not paint anything beneath its
+ * objects (see {@link RenderingLayer}) because the tiles cover it.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ */
+public class TiledRenderCache<V extends Vertex, E extends Edge> {
+
+	/** the width and height of a tile in pixels */
+	public static final int TILE_SIZE = 256;
+	/** the maximum memory of the tiles of one view in bytes */
+	public static final long MEMORY_BUDGET = 32L * 1024L * 1024L;
+	/** the minimum number of objects (vertices and edges) a view must have so that the cache is used */
+	public static final int MIN_OBJECTS = 500;
+	
+	/** the view */
+	private final GraphView<V, E> view;
+	/** the drawing panel of the view */
+	private final JComponent panel;
+	/** the renderer of the vertices */
+	private final CullingVertexRenderer<V> vertexRenderer;
+	/** the renderer of the edges */
+	private final CullingEdgeRenderer<E> edgeRenderer;
+	/** the color of selected objects */
+	private final Color selectionColor;
+	/** the cached tiles in access order (key=tile key) */
+	private final LinkedHashMap<Long, BufferedImage> tiles;
+	/** the keys of the tiles that have to be re-rendered */
+	private final Set<Long> dirtyTiles;
+	/** the visible region of the drawing panel */
+	private final Rectangle visible;
+	/** the clip bounds of the current paint pass */
+	private final Rectangle clip;
+	/** the state of the vertices in the previous paint pass */
+	private long[] vertexStates;
+	/** the bounds of the vertices in the previous paint pass (minX, minY, maxX, maxY) */
+	private int[] vertexBounds;
+	/** the state of the edges in the previous paint pass */
+	private long[] edgeStates;
+	/** the bounds of the edges in the previous paint pass (minX, minY, maxX, maxY) */
+	private int[] edgeBounds;
+	/** the bounds of the current edge in the paint pass (minX, minY, maxX, maxY) */
+	private final int[] currEdgeBounds;
+	/** the zoom of the previous paint pass */
+	private int zoom;
+	/** the font of the previous paint pass */
+	private Font font;
+	/** the arrow length of the previous paint pass */
+	private int arrowLength;
+	/** the background of the drawing panel in the previous paint pass */
+	private Color background;
+	/** the graphics context of the current paint pass */
+	private Graphics2D currGraphics;
+	/** the first object that was drawn in the current paint pass */
+	private Object firstObject;
+	/** flag that indicates whether the current paint pass is done by the cache */
+	private boolean active;
+	
+	/** the state of an object that is outside of the visible region */
+	private static final long UNKNOWN_STATE = Long.MIN_VALUE;
+	/** the number of tiles that fit in the memory budget */
+	private static final int MAX_TILES = (int)(MEMORY_BUDGET / (TILE_SIZE * TILE_SIZE * 4));
+	
+	/**
+	 * Creates a new render cache.
+	 * 
+	 * @param view the view
+	 * @param panel the drawing panel of the view
+	 * @param vertexRenderer the renderer of the vertices that is set in the view
+	 * @param edgeRenderer the renderer of the edges that is set in the view
+	 * @param selectionColor the color of selected objects in the view
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if view is null</li>
+	 * 		<li>if panel is null</li>
+	 * 		<li>if vertexRenderer is null</li>
+	 * 		<li>if edgeRenderer is null</li>
+	 * 		<li>if selectionColor is null</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	@SuppressWarnings("serial")
+	public TiledRenderCache(final GraphView<V, E> view, final JComponent panel, final CullingVertexRenderer<V> vertexRenderer, final CullingEdgeRenderer<E> edgeRenderer, final Color selectionColor) throws IllegalArgumentException {
+		if(view == null || panel == null || vertexRenderer == null || edgeRenderer == null || selectionColor == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		this.view = view;
+		this.panel = panel;
+		this.vertexRenderer = vertexRenderer;
+		this.edgeRenderer = edgeRenderer;
+		this.selectionColor = selectionColor;
+		this.tiles = new LinkedHashMap<Long, BufferedImage>(16, 0.75f, true) {
+			
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Long, BufferedImage> eldest) {
+				return size() > MAX_TILES;
+			}
+		};
+		this.dirtyTiles = new HashSet<Long>();
+		this.visible = new Rectangle();
+		this.clip = new Rectangle();
+		this.vertexStates = new long[0];
+		this.vertexBounds = new int[0];
+		this.edgeStates = new long[0];
+		this.edgeBounds = new int[0];
+		this.currEdgeBounds = new int[4];
+		this.zoom = 0;
+		this.font = null;
+		this.arrowLength = 0;
+		this.background = null;
+		this.currGraphics = null;
+		this.firstObject = null;
+		this.active = false;
+		
+		vertexRenderer.setCache(this);
+		edgeRenderer.setCache(this);
+	}
+	
+	/**
+	 * Discards all tiles.
+	 * 
+	 * @since 1.0
+	 */
+	public void invalidate() {
+		tiles.clear();
+		dirtyTiles.clear();
+		vertexStates = new long[0];
+		edgeStates = new long[0];
+	}
+	
+	/**
+	 * Indicates whether the specified object is covered by the tiles of the cache meaning that it must not be drawn by the renderer.
+	 * <br><br>
+	 * The first call in a paint pass updates the tiles and draws them.
+	 * 
+	 * @param g the graphics context of the paint pass
+	 * @param o the object (vertex or edge) that should be drawn
+	 * @return <code>true</code> if the object is covered by the cache otherwise <code>false</code>
+	 * @since 1.0
+	 */
+	boolean covers(final Graphics2D g, final Object o) {
+		// the view draws its objects always in the same order so a paint pass begins with a new graphics context or with the first object
+		if(g != currGraphics || o == firstObject) {
+			currGraphics = g;
+			firstObject = o;
+			active = paintTiles(g, o instanceof Edge ? edgeRenderer.getFont() : vertexRenderer.getFont());
+		}
+		
+		return active;
+	}
+	
+	/**
+	 * Updates the tiles in the visible region and draws the tiles that intersect the clip area.
+	 * 
+	 * @param g the graphics context
+	 * @param currFont the font of the view in the current paint pass
+	 * @return <code>true</code> if the tiles could be drawn otherwise <code>false</code>
+	 * @since 1.0
+	 */
+	private boolean paintTiles(final Graphics2D g, final Font currFont) {
+		final int vertexCount = view.getVisualVertexCount();
+		final int edgeCount = view.getVisualEdgeCount();
+		
+		panel.computeVisibleRect(visible);
+		
+		// the tiles contain the background of the panel so the panel must paint its background
+		if(vertexCount + edgeCount < MIN_OBJECTS || visible.isEmpty() || currFont == null || !panel.isOpaque() || panel.getBackground() == null) {
+			if(!tiles.isEmpty())
+				invalidate();
+			return false;
+		}
+		
+		// a change of the zoom or the number of objects affects (nearly) all tiles
+		if(zoom != view.getZoom() || !currFont.equals(font) || arrowLength != edgeRenderer.getArrowLength() || !panel.getBackground().equals(background) || vertexStates.length != vertexCount || edgeStates.length != edgeCount) {
+			invalidate();
+			zoom = view.getZoom();
+			font = currFont;
+			arrowLength = edgeRenderer.getArrowLength();
+			background = panel.getBackground();
+			vertexStates = new long[vertexCount];
+			vertexBounds = new int[vertexCount * 4];
+			edgeStates = new long[edgeCount];
+			edgeBounds = new int[edgeCount * 4];
+			Arrays.fill(vertexStates, UNKNOWN_STATE);
+			Arrays.fill(edgeStates, UNKNOWN_STATE);
+		}
+		
+		final int tx0 = Math.max(visible.x, 0) / TILE_SIZE;
+		final int ty0 = Math.max(visible.y, 0) / TILE_SIZE;
+		final int tx1 = Math.max(visible.x + visible.width - 1, 0) / TILE_SIZE;
+		final int ty1 = Math.max(visible.y + visible.height - 1, 0) / TILE_SIZE;
+		
+		// discard the tiles that are no longer visible
+		final Iterator<Long> it = tiles.keySet().iterator();
+		while(it.hasNext()) {
+			final long key = it.next();
+			final int tx = (int)(key >> 32);
+			final int ty = (int)key;
+			if(tx < tx0 || tx > tx1 || ty < ty0 || ty > ty1)
+				it.remove();
+		}
+		
+		updateVertexStates(vertexCount, tx0, ty0, tx1, ty1);
+		updateEdgeStates(edgeCount, tx0, ty0, tx1, ty1);
+		
+		// determine the tiles that have to be rendered
+		final Map<Long, BufferedImage> targets = new HashMap<Long, BufferedImage>();
+		for(int tx = tx0; tx <= tx1; tx++) {
+			for(int ty = ty0; ty <= ty1; ty++) {
+				final long key = toKey(tx, ty);
+				BufferedImage img = tiles.get(key);
+				
+				if(img == null)
+					img = new BufferedImage(TILE_SIZE, TILE_SIZE, BufferedImage.TYPE_INT_RGB);
+				else if(!dirtyTiles.contains(key))
+					continue;
+				
+				targets.put(key, img);
+			}
+		}
+		dirtyTiles.clear();
+		
+		if(!targets.isEmpty())
+			renderTiles(g, targets, tx0, ty0, tx1, ty1);
+		
+		// draw the tiles that intersect the clip area
+		clip.setBounds(visible);
+		g.getClipBounds(clip);
+		for(int tx = tx0; tx <= tx1; tx++) {
+			for(int ty = ty0; ty <= ty1; ty++) {
+				final int x = tx * TILE_SIZE;
+				final int y = ty * TILE_SIZE;
+				if(x > clip.x + clip.width || y > clip.y + clip.height || x + TILE_SIZE < clip.x || y + TILE_SIZE < clip.y)
+					continue;
+				
+				final long key = toKey(tx, ty);
+				BufferedImage img = targets.get(key);
+				if(img == null)
+					img = tiles.get(key);
+				if(img != null)
+					g.drawImage(img, x, y, null);
+			}
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Compares the state of the vertices with the previous paint pass and marks the tiles of changed vertices as dirty.
+	 * 
+	 * @param count the number of vertices
+	 * @param tx0 the first visible tile column
+	 * @param ty0 the first visible tile row
+	 * @param tx1 the last visible tile column
+	 * @param ty1 the last visible tile row
+	 * @since 1.0
+	 */
+	private void updateVertexStates(final int count, final int tx0, final int ty0, final int tx1, final int ty1) {
+		for(int i = 0; i < count; i++) {
+			final GraphView<V, E>.VisualVertex vv = view.getVisualVertex(i);
+			final int r = view.getScaledVertexRadius(vv);
+			final int extent = 2 * r + vv.getEdgeWidth();
+			final int b = i * 4;
+			final int minX = vv.getX() - extent;
+			final int minY = vv.getY() - extent;
+			final int maxX = vv.getX() + extent;
+			final int maxY = vv.getY() + extent;
+			final boolean wasVisible = vertexStates[i] != UNKNOWN_STATE && intersects(vertexBounds, b, visible);
+			final boolean isVisible = intersects(minX, minY, maxX, maxY, visible);
+			long state = UNKNOWN_STATE;
+			
+			if(isVisible) {
+				final V v = vv.getVertex();
+				state = vv.isVisible() ? 1 : 0;
+				state = 31 * state + vv.getX();
+				state = 31 * state + vv.getY();
+				state = 31 * state + r;
+				state = 31 * state + vv.getEdgeWidth();
+				state = 31 * state + vv.getAttachmentX();
+				state = 31 * state + vv.getAttachmentY();
+				state = 31 * state + vv.getBackground().getRGB();
+				state = 31 * state + (vv.isSelected() ? selectionColor : vv.getForeground()).getRGB();
+				state = 31 * state + ((v.getCaption() != null) ? v.getCaption().hashCode() : 0);
+				if(v instanceof Node)
+					state = 31 * state + (((Node)v).hasExcess() ? Float.floatToIntBits(((Node)v).getExcess()) : 0);
+			}
+			
+			if((wasVisible || isVisible) && state != vertexStates[i]) {
+				if(wasVisible)
+					markDirty(vertexBounds[b], vertexBounds[b + 1], vertexBounds[b + 2], vertexBounds[b + 3], tx0, ty0, tx1, ty1);
+				if(isVisible)
+					markDirty(minX, minY, maxX, maxY, tx0, ty0, tx1, ty1);
+			}
+			
+			vertexStates[i] = state;
+			vertexBounds[b] = minX;
+			vertexBounds[b + 1] = minY;
+			vertexBounds[b + 2] = maxX;
+			vertexBounds[b + 3] = maxY;
+		}
+	}
+	
+	/**
+	 * Compares the state of the edges with the previous paint pass and marks the tiles of changed edges as dirty.
+	 * 
+	 * @param count the number of edges
+	 * @param tx0 the first visible tile column
+	 * @param ty0 the first visible tile row
+	 * @param tx1 the last visible tile column
+	 * @param ty1 the last visible tile row
+	 * @since 1.0
+	 */
+	private void updateEdgeStates(final int count, final int tx0, final int ty0, final int tx1, final int ty1) {
+		final int margin = arrowLength + (int)(font.getSize2D() * RenderingLayer.LABEL_EXTENT);
+		
+		for(int i = 0; i < count; i++) {
+			final GraphView<V, E>.VisualEdge ve = view.getVisualEdge(i);
+			final int b = i * 4;
+			RenderingLayer.computeEdgeBounds(currEdgeBounds, 0, ve.getX1(), ve.getY1(), ve.getX2(), ve.getY2(), ve.getSupportX(), ve.getSupportY(),
+					ve.getLabelX(), ve.getLabelY(), ve.getSpline(), margin);
+			final int minX = currEdgeBounds[0];
+			final int minY = currEdgeBounds[1];
+			final int maxX = currEdgeBounds[2];
+			final int maxY = currEdgeBounds[3];
+			final boolean wasVisible = edgeStates[i] != UNKNOWN_STATE && intersects(edgeBounds, b, visible);
+			final boolean isVisible = intersects(minX, minY, maxX, maxY, visible);
+			long state = UNKNOWN_STATE;
+			
+			if(isVisible) {
+				final E e = ve.getEdge();
+				state = ve.isVisible() ? 1 : 0;
+				state = 31 * state + ve.getX1();
+				state = 31 * state + ve.getY1();
+				state = 31 * state + ve.getX2();
+				state = 31 * state + ve.getY2();
+				state = 31 * state + ve.getSupportX();
+				state = 31 * state + ve.getSupportY();
+				state = 31 * state + ve.getLabelX();
+				state = 31 * state + ve.getLabelY();
+				state = 31 * state + ve.getLineWidth();
+				state = 31 * state + (ve.getSpline() != null ? 1 : 0);
+				// the bounds of a spline change with its shape
+				state = 31 * state + minX;
+				state = 31 * state + minY;
+				state = 31 * state + maxX;
+				state = 31 * state + maxY;
+				state = 31 * state + (e.isDirected() ? 1 : 0);
+				state = 31 * state + ve.getColor().getRGB();
+				state = 31 * state + (ve.isSelected() ? selectionColor : ve.getColor()).getRGB();
+				state = 31 * state + labelState(e);
+			}
+			
+			if((wasVisible || isVisible) && state != edgeStates[i]) {
+				if(wasVisible)
+					markDirty(edgeBounds[b], edgeBounds[b + 1], edgeBounds[b + 2], edgeBounds[b + 3], tx0, ty0, tx1, ty1);
+				if(isVisible)
+					markDirty(minX, minY, maxX, maxY, tx0, ty0, tx1, ty1);
+			}
+			
+			edgeStates[i] = state;
+			edgeBounds[b] = minX;
+			edgeBounds[b + 1] = minY;
+			edgeBounds[b + 2] = maxX;
+			edgeBounds[b + 3] = maxY;
+		}
+	}
+	
+	/**
+	 * Renders the specified tiles.
+	 * <br><br>
+	 * The objects are drawn in the same order as the view does meaning at first the edges and afterwards the vertices.
+	 * 
+	 * @param g the graphics context of the paint pass (to adopt the rendering hints)
+	 * @param targets the tiles that should be rendered
+	 * @param tx0 the first visible tile column
+	 * @param ty0 the first visible tile row
+	 * @param tx1 the last visible tile column
+	 * @param ty1 the last visible tile row
+	 * @since 1.0
+	 */
+	private void renderTiles(final Graphics2D g, final Map<Long, BufferedImage> targets, final int tx0, final int ty0, final int tx1, final int ty1) {
+		final Map<Long, Graphics2D> graphics = new HashMap<Long, Graphics2D>();
+		
+		for(Map.Entry<Long, BufferedImage> entry : targets.entrySet()) {
+			final Graphics2D tg = entry.getValue().createGraphics();
+			final int x = (int)(entry.getKey() >> 32) * TILE_SIZE;
+			final int y = (int)(long)entry.getKey() * TILE_SIZE;
+			
+			tg.setColor(background);
+			tg.fillRect(0, 0, TILE_SIZE, TILE_SIZE);
+			tg.setRenderingHints(g.getRenderingHints());
+			tg.translate(-x, -y);
+			tg.clipRect(x, y, TILE_SIZE, TILE_SIZE);
+			graphics.put(entry.getKey(), tg);
+		}
+		
+		edgeRenderer.setFont(font);
+		edgeRenderer.setArrowLength(arrowLength);
+		for(int i = 0; i < edgeStates.length; i++) {
+			if(edgeStates[i] == UNKNOWN_STATE)
+				continue;
+			
+			final GraphView<V, E>.VisualEdge ve = view.getVisualEdge(i);
+			if(!ve.isVisible())
+				continue;
+			
+			boolean prepared = false;
+			final int b = i * 4;
+			for(int tx = Math.max(tx0, edgeBounds[b] / TILE_SIZE); tx <= Math.min(tx1, edgeBounds[b + 2] / TILE_SIZE); tx++) {
+				for(int ty = Math.max(ty0, edgeBounds[b + 1] / TILE_SIZE); ty <= Math.min(ty1, edgeBounds[b + 3] / TILE_SIZE); ty++) {
+					final Graphics2D tg = graphics.get(toKey(tx, ty));
+					if(tg == null)
+						continue;
+					
+					if(!prepared) {
+						edgeRenderer.setBackground(ve.getColor());
+						edgeRenderer.setForeground(ve.isSelected() ? selectionColor : ve.getColor());
+						edgeRenderer.setDrawArrow(ve.getEdge().isDirected());
+						edgeRenderer.setFirstPosition(ve.getX1(), ve.getY1());
+						edgeRenderer.setSecondPosition(ve.getX2(), ve.getY2());
+						edgeRenderer.setControlPosition(ve.getSupportX(), ve.getSupportY());
+						edgeRenderer.setLineWidth(ve.getLineWidth());
+						edgeRenderer.setLabelPosition(ve.getLabelX(), ve.getLabelY());
+						edgeRenderer.setSpline(ve.getSpline());
+						prepared = true;
+					}
+					edgeRenderer.drawDetail(tg, ve.getEdge());
+				}
+			}
+		}
+		
+		vertexRenderer.setFont(font);
+		for(int i = 0; i < vertexStates.length; i++) {
+			if(vertexStates[i] == UNKNOWN_STATE)
+				continue;
+			
+			final GraphView<V, E>.VisualVertex vv = view.getVisualVertex(i);
+			if(!vv.isVisible())
+				continue;
+			
+			boolean prepared = false;
+			final int b = i * 4;
+			for(int tx = Math.max(tx0, vertexBounds[b] / TILE_SIZE); tx <= Math.min(tx1, vertexBounds[b + 2] / TILE_SIZE); tx++) {
+				for(int ty = Math.max(ty0, vertexBounds[b + 1] / TILE_SIZE); ty <= Math.min(ty1, vertexBounds[b + 3] / TILE_SIZE); ty++) {
+					final Graphics2D tg = graphics.get(toKey(tx, ty));
+					if(tg == null)
+						continue;
+					
+					if(!prepared) {
+						final int r = view.getScaledVertexRadius(vv);
+						vertexRenderer.setBackground(vv.getBackground());
+						vertexRenderer.setForeground(vv.isSelected() ? selectionColor : vv.getForeground());
+						vertexRenderer.setPositionCenter(vv.getX(), vv.getY());
+						vertexRenderer.setPositionLeftTop(vv.getX() - r, vv.getY() - r);
+						vertexRenderer.setDiameter(r * 2);
+						vertexRenderer.setEdgeWidth(vv.getEdgeWidth());
+						vertexRenderer.setAttachmentPoint(vv.getAttachmentX(), vv.getAttachmentY());
+						prepared = true;
+					}
+					vertexRenderer.drawDetail(tg, vv.getVertex());
+				}
+			}
+		}
+		
+		for(Graphics2D tg : graphics.values())
+			tg.dispose();
+		
+		tiles.putAll(targets);
+	}
+	
+	/**
+	 * Gets the state of the label of an edge.
+	 * <br><br>
+	 * The default edge renderer draws the string representation of an edge as its label meaning the weight of an edge or the flow and
+	 * the capacity of an arc. The string is only created for unknown edge types to avoid allocations in each paint pass.
+	 * 
+	 * @param e the edge
+	 * @return the state of the label
+	 * @since 1.0
+	 */
+	private static int labelState(final Edge e) {
+		if(e.getClass() == Edge.class)
+			return Float.floatToIntBits(e.getWeight());
+		else if(e.getClass() == Arc.class)
+			return 31 * Float.floatToIntBits(e.getWeight()) + Float.floatToIntBits(((Arc)e).getFlow());
+		else {
+			final String label = e.toString();
+			return (label != null) ? label.hashCode() : 0;
+		}
+	}
+	
+	/**
+	 * Marks the visible tiles that intersect the specified bounds as dirty.
+	 * 
+	 * @param minX the minimum x coordinate of the bounds
+	 * @param minY the minimum y coordinate of the bounds
+	 * @param maxX the maximum x coordinate of the bounds
+	 * @param maxY the maximum y coordinate of the bounds
+	 * @param tx0 the first visible tile column
+	 * @param ty0 the first visible tile row
+	 * @param tx1 the last visible tile column
+	 * @param ty1 the last visible tile row
+	 * @since 1.0
+	 */
+	private void markDirty(final int minX, final int minY, final int maxX, final int maxY, final int tx0, final int ty0, final int tx1, final int ty1) {
+		for(int tx = Math.max(tx0, minX / TILE_SIZE); tx <= Math.min(tx1, maxX / TILE_SIZE); tx++)
+			for(int ty = Math.max(ty0, minY / TILE_SIZE); ty <= Math.min(ty1, maxY / TILE_SIZE); ty++)
+				dirtyTiles.add(toKey(tx, ty));
+	}
+	
+	/**
+	 * Indicates whether the bounds stored at the specified offset intersect the given rectangle.
+	 * 
+	 * @param bounds the array of bounds
+	 * @param offset the offset of the bounds in the array
+	 * @param r the rectangle
+	 * @return <code>true</code> if the bounds intersect the rectangle otherwise <code>false</code>
+	 * @since 1.0
+	 */
+	private static boolean intersects(final int[] bounds, final int offset, final Rectangle r) {
+		return intersects(bounds[offset], bounds[offset + 1], bounds[offset + 2], bounds[offset + 3], r);
+	}
+	
+	/**
+	 * Indicates whether the specified bounds intersect the given rectangle.
+	 * 
+	 * @param minX the minimum x coordinate of the bounds
+	 * @param minY the minimum y coordinate of the bounds
+	 * @param maxX the maximum x coordinate of the bounds
+	 * @param maxY the maximum y coordinate of the bounds
+	 * @param r the rectangle
+	 * @return <code>true</code> if the bounds intersect the rectangle otherwise <code>false</code>
+	 * @since 1.0
+	 */
+	private static boolean intersects(final int minX, final int minY, final int maxX, final int maxY, final Rectangle r) {
+		return maxX >= r.x && maxY >= r.y && minX <= r.x + r.width && minY <= r.y + r.height;
+	}
+	
+	/**
+	 * Gets the key of a tile.
+	 * 
+	 * @param tx the column of the tile
+	 * @param ty the row of the tile
+	 * @return the key
+	 * @since 1.0
+	 */
+	private static long toKey(final int tx, final int ty) {
+		return ((long)tx << 32) | (ty & 0xFFFFFFFFL);
+	}
+
+}
@@ -30,7 +30,7 @@ import lavesdk.utils.FileUtils;
  * Contains constants like paths to program data, information, etc.
  * 
  * @author jdornseifer
- * @version 1.4
+ * @version 1.5
  * @since 1.0
  */
 public class Constants {
@@ -79,26 +79,40 @@ public class Constants {
 	public static final String PATH_LICENSE = PATH_APPLICATION + "license" + FileUtils.FILESEPARATOR;
 	/** the path to the log file folder (ends with a {@link FileUtils#FILESEPARATOR}) */
 	public static final String PATH_LOG = PATH_APPLICATION + "log" + FileUtils.FILESEPARATOR;
+	/** the path to the store of the exercise attempts (ends with a {@link FileUtils#FILESEPARATOR}) */
+	public static final String PATH_ANALYTICS = PATH_APPLICATION + "analytics" + FileUtils.FILESEPARATOR;
 	/** the path to the help file folder (ends with a {@link FileUtils#FILESEPARATOR}) */
 	public static final String PATH_HELP = PATH_LANGUAGE + "help" + FileUtils.FILESEPARATOR;
 	/** the path to the temporary directory (ends with a {@link FileUtils#FILESEPARATOR}) */
 	public static final String PATH_TEMP = getTmpDirectory();
 	/** the path to the how to file folder (ends with a {@link FileUtils#FILESEPARATOR}) */
 	public static final String PATH_HOWTO = PATH_LANGUAGE + "howto" + FileUtils.FILESEPARATOR;
+	/** the path to the cache of the rendered LaTeX formulas (ends with a {@link FileUtils#FILESEPARATOR}) */
+	public static final String PATH_FORMULA_CACHE = PATH_TEMP + "laves-formulas" + FileUtils.FILESEPARATOR;
+	/** the path to the cache of the preview thumbnails of the plugins (ends with a {@link FileUtils#FILESEPARATOR}) */
+	public static final String PATH_THUMBNAIL_CACHE = PATH_TEMP + "laves-thumbnails" + FileUtils.FILESEPARATOR;
 	
 	// extensions
 	/** the extension of a configuration file */
 	public static final String EXT_CONFIG = ".cfg";
+	/** the extension of a configuration store file */
+	public static final String EXT_CONFIG_STORE = ".store";
 	
 	// files
 	/** the main configuration file (including the path) */
 	public static final String FILE_MAIN_CONFIG = PATH_CONFIG + "main" + EXT_CONFIG;
+	/** the store of the plugin configurations (including the path), the plugin configurations were stored as single files in {@link #PATH_PLUGINS_CONFIG} before */
+	public static final String FILE_PLUGINS_CONFIG = PATH_CONFIG + "plugins" + EXT_CONFIG_STORE;
 	/** the language file (including the path) */
 	public static final String FILE_LANGUAGE = PATH_LANGUAGE + "lang.txt";
 	/** the license file (including the path) */
 	public static final String FILE_LICENSE = PATH_LICENSE + "license.txt";
+	/** the autosave journal of the active plugin (including the path) */
+	public static final String FILE_AUTOSAVE_JOURNAL = PATH_CONFIG + "autosave.journal";
 	/** the log file (including the path) */
 	public static final String FILE_LOG = PATH_LOG + "log.txt";
+	/** the structured log file with one JSON object per message (including the path) */
+	public static final String FILE_LOG_EVENTS = PATH_LOG + "log.jsonl";
 	
 	// file names
 	/** the how to file name */
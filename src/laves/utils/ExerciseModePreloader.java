@@ -0,0 +1,246 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import laves.PluginManager;
+import lavesdk.algorithm.AlgorithmExercise;
+import lavesdk.algorithm.plugin.AlgorithmPlugin;
+import lavesdk.algorithm.plugin.PluginBundle;
+
+/**
+ * Prepares the exercise mode of the plugins in the background so that the first exercises of a plugin are displayed without delay.
+ * <br><br>
+ * The exercises of a plugin are created by the plugin itself while its algorithm is running so the exercise instances and their
+ * solutions cannot be created in advance. But the first exercise of a plugin is delayed by the loading and the initialization of
+ * the classes of the exercise mode meaning the classes of the SDK (like the dialog to solve an exercise) and the exercise classes of
+ * the plugin (the subclasses of {@link AlgorithmExercise} in the file of the plugin). These classes are loaded and initialized by
+ * {@link #preload(AlgorithmPlugin)} in a background thread with the lowest priority. Each plugin is prepared only once.
+ * <br><br>
+ * <b>Notice</b>:<br>
+ * Only the exercise classes are initialized, the other classes of a plugin are loaded but not initialized so that no static code of
+ * the plugin is executed that is not executed anyway.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ */
+public class ExerciseModePreloader {
+
+	/** the manager of the plugins */
+	private final PluginManager pluginManager;
+	/** the preparations of the plugins (key=plugin, value=number of initialized exercise classes) */
+	private final Map<AlgorithmPlugin, FutureTask<Integer>> preparations;
+	/** the executor that prepares the plugins */
+	private final ExecutorService executor;
+	/** flag that indicates whether the classes of the SDK are initialized */
+	private boolean sdkInitialized;
+	
+	/** the classes of the exercise mode of the SDK */
+	private static final String[] SDK_CLASSES = {
+			"lavesdk.algorithm.AlgorithmExercise",
+			"lavesdk.algorithm.AlgorithmExercise$ExamResult",
+			"lavesdk.algorithm.AlgorithmExerciseController",
+			"lavesdk.gui.dialogs.SolveExerciseDialog",
+			"lavesdk.gui.dialogs.SolveExerciseDialog$SolutionEntry",
+			"lavesdk.gui.dialogs.SolveExercisePane" };
+	/** the extension of a class file */
+	private static final String EXT_CLASS = ".class";
+	
+	/**
+	 * Creates a new preloader.
+	 * 
+	 * @param pluginManager the manager of the plugins
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if pluginManager is null</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public ExerciseModePreloader(final PluginManager pluginManager) throws IllegalArgumentException {
+		if(pluginManager == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		this.pluginManager = pluginManager;
+		this.preparations = new HashMap<AlgorithmPlugin, FutureTask<Integer>>();
+		this.executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+			
+			@Override
+			public Thread newThread(Runnable r) {
+				final Thread t = new Thread(r, "LAVES Exercise Mode Preloader");
+				t.setDaemon(true);
+				t.setPriority(Thread.MIN_PRIORITY);
+				return t;
+			}
+		});
+		this.sdkInitialized = false;
+	}
+	
+	/**
+	 * Prepares the exercise mode of a plugin in the background if it is not prepared yet.
+	 * <br><br>
+	 * This should be invoked if it is likely that the user uses the exercise mode of the plugin (e.g. if the plugin is activated).
+	 * 
+	 * @param plugin the plugin
+	 * @return the result of the preparation that provides the number of initialized exercise classes of the plugin or an {@link IOException} if the file of the plugin could not be read or <code>null</code> if the plugin has no exercise mode
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if plugin is null</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public synchronized Future<Integer> preload(final AlgorithmPlugin plugin) throws IllegalArgumentException {
+		if(plugin == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		if(!plugin.hasExerciseMode())
+			return null;
+		
+		FutureTask<Integer> preparation = preparations.get(plugin);
+		
+		if(preparation == null) {
+			final PluginBundle bundle = pluginManager.findBundle(plugin);
+			
+			preparation = new FutureTask<Integer>(new Callable<Integer>() {
+				
+				@Override
+				public Integer call() throws Exception {
+					ExerciseModePreloader.this.initializeSDK();
+					return (bundle != null) ? initializeExercises(plugin.getClass().getClassLoader(), bundle.getFile()) : 0;
+				}
+			});
+			preparations.put(plugin, preparation);
+			
+			try {
+				executor.execute(preparation);
+			}
+			catch(RejectedExecutionException e) {
+				// the preloader is shut down so the classes are loaded when they are needed
+				preparation.cancel(false);
+			}
+		}
+		
+		return preparation;
+	}
+	
+	/**
+	 * Indicates whether the exercise mode of a plugin is prepared completely.
+	 * 
+	 * @param plugin the plugin
+	 * @return <code>true</code> if the plugin is prepared otherwise <code>false</code>
+	 * @since 1.0
+	 */
+	public synchronized boolean isPreloaded(final AlgorithmPlugin plugin) {
+		final FutureTask<Integer> preparation = preparations.get(plugin);
+		return preparation != null && preparation.isDone() && !preparation.isCancelled();
+	}
+	
+	/**
+	 * Shuts the preloader down meaning that the pending preparations are discarded.
+	 * 
+	 * @since 1.0
+	 */
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+	
+	/**
+	 * Initializes the classes of the exercise mode of the SDK if they are not initialized yet.
+	 * 
+	 * @since 1.0
+	 */
+	private void initializeSDK() {
+		if(sdkInitialized)
+			return;
+		
+		final ClassLoader cl = AlgorithmExercise.class.getClassLoader();
+		for(String name : SDK_CLASSES) {
+			try {
+				Class.forName(name, true, cl);
+			}
+			catch(ClassNotFoundException | LinkageError e) {
+			}
+		}
+		
+		sdkInitialized = true;
+	}
+	
+	/**
+	 * Initializes the exercise classes of a plugin.
+	 * <br><br>
+	 * The preparation can be canceled by interrupting the thread.
+	 * 
+	 * @param cl the class loader of the plugin
+	 * @param pluginFile the file of the plugin
+	 * @return the number of initialized exercise classes
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the file of the plugin could not be read</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	private static int initializeExercises(final ClassLoader cl, final File pluginFile) throws IOException {
+		int count = 0;
+		
+		try(final JarFile jar = new JarFile(pluginFile)) {
+			final Enumeration<JarEntry> entries = jar.entries();
+			
+			while(entries.hasMoreElements()) {
+				if(Thread.currentThread().isInterrupted())
+					break;
+				
+				final String entryName = entries.nextElement().getName();
+				// the classes of the SDK are prepared separately
+				if(!entryName.endsWith(EXT_CLASS) || entryName.startsWith("lavesdk/"))
+					continue;
+				
+				final String className = entryName.substring(0, entryName.length() - EXT_CLASS.length()).replace('/', '.');
+				
+				try {
+					final Class<?> c = Class.forName(className, false, cl);
+					if(c != AlgorithmExercise.class && AlgorithmExercise.class.isAssignableFrom(c)) {
+						Class.forName(className, true, cl);
+						count++;
+					}
+				}
+				catch(ClassNotFoundException | LinkageError e) {
+					// the class cannot be loaded by the plugin either so it is skipped
+				}
+			}
+		}
+		
+		return count;
+	}
+
+}
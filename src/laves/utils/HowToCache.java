@@ -0,0 +1,243 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.utils;
+
+import java.awt.Image;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Hashtable;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+
+import javax.imageio.ImageIO;
+import javax.swing.text.AttributeSet;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Element;
+import javax.swing.text.ElementIterator;
+import javax.swing.text.html.HTML;
+import javax.swing.text.html.HTMLDocument;
+import javax.swing.text.html.HTMLEditorKit;
+
+/**
+ * The cache of the parsed HowTo documents of LAVES.
+ * <br><br>
+ * The HowTo file of a language (see {@link Utils#getHowToURL(String)}) is read and parsed in a background thread and the images
+ * of the document are loaded completely so that the HowTo can be displayed immediately. The images are stored in the image cache
+ * of the document (the property <code>imageCache</code> of an {@link HTMLDocument}) that is used by the views of the document
+ * instead of loading the images again.
+ * <br><br>
+ * Use {@link #preload(String)} to load the HowTo of a language before it is needed and {@link #get(String)} to get it.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ */
+public class HowToCache {
+
+	/** the instance of the cache */
+	private static HowToCache instance = null;
+	
+	/** the loading or loaded HowTo documents (key=language ID, value=document) */
+	private final Map<String, FutureTask<HTMLDocument>> documents;
+	/** the executor that loads the documents */
+	private final ExecutorService executor;
+	
+	/** the property of a {@link HTMLDocument} that contains the cache of the images (key=URL, value=image) */
+	private static final String PROPERTY_IMAGECACHE = "imageCache";
+	/** the property of a {@link HTMLDocument} that indicates whether the charset of the document should be ignored */
+	private static final String PROPERTY_IGNORECHARSET = "IgnoreCharsetDirective";
+	/** the byte order mark that the HowTo files may begin with */
+	private static final char BOM = '\uFEFF';
+	
+	/**
+	 * Creates a new cache.
+	 * 
+	 * @since 1.0
+	 */
+	private HowToCache() {
+		documents = new HashMap<String, FutureTask<HTMLDocument>>();
+		executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+			
+			@Override
+			public Thread newThread(Runnable r) {
+				final Thread t = new Thread(r, "LAVES HowTo Cache");
+				t.setDaemon(true);
+				t.setPriority(Thread.MIN_PRIORITY);
+				return t;
+			}
+		});
+	}
+	
+	/**
+	 * Gets the instance of the cache.
+	 * 
+	 * @return the instance
+	 * @since 1.0
+	 */
+	public static synchronized HowToCache getInstance() {
+		if(instance == null)
+			instance = new HowToCache();
+		
+		return instance;
+	}
+	
+	/**
+	 * Loads the HowTo of a language in the background if it is not loaded yet.
+	 * 
+	 * @param langID the language ID
+	 * @since 1.0
+	 */
+	public void preload(final String langID) {
+		get(langID);
+	}
+	
+	/**
+	 * Gets the HowTo of a language.
+	 * <br><br>
+	 * If the HowTo is not loaded yet it is loaded in the background. The document is parsed only once so the returned document
+	 * is shared by all callers and must not be modified.
+	 * 
+	 * @param langID the language ID
+	 * @return the result of the loading that provides the parsed document or an {@link IOException} if the HowTo file could not be loaded
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if langID is null</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public synchronized Future<HTMLDocument> get(final String langID) throws IllegalArgumentException {
+		if(langID == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		FutureTask<HTMLDocument> document = documents.get(langID);
+		
+		if(document == null) {
+			document = new FutureTask<HTMLDocument>(new Callable<HTMLDocument>() {
+				
+				@Override
+				public HTMLDocument call() throws Exception {
+					return load(langID);
+				}
+			});
+			documents.put(langID, document);
+			
+			try {
+				executor.execute(document);
+			}
+			catch(RejectedExecutionException e) {
+				// load the document in the calling thread if the executor is not available
+				document.run();
+			}
+		}
+		
+		return document;
+	}
+	
+	/**
+	 * Loads and parses the HowTo file of a language and loads its images.
+	 * 
+	 * @param langID the language ID
+	 * @return the parsed document
+	 * @throws IOException
+	 * <ul>
+	 * 		<li>if the HowTo file could not be read</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	private static HTMLDocument load(final String langID) throws IOException {
+		final URL url = Utils.getHowToURL(langID);
+		if(url == null)
+			throw new IOException("No HowTo file available!");
+		
+		final HTMLEditorKit kit = new HTMLEditorKit();
+		final HTMLDocument doc = (HTMLDocument)kit.createDefaultDocument();
+		doc.setBase(url);
+		// the HowTo files are encoded in UTF-8 and the reader decodes them already
+		doc.putProperty(PROPERTY_IGNORECHARSET, Boolean.TRUE);
+		
+		try(final Reader reader = new BufferedReader(new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
+			reader.mark(1);
+			if(reader.read() != BOM)
+				reader.reset();
+			
+			kit.read(reader, doc, 0);
+		}
+		catch(BadLocationException e) {
+			throw new IOException(e.getMessage(), e);
+		}
+		
+		doc.putProperty(PROPERTY_IMAGECACHE, loadImages(doc));
+		
+		return doc;
+	}
+	
+	/**
+	 * Loads the images of a document completely.
+	 * 
+	 * @param doc the document
+	 * @return the images of the document (key=URL, value=image), an image that could not be loaded is missing
+	 * @since 1.0
+	 */
+	private static Hashtable<URL, Image> loadImages(final HTMLDocument doc) {
+		final Hashtable<URL, Image> images = new Hashtable<URL, Image>();
+		final ElementIterator it = new ElementIterator(doc);
+		Element e;
+		
+		while((e = it.next()) != null) {
+			final AttributeSet attrs = e.getAttributes();
+			if(attrs.getAttribute(AttributeSet.NameAttribute) != HTML.Tag.IMG)
+				continue;
+			
+			final Object src = attrs.getAttribute(HTML.Attribute.SRC);
+			if(src == null)
+				continue;
+			
+			try {
+				// the views of the document resolve the source in the same way
+				final URL imageURL = new URL(doc.getBase(), src.toString());
+				if(images.containsKey(imageURL))
+					continue;
+				
+				final Image image = ImageIO.read(imageURL);
+				if(image != null)
+					images.put(imageURL, image);
+			}
+			catch(MalformedURLException ex) {
+			}
+			catch(IOException ex) {
+			}
+		}
+		
+		return images;
+	}
+
+}
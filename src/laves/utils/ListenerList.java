@@ -0,0 +1,151 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.utils;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A list of listeners that can hold the listeners strongly or weakly.
+ * <br><br>
+ * A listener that is added with {@link #addWeak(Object)} does not prevent that its owner (like a view or a dialog) is garbage collected
+ * if the owner is discarded without removing the listener. Such a listener is removed from the list automatically as soon as it is
+ * collected. The owner has to hold a reference to the listener itself (for example in a field) otherwise the listener is collected at once.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ * @param <T> the type of the listeners
+ */
+public class ListenerList<T> {
+
+	/** the strongly held listeners */
+	private final List<T> listeners;
+	/** the weakly held listeners */
+	private final List<WeakReference<T>> weakListeners;
+	
+	/**
+	 * Creates a new empty list.
+	 * 
+	 * @since 1.0
+	 */
+	public ListenerList() {
+		listeners = new ArrayList<T>(3);
+		weakListeners = new ArrayList<WeakReference<T>>(3);
+	}
+	
+	/**
+	 * Adds a listener that is held strongly.
+	 * 
+	 * @param listener the listener
+	 * @since 1.0
+	 */
+	public void add(final T listener) {
+		if(listener == null || contains(listener))
+			return;
+		
+		listeners.add(listener);
+	}
+	
+	/**
+	 * Adds a listener that is held weakly.
+	 * 
+	 * @param listener the listener
+	 * @since 1.0
+	 */
+	public void addWeak(final T listener) {
+		if(listener == null || contains(listener))
+			return;
+		
+		purge();
+		weakListeners.add(new WeakReference<T>(listener));
+	}
+	
+	/**
+	 * Removes a listener regardless of whether it is held strongly or weakly.
+	 * 
+	 * @param listener the listener
+	 * @since 1.0
+	 */
+	public void remove(final T listener) {
+		listeners.remove(listener);
+		
+		for(int i = weakListeners.size() - 1; i >= 0; i--) {
+			final T l = weakListeners.get(i).get();
+			if(l == null || l == listener)
+				weakListeners.remove(i);
+		}
+	}
+	
+	/**
+	 * Gets a copy of the listeners that are not collected yet.
+	 * <br><br>
+	 * <b>Notice</b>:<br>
+	 * Notify the listeners using the copy so that a listener can remove itself while it is notified.
+	 * 
+	 * @return the listeners
+	 * @since 1.0
+	 */
+	public List<T> getListeners() {
+		final List<T> result = new ArrayList<T>(listeners.size() + weakListeners.size());
+		result.addAll(listeners);
+		
+		for(int i = weakListeners.size() - 1; i >= 0; i--) {
+			final T l = weakListeners.get(i).get();
+			if(l == null)
+				weakListeners.remove(i);
+			else
+				result.add(listeners.size(), l);
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Indicates whether a listener is in the list.
+	 * 
+	 * @param listener the listener
+	 * @return <code>true</code> if the listener is in the list otherwise <code>false</code>
+	 * @since 1.0
+	 */
+	public boolean contains(final T listener) {
+		if(listeners.contains(listener))
+			return true;
+		
+		for(WeakReference<T> ref : weakListeners)
+			if(ref.get() == listener)
+				return true;
+		
+		return false;
+	}
+	
+	/**
+	 * Removes the weakly held listeners that are collected.
+	 * 
+	 * @since 1.0
+	 */
+	private void purge() {
+		for(int i = weakListeners.size() - 1; i >= 0; i--)
+			if(weakListeners.get(i).get() == null)
+				weakListeners.remove(i);
+	}
+
+}
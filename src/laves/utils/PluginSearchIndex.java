@@ -0,0 +1,382 @@
+/**
+ * This is part of LAVES - Logistics Algorithms Visualization and Education Software.
+ * 
+ * Copyright (C) 2020 Jan Dornseifer & Department of Management Information Science, University of Siegen &
+ *                    Department for Management Science and Operations Research, Helmut Schmidt University
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * See license/LICENSE.txt for further information.
+ */
+
+package laves.utils;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import lavesdk.algorithm.plugin.AlgorithmPlugin;
+
+/**
+ * A precomputed search index of algorithm plugins.
+ * <br><br>
+ * The name, the type, the subject, the problem affiliation and the author of each plugin are normalized (lower case without
+ * diacritics and punctuation) and split into tokens once when the index is created. The distinct tokens are indexed by their
+ * trigrams so that a search never calls the plugins and only compares the query with the tokens that share trigrams with it.
+ * <br><br>
+ * A query token matches a plugin token if it is equal, a prefix or a part of it or if it is similar to it (meaning that they share
+ * enough trigrams, so typing errors are tolerated). A plugin matches a query if each query token matches one of its tokens. The
+ * score of a plugin is the sum of the best matches of the query tokens where a match in the name counts more than a match in the
+ * other fields (see {@link #search(String)}).
+ * <br><br>
+ * Query tokens with less than three characters do not have trigrams so the tokens are scanned linearly for them. Furthermore a plugin
+ * always matches if one of its fields contains the whole query so that the index never finds less plugins than a plain substring
+ * search.
+ * 
+ * @author jdornseifer
+ * @version 1.0
+ * @since 1.0
+ */
+public class PluginSearchIndex {
+
+	/** the indexed plugins */
+	private final List<AlgorithmPlugin> plugins;
+	/** the distinct tokens in ascending order */
+	private final String[] tokens;
+	/** the occurrences of the tokens (indexed by the token) as <code>plugin * FIELD_COUNT + field</code> */
+	private final int[][] occurrences;
+	/** the number of padded trigrams of the tokens (indexed by the token) */
+	private final int[] gramCounts;
+	/** the tokens that contain a trigram (key=trigram, value=the tokens in ascending order) */
+	private final Map<String, int[]> grams;
+	/** the normalized fields of the plugins (indexed by <code>plugin * FIELD_COUNT + field</code>) */
+	private final String[] texts;
+	
+	/** the weights of the fields (name, type, subject, problem affiliation, author) */
+	private static final float[] FIELD_WEIGHTS = { 4.0f, 2.0f, 2.0f, 2.0f, 1.0f };
+	/** the number of indexed fields */
+	private static final int FIELD_COUNT = FIELD_WEIGHTS.length;
+	/** the score of a token that equals the query token */
+	private static final float SCORE_EQUAL = 1.0f;
+	/** the score of a token that begins with the query token */
+	private static final float SCORE_PREFIX = 0.8f;
+	/** the score of a token that contains the query token */
+	private static final float SCORE_INFIX = 0.6f;
+	/** the score of a token that is similar to the query token (multiplied by the similarity) */
+	private static final float SCORE_SIMILAR = 0.5f;
+	/** the minimum similarity (Dice coefficient of the padded trigrams) of a similar token */
+	private static final float MIN_SIMILARITY = 0.5f;
+	/** the character that marks the beginning and the end of a token in its padded trigrams */
+	private static final char PADDING = '$';
+	
+	/**
+	 * Creates a new search index.
+	 * 
+	 * @param plugins the plugins
+	 * @throws IllegalArgumentException
+	 * <ul>
+	 * 		<li>if plugins is null</li>
+	 * </ul>
+	 * @since 1.0
+	 */
+	public PluginSearchIndex(final List<AlgorithmPlugin> plugins) throws IllegalArgumentException {
+		if(plugins == null)
+			throw new IllegalArgumentException("No valid argument!");
+		
+		this.plugins = new ArrayList<AlgorithmPlugin>(plugins);
+		
+		// collect the distinct tokens with their occurrences
+		final TreeMap<String, List<Integer>> tokenMap = new TreeMap<String, List<Integer>>();
+		texts = new String[this.plugins.size() * FIELD_COUNT];
+		for(int i = 0; i < this.plugins.size(); i++) {
+			final AlgorithmPlugin p = this.plugins.get(i);
+			final String[] fields = new String[] { p.getName(), p.getType(), p.getSubject(), p.getProblemAffiliation(), p.getAuthor() };
+			
+			for(int field = 0; field < FIELD_COUNT; field++) {
+				texts[i * FIELD_COUNT + field] = normalize(fields[field]);
+				for(String token : tokenize(fields[field])) {
+					List<Integer> occ = tokenMap.get(token);
+					if(occ == null) {
+						occ = new ArrayList<Integer>(2);
+						tokenMap.put(token, occ);
+					}
+					// the occurrences are added in ascending order so a duplicate can only be the last one
+					final int o = i * FIELD_COUNT + field;
+					if(occ.isEmpty() || occ.get(occ.size() - 1) != o)
+						occ.add(o);
+				}
+			}
+		}
+		
+		tokens = tokenMap.keySet().toArray(new String[tokenMap.size()]);
+		occurrences = new int[tokens.length][];
+		gramCounts = new int[tokens.length];
+		
+		// index the tokens by their trigrams
+		final Map<String, List<Integer>> gramMap = new HashMap<String, List<Integer>>();
+		for(int t = 0; t < tokens.length; t++) {
+			final List<Integer> occ = tokenMap.get(tokens[t]);
+			occurrences[t] = new int[occ.size()];
+			for(int i = 0; i < occurrences[t].length; i++)
+				occurrences[t][i] = occ.get(i);
+			
+			final String[] tokenGrams = getGrams(tokens[t]);
+			gramCounts[t] = tokenGrams.length;
+			for(String gram : tokenGrams) {
+				List<Integer> list = gramMap.get(gram);
+				if(list == null) {
+					list = new ArrayList<Integer>();
+					gramMap.put(gram, list);
+				}
+				list.add(t);
+			}
+		}
+		
+		grams = new HashMap<String, int[]>();
+		for(Map.Entry<String, List<Integer>> entry : gramMap.entrySet()) {
+			final int[] list = new int[entry.getValue().size()];
+			for(int i = 0; i < list.length; i++)
+				list[i] = entry.getValue().get(i);
+			grams.put(entry.getKey(), list);
+		}
+	}
+	
+	/**
+	 * Gets the number of indexed plugins.
+	 * 
+	 * @return the number of plugins
+	 * @since 1.0
+	 */
+	public int getPluginCount() {
+		return plugins.size();
+	}
+	
+	/**
+	 * Gets an indexed plugin.
+	 * 
+	 * @param index the index of the plugin
+	 * @return the plugin
+	 * @since 1.0
+	 */
+	public AlgorithmPlugin getPlugin(final int index) {
+		return plugins.get(index);
+	}
+	
+	/**
+	 * Searches the plugins that match a query.
+	 * 
+	 * @param query the query
+	 * @return the indices of the matching plugins ranked by their scores (the best match first) or <code>null</code> if the query is empty
+	 * @since 1.0
+	 */
+	public int[] search(final String query) {
+		final String[] queryTokens = tokenize(query);
+		if(queryTokens.length == 0)
+			return null;
+		
+		final float[] scores = new float[plugins.size()];
+		final float[] tokenScores = new float[plugins.size()];
+		
+		for(int i = 0; i < queryTokens.length; i++) {
+			Arrays.fill(tokenScores, 0.0f);
+			matchToken(queryTokens[i], tokenScores);
+			
+			// a plugin has to match each query token
+			for(int p = 0; p < scores.length; p++)
+				scores[p] = (i == 0 || scores[p] > 0.0f) && tokenScores[p] > 0.0f ? scores[p] + tokenScores[p] : 0.0f;
+		}
+		
+		// a field that contains the whole query matches even if the query is split into other tokens (e.g. "h-a" or "st alg")
+		final String phrase = normalize(query).trim();
+		for(int o = 0; o < texts.length; o++) {
+			final int p = o / FIELD_COUNT;
+			final float s = SCORE_INFIX * FIELD_WEIGHTS[o % FIELD_COUNT];
+			if(s > scores[p] && texts[o].contains(phrase))
+				scores[p] = s;
+		}
+		
+		// rank the matching plugins by their scores and keep the original order of equal scores
+		final List<Integer> matches = new ArrayList<Integer>();
+		for(int p = 0; p < scores.length; p++)
+			if(scores[p] > 0.0f)
+				matches.add(p);
+		
+		final Integer[] ranked = matches.toArray(new Integer[matches.size()]);
+		Arrays.sort(ranked, new Comparator<Integer>() {
+			
+			@Override
+			public int compare(Integer a, Integer b) {
+				return Float.compare(scores[b], scores[a]);
+			}
+		});
+		
+		final int[] result = new int[ranked.length];
+		for(int i = 0; i < result.length; i++)
+			result[i] = ranked[i];
+		
+		return result;
+	}
+	
+	/**
+	 * Normalizes a text meaning that it is converted to lower case and that diacritics are removed.
+	 * 
+	 * @param text the text or <code>null</code>
+	 * @return the normalized text
+	 * @since 1.0
+	 */
+	public static String normalize(final String text) {
+		if(text == null)
+			return "";
+		
+		final String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+		final StringBuilder sb = new StringBuilder(decomposed.length());
+		
+		for(int i = 0; i < decomposed.length(); i++) {
+			final char c = decomposed.charAt(i);
+			if(Character.getType(c) != Character.NON_SPACING_MARK)
+				sb.append(c);
+		}
+		
+		return sb.toString().toLowerCase(Locale.ROOT).replace("\u00df", "ss");
+	}
+	
+	/**
+	 * Finds the tokens that match a query token and sets the best score of each plugin.
+	 * 
+	 * @param queryToken the query token
+	 * @param tokenScores the best scores of the plugins
+	 * @since 1.0
+	 */
+	private void matchToken(final String queryToken, final float[] tokenScores) {
+		// the tokens that begin with the query token are in a consecutive range
+		int t = Arrays.binarySearch(tokens, queryToken);
+		if(t < 0)
+			t = -t - 1;
+		boolean found = false;
+		for(; t < tokens.length && tokens[t].startsWith(queryToken); t++) {
+			addScore(t, tokens[t].length() == queryToken.length() ? SCORE_EQUAL : SCORE_PREFIX, tokenScores);
+			found = true;
+		}
+		
+		// short query tokens have too few trigrams for infix and similarity matches so the tokens are scanned linearly for infixes
+		if(queryToken.length() < 3) {
+			for(int i = 0; i < tokens.length; i++)
+				if(!tokens[i].startsWith(queryToken) && tokens[i].contains(queryToken))
+					addScore(i, SCORE_INFIX, tokenScores);
+			return;
+		}
+		
+		// count the trigrams that the tokens have in common with the query token
+		final String[] queryGrams = getGrams(queryToken);
+		final int[] shared = new int[tokens.length];
+		int innerGrams = 0;
+		for(String gram : queryGrams) {
+			final int[] list = grams.get(gram);
+			if(gram.indexOf(PADDING) < 0)
+				innerGrams++;
+			if(list == null)
+				continue;
+			for(int i : list)
+				shared[i]++;
+		}
+		
+		for(int i = 0; i < tokens.length; i++) {
+			if(shared[i] >= innerGrams && !tokens[i].startsWith(queryToken) && tokens[i].contains(queryToken)) {
+				addScore(i, SCORE_INFIX, tokenScores);
+				found = true;
+			}
+		}
+		
+		// similar tokens are only considered if the query token is not found so that a typing error does not hide the result
+		// while a correctly typed query token is not diluted by similar tokens
+		if(found)
+			return;
+		
+		for(int i = 0; i < tokens.length; i++) {
+			if(shared[i] == 0)
+				continue;
+			
+			final float similarity = 2.0f * shared[i] / (queryGrams.length + gramCounts[i]);
+			if(similarity >= MIN_SIMILARITY)
+				addScore(i, SCORE_SIMILAR * similarity, tokenScores);
+		}
+	}
+	
+	/**
+	 * Sets the score of the plugins that contain a token if it is better than their current score.
+	 * 
+	 * @param token the token
+	 * @param score the score of the token
+	 * @param tokenScores the best scores of the plugins
+	 * @since 1.0
+	 */
+	private void addScore(final int token, final float score, final float[] tokenScores) {
+		for(int o : occurrences[token]) {
+			final int plugin = o / FIELD_COUNT;
+			final float s = score * FIELD_WEIGHTS[o % FIELD_COUNT];
+			if(s > tokenScores[plugin])
+				tokenScores[plugin] = s;
+		}
+	}
+	
+	/**
+	 * Splits a text into normalized tokens.
+	 * 
+	 * @param text the text or <code>null</code>
+	 * @return the tokens
+	 * @since 1.0
+	 */
+	private static String[] tokenize(final String text) {
+		final String normalized = normalize(text);
+		final List<String> result = new ArrayList<String>();
+		int start = -1;
+		
+		for(int i = 0; i <= normalized.length(); i++) {
+			final boolean letterOrDigit = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+			
+			if(letterOrDigit && start < 0)
+				start = i;
+			else if(!letterOrDigit && start >= 0) {
+				result.add(normalized.substring(start, i));
+				start = -1;
+			}
+		}
+		
+		return result.toArray(new String[result.size()]);
+	}
+	
+	/**
+	 * Gets the distinct padded trigrams of a token.
+	 * 
+	 * @param token the token
+	 * @return the trigrams
+	 * @since 1.0
+	 */
+	private static String[] getGrams(final String token) {
+		final String padded = PADDING + token + PADDING;
+		final List<String> result = new ArrayList<String>(padded.length());
+		
+		for(int i = 0; i + 3 <= padded.length(); i++) {
+			final String gram = padded.substring(i, i + 3);
+			if(!result.contains(gram))
+				result.add(gram);
+		}
+		
+		return result.toArray(new String[result.size()]);
+	}
+
+}